@@ -21,8 +21,8 @@ import {
 } from '@mui/material';
 import { Delete, Search, Add, Close } from '@mui/icons-material';
 import { useTranslation } from 'react-i18next';
-import { useGetAllAppliancesQuery } from '@/store/api/apiSlice';
-import { QuantityInput } from '@/components';
+import { useGetAllAppliancesQuery, useGetOrderByIdQuery } from '@/store/api/apiSlice';
+import { LoadingSpinner, QuantityInput } from '@/components';
 import type { Orders, Appliance, OrderRequestDTO } from '@/types/models';
 
 interface EditOrderDialogProps {
@@ -59,6 +59,12 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
   );
   const appliances = appliancesData?.content || [];
 
+  // Order lists leave the rows out, so the rows to edit come from the full order. Saving before
+  // they arrive would send an empty row list and delete every row.
+  const { currentData: details, isError } = useGetOrderByIdQuery(order?.id ?? 0, {
+    skip: !open || !order,
+  });
+
   const filteredAppliances = searchQuery
     ? appliances.filter(
         app =>
@@ -70,16 +76,16 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
   const totalAmount = orderItems.reduce((sum, item) => sum + item.subtotal, 0);
 
   useEffect(() => {
-    if (open && order) {
+    if (open && details) {
       const existingItems: OrderItem[] =
-        order.orderRows?.map(row => ({
+        details.orderRows?.map(row => ({
           appliance: row.appliance!,
           quantity: row.quantity,
           subtotal: typeof row.amount === 'number' ? row.amount : Number(row.amount),
         })) || [];
       setOrderItems(existingItems);
     }
-  }, [open, order]);
+  }, [open, details]);
 
   useEffect(() => {
     if (!open) {
@@ -138,8 +144,8 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
   };
 
   const handleSubmit = async () => {
-    if (!order) {
-      console.error('Order is null');
+    if (!order || !details) {
+      console.error('Order is not loaded');
       return;
     }
 
@@ -176,7 +182,7 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
     return null;
   }
 
-  const canSubmit = orderItems.length > 0;
+  const canSubmit = !!details && orderItems.length > 0;
 
   return (
     <Dialog open={open} onClose={onClose} maxWidth="md" fullWidth>
@@ -265,8 +271,20 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
             </Box>
           </Box>
 
+          {!details && (
+            <Box sx={{ textAlign: 'center', py: 4 }}>
+              {isError ? (
+                <Typography variant="body2" color="error">
+                  {t('errors.somethingWentWrong')}
+                </Typography>
+              ) : (
+                <LoadingSpinner size={24} sx={{ minHeight: 80 }} />
+              )}
+            </Box>
+          )}
+
           {/* Items List */}
-          {orderItems.length > 0 && (
+          {details && orderItems.length > 0 && (
             <>
               <Typography variant="subtitle2" gutterBottom sx={{ mt: 3 }}>
                 {t('order.orderItems')}
@@ -337,7 +355,7 @@ export const EditOrderDialog: React.FC<EditOrderDialogProps> = ({
             </>
           )}
 
-          {orderItems.length === 0 && (
+          {details && orderItems.length === 0 && (
             <Box sx={{ textAlign: 'center', py: 4 }}>
               <Typography variant="body2" color="text.secondary">
                 {t('order.noItemsAdded')}
@@ -19,6 +19,8 @@ import {
 } from '@mui/material';
 import { Close, CheckCircle, Edit, Delete } from '@mui/icons-material';
 import { useTranslation } from 'react-i18next';
+import { useGetOrderByIdQuery } from '@/store/api/apiSlice';
+import { LoadingSpinner } from '@/components';
 import { UserRole } from '@/types/models';
 import type { Orders } from '@/types/models';
 import { OrderStatusBadge } from './OrderStatusBadge';
@@ -43,6 +45,10 @@ export const OrderDetailDialog: React.FC<OrderDetailDialogProps> = ({
   onDelete,
 }) => {
   const { t } = useTranslation();
+  // Order lists leave the rows out, so the dialog loads the full order before showing them
+  const { currentData: details, isError } = useGetOrderByIdQuery(order?.id ?? 0, {
+    skip: !open || !order,
+  });
 
   if (!order) {
     return null;
@@ -53,7 +59,7 @@ export const OrderDetailDialog: React.FC<OrderDetailDialogProps> = ({
   const canEdit = !order.approved;
   const canDelete = !order.approved;
 
-  const totalAmount = order.orderRows?.reduce((sum, row) => sum + row.amount, 0) || 0;
+  const totalAmount = Number((details ?? order).totalAmount ?? 0);
 
   return (
     <Dialog
@@ -128,8 +134,20 @@ export const OrderDetailDialog: React.FC<OrderDetailDialogProps> = ({
                 </TableRow>
               </TableHead>
               <TableBody>
-                {order.orderRows && order.orderRows.length > 0 ? (
-                  order.orderRows.map((row) => (
+                {!details ? (
+                  <TableRow>
+                    <TableCell colSpan={5} align="center">
+                      {isError ? (
+                        <Typography variant="body2" color="error" sx={{ py: 2 }}>
+                          {t('errors.somethingWentWrong')}
+                        </Typography>
+                      ) : (
+                        <LoadingSpinner size={24} sx={{ minHeight: 80 }} />
+                      )}
+                    </TableCell>
+                  </TableRow>
+                ) : details.orderRows && details.orderRows.length > 0 ? (
+                  details.orderRows.map((row) => (
                     <TableRow key={row.id}>
                       <TableCell>{row.appliance?.name || 'N/A'}</TableCell>
                       <TableCell>{row.appliance?.model || 'N/A'}</TableCell>
@@ -320,7 +320,7 @@ const EmployeeDashboard: React.FC = () => {
                     <TableCell>
                       {order.client ? `${order.client.firstName} ${order.client.lastName}` : `Client #${order.clientId}`}
                     </TableCell>
-                    <TableCell>{order.orderRows?.length || 0}</TableCell>
+                    <TableCell>{order.itemCount ?? 0}</TableCell>
                     <TableCell>
                       <Chip
                         label={order.approved ? t('order.approved') : t('order.pending')}
@@ -671,7 +671,7 @@ const ClientDashboard: React.FC = () => {
                 {recentOrders.map((order: Orders) => (
                   <TableRow key={order.id} hover>
                     <TableCell>#{order.id}</TableCell>
-                    <TableCell>{order.orderRows?.length || 0}</TableCell>
+                    <TableCell>{order.itemCount ?? 0}</TableCell>
                     <TableCell>
                       <Chip
                         label={order.approved ? t('order.approved') : t('order.pending')}
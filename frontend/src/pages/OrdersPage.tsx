@@ -344,7 +344,7 @@ const OrdersPage: React.FC = () => {
                 </TableRow>
               ) : (
                 orders.map(order => {
-                  const total = order.orderRows?.reduce((sum, row) => sum + row.amount, 0) || 0;
+                  const total = Number(order.totalAmount ?? 0);
                   return (
                     <TableRow key={order.id}>
                       <TableCell>{order.id}</TableCell>
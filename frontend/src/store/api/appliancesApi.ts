@@ -6,6 +6,7 @@ import type {
   PageResponse,
   Category,
   PowerType,
+  SuggestionDTO,
 } from '@/types/models';
 
 const baseQuery = fetchBaseQuery({
@@ -60,6 +61,16 @@ export const appliancesApi = createApi({
           : [{ type: 'Appliance', id: 'SEARCH' }],
     }),
 
+    suggestAppliances: builder.query<SuggestionDTO[], {
+      prefix: string;
+      limit?: number;
+    }>({
+      query: ({ prefix, limit = 10 }) => ({
+        url: '/appliances/suggest',
+        params: { prefix, limit },
+      }),
+    }),
+
     getAppliancesByCategory: builder.query<PageResponse<ApplianceResponseDTO>, {
       category: Category;
       page?: number;
@@ -141,6 +152,7 @@ export const appliancesApi = createApi({
 export const {
   useGetAllAppliancesQuery,
   useSearchAppliancesQuery,
+  useSuggestAppliancesQuery,
   useGetAppliancesByCategoryQuery,
   useGetAppliancesByPowerTypeQuery,
   useGetApplianceByIdQuery,
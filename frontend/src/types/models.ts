@@ -77,8 +77,10 @@ export interface Orders {
   employeeId?: number;
   employee?: Employee;
   approved: boolean;
+  // Only GET /orders/{id} returns the rows; order lists carry the persisted totals instead
   orderRows?: OrderRow[];
   totalAmount?: number;
+  itemCount?: number;
 }
 
 export interface LoginRequest {
@@ -174,10 +176,18 @@ export interface PageResponse<T> {
   number: number;
   first: boolean;
   last: boolean;
+  nextCursor?: string;
+  prevCursor?: string;
 }
 
 export interface Page<T> extends PageResponse<T> {}
 
+export interface SuggestionDTO {
+  text: string;
+  type: 'APPLIANCE' | 'MODEL' | 'MANUFACTURER';
+  score: number;
+}
+
 export interface ApiError {
   error: string;
   message: string;
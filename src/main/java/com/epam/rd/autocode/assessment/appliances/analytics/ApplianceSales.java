@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ApplianceSales {
+    private final Long applianceId;
+    private final String name;
+    private final String model;
+    private final long units;
+    private final BigDecimal revenue;
+}
@@ -0,0 +1,21 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenue of one category, manufacturer or employee. {@code id} is {@code null} for categories and
+ * for orders no employee has taken yet.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class RevenueGroup {
+    private final Long id;
+    private final String name;
+    private final BigDecimal revenue;
+    private final long units;
+}
@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+/**
+ * Grain of {@code sales_rollup}. {@code employeeId} is 0 while an order has no employee.
+ */
+public record RollupKey(long applianceId, long employeeId, boolean approved) {
+
+    public static final long NO_EMPLOYEE = 0L;
+
+    public static RollupKey of(Long applianceId, Long employeeId, Boolean approved) {
+        return new RollupKey(applianceId, employeeId == null ? NO_EMPLOYEE : employeeId, Boolean.TRUE.equals(approved));
+    }
+}
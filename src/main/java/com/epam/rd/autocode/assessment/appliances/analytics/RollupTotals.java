@@ -0,0 +1,20 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import java.math.BigDecimal;
+
+public record RollupTotals(BigDecimal revenue, long units) {
+
+    public static final RollupTotals ZERO = new RollupTotals(BigDecimal.ZERO, 0);
+
+    public RollupTotals plus(RollupTotals other) {
+        return new RollupTotals(revenue.add(other.revenue), units + other.units);
+    }
+
+    public RollupTotals negate() {
+        return new RollupTotals(revenue.negate(), -units);
+    }
+
+    public boolean isZero() {
+        return units == 0 && revenue.signum() == 0;
+    }
+}
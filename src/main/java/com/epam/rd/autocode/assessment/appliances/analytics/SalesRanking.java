@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum SalesRanking {
+    UNITS, REVENUE;
+
+    public static SalesRanking of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported sales ranking: " + value, ex);
+        }
+    }
+}
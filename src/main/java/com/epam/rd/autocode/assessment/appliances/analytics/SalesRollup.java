@@ -0,0 +1,150 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.repository.SalesTotalsView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code sales_rollup} in step with the orders. The order services hand over what an order
+ * contributed before and after a write, and the difference is journaled in
+ * {@code sales_rollup_delta} by the write's own transaction, so it commits, rolls back and
+ * survives a crash with the order. Every {@code app.analytics.flush-interval}, and on shutdown,
+ * the journal is folded into the rollup in batches. Order transactions only append journal rows,
+ * so they never lock rollup rows, which every order for a popular appliance would otherwise queue on.
+ * <p>
+ * Rollups lag commits by at most one flush. {@link #rebuild()} recomputes the table from the
+ * orders for backfills and repairs, and is safe while orders are being written.
+ * <p>
+ * Changes in units ordered are also published as a {@link UnitsOrderedEvent}, so views that rank
+ * by popularity can follow the orders without querying them.
+ */
+@Slf4j
+@Component
+public class SalesRollup {
+
+    static final int FOLD_BATCH_SIZE = 1000;
+
+    private final SalesRollupStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration flushInterval;
+    private ScheduledExecutorService flusher;
+
+    public SalesRollup(SalesRollupStore store, ApplicationEventPublisher eventPublisher,
+                       @Value("${app.analytics.flush-interval:1s}") Duration flushInterval) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * What {@code order} adds to the rollups as it stands; empty for {@code null}.
+     */
+    public static Map<RollupKey, RollupTotals> contributionsOf(Orders order) {
+        Map<RollupKey, RollupTotals> contributions = new HashMap<>();
+        if (order == null) {
+            return contributions;
+        }
+        Long employeeId = order.getEmployee() == null ? null : order.getEmployee().getId();
+        for (OrderRow row : order.getOrderRowSet()) {
+            contributions.merge(RollupKey.of(row.getAppliance().getId(), employeeId, order.getApproved()),
+                    new RollupTotals(row.getAmount(), row.getQuantity()), RollupTotals::plus);
+        }
+        return contributions;
+    }
+
+    public static Map<RollupKey, RollupTotals> contributionsOf(Collection<SalesTotalsView> totals) {
+        Map<RollupKey, RollupTotals> contributions = new HashMap<>();
+        for (SalesTotalsView view : totals) {
+            contributions.merge(RollupKey.of(view.getApplianceId(), view.getEmployeeId(), view.getApproved()),
+                    new RollupTotals(view.getRevenue(), view.getUnits()), RollupTotals::plus);
+        }
+        return contributions;
+    }
+
+    /**
+     * The same contributions moved to {@code employeeId} and the approved state.
+     */
+    public static Map<RollupKey, RollupTotals> approvedBy(Map<RollupKey, RollupTotals> contributions,
+                                                           Long employeeId) {
+        Map<RollupKey, RollupTotals> approved = new HashMap<>();
+        contributions.forEach((key, totals) -> approved.merge(
+                RollupKey.of(key.applianceId(), employeeId, true), totals, RollupTotals::plus));
+        return approved;
+    }
+
+    /**
+     * Journals the change from {@code before} to {@code after} in the current transaction and
+     * publishes the change in units ordered, if any.
+     */
+    public void record(Map<RollupKey, RollupTotals> before, Map<RollupKey, RollupTotals> after) {
+        Map<RollupKey, RollupTotals> deltas = new HashMap<>(after);
+        before.forEach((key, totals) -> deltas.merge(key, totals.negate(), RollupTotals::plus));
+        deltas.values().removeIf(RollupTotals::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        store.appendDeltas(deltas);
+        Map<Long, Long> units = new HashMap<>();
+        deltas.forEach((key, totals) -> units.merge(key.applianceId(), totals.units(), Long::sum));
+        units.values().removeIf(count -> count == 0);
+        if (!units.isEmpty()) {
+            eventPublisher.publishEvent(new UnitsOrderedEvent(units));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-rollup-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        }
+        flush();
+    }
+
+    public void flush() {
+        try {
+            int folded;
+            do {
+                folded = store.foldDeltas(FOLD_BATCH_SIZE);
+            } while (folded == FOLD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            log.warn("Sales rollup flush failed, the journal is folded on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the table from the orders. Journaled changes, including those of orders written
+     * while it runs, are still folded in afterwards and counted exactly once.
+     */
+    public int rebuild() {
+        int rows = store.rebuild();
+        log.info("Sales rollup rebuilt with {} rows", rows);
+        return rows;
+    }
+}
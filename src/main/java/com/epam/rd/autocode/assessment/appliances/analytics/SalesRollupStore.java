@@ -0,0 +1,164 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to {@code sales_rollup} and its journal {@code sales_rollup_delta}. Reads
+ * aggregate rollup rows, never order rows, so their cost follows the number of appliances and
+ * employees rather than the number of orders. Folds and rebuilds, on any node, take the row in
+ * {@code sales_rollup_lock} first, so no journal row is ever applied twice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupStore {
+
+    private static final String HAVING_SALES = " HAVING SUM(r.units) <> 0 OR SUM(r.revenue) <> 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Journals {@code deltas} in the caller's transaction.
+     */
+    public void appendDeltas(Map<RollupKey, RollupTotals> deltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO sales_rollup_delta (appliance_id, employee_id, approved, revenue, units) "
+                + "VALUES (?, ?, ?, ?, ?)", rows(deltas));
+    }
+
+    /**
+     * Moves up to {@code limit} journal rows into the rollup, returning how many were moved.
+     */
+    @Transactional
+    public int foldDeltas(int limit) {
+        lockRollup();
+        List<Object[]> ids = new ArrayList<>();
+        Map<RollupKey, RollupTotals> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT id, appliance_id, employee_id, approved, revenue, units FROM sales_rollup_delta "
+                        + "ORDER BY id LIMIT ?",
+                (RowCallbackHandler) rs -> {
+                    ids.add(new Object[]{rs.getLong("id")});
+                    totals.merge(new RollupKey(rs.getLong("appliance_id"), rs.getLong("employee_id"),
+                                    rs.getBoolean("approved")),
+                            new RollupTotals(rs.getBigDecimal("revenue"), rs.getLong("units")), RollupTotals::plus);
+                },
+                limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        totals.values().removeIf(RollupTotals::isZero);
+        if (!totals.isEmpty()) {
+            addToRollup(totals);
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM sales_rollup_delta WHERE id = ?", ids);
+        return ids.size();
+    }
+
+    /**
+     * Recomputes every rollup row from the orders, returning the number of rows written. The rows
+     * are the order totals minus the journal, read in one statement: each committed order is then
+     * either in that statement's view together with its journal rows, which cancel out, or it is
+     * not and its journal rows are folded in later. Orders written meanwhile are therefore counted
+     * exactly once, and holding the rollup lock keeps folds from writing under the rebuild.
+     */
+    @Transactional
+    public int rebuild() {
+        lockRollup();
+        List<Object[]> rows = jdbcTemplate.query("SELECT appliance_id, employee_id, approved, "
+                        + "SUM(revenue) AS revenue, SUM(units) AS units FROM ("
+                        + "SELECT r.appliance_id, COALESCE(o.employee_id, 0) AS employee_id, o.approved, "
+                        + "r.amount AS revenue, r.quantity AS units "
+                        + "FROM order_row r JOIN orders o ON o.id = r.order_id "
+                        + "UNION ALL SELECT appliance_id, employee_id, approved, -revenue, -units "
+                        + "FROM sales_rollup_delta) t "
+                        + "GROUP BY appliance_id, employee_id, approved"
+                        + " HAVING SUM(units) <> 0 OR SUM(revenue) <> 0",
+                (rs, rowNum) -> new Object[]{rs.getLong("appliance_id"), rs.getLong("employee_id"),
+                        rs.getBoolean("approved"), rs.getBigDecimal("revenue"), rs.getLong("units")});
+        jdbcTemplate.update("DELETE FROM sales_rollup");
+        jdbcTemplate.batchUpdate("INSERT INTO sales_rollup (appliance_id, employee_id, approved, revenue, units) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+        return rows.size();
+    }
+
+    public List<RevenueGroup> revenueBy(RevenueGrouping grouping, boolean approvedOnly) {
+        String sql = switch (grouping) {
+            case CATEGORY -> "SELECT NULL AS id, a.category AS name, SUM(r.revenue) AS revenue, SUM(r.units) AS units "
+                    + "FROM sales_rollup r JOIN appliance a ON a.id = r.appliance_id "
+                    + approvalFilter(approvedOnly)
+                    + "GROUP BY a.category";
+            case MANUFACTURER -> "SELECT m.id AS id, m.name AS name, SUM(r.revenue) AS revenue, SUM(r.units) AS units "
+                    + "FROM sales_rollup r JOIN appliance a ON a.id = r.appliance_id "
+                    + "JOIN manufacturer m ON m.id = a.manufacturer_id "
+                    + approvalFilter(approvedOnly)
+                    + "GROUP BY m.id, m.name";
+            case EMPLOYEE -> "SELECT u.id AS id, CONCAT(u.first_name, ' ', u.last_name) AS name, "
+                    + "SUM(r.revenue) AS revenue, SUM(r.units) AS units "
+                    + "FROM sales_rollup r LEFT JOIN users u ON u.id = r.employee_id "
+                    + approvalFilter(approvedOnly)
+                    + "GROUP BY u.id, u.first_name, u.last_name";
+        };
+        return jdbcTemplate.query(sql + HAVING_SALES + " ORDER BY revenue DESC",
+                (rs, rowNum) -> new RevenueGroup(rs.getObject("id", Long.class), rs.getString("name"),
+                        rs.getBigDecimal("revenue"), rs.getLong("units")));
+    }
+
+    public List<ApplianceSales> topAppliances(SalesRanking ranking, boolean approvedOnly, int limit) {
+        String orderBy = ranking == SalesRanking.UNITS ? "units DESC, revenue DESC" : "revenue DESC, units DESC";
+        return jdbcTemplate.query("SELECT a.id AS id, a.name AS name, a.model AS model, "
+                        + "SUM(r.revenue) AS revenue, SUM(r.units) AS units "
+                        + "FROM sales_rollup r JOIN appliance a ON a.id = r.appliance_id "
+                        + approvalFilter(approvedOnly)
+                        + "GROUP BY a.id, a.name, a.model" + HAVING_SALES
+                        + " ORDER BY " + orderBy + ", a.id LIMIT ?",
+                (rs, rowNum) -> new ApplianceSales(rs.getLong("id"), rs.getString("name"), rs.getString("model"),
+                        rs.getLong("units"), rs.getBigDecimal("revenue")),
+                limit);
+    }
+
+    /**
+     * Adds {@code totals} to existing rollup rows and inserts the missing ones. Only lock holders
+     * write the rollup, so no row can appear between the two statements.
+     */
+    private void addToRollup(Map<RollupKey, RollupTotals> totals) {
+        List<Map.Entry<RollupKey, RollupTotals>> entries = List.copyOf(totals.entrySet());
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE sales_rollup SET revenue = revenue + ?, units = units + ? "
+                        + "WHERE appliance_id = ? AND employee_id = ? AND approved = ?",
+                entries.stream()
+                        .map(entry -> new Object[]{entry.getValue().revenue(), entry.getValue().units(),
+                                entry.getKey().applianceId(), entry.getKey().employeeId(), entry.getKey().approved()})
+                        .toList());
+        Map<RollupKey, RollupTotals> missing = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (updated[i] == 0) {
+                missing.put(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO sales_rollup (appliance_id, employee_id, approved, revenue, units) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows(missing));
+        }
+    }
+
+    private void lockRollup() {
+        jdbcTemplate.queryForObject("SELECT id FROM sales_rollup_lock WHERE id = 1 FOR UPDATE", Integer.class);
+    }
+
+    private static List<Object[]> rows(Map<RollupKey, RollupTotals> deltas) {
+        return deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getKey().applianceId(), delta.getKey().employeeId(),
+                        delta.getKey().approved(), delta.getValue().revenue(), delta.getValue().units()})
+                .toList();
+    }
+
+    private static String approvalFilter(boolean approvedOnly) {
+        return approvedOnly ? "WHERE r.approved = TRUE " : "";
+    }
+}
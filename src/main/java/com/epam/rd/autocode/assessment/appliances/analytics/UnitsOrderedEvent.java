@@ -0,0 +1,21 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Published by {@link SalesRollup#record} when an order write changes how many units of some
+ * appliances are ordered, and delivered after commit. Approvals move units between rollup rows
+ * without changing the count, so they publish nothing.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UnitsOrderedEvent {
+
+    /** Change in units ordered per appliance id, never zero. */
+    private final Map<Long, Long> unitsByAppliance;
+}
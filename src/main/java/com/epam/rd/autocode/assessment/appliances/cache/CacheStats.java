@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.assessment.appliances.cache;
+
+/**
+ * Point-in-time counters of a {@link ReferenceCache}. Evictions count both entries pushed out by
+ * the size bound and expired entries dropped on access; invalidations are not evictions.
+ */
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
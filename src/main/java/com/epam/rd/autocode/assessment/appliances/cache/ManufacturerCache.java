@@ -0,0 +1,67 @@
+package com.epam.rd.autocode.assessment.appliances.cache;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogSnapshot;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogVersions;
+import com.epam.rd.autocode.assessment.appliances.catalog.ManufacturerChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Reference cache in front of {@code ManufacturerServiceImpl}: manufacturers by id and the full
+ * list. Entries are detached copies and every caller gets its own copy, so nobody can change what
+ * the cache holds. Committed manufacturer writes invalidate the written id and the list.
+ * <p>
+ * With {@code app.cache.manufacturers.enabled} off every call goes straight to the loader.
+ */
+@Component
+public class ManufacturerCache {
+
+    private static final String ALL = "all";
+
+    private final boolean enabled;
+    private final ReferenceCache<Long, Manufacturer> byId;
+    private final ReferenceCache<String, List<Manufacturer>> all;
+
+    public ManufacturerCache(@Value("${app.cache.manufacturers.enabled:true}") boolean enabled,
+                             @Value("${app.cache.manufacturers.max-size:1000}") int maxSize,
+                             @Value("${app.cache.manufacturers.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byId = new ReferenceCache<>("manufacturers.byId", maxSize, ttl);
+        this.all = new ReferenceCache<>("manufacturers.all", 1, ttl);
+    }
+
+    public Optional<Manufacturer> getById(Long id, Supplier<Optional<Manufacturer>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Manufacturer cached = byId.get(id, () -> loader.get().map(CatalogSnapshot::detach).orElse(null));
+        return Optional.ofNullable(CatalogSnapshot.detach(cached));
+    }
+
+    public List<Manufacturer> getAll(Supplier<List<Manufacturer>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        List<Manufacturer> cached = all.get(ALL, () -> loader.get().stream().map(CatalogSnapshot::detach).toList());
+        return cached.stream().map(CatalogSnapshot::detach).toList();
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(byId.stats(), all.stats());
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        byId.invalidate(event.getManufacturerId());
+        all.invalidateAll();
+    }
+}
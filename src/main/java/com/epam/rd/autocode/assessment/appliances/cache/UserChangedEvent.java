@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.assessment.appliances.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the user services whenever a user, client or employee is updated or deleted, and
+ * delivered after commit.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UserChangedEvent {
+
+    private final Long userId;
+}
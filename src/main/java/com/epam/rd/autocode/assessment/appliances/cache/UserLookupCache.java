@@ -0,0 +1,80 @@
+package com.epam.rd.autocode.assessment.appliances.cache;
+
+import com.epam.rd.autocode.assessment.appliances.model.User;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Remembers which user id and subtype an email belongs to, so lookups by email (login, profile,
+ * ownership checks) become a primary-key load of the right subtype, which the persistence context
+ * answers without SQL when the user is already loaded. A hit is only used when the loaded user
+ * still has that email; otherwise the entry is dropped and the email looked up again.
+ * <p>
+ * Every committed user write clears the cache: profile updates may change the email on the managed
+ * entity before the service sees it, so the previous email is not known. With
+ * {@code app.cache.users.enabled} off every call goes straight to the email lookup.
+ */
+@Component
+public class UserLookupCache {
+
+    private final boolean enabled;
+    private final ReferenceCache<String, UserRef> byEmail;
+
+    public UserLookupCache(@Value("${app.cache.users.enabled:true}") boolean enabled,
+                           @Value("${app.cache.users.max-size:10000}") int maxSize,
+                           @Value("${app.cache.users.ttl:30m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byEmail = new ReferenceCache<>("users.byEmail", maxSize, ttl);
+    }
+
+    /**
+     * @param emailLoader finds the user, typed as its subclass, by email
+     * @param idLoader    loads a user of the given subtype by id
+     */
+    public Optional<User> getByEmail(String email, Function<String, Optional<User>> emailLoader,
+                                     BiFunction<Class<? extends User>, Long, Optional<? extends User>> idLoader) {
+        if (!enabled) {
+            return emailLoader.apply(email);
+        }
+        AtomicReference<User> loaded = new AtomicReference<>();
+        UserRef ref = byEmail.get(email, () -> emailLoader.apply(email)
+                .map(user -> {
+                    loaded.set(user);
+                    return new UserRef(user.getId(), Hibernate.getClass(user));
+                })
+                .orElse(null));
+        if (ref == null) {
+            return Optional.empty();
+        }
+        if (loaded.get() != null) {
+            return Optional.of(loaded.get());
+        }
+        Optional<? extends User> user = idLoader.apply(ref.type(), ref.id())
+                .filter(candidate -> email.equalsIgnoreCase(candidate.getEmail()));
+        if (user.isPresent()) {
+            return Optional.of(user.get());
+        }
+        byEmail.invalidate(email);
+        return emailLoader.apply(email);
+    }
+
+    public CacheStats stats() {
+        return byEmail.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        byEmail.invalidateAll();
+    }
+
+    private record UserRef(Long id, Class<? extends User> type) {
+    }
+}
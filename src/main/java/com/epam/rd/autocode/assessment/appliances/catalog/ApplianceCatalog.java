@@ -0,0 +1,150 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Optional in-memory catalog engine. When {@code app.catalog.in-memory.enabled} is set, the whole
+ * appliance table is loaded once at startup and {@code ApplianceServiceImpl} serves reads, sorts
+ * and pages from the current {@link CatalogSnapshot}. Committed writes swap in a new snapshot
+ * (copy-on-write), so readers never block and never see a half-applied change. Writers are
+ * serialized and drop out-of-order appliance events; changes applied while a reload runs are
+ * replayed onto the reloaded snapshot (see {@link AppliedChanges}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplianceCatalog {
+
+    private final ApplianceRepository applianceRepository;
+
+    @Value("${app.catalog.in-memory.enabled:false}")
+    private boolean enabled;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AppliedChanges<CatalogSnapshot> applied = new AppliedChanges<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            write(applied::startRecording);
+            List<Appliance> appliances = applianceRepository.findAll();
+            write(() -> {
+                CatalogSnapshot previous = current.get();
+                long version = previous != null ? previous.getVersion() + 1 : 1;
+                current.set(applied.replayOnto(CatalogSnapshot.of(version, appliances)));
+            });
+            log.info("Appliance catalog snapshot v{} loaded with {} appliances", current.get().getVersion(),
+                    appliances.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Whether reads can be answered from memory: the feature is on and the initial load has finished.
+     */
+    public boolean isReady() {
+        return enabled && current.get() != null;
+    }
+
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+
+    public Optional<Appliance> findById(Long id) {
+        return current.get().findById(id);
+    }
+
+    public List<Appliance> findAll() {
+        return current.get().findAll();
+    }
+
+    public Page<Appliance> findAll(Predicate<Appliance> filter, Pageable pageable) {
+        return current.get().findAll(filter, pageable);
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(() -> {
+            if (!applied.accept(event)) {
+                log.debug("Skipped out-of-order change of appliance {}", event.getApplianceId());
+                return;
+            }
+            UnaryOperator<CatalogSnapshot> change = snapshot -> event.isDeleted()
+                    ? snapshot.without(event.getApplianceId())
+                    : snapshot.with(event.getAppliance());
+            applied.record(event, change);
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                CatalogSnapshot next = change.apply(snapshot);
+                current.set(next);
+                log.debug("Appliance catalog advanced to v{} after change of appliance {}", next.getVersion(),
+                        event.getApplianceId());
+            }
+        });
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppliancesImported(AppliancesImportedEvent event) {
+        if (isReady()) {
+            reload();
+        }
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        if (!enabled || event.isDeleted()) {
+            return;
+        }
+        write(() -> {
+            UnaryOperator<CatalogSnapshot> change = snapshot -> snapshot.withManufacturer(event.getManufacturer());
+            applied.record(change);
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                current.set(change.apply(snapshot));
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        writeLock.lock();
+        try {
+            change.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
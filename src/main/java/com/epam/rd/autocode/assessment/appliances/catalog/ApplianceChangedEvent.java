@@ -0,0 +1,46 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Published by {@code ApplianceServiceImpl} on every appliance write. Listeners receive it after the
+ * surrounding transaction commits, so in-memory views never observe rolled-back state.
+ * <p>
+ * Listeners of different transactions may run in any order, so every event carries a
+ * {@link #getSequence() sequence}. It is taken when the event is created, which the service does
+ * only once the write is flushed: a later write of the same row waits for this transaction's row
+ * lock and therefore gets a higher sequence.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ApplianceChangedEvent {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Long applianceId;
+
+    /** Detached copy of the written appliance, {@code null} when the appliance was deleted. */
+    private final Appliance appliance;
+
+    private final long sequence;
+
+    public static ApplianceChangedEvent saved(Appliance appliance) {
+        return new ApplianceChangedEvent(appliance.getId(), CatalogSnapshot.detach(appliance),
+                SEQUENCE.incrementAndGet());
+    }
+
+    public static ApplianceChangedEvent deleted(Long applianceId) {
+        return new ApplianceChangedEvent(applianceId, null, SEQUENCE.incrementAndGet());
+    }
+
+    public boolean isDeleted() {
+        return appliance == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published once at the end of a bulk import, in place of one {@link ApplianceChangedEvent} per row.
+ * In-memory views rebuild from the database instead of applying thousands of single-row updates.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AppliancesImportedEvent {
+
+    private final List<Long> applianceIds;
+
+    @Override
+    public String toString() {
+        return "AppliancesImportedEvent(" + applianceIds.size() + " appliances)";
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-side bookkeeping of an in-memory view of type {@code S}.
+ * <p>
+ * It remembers the sequence of the last {@link ApplianceChangedEvent} applied per appliance, so a
+ * view can drop an event that arrives after a newer one for the same row. Deleted appliances are
+ * remembered too; ids are never reused.
+ * <p>
+ * While the view loads its data it also records every change it applies, from construction until
+ * the first load completes and during each reload. The recording is then replayed onto the loaded
+ * data before it is published, so changes that commit while a load runs are never lost. Replaying
+ * a change the load already saw is harmless, and an appliance change is replayed only if it is
+ * still the newest one for its row.
+ * <p>
+ * Not thread-safe: views call it while holding their write lock.
+ */
+public final class AppliedChanges<S> {
+
+    private final Map<Long, Long> sequences = new HashMap<>();
+    private List<UnaryOperator<S>> recording = new ArrayList<>();
+
+    /**
+     * Returns {@code false} when a newer change of the same appliance was already applied;
+     * otherwise remembers the event as the newest one for its appliance.
+     */
+    public boolean accept(ApplianceChangedEvent event) {
+        Long applied = sequences.get(event.getApplianceId());
+        if (applied != null && applied > event.getSequence()) {
+            return false;
+        }
+        sequences.put(event.getApplianceId(), event.getSequence());
+        return true;
+    }
+
+    /**
+     * Records an accepted appliance change for replay, if a load is running.
+     */
+    public void record(ApplianceChangedEvent event, UnaryOperator<S> change) {
+        record(state -> isNewest(event) ? change.apply(state) : state);
+    }
+
+    /**
+     * Records a change that is not tied to one appliance for replay, if a load is running.
+     */
+    public void record(UnaryOperator<S> change) {
+        if (recording != null) {
+            recording.add(change);
+        }
+    }
+
+    /**
+     * Starts recording for a reload.
+     */
+    public void startRecording() {
+        if (recording == null) {
+            recording = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Replays what was recorded since the load started onto the loaded state, then stops recording.
+     */
+    public S replayOnto(S loaded) {
+        S state = loaded;
+        if (recording != null) {
+            for (UnaryOperator<S> change : recording) {
+                state = change.apply(state);
+            }
+        }
+        recording = null;
+        return state;
+    }
+
+    private boolean isNewest(ApplianceChangedEvent event) {
+        return Long.valueOf(event.getSequence()).equals(sequences.get(event.getApplianceId()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, versioned view of the whole appliance catalog with manufacturers already resolved.
+ * <p>
+ * Appliances are kept ordered by id. Writers never modify a snapshot, they derive a new one via
+ * {@link #with(Appliance)}, {@link #without(Long)} or {@link #withManufacturer(Manufacturer)}.
+ * Every appliance handed out is a fresh copy, so callers are free to mutate what they receive.
+ */
+public final class CatalogSnapshot {
+
+    private static final Map<String, Comparator<Appliance>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(Appliance::getId),
+            "name", nullsFirst(Appliance::getName, String.CASE_INSENSITIVE_ORDER),
+            "model", nullsFirst(Appliance::getModel, String.CASE_INSENSITIVE_ORDER),
+            "category", nullsFirst(a -> a.getCategory() != null ? a.getCategory().name() : null, Comparator.naturalOrder()),
+            "powerType", nullsFirst(a -> a.getPowerType() != null ? a.getPowerType().name() : null, Comparator.naturalOrder()),
+            "power", nullsFirst(Appliance::getPower, Comparator.naturalOrder()),
+            "price", nullsFirst(Appliance::getPrice, Comparator.naturalOrder()),
+            "characteristic", nullsFirst(Appliance::getCharacteristic, String.CASE_INSENSITIVE_ORDER),
+            "description", nullsFirst(Appliance::getDescription, String.CASE_INSENSITIVE_ORDER),
+            "manufacturer.name", nullsFirst(a -> a.getManufacturer() != null ? a.getManufacturer().getName() : null,
+                    String.CASE_INSENSITIVE_ORDER)
+    );
+
+    private static final Comparator<Appliance> BY_ID = SORTABLE_PROPERTIES.get("id");
+
+    private final long version;
+    private final List<Appliance> appliances;
+    private final Map<Long, Appliance> byId;
+
+    private CatalogSnapshot(long version, List<Appliance> orderedAppliances) {
+        this.version = version;
+        this.appliances = Collections.unmodifiableList(orderedAppliances);
+        Map<Long, Appliance> index = new HashMap<>(orderedAppliances.size() * 2);
+        for (Appliance appliance : orderedAppliances) {
+            index.put(appliance.getId(), appliance);
+        }
+        this.byId = Collections.unmodifiableMap(index);
+    }
+
+    public static CatalogSnapshot of(long version, Collection<Appliance> appliances) {
+        List<Appliance> ordered = new ArrayList<>(appliances.size());
+        for (Appliance appliance : appliances) {
+            ordered.add(detach(appliance));
+        }
+        ordered.sort(BY_ID);
+        return new CatalogSnapshot(version, ordered);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return appliances.size();
+    }
+
+    public Optional<Appliance> findById(Long id) {
+        return Optional.ofNullable(byId.get(id)).map(CatalogSnapshot::detach);
+    }
+
+    public List<Appliance> findAll() {
+        return appliances.stream().map(CatalogSnapshot::detach).toList();
+    }
+
+    /**
+     * Filters, sorts and pages the snapshot. Callers must check {@link #isSortable(Sort)} first.
+     */
+    public Page<Appliance> findAll(Predicate<Appliance> filter, Pageable pageable) {
+        List<Appliance> matching = new ArrayList<>();
+        for (Appliance appliance : appliances) {
+            if (filter.test(appliance)) {
+                matching.add(appliance);
+            }
+        }
+        Comparator<Appliance> comparator = comparatorFor(pageable.getSort());
+        if (comparator != null) {
+            matching.sort(comparator);
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matching.stream().map(CatalogSnapshot::detach).toList(), pageable, matching.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        List<Appliance> content = matching.subList(from, to).stream().map(CatalogSnapshot::detach).toList();
+        return new PageImpl<>(content, pageable, matching.size());
+    }
+
+    public static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.containsKey(order.getProperty()));
+    }
+
+    public CatalogSnapshot with(Appliance appliance) {
+        Appliance copy = detach(appliance);
+        List<Appliance> next = new ArrayList<>(appliances);
+        int position = Collections.binarySearch(next, copy, BY_ID);
+        if (position >= 0) {
+            next.set(position, copy);
+        } else {
+            next.add(-position - 1, copy);
+        }
+        return new CatalogSnapshot(version + 1, next);
+    }
+
+    public CatalogSnapshot without(Long applianceId) {
+        if (!byId.containsKey(applianceId)) {
+            return this;
+        }
+        List<Appliance> next = new ArrayList<>(appliances.size());
+        for (Appliance appliance : appliances) {
+            if (!appliance.getId().equals(applianceId)) {
+                next.add(appliance);
+            }
+        }
+        return new CatalogSnapshot(version + 1, next);
+    }
+
+    public CatalogSnapshot withManufacturer(Manufacturer manufacturer) {
+        List<Appliance> next = new ArrayList<>(appliances.size());
+        boolean changed = false;
+        for (Appliance appliance : appliances) {
+            if (appliance.getManufacturer() != null
+                    && manufacturer.getId().equals(appliance.getManufacturer().getId())) {
+                Appliance copy = detach(appliance);
+                copy.setManufacturer(detach(manufacturer));
+                next.add(copy);
+                changed = true;
+            } else {
+                next.add(appliance);
+            }
+        }
+        return changed ? new CatalogSnapshot(version + 1, next) : this;
+    }
+
+    public static Appliance detach(Appliance appliance) {
+        if (appliance == null) return null;
+        return new Appliance(
+                appliance.getId(),
+                appliance.getName(),
+                appliance.getCategory(),
+                appliance.getModel(),
+                detach(appliance.getManufacturer()),
+                appliance.getPowerType(),
+                appliance.getCharacteristic(),
+                appliance.getDescription(),
+                appliance.getPower(),
+                appliance.getPrice()
+        );
+    }
+
+    public static Manufacturer detach(Manufacturer manufacturer) {
+        if (manufacturer == null) return null;
+        return new Manufacturer(
+                manufacturer.getId(),
+                manufacturer.getName(),
+                manufacturer.getAddress(),
+                manufacturer.getCountry()
+        );
+    }
+
+    private static Comparator<Appliance> comparatorFor(Sort sort) {
+        Comparator<Appliance> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Appliance> next = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        if (comparator == null) {
+            return null;
+        }
+        return comparator.thenComparing(BY_ID);
+    }
+
+    private static <T> Comparator<Appliance> nullsFirst(Function<Appliance, T> key, Comparator<? super T> order) {
+        return Comparator.comparing(key, Comparator.nullsFirst(order));
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for appliance and manufacturer data, used as HTTP entity tags.
+ * <p>
+ * Every committed write bumps the counter of its entity type and records that value as the
+ * version of the written row, so a collection tag changes on any write and a row tag only when
+ * that row (or, for appliances, any manufacturer they embed) changes. Tags carry the startup
+ * epoch so they never collide with tags handed out by a previous run.
+ * <p>
+ * Bumps happen after the in-memory views have applied the same event (see
+ * {@link #VIEW_LISTENER_ORDER}); otherwise a reader could pair the new tag with old data.
+ */
+@Component
+public class CatalogVersions {
+
+    /** Order for listeners that refresh in-memory views; they must run before the version bump. */
+    public static final int VIEW_LISTENER_ORDER = 0;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong applianceVersion = new AtomicLong();
+    private final AtomicLong manufacturerVersion = new AtomicLong();
+    private final ConcurrentMap<Long, Long> applianceRowVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> manufacturerRowVersions = new ConcurrentHashMap<>();
+
+    public String appliancesTag() {
+        return epoch + "-a" + applianceVersion.get() + "m" + manufacturerVersion.get();
+    }
+
+    public String applianceTag(Long id) {
+        return epoch + "-a" + id + "." + applianceRowVersions.getOrDefault(id, 0L) + "m" + manufacturerVersion.get();
+    }
+
+    public String manufacturersTag() {
+        return epoch + "-m" + manufacturerVersion.get();
+    }
+
+    public String manufacturerTag(Long id) {
+        return epoch + "-m" + id + "." + manufacturerRowVersions.getOrDefault(id, 0L);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        applianceRowVersions.put(event.getApplianceId(), applianceVersion.incrementAndGet());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppliancesImported(AppliancesImportedEvent event) {
+        long version = applianceVersion.incrementAndGet();
+        event.getApplianceIds().forEach(id -> applianceRowVersions.put(id, version));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        manufacturerRowVersions.put(event.getManufacturerId(), manufacturerVersion.incrementAndGet());
+    }
+}
@@ -0,0 +1,33 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by {@code ManufacturerServiceImpl} on every manufacturer write and delivered after commit.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ManufacturerChangedEvent {
+
+    private final Long manufacturerId;
+
+    /** Detached copy of the written manufacturer, {@code null} when the manufacturer was deleted. */
+    private final Manufacturer manufacturer;
+
+    public static ManufacturerChangedEvent saved(Manufacturer manufacturer) {
+        return new ManufacturerChangedEvent(manufacturer.getId(), CatalogSnapshot.detach(manufacturer));
+    }
+
+    public static ManufacturerChangedEvent deleted(Long manufacturerId) {
+        return new ManufacturerChangedEvent(manufacturerId, null);
+    }
+
+    public boolean isDeleted() {
+        return manufacturer == null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.export;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceExportView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Encodes export rows one at a time straight onto the response stream, so nothing beyond the
+ * current row and the write buffer is held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplianceExportWriter {
+
+    static final String[] COLUMNS = {"id", "name", "model", "category", "powerType", "power", "price",
+            "manufacturerId", "manufacturerName", "characteristic", "description"};
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every row in the given format and flushes; the caller owns (and closes) both the
+     * stream of rows and {@code out}.
+     *
+     * @return the number of rows written
+     */
+    public long write(CatalogFormat format, Stream<ApplianceExportView> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long written = switch (format) {
+            case NDJSON -> writeNdjson(rows.iterator(), writer);
+            case CSV -> writeCsv(rows.iterator(), writer);
+        };
+        writer.flush();
+        return written;
+    }
+
+    private long writeNdjson(Iterator<ApplianceExportView> rows, Writer writer) throws IOException {
+        long written = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                ApplianceExportView row = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", row.getId());
+                json.writeStringField("name", row.getName());
+                json.writeStringField("model", row.getModel());
+                json.writeStringField("category", nameOf(row.getCategory()));
+                json.writeStringField("powerType", nameOf(row.getPowerType()));
+                json.writeFieldName("power");
+                if (row.getPower() != null) {
+                    json.writeNumber(row.getPower());
+                } else {
+                    json.writeNull();
+                }
+                json.writeNumberField("price", row.getPrice());
+                json.writeNumberField("manufacturerId", row.getManufacturerId());
+                json.writeStringField("manufacturerName", row.getManufacturerName());
+                json.writeStringField("characteristic", row.getCharacteristic());
+                json.writeStringField("description", row.getDescription());
+                json.writeEndObject();
+                json.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private long writeCsv(Iterator<ApplianceExportView> rows, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        long written = 0;
+        while (rows.hasNext()) {
+            ApplianceExportView row = rows.next();
+            writeCsvRow(writer, row.getId(), row.getName(), row.getModel(), nameOf(row.getCategory()),
+                    nameOf(row.getPowerType()), row.getPower(),
+                    row.getPrice() != null ? row.getPrice().toPlainString() : null,
+                    row.getManufacturerId(), row.getManufacturerName(), row.getCharacteristic(),
+                    row.getDescription());
+            written++;
+        }
+        return written;
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting: fields holding a separator, quote or line break are quoted, with quotes doubled.
+     */
+    static String csvField(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
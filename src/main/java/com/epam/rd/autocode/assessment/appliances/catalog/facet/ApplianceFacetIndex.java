@@ -0,0 +1,107 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliancesImportedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliedChanges;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogVersions;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps a {@link FacetSnapshot} of the appliance table in memory when
+ * {@code app.facet.index.enabled} is set. Committed appliance writes swap in a patched snapshot;
+ * filter requests read whichever snapshot is current without locking. Writers are serialized and
+ * drop out-of-order events; changes applied while a rebuild runs are replayed onto the rebuilt
+ * snapshot (see {@link AppliedChanges}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplianceFacetIndex {
+
+    private final ApplianceRepository applianceRepository;
+
+    @Value("${app.facet.index.enabled:false}")
+    private boolean enabled;
+
+    private final AtomicReference<FacetSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AppliedChanges<FacetSnapshot> applied = new AppliedChanges<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            write(applied::startRecording);
+            FacetSnapshot loaded = FacetSnapshot.of(applianceRepository.findFacetRows());
+            write(() -> current.set(applied.replayOnto(loaded)));
+            log.info("Appliance facet index built over {} appliances", current.get().size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && current.get() != null;
+    }
+
+    public FacetSnapshot snapshot() {
+        return current.get();
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppliancesImported(AppliancesImportedEvent event) {
+        if (isReady()) {
+            rebuild();
+        }
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(() -> {
+            if (!applied.accept(event)) {
+                return;
+            }
+            UnaryOperator<FacetSnapshot> change = snapshot -> event.isDeleted()
+                    ? snapshot.without(event.getApplianceId())
+                    : snapshot.with(event.getAppliance());
+            applied.record(event, change);
+            FacetSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                current.set(change.apply(snapshot));
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        writeLock.lock();
+        try {
+            change.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Combination of appliance filters. Values within one facet are OR-ed, facets are AND-ed;
+ * an empty set or a {@code null} bound means "no restriction". Range bounds are inclusive.
+ */
+@Getter
+@Builder
+@ToString
+public class ApplianceFilter {
+
+    @Builder.Default
+    private final Set<Category> categories = Set.of();
+
+    @Builder.Default
+    private final Set<PowerType> powerTypes = Set.of();
+
+    @Builder.Default
+    private final Set<Long> manufacturerIds = Set.of();
+
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final Integer minPower;
+    private final Integer maxPower;
+
+    public static ApplianceFilter none() {
+        return builder().build();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasPowerRange() {
+        return minPower != null || maxPower != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Page;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ApplianceFilterResult {
+
+    private final Page<Appliance> page;
+    private final FacetCounts facets;
+}
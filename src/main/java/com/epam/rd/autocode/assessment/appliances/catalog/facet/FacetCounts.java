@@ -0,0 +1,26 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Per-value match counts. The count for a value of one facet is computed against all the
+ * <em>other</em> filters, i.e. it is the number of results the user would get by selecting
+ * (only) that value in this facet.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class FacetCounts {
+
+    private final Map<Category, Long> categories;
+    private final Map<PowerType, Long> powerTypes;
+
+    /** Keyed by manufacturer id, in ascending id order. */
+    private final Map<Long, Long> manufacturers;
+}
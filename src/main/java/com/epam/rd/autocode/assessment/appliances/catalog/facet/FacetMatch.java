@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outcome of {@link FacetSnapshot#match(ApplianceFilter)}: the matching appliance ids in ascending
+ * order and the facet counts for the same filter.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FacetMatch {
+
+    private final long[] ids;
+    private final FacetCounts counts;
+}
@@ -0,0 +1,283 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceFacetView;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable bitmap index over the filterable appliance attributes.
+ * <p>
+ * Appliances are numbered by ascending id (their ordinal). Every category, power type and
+ * manufacturer owns a bitset of the ordinals that carry it; price (in cents) and power live in
+ * {@link SortedColumn}s. A filter is then a handful of bitset unions and intersections, and each
+ * facet count is one intersection with the bitset of the other filters - no grouped queries.
+ * <p>
+ * Like {@code CatalogSnapshot}, writers derive a new snapshot via {@link #with(Appliance)} or
+ * {@link #without(Long)} and never touch the current one. A derived snapshot shares everything the
+ * write leaves alone and copies only the bitsets and columns of the one changed ordinal. New ids
+ * are appended as the next ordinal, and a deleted appliance leaves its ordinal empty until empty
+ * ordinals outnumber live ones and the snapshot is rebuilt compactly. An id below the highest one
+ * that is not indexed yet also forces a rebuild, to keep ordinals in id order.
+ */
+public final class FacetSnapshot {
+
+    /** Id of every ordinal, ascending; deleted ordinals keep theirs so the array stays searchable. */
+    private final long[] ids;
+    /** Row of every ordinal, {@code null} once deleted. */
+    private final Row[] rows;
+    private final int deleted;
+    private final BitSet universe;
+    private final Map<Category, BitSet> byCategory;
+    private final Map<PowerType, BitSet> byPowerType;
+    private final Map<Long, BitSet> byManufacturer;
+    private final SortedColumn priceCents;
+    private final SortedColumn power;
+
+    private FacetSnapshot(long[] ids, Row[] rows, int deleted, BitSet universe, Map<Category, BitSet> byCategory,
+                          Map<PowerType, BitSet> byPowerType, Map<Long, BitSet> byManufacturer,
+                          SortedColumn priceCents, SortedColumn power) {
+        this.ids = ids;
+        this.rows = rows;
+        this.deleted = deleted;
+        this.universe = universe;
+        this.byCategory = byCategory;
+        this.byPowerType = byPowerType;
+        this.byManufacturer = byManufacturer;
+        this.priceCents = priceCents;
+        this.power = power;
+    }
+
+    public static FacetSnapshot of(Collection<? extends ApplianceFacetView> views) {
+        List<Row> ordered = new ArrayList<>(views.size());
+        for (ApplianceFacetView view : views) {
+            ordered.add(new Row(view.getId(), view.getCategory(), view.getPowerType(), view.getManufacturerId(),
+                    cents(view.getPrice(), RoundingMode.HALF_UP), view.getPower()));
+        }
+        return build(ordered);
+    }
+
+    private static FacetSnapshot build(List<Row> unordered) {
+        Row[] rows = unordered.toArray(new Row[0]);
+        Arrays.sort(rows, Comparator.comparing(Row::id));
+        long[] ids = new long[rows.length];
+        BitSet universe = new BitSet(rows.length);
+        universe.set(0, rows.length);
+        Map<Category, BitSet> byCategory = new EnumMap<>(Category.class);
+        Map<PowerType, BitSet> byPowerType = new EnumMap<>(PowerType.class);
+        Map<Long, BitSet> byManufacturer = new TreeMap<>();
+        Long[] prices = new Long[rows.length];
+        Long[] powers = new Long[rows.length];
+        for (int ordinal = 0; ordinal < rows.length; ordinal++) {
+            Row row = rows[ordinal];
+            ids[ordinal] = row.id();
+            if (row.category() != null) {
+                byCategory.computeIfAbsent(row.category(), c -> new BitSet()).set(ordinal);
+            }
+            if (row.powerType() != null) {
+                byPowerType.computeIfAbsent(row.powerType(), p -> new BitSet()).set(ordinal);
+            }
+            if (row.manufacturerId() != null) {
+                byManufacturer.computeIfAbsent(row.manufacturerId(), m -> new BitSet()).set(ordinal);
+            }
+            prices[ordinal] = row.priceCents();
+            powers[ordinal] = row.powerValue();
+        }
+        return new FacetSnapshot(ids, rows, 0, universe, byCategory, byPowerType, byManufacturer,
+                SortedColumn.of(prices), SortedColumn.of(powers));
+    }
+
+    public int size() {
+        return rows.length - deleted;
+    }
+
+    public FacetMatch match(ApplianceFilter filter) {
+        BitSet category = union(byCategory, filter.getCategories());
+        BitSet powerType = union(byPowerType, filter.getPowerTypes());
+        BitSet manufacturer = union(byManufacturer, filter.getManufacturerIds());
+        BitSet price = filter.hasPriceRange()
+                ? priceCents.range(cents(filter.getMinPrice(), RoundingMode.CEILING),
+                        cents(filter.getMaxPrice(), RoundingMode.FLOOR))
+                : null;
+        BitSet wattage = filter.hasPowerRange()
+                ? power.range(toLong(filter.getMinPower()), toLong(filter.getMaxPower()))
+                : null;
+
+        BitSet matches = intersect(category, powerType, manufacturer, price, wattage);
+        long[] ids = new long[matches.cardinality()];
+        int next = 0;
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            ids[next++] = this.ids[ordinal];
+        }
+
+        Map<Category, Long> categoryCounts = new EnumMap<>(Category.class);
+        BitSet withoutCategory = intersect(powerType, manufacturer, price, wattage);
+        for (Category value : Category.values()) {
+            categoryCounts.put(value, countWithin(byCategory.get(value), withoutCategory));
+        }
+        Map<PowerType, Long> powerTypeCounts = new EnumMap<>(PowerType.class);
+        BitSet withoutPowerType = intersect(category, manufacturer, price, wattage);
+        for (PowerType value : PowerType.values()) {
+            powerTypeCounts.put(value, countWithin(byPowerType.get(value), withoutPowerType));
+        }
+        Map<Long, Long> manufacturerCounts = new LinkedHashMap<>();
+        BitSet withoutManufacturer = intersect(category, powerType, price, wattage);
+        for (Map.Entry<Long, BitSet> entry : byManufacturer.entrySet()) {
+            manufacturerCounts.put(entry.getKey(), countWithin(entry.getValue(), withoutManufacturer));
+        }
+        return new FacetMatch(ids, new FacetCounts(categoryCounts, powerTypeCounts, manufacturerCounts));
+    }
+
+    public FacetSnapshot with(Appliance appliance) {
+        Row row = new Row(appliance.getId(), appliance.getCategory(), appliance.getPowerType(),
+                appliance.getManufacturer() != null ? appliance.getManufacturer().getId() : null,
+                cents(appliance.getPrice(), RoundingMode.HALF_UP), appliance.getPower());
+        int position = Arrays.binarySearch(ids, row.id());
+        if (position >= 0) {
+            return replace(position, row);
+        }
+        if (-position - 1 < ids.length) {
+            List<Row> live = liveRows();
+            live.add(row);
+            return build(live);
+        }
+        long[] nextIds = Arrays.copyOf(ids, ids.length + 1);
+        nextIds[ids.length] = row.id();
+        return patch(nextIds, Arrays.copyOf(rows, rows.length + 1), ids.length, row, deleted);
+    }
+
+    public FacetSnapshot without(Long applianceId) {
+        int position = Arrays.binarySearch(ids, applianceId);
+        if (position < 0 || rows[position] == null) {
+            return this;
+        }
+        if (deleted + 1 > size() - 1) {
+            List<Row> live = liveRows();
+            live.remove(rows[position]);
+            return build(live);
+        }
+        return patch(ids, rows.clone(), position, null, deleted + 1);
+    }
+
+    private FacetSnapshot replace(int ordinal, Row row) {
+        return patch(ids, rows.clone(), ordinal, row, rows[ordinal] == null ? deleted - 1 : deleted);
+    }
+
+    /**
+     * Moves {@code ordinal} from the row it has in this snapshot (none for a new or deleted
+     * ordinal) to {@code row} ({@code null} to delete it), copying only what that changes.
+     */
+    private FacetSnapshot patch(long[] nextIds, Row[] nextRows, int ordinal, Row row, int nextDeleted) {
+        Row old = ordinal < rows.length ? rows[ordinal] : null;
+        nextRows[ordinal] = row;
+        BitSet nextUniverse = universe;
+        if ((old == null) != (row == null)) {
+            nextUniverse = (BitSet) universe.clone();
+            nextUniverse.set(ordinal, row != null);
+        }
+        return new FacetSnapshot(nextIds, nextRows, nextDeleted, nextUniverse,
+                move(byCategory, map -> new EnumMap<>(map), ordinal,
+                        old != null ? old.category() : null, row != null ? row.category() : null),
+                move(byPowerType, map -> new EnumMap<>(map), ordinal,
+                        old != null ? old.powerType() : null, row != null ? row.powerType() : null),
+                move(byManufacturer, TreeMap::new, ordinal,
+                        old != null ? old.manufacturerId() : null, row != null ? row.manufacturerId() : null),
+                priceCents.move(ordinal, old != null ? old.priceCents() : null, row != null ? row.priceCents() : null),
+                power.move(ordinal, old != null ? old.powerValue() : null, row != null ? row.powerValue() : null));
+    }
+
+    private List<Row> liveRows() {
+        List<Row> live = new ArrayList<>(size() + 1);
+        for (Row row : rows) {
+            if (row != null) {
+                live.add(row);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * The index with {@code ordinal} moved from the bitset of {@code from} to that of {@code to},
+     * copying just those two bitsets; either value may be {@code null} for none.
+     */
+    private static <K> Map<K, BitSet> move(Map<K, BitSet> index, UnaryOperator<Map<K, BitSet>> copy, int ordinal,
+                                           K from, K to) {
+        if (Objects.equals(from, to)) {
+            return index;
+        }
+        Map<K, BitSet> next = copy.apply(index);
+        if (from != null) {
+            BitSet bits = (BitSet) next.get(from).clone();
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                next.remove(from);
+            } else {
+                next.put(from, bits);
+            }
+        }
+        if (to != null) {
+            BitSet bits = next.containsKey(to) ? (BitSet) next.get(to).clone() : new BitSet();
+            bits.set(ordinal);
+            next.put(to, bits);
+        }
+        return next;
+    }
+
+    /**
+     * Union of the bitsets of the selected values, or {@code null} (no restriction) when nothing
+     * is selected. Unknown values contribute nothing.
+     */
+    private static <K> BitSet union(Map<K, BitSet> index, Set<K> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (K value : selected) {
+            BitSet bits = index.get(value);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private BitSet intersect(BitSet... restrictions) {
+        BitSet result = (BitSet) universe.clone();
+        for (BitSet restriction : restrictions) {
+            if (restriction != null) {
+                result.and(restriction);
+            }
+        }
+        return result;
+    }
+
+    private static long countWithin(BitSet values, BitSet within) {
+        if (values == null) {
+            return 0;
+        }
+        BitSet both = (BitSet) values.clone();
+        both.and(within);
+        return both.cardinality();
+    }
+
+    private static Long cents(BigDecimal amount, RoundingMode rounding) {
+        return amount == null ? null : amount.setScale(2, rounding).unscaledValue().longValueExact();
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private record Row(Long id, Category category, PowerType powerType, Long manufacturerId, Long priceCents,
+                       Integer power) {
+
+        Long powerValue() {
+            return power != null ? power.longValue() : null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Numeric column sorted by value, with the ordinal of each value kept alongside. A range
+ * predicate becomes two binary searches plus one bit per match, instead of a scan over all rows.
+ * Rows without a value are simply absent, so they never satisfy a range. Columns are immutable;
+ * {@link #move} derives the column for one changed row with array copies instead of a re-sort.
+ */
+final class SortedColumn {
+
+    private final long[] values;
+    private final int[] ordinals;
+
+    private SortedColumn(long[] values, int[] ordinals) {
+        this.values = values;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * @param valuesByOrdinal column values indexed by ordinal, {@code null} for rows without a value
+     */
+    static SortedColumn of(Long[] valuesByOrdinal) {
+        int[] order = IntStream.range(0, valuesByOrdinal.length)
+                .filter(ordinal -> valuesByOrdinal[ordinal] != null)
+                .boxed()
+                .sorted(Comparator.comparingLong(ordinal -> valuesByOrdinal[ordinal]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long[] values = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            values[i] = valuesByOrdinal[order[i]];
+        }
+        return new SortedColumn(values, order);
+    }
+
+    /**
+     * Ordinals whose value lies in {@code [min, max]}; a {@code null} bound is open.
+     */
+    BitSet range(Long min, Long max) {
+        int from = min == null ? 0 : firstIndexAtLeast(min);
+        int to = max == null || max == Long.MAX_VALUE ? values.length : firstIndexAtLeast(max + 1);
+        BitSet result = new BitSet();
+        for (int i = from; i < to; i++) {
+            result.set(ordinals[i]);
+        }
+        return result;
+    }
+
+    /**
+     * The column with {@code ordinal} moved from value {@code from} to {@code to}; either may be
+     * {@code null} for no value.
+     */
+    SortedColumn move(int ordinal, Long from, Long to) {
+        if (Objects.equals(from, to)) {
+            return this;
+        }
+        SortedColumn next = this;
+        if (from != null) {
+            next = next.remove(next.indexOf(ordinal, from));
+        }
+        if (to != null) {
+            next = next.insert(next.firstIndexAbove(to), to, ordinal);
+        }
+        return next;
+    }
+
+    private int indexOf(int ordinal, long value) {
+        for (int i = firstIndexAtLeast(value); i < values.length && values[i] == value; i++) {
+            if (ordinals[i] == ordinal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private SortedColumn remove(int index) {
+        if (index < 0) {
+            return this;
+        }
+        long[] nextValues = new long[values.length - 1];
+        int[] nextOrdinals = new int[ordinals.length - 1];
+        System.arraycopy(values, 0, nextValues, 0, index);
+        System.arraycopy(values, index + 1, nextValues, index, values.length - index - 1);
+        System.arraycopy(ordinals, 0, nextOrdinals, 0, index);
+        System.arraycopy(ordinals, index + 1, nextOrdinals, index, ordinals.length - index - 1);
+        return new SortedColumn(nextValues, nextOrdinals);
+    }
+
+    private SortedColumn insert(int index, long value, int ordinal) {
+        long[] nextValues = new long[values.length + 1];
+        int[] nextOrdinals = new int[ordinals.length + 1];
+        System.arraycopy(values, 0, nextValues, 0, index);
+        System.arraycopy(values, index, nextValues, index + 1, values.length - index);
+        System.arraycopy(ordinals, 0, nextOrdinals, 0, index);
+        System.arraycopy(ordinals, index, nextOrdinals, index + 1, ordinals.length - index);
+        nextValues[index] = value;
+        nextOrdinals[index] = ordinal;
+        return new SortedColumn(nextValues, nextOrdinals);
+    }
+
+    private int firstIndexAbove(long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstIndexAtLeast(long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,215 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.imports;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pulls {@link ImportRow}s one at a time from a CSV (RFC 4180, header row first) or NDJSON stream,
+ * so an import never holds more than the current record. Column names are those of
+ * {@code Appliance} and of the catalog export, compared case-insensitively. A malformed record
+ * becomes a failed row and reading continues with the next one.
+ */
+public abstract class ApplianceImportReader {
+
+    protected final BufferedReader reader;
+    protected long line = 1;
+
+    private ApplianceImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public static ApplianceImportReader open(CatalogFormat format, InputStream in, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(in);
+            case NDJSON -> new Ndjson(in, objectMapper);
+        };
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     */
+    public abstract ImportRow next() throws IOException;
+
+    private static final class Csv extends ApplianceImportReader {
+
+        private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+        private List<String> header;
+
+        private Csv(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (header == null) {
+                List<String> columns;
+                try {
+                    columns = readRecord();
+                } catch (MalformedRecordException ex) {
+                    throw new BadRequestException("Malformed CSV header: " + ex.getMessage());
+                }
+                if (columns == null) {
+                    return null;
+                }
+                header = columns.stream()
+                        .map(column -> column.replace(BYTE_ORDER_MARK, "").trim().toLowerCase(Locale.ROOT))
+                        .toList();
+            }
+            while (true) {
+                long start = line;
+                List<String> values;
+                try {
+                    values = readRecord();
+                } catch (MalformedRecordException ex) {
+                    return ImportRow.failed(start, ex.getMessage());
+                }
+                if (values == null) {
+                    return null;
+                }
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                if (values.size() != header.size()) {
+                    return ImportRow.failed(start, "Expected " + header.size() + " columns but found " + values.size());
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    fields.put(header.get(i), values.get(i));
+                }
+                return ImportRow.of(start, fields);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean afterQuote = false;
+            while (true) {
+                if (c == -1) {
+                    if (quoted) {
+                        throw new MalformedRecordException("Unterminated quoted field");
+                    }
+                    values.add(field.toString());
+                    return values;
+                }
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            afterQuote = true;
+                            reader.reset();
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append(ch);
+                    }
+                } else if (ch == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                } else if (ch == '\n' || ch == '\r') {
+                    if (ch == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    line++;
+                    values.add(field.toString());
+                    return values;
+                } else if (ch == '"' && field.isEmpty() && !afterQuote) {
+                    quoted = true;
+                } else if (afterQuote) {
+                    skipRecord();
+                    throw new MalformedRecordException("Unexpected character after closing quote");
+                } else {
+                    field.append(ch);
+                }
+                c = reader.read();
+            }
+        }
+
+        private void skipRecord() throws IOException {
+            String rest = reader.readLine();
+            if (rest != null) {
+                line++;
+            }
+        }
+    }
+
+    private static final class Ndjson extends ApplianceImportReader {
+
+        private final ObjectReader json;
+
+        private Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            // Keep prices exactly as written: no double rounding, no trailing zeros stripped
+            this.json = objectMapper.reader()
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .without(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                long current = line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = json.readTree(text);
+                    if (!node.isObject()) {
+                        return ImportRow.failed(current, "Expected a JSON object");
+                    }
+                    Map<String, String> fields = new HashMap<>();
+                    for (Map.Entry<String, JsonNode> field : node.properties()) {
+                        JsonNode value = field.getValue();
+                        fields.put(field.getKey().toLowerCase(Locale.ROOT), value.isNull() ? null : value.asText());
+                    }
+                    return ImportRow.of(current, fields);
+                } catch (JsonProcessingException ex) {
+                    return ImportRow.failed(current, "Malformed JSON: " + ex.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class MalformedRecordException extends IOException {
+
+        private MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
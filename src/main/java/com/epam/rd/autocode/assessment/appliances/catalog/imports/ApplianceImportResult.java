@@ -0,0 +1,21 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.imports;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@link #getErrors()} holds the first failures only (see
+ * {@code app.import.max-reported-errors}); {@link #getFailed()} counts all of them.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ApplianceImportResult {
+
+    private final long imported;
+    private final long failed;
+    private final List<ImportError> errors;
+}
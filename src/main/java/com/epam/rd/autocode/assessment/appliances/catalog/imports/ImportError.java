@@ -0,0 +1,7 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.imports;
+
+/**
+ * Why the record starting on {@code line} was not imported.
+ */
+public record ImportError(long line, String message) {
+}
@@ -0,0 +1,37 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.imports;
+
+import java.util.Map;
+
+/**
+ * One record read from an import file: its fields keyed by lower-cased column name, or the reason
+ * it could not be parsed.
+ *
+ * @param line the (1-based) line the record starts on
+ */
+public record ImportRow(long line, Map<String, String> fields, String error) {
+
+    static ImportRow of(long line, Map<String, String> fields) {
+        return new ImportRow(line, fields, null);
+    }
+
+    static ImportRow failed(long line, String error) {
+        return new ImportRow(line, Map.of(), error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    /**
+     * The trimmed value of the first of {@code columns} that is present and not blank.
+     */
+    public String get(String... columns) {
+        for (String column : columns) {
+            String value = fields.get(column);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+}
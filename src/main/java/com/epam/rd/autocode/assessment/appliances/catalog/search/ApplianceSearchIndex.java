@@ -0,0 +1,328 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.search;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliancesImportedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliedChanges;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogVersions;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceTextView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over appliance name, model and description.
+ * <p>
+ * Every token is indexed by its 1-, 2- and 3-grams, so a query term is resolved by intersecting
+ * the posting lists of its 3-grams and then verifying the substring match on the few surviving
+ * candidates. This keeps the {@code LIKE '%term%'} semantics of the old query while the cost
+ * depends on how selective the term is rather than on catalog size. Multi-term queries are
+ * AND-ed; unsorted requests are ranked with name and model matches above description matches, and
+ * requests sorted by id are ordered by id. Other sorts are not supported (see {@link #isSortable}).
+ * <p>
+ * Updated documents get a fresh ordinal and the old one is tombstoned; the index compacts itself
+ * once tombstones outnumber live documents. Out-of-order events are dropped, and changes applied
+ * before or while the index is built are replayed onto it (see {@link AppliedChanges}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplianceSearchIndex {
+
+    static final int NAME_WEIGHT = 10;
+    static final int MODEL_WEIGHT = 8;
+    static final int DESCRIPTION_WEIGHT = 2;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1024;
+
+    private final ApplianceRepository applianceRepository;
+
+    @Value("${app.search.index.enabled:false}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AppliedChanges<ApplianceSearchIndex> applied = new AppliedChanges<>();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private List<IndexedDocument> documents = new ArrayList<>();
+    private Map<Long, Integer> ordinalById = new HashMap<>();
+    private int tombstones;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                applied.startRecording();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<ApplianceTextView> rows = applianceRepository.findTextBy();
+            List<IndexedDocument> loaded = new ArrayList<>(rows.size());
+            for (ApplianceTextView row : rows) {
+                loaded.add(IndexedDocument.of(row.getId(), row.getName(), row.getModel(), row.getDescription()));
+            }
+            lock.writeLock().lock();
+            try {
+                reindex(loaded);
+                applied.replayOnto(this);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Appliance search index built: {} documents, {} grams", loaded.size(), postings.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether {@link #search} can order hits by {@code sort}: by relevance when unsorted, or by id.
+     */
+    public static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> "id".equals(order.getProperty()));
+    }
+
+    /**
+     * Returns the ids of matching appliances, best match first (ties broken by id) or in id order.
+     *
+     * @throws IllegalArgumentException when the pageable is sorted by anything but id
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        if (!isSortable(pageable.getSort())) {
+            throw new IllegalArgumentException("Search index can only order by relevance or id, not by "
+                    + pageable.getSort());
+        }
+        List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(terms);
+            for (int ordinal : candidates) {
+                IndexedDocument document = documents.get(ordinal);
+                if (document == null) {
+                    continue;
+                }
+                int score = document.score(terms);
+                if (score > 0) {
+                    hits.add(new Hit(document.id(), score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(orderOf(pageable.getSort()));
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(hits.stream().map(Hit::id).toList(), pageable, hits.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        return new PageImpl<>(hits.subList(from, to).stream().map(Hit::id).toList(), pageable, hits.size());
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!applied.accept(event)) {
+                return;
+            }
+            applied.record(event, index -> {
+                index.apply(event);
+                return index;
+            });
+            if (ready) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppliancesImported(AppliancesImportedEvent event) {
+        if (isReady()) {
+            rebuild();
+        }
+    }
+
+    private static Comparator<Hit> orderOf(Sort sort) {
+        Sort.Order byId = sort.getOrderFor("id");
+        if (byId == null) {
+            return Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::id);
+        }
+        return byId.isAscending() ? Comparator.comparing(Hit::id) : Comparator.comparing(Hit::id).reversed();
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(List<String> terms) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (String gram : SearchTokenizer.queryGrams(term)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        int[] candidates = lists.get(0).toArray();
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(candidates, count);
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private void apply(ApplianceChangedEvent event) {
+        remove(event.getApplianceId());
+        if (!event.isDeleted()) {
+            Appliance appliance = event.getAppliance();
+            add(IndexedDocument.of(appliance.getId(), appliance.getName(), appliance.getModel(),
+                    appliance.getDescription()));
+        }
+        if (tombstones > MIN_TOMBSTONES_BEFORE_COMPACTION && tombstones > ordinalById.size()) {
+            reindex(documents.stream().filter(Objects::nonNull).toList());
+        }
+    }
+
+    private void reindex(List<IndexedDocument> live) {
+        postings = new HashMap<>();
+        documents = new ArrayList<>(live.size());
+        ordinalById = new HashMap<>(live.size() * 2);
+        tombstones = 0;
+        for (IndexedDocument document : live) {
+            add(document);
+        }
+    }
+
+    private void add(IndexedDocument document) {
+        int ordinal = documents.size();
+        documents.add(document);
+        ordinalById.put(document.id(), ordinal);
+        Set<String> grams = new HashSet<>();
+        document.collectGrams(grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).append(ordinal);
+        }
+    }
+
+    private void remove(Long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal != null) {
+            documents.set(ordinal, null);
+            tombstones++;
+        }
+    }
+
+    private record Hit(Long id, int score) {
+    }
+
+    private record IndexedDocument(Long id, Field name, Field model, Field description) {
+
+        static IndexedDocument of(Long id, String name, String model, String description) {
+            return new IndexedDocument(id, Field.of(name), Field.of(model), Field.of(description));
+        }
+
+        void collectGrams(Set<String> grams) {
+            name.collectGrams(grams);
+            model.collectGrams(grams);
+            description.collectGrams(grams);
+        }
+
+        /**
+         * Sum of per-term scores, or 0 when some term matches none of the fields (AND semantics).
+         */
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int termScore = name.score(term, NAME_WEIGHT)
+                        + model.score(term, MODEL_WEIGHT)
+                        + description.score(term, DESCRIPTION_WEIGHT);
+                if (termScore == 0) {
+                    return 0;
+                }
+                total += termScore;
+            }
+            return total;
+        }
+    }
+
+    private record Field(String text, List<String> tokens) {
+
+        static Field of(String raw) {
+            List<String> tokens = SearchTokenizer.tokenize(raw);
+            return new Field(String.join(" ", tokens), tokens);
+        }
+
+        void collectGrams(Set<String> grams) {
+            for (String token : tokens) {
+                SearchTokenizer.indexGrams(token, grams);
+            }
+        }
+
+        /**
+         * A substring match earns the base weight; a match at the start of a token, or of a whole
+         * token, earns a bonus on top.
+         */
+        int score(String term, int weight) {
+            if (!text.contains(term)) {
+                return 0;
+            }
+            int score = weight;
+            for (String token : tokens) {
+                if (token.equals(term)) {
+                    return score + weight;
+                }
+                if (token.startsWith(term)) {
+                    score = weight + weight / 2;
+                }
+            }
+            return score;
+        }
+    }
+}
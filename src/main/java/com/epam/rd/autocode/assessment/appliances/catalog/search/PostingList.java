@@ -0,0 +1,45 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending array of document ordinals. Ordinals are handed out in increasing order,
+ * so appending keeps the list sorted and intersections can use binary search.
+ */
+final class PostingList {
+
+    private int[] ordinals = new int[4];
+    private int size;
+
+    void append(int ordinal) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        ordinals[size++] = ordinal;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int ordinal) {
+        return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ordinals, size);
+    }
+
+    /**
+     * Keeps only the candidates that also appear in this list; returns the new candidate count.
+     */
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (contains(candidates[i])) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,66 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case alphanumeric tokens and tokens into n-grams of up to
+ * {@link #GRAM_SIZE} characters. Database search tokenizes queries here too, so it matches the
+ * same terms as the index.
+ */
+public final class SearchTokenizer {
+
+    static final int GRAM_SIZE = 3;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * All grams needed to answer substring queries against {@code token}: every 1-, 2- and 3-gram.
+     */
+    static void indexGrams(String token, Set<String> into) {
+        for (int length = 1; length <= GRAM_SIZE; length++) {
+            for (int i = 0; i + length <= token.length(); i++) {
+                into.add(token.substring(i, i + length));
+            }
+        }
+    }
+
+    /**
+     * Grams a document must contain to possibly match {@code term}: its 3-grams, or the term itself
+     * when it is shorter than a full gram.
+     */
+    static Set<String> queryGrams(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (term.length() <= GRAM_SIZE) {
+            grams.add(term);
+            return grams;
+        }
+        for (int i = 0; i + GRAM_SIZE <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,348 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.suggest;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.UnitsOrderedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliancesImportedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliedChanges;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogVersions;
+import com.epam.rd.autocode.assessment.appliances.catalog.ManufacturerChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceLabelView;
+import com.epam.rd.autocode.assessment.appliances.repository.AppliancePopularityView;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Typeahead over appliance names, models and manufacturer names, backed by a {@link SuggestionTrie}.
+ * <p>
+ * Each distinct label is one suggestion, reachable from the start of any of its words. Its score
+ * is the sum over contributing appliances of one plus the units ordered, so a label shared by
+ * many (or by often ordered) appliances ranks first. Order volumes are read when the index is
+ * built and then follow {@link UnitsOrderedEvent}s; appliance and manufacturer writes are applied
+ * incrementally. Out-of-order appliance events are dropped, and changes applied before or while
+ * the index is built are replayed onto it (see {@link AppliedChanges}), so an order committed just
+ * before a build reads the order volumes can be counted twice until the next rebuild.
+ * <p>
+ * Until the index is built, and while {@code app.suggest.index.enabled} is off, there are no
+ * suggestions: typeahead is optional and not worth two full table reads per keystroke.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplianceSuggestIndex {
+
+    static final int MAX_SUGGESTIONS = 20;
+
+    private final ApplianceRepository applianceRepository;
+    private final OrderRowRepository orderRowRepository;
+
+    @Value("${app.suggest.index.enabled:false}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AppliedChanges<State> applied = new AppliedChanges<>();
+    private State state = new State(new HashMap<>());
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            write(applied::startRecording);
+            State loaded = load();
+            write(() -> {
+                state = applied.replayOnto(loaded);
+                ready = true;
+            });
+            log.info("Appliance suggest index built: {} appliances, {} suggestions",
+                    loaded.contributions.size(), loaded.entries.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Best suggestions for what the user has typed so far, highest score first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        int bounded = Math.min(limit, MAX_SUGGESTIONS);
+        if (!isReady()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return state.suggest(key, bounded);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(() -> {
+            if (!applied.accept(event)) {
+                return;
+            }
+            UnaryOperator<State> change = target -> target.change(event);
+            applied.record(event, change);
+            if (ready) {
+                change.apply(state);
+            }
+        });
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppliancesImported(AppliancesImportedEvent event) {
+        if (isReady()) {
+            rebuild();
+        }
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManufacturerChanged(ManufacturerChangedEvent event) {
+        if (!enabled || event.isDeleted()) {
+            return;
+        }
+        write(() -> {
+            UnaryOperator<State> change = target -> target.rename(event.getManufacturerId(),
+                    event.getManufacturer().getName());
+            applied.record(change);
+            if (ready) {
+                change.apply(state);
+            }
+        });
+    }
+
+    @Order(CatalogVersions.VIEW_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnitsOrdered(UnitsOrderedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(() -> {
+            UnaryOperator<State> change = target -> target.order(event.getUnitsByAppliance());
+            applied.record(change);
+            if (ready) {
+                change.apply(state);
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private State load() {
+        Map<Long, Long> units = new HashMap<>();
+        for (AppliancePopularityView row : orderRowRepository.sumQuantityByAppliance()) {
+            units.put(row.getApplianceId(), row.getUnits());
+        }
+        State loaded = new State(units);
+        for (ApplianceLabelView row : applianceRepository.findLabelRows()) {
+            loaded.apply(new Contribution(row.getId(), row.getName(), row.getModel(), row.getManufacturerId(),
+                    row.getManufacturerName(), 1 + units.getOrDefault(row.getId(), 0L)));
+        }
+        return loaded;
+    }
+
+    /**
+     * The normalized label and every suffix of it that starts a word.
+     */
+    static List<String> keysOf(String label) {
+        String normalized = normalize(label).trim();
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-cases and collapses whitespace. A trailing space is kept, so "mini " only matches
+     * labels with a word after "mini".
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String collapsed = text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return collapsed.startsWith(" ") ? collapsed.substring(1) : collapsed;
+    }
+
+    private static final class State {
+
+        private final SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+        private final Map<Label, SuggestionTrie.Entry> entries = new HashMap<>();
+        private final Map<Long, Contribution> contributions = new HashMap<>();
+        private final Map<Long, Long> unitsOrdered;
+
+        private State(Map<Long, Long> unitsOrdered) {
+            this.unitsOrdered = unitsOrdered;
+        }
+
+        List<Suggestion> suggest(String key, int limit) {
+            return trie.top(key, limit).stream()
+                    .map(entry -> new Suggestion(entry.text(), entry.type(), entry.weight()))
+                    .toList();
+        }
+
+        State change(ApplianceChangedEvent event) {
+            Contribution previous = contributions.get(event.getApplianceId());
+            if (previous != null) {
+                retract(previous);
+            }
+            if (!event.isDeleted()) {
+                apply(Contribution.of(event.getAppliance(), 1 + unitsOrdered.getOrDefault(event.getApplianceId(), 0L)));
+            }
+            return this;
+        }
+
+        State order(Map<Long, Long> units) {
+            units.forEach((applianceId, count) -> {
+                unitsOrdered.merge(applianceId, count, Long::sum);
+                Contribution previous = contributions.get(applianceId);
+                if (previous != null) {
+                    retract(previous);
+                    apply(previous.withWeight(previous.weight() + count));
+                }
+            });
+            return this;
+        }
+
+        State rename(Long manufacturerId, String name) {
+            List<Contribution> renamed = contributions.values().stream()
+                    .filter(c -> manufacturerId.equals(c.manufacturerId())
+                            && !Objects.equals(name, c.manufacturerName()))
+                    .toList();
+            for (Contribution contribution : renamed) {
+                retract(contribution);
+                apply(contribution.withManufacturerName(name));
+            }
+            return this;
+        }
+
+        void apply(Contribution contribution) {
+            contributions.put(contribution.applianceId(), contribution);
+            for (Label label : contribution.labels()) {
+                SuggestionTrie.Entry entry = entries.get(label);
+                boolean created = entry == null;
+                if (created) {
+                    entry = new SuggestionTrie.Entry(label.text(), label.type());
+                    entries.put(label, entry);
+                }
+                entry.contribute(contribution.weight(), 1);
+                for (String key : keysOf(label.text())) {
+                    if (created) {
+                        trie.add(key, entry);
+                    } else {
+                        trie.refresh(key);
+                    }
+                }
+            }
+        }
+
+        void retract(Contribution contribution) {
+            contributions.remove(contribution.applianceId());
+            for (Label label : contribution.labels()) {
+                SuggestionTrie.Entry entry = entries.get(label);
+                if (entry == null) {
+                    continue;
+                }
+                entry.contribute(-contribution.weight(), -1);
+                boolean gone = entry.contributors() == 0;
+                if (gone) {
+                    entries.remove(label);
+                }
+                for (String key : keysOf(label.text())) {
+                    if (gone) {
+                        trie.remove(key, entry);
+                    } else {
+                        trie.refresh(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Label(String text, SuggestionType type) {
+    }
+
+    private record Contribution(Long applianceId, String name, String model, Long manufacturerId,
+                                String manufacturerName, long weight) {
+
+        static Contribution of(Appliance appliance, long weight) {
+            Long manufacturerId = appliance.getManufacturer() != null ? appliance.getManufacturer().getId() : null;
+            String manufacturerName = appliance.getManufacturer() != null ? appliance.getManufacturer().getName() : null;
+            return new Contribution(appliance.getId(), appliance.getName(), appliance.getModel(), manufacturerId,
+                    manufacturerName, weight);
+        }
+
+        Contribution withManufacturerName(String name) {
+            return new Contribution(applianceId, this.name, model, manufacturerId, name, weight);
+        }
+
+        Contribution withWeight(long weight) {
+            return new Contribution(applianceId, name, model, manufacturerId, manufacturerName, weight);
+        }
+
+        List<Label> labels() {
+            List<Label> labels = new ArrayList<>(3);
+            addIfPresent(labels, name, SuggestionType.APPLIANCE);
+            addIfPresent(labels, model, SuggestionType.MODEL);
+            addIfPresent(labels, manufacturerName, SuggestionType.MANUFACTURER);
+            return labels;
+        }
+
+        private static void addIfPresent(List<Label> labels, String text, SuggestionType type) {
+            if (text != null && !text.isBlank()) {
+                labels.add(new Label(text.trim().replaceAll("\\s+", " "), type));
+            }
+        }
+    }
+}
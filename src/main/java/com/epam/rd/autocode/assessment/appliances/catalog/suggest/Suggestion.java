@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.suggest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class Suggestion {
+
+    private final String text;
+    private final SuggestionType type;
+
+    /** Popularity: for each contributing appliance, one plus the units ordered. */
+    private final long score;
+}
@@ -0,0 +1,214 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.suggest;
+
+import java.util.*;
+
+/**
+ * Compressed (radix) trie from normalized keys to suggestion entries.
+ * <p>
+ * Every node caches the best {@code topK} entries of its subtree, so a lookup costs one walk down
+ * the prefix and no subtree traversal. Writes re-derive the caches on the path from the changed
+ * node back to the root. Several keys may point at the same entry (for example every word-start
+ * suffix of a name); caches hold each entry at most once.
+ * <p>
+ * Not thread-safe; {@link ApplianceSuggestIndex} guards it with a read/write lock.
+ */
+final class SuggestionTrie {
+
+    static final Comparator<Entry> BY_SCORE = Comparator.comparingLong(Entry::weight).reversed()
+            .thenComparing(Entry::text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Entry::type);
+
+    private final int topK;
+    private final Node root = new Node("");
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Best entries whose key starts with {@code prefix}, highest score first.
+     */
+    List<Entry> top(String prefix, int limit) {
+        Node node = root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(matched));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(child.label, prefix, matched);
+            if (common < child.label.length() && matched + common < prefix.length()) {
+                return List.of();
+            }
+            matched += common;
+            node = child;
+        }
+        return node.top.subList(0, Math.min(limit, node.top.size()));
+    }
+
+    void add(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            char next = key.charAt(matched);
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                node.children.put(next, child);
+                matched = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, matched);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                matched += common;
+            }
+            node = child;
+            path.add(node);
+        }
+        if (!node.terminals.contains(entry)) {
+            node.terminals.add(entry);
+        }
+        recompute(path);
+    }
+
+    void remove(String key, Entry entry) {
+        List<Node> path = find(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.terminals.remove(entry);
+        // Prune the emptied leaf and re-merge a parent left with a single child
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.terminals.isEmpty() && current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+                path.remove(i);
+            } else if (current.terminals.isEmpty() && current.children.size() == 1) {
+                Node only = current.children.values().iterator().next();
+                only.label = current.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+                path.set(i, only);
+                break;
+            } else {
+                break;
+            }
+        }
+        recompute(path);
+    }
+
+    /**
+     * Re-ranks the caches above {@code key} after the weight of one of its entries changed.
+     */
+    void refresh(String key) {
+        List<Node> path = find(key);
+        if (path != null) {
+            recompute(path);
+        }
+    }
+
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.children.get(key.charAt(matched));
+            if (child == null || !key.startsWith(child.label, matched)) {
+                return null;
+            }
+            matched += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children.put(child.label.charAt(0), child);
+        middle.top = child.top;
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop(topK);
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Entry> terminals = new ArrayList<>(1);
+        private List<Entry> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private void recomputeTop(int topK) {
+            Set<Entry> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            candidates.addAll(terminals);
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            List<Entry> ranked = new ArrayList<>(candidates);
+            ranked.sort(BY_SCORE);
+            top = List.copyOf(ranked.subList(0, Math.min(topK, ranked.size())));
+        }
+    }
+
+    /**
+     * One suggestion with its mutable aggregate weight; identity matters, equality does not.
+     */
+    static final class Entry {
+
+        private final String text;
+        private final SuggestionType type;
+        private long weight;
+        private int contributors;
+
+        Entry(String text, SuggestionType type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        String text() {
+            return text;
+        }
+
+        SuggestionType type() {
+            return type;
+        }
+
+        long weight() {
+            return weight;
+        }
+
+        int contributors() {
+            return contributors;
+        }
+
+        void contribute(long delta, int count) {
+            weight += delta;
+            contributors += count;
+        }
+    }
+}
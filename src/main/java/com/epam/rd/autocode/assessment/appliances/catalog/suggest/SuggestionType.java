@@ -0,0 +1,7 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.suggest;
+
+public enum SuggestionType {
+    APPLIANCE,
+    MODEL,
+    MANUFACTURER
+}
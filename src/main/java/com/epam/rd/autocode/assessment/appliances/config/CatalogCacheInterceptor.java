@@ -0,0 +1,139 @@
+package com.epam.rd.autocode.assessment.appliances.config;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogVersions;
+import com.epam.rd.autocode.assessment.appliances.controller.api.ApplianceController;
+import com.epam.rd.autocode.assessment.appliances.controller.api.ManufacturerController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Conditional GET for appliance and manufacturer reads. The entity tag comes from
+ * {@link CatalogVersions} alone, so a matching {@code If-None-Match} is answered with 304 before
+ * the controller runs: no query, no mapping, no serialization.
+ * <p>
+ * Otherwise the tag is only sent with a successful response body, just before it is written, so
+ * errors are never tagged and cached. Streamed responses are not tagged.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CatalogCacheInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String ETAG_ATTRIBUTE = CatalogCacheInterceptor.class.getName() + ".etag";
+
+    private final CatalogVersions catalogVersions;
+
+    @Value("${app.http.cache.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Value("${app.http.cache.stale-while-revalidate-seconds:60}")
+    private long staleWhileRevalidateSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String tag = tagFor(handlerMethod.getBeanType(), request);
+        if (tag == null) {
+            return true;
+        }
+        String etag = "\"" + tag + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            setCacheHeaders(response, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ETAG_ATTRIBUTE) instanceof String etag
+                && HttpStatus.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            setCacheHeaders(servletResponse.getServletResponse(), etag);
+        }
+        return body;
+    }
+
+    private void setCacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidateSeconds))
+                .getHeaderValue());
+    }
+
+    private String tagFor(Class<?> controller, HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Long id = rowId(variables);
+        if (ApplianceController.class.isAssignableFrom(controller)) {
+            return id != null ? catalogVersions.applianceTag(id) : catalogVersions.appliancesTag();
+        }
+        if (ManufacturerController.class.isAssignableFrom(controller)) {
+            return id != null ? catalogVersions.manufacturerTag(id) : catalogVersions.manufacturersTag();
+        }
+        return null;
+    }
+
+    private static Long rowId(Map<String, String> variables) {
+        if (variables == null || !variables.containsKey("id")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match}: {@code W/} prefixes are ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package com.epam.rd.autocode.assessment.appliances.config;
+
+import com.epam.rd.autocode.assessment.appliances.security.CurrentUser;
+import com.epam.rd.autocode.assessment.appliances.security.UserPrincipal;
+import com.epam.rd.autocode.assessment.appliances.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Supplies {@link CurrentUser} controller parameters from the authenticated principal, building
+ * it once per request and keeping it as a request attribute.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    private final UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public CurrentUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                       NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        CurrentUser currentUser = (CurrentUser) webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (currentUser == null) {
+            currentUser = resolve(SecurityContextHolder.getContext().getAuthentication());
+            webRequest.setAttribute(ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return currentUser;
+    }
+
+    private CurrentUser resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return CurrentUser.of(principal);
+        }
+        String email = authentication.getName();
+        Set<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        String role = authorities.contains("ROLE_" + CurrentUser.EMPLOYEE) ? CurrentUser.EMPLOYEE
+                : authorities.contains("ROLE_" + CurrentUser.CLIENT) ? CurrentUser.CLIENT
+                : "USER";
+        return CurrentUser.of(email, role, () -> userService.getUserByEmail(email).getId());
+    }
+}
@@ -1,20 +1,27 @@
 package com.epam.rd.autocode.assessment.appliances.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
+import java.util.List;
 import java.util.Locale;
 
 @Configuration
+@RequiredArgsConstructor
 public class MainConfig implements WebMvcConfigurer {
 
+    private final CatalogCacheInterceptor catalogCacheInterceptor;
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+
     @Bean
     public LocaleResolver localeResolver() {
         SessionLocaleResolver resolver = new SessionLocaleResolver();
@@ -32,6 +39,17 @@ public class MainConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(localeChangeInterceptor());
+        // Suggestions also rank by orders and exports are streamed, so neither is tagged
+        registry.addInterceptor(catalogCacheInterceptor)
+                .addPathPatterns("/api/appliances", "/api/appliances/**",
+                        "/api/manufacturers", "/api/manufacturers/**")
+                .excludePathPatterns("/api/manufacturers/cache/**", "/api/appliances/*/stock",
+                        "/api/appliances/suggest", "/api/appliances/export");
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
     }
 
     @Bean
@@ -1,15 +1,79 @@
 package com.epam.rd.autocode.assessment.appliances.config;
 
+import com.epam.rd.autocode.assessment.appliances.security.OffloadingPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 public class PasswordEncoderConfig {
 
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * New hashes use {@code app.security.password.algorithm} and are stored with an
+     * {@code {id}} prefix. Hashes from before the prefix are read as BCrypt. Any hash in another
+     * algorithm, or a BCrypt hash at another cost, counts as outdated and is replaced at the next
+     * successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(
+            @Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.hashing.threads:0}") int threads,
+            @Value("${app.security.password.hashing.queue-capacity:200}") int queueCapacity,
+            @Value("${app.security.password.hashing.wait-timeout:5s}") Duration waitTimeout) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(delegatingEncoder(algorithm, bcryptStrength),
+                hashingThreads, queueCapacity, waitTimeout);
+    }
+
+    static PasswordEncoder delegatingEncoder(String algorithm, int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new StrengthPinnedBCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported app.security.password.algorithm '" + algorithm
+                    + "', expected one of " + encoders.keySet());
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * Treats BCrypt hashes at any cost other than the configured one as outdated, so the cost can
+     * be lowered as well as raised.
+     */
+    private static final class StrengthPinnedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        private StrengthPinnedBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // $2a$10$... : the cost sits between the second and third '$'
+            if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+                return false;
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.epam.rd.autocode.assessment.appliances.controller.api;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGrouping;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRanking;
+import com.epam.rd.autocode.assessment.appliances.dto.ApplianceSalesDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.RevenueGroupDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('EMPLOYEE')")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final EntityMapper entityMapper;
+
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueGroupDTO>> getRevenue(
+            @RequestParam(defaultValue = "category") String groupBy,
+            @RequestParam(defaultValue = "true") boolean approvedOnly) {
+        return ResponseEntity.ok(analyticsService.getRevenue(RevenueGrouping.of(groupBy), approvedOnly).stream()
+                .map(entityMapper::toRevenueGroupDTO)
+                .toList());
+    }
+
+    @GetMapping("/top-appliances")
+    public ResponseEntity<List<ApplianceSalesDTO>> getTopAppliances(
+            @RequestParam(defaultValue = "units") String rankBy,
+            @RequestParam(defaultValue = "true") boolean approvedOnly,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopAppliances(SalesRanking.of(rankBy), approvedOnly, limit)
+                .stream()
+                .map(entityMapper::toApplianceSalesDTO)
+                .toList());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups() {
+        return ResponseEntity.ok(Map.of("rows", analyticsService.rebuildSalesRollup()));
+    }
+}
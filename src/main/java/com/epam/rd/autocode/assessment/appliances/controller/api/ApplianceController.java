@@ -1,25 +1,45 @@
 package com.epam.rd.autocode.assessment.appliances.controller.api;
 
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilter;
+import com.epam.rd.autocode.assessment.appliances.dto.ApplianceFilterResponseDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.ApplianceImportResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.ApplianceRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.ApplianceResponseDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.ApplianceStockDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.PageResponseDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.StockUpdateDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.SuggestionDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
 import com.epam.rd.autocode.assessment.appliances.model.Appliance;
 import com.epam.rd.autocode.assessment.appliances.model.Category;
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
 import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.service.ApplianceImportService;
 import com.epam.rd.autocode.assessment.appliances.service.ApplianceService;
 import com.epam.rd.autocode.assessment.appliances.service.ManufacturerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/appliances")
@@ -27,32 +47,124 @@ import org.springframework.web.bind.annotation.*;
 public class ApplianceController {
 
     private final ApplianceService applianceService;
+    private final ApplianceImportService applianceImportService;
     private final ManufacturerService manufacturerService;
     private final EntityMapper entityMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @GetMapping
     public ResponseEntity<PageResponseDTO<ApplianceResponseDTO>> getAllAppliances(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Appliance.class, pageable.getSort());
+            Window<Appliance> window = applianceService.getAllAppliances(position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toApplianceResponseDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    applianceService.getAllAppliancesSlice(pageable), entityMapper::toApplianceResponseDTO));
+        }
         Page<Appliance> page = applianceService.getAllAppliances(pageable);
         PageResponseDTO<ApplianceResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toApplianceResponseDTO);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Without a {@code sort} parameter results are ranked by relevance, or by id while the search
+     * index is off.
+     */
     @GetMapping("/search")
     public ResponseEntity<PageResponseDTO<ApplianceResponseDTO>> searchAppliances(
             @RequestParam String query,
-            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+            @RequestParam(defaultValue = "true") boolean count,
+            @PageableDefault(size = 10) Pageable pageable) {
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    applianceService.searchAppliancesSlice(query, pageable), entityMapper::toApplianceResponseDTO));
+        }
         Page<Appliance> page = applianceService.searchAppliances(query, pageable);
         PageResponseDTO<ApplianceResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toApplianceResponseDTO);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestAppliances(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionDTO> suggestions = applianceService.suggestAppliances(prefix, limit).stream()
+                .map(entityMapper::toSuggestionDTO)
+                .toList();
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppliances(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        CatalogFormat exportFormat = CatalogFormat.of(format);
+        StreamingResponseBody body = out -> applianceService.exportAppliances(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("appliances." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<ApplianceImportResponseDTO> importAppliances(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        CatalogFormat importFormat = CatalogFormat.of(format);
+        return ResponseEntity.ok(entityMapper.toApplianceImportResponseDTO(
+                applianceImportService.importAppliances(importFormat, body)));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ApplianceFilterResponseDTO> filterAppliances(
+            @RequestParam(required = false) Set<Category> category,
+            @RequestParam(required = false) Set<PowerType> powerType,
+            @RequestParam(required = false) Set<Long> manufacturerId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minPower,
+            @RequestParam(required = false) Integer maxPower,
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        ApplianceFilter filter = ApplianceFilter.builder()
+                .categories(category != null ? category : Set.of())
+                .powerTypes(powerType != null ? powerType : Set.of())
+                .manufacturerIds(manufacturerId != null ? manufacturerId : Set.of())
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minPower(minPower)
+                .maxPower(maxPower)
+                .build();
+        return ResponseEntity.ok(entityMapper.toApplianceFilterResponseDTO(
+                applianceService.filterAppliances(filter, pageable)));
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<PageResponseDTO<ApplianceResponseDTO>> getAppliancesByCategory(
             @PathVariable Category category,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Appliance.class, pageable.getSort());
+            Window<Appliance> window = applianceService.getAppliancesByCategory(category, position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toApplianceResponseDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    applianceService.getAppliancesByCategorySlice(category, pageable), entityMapper::toApplianceResponseDTO));
+        }
         Page<Appliance> page = applianceService.getAppliancesByCategory(category, pageable);
         PageResponseDTO<ApplianceResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toApplianceResponseDTO);
@@ -62,7 +174,19 @@ public class ApplianceController {
     @GetMapping("/power-type/{powerType}")
     public ResponseEntity<PageResponseDTO<ApplianceResponseDTO>> getAppliancesByPowerType(
             @PathVariable PowerType powerType,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Appliance.class, pageable.getSort());
+            Window<Appliance> window = applianceService.getAppliancesByPowerType(powerType, position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toApplianceResponseDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    applianceService.getAppliancesByPowerTypeSlice(powerType, pageable), entityMapper::toApplianceResponseDTO));
+        }
         Page<Appliance> page = applianceService.getAppliancesByPowerType(powerType, pageable);
         PageResponseDTO<ApplianceResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toApplianceResponseDTO);
@@ -98,6 +222,18 @@ public class ApplianceController {
         return ResponseEntity.ok(entityMapper.toApplianceResponseDTO(updated));
     }
 
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<ApplianceStockDTO> getStock(@PathVariable Long id) {
+        return ResponseEntity.ok(new ApplianceStockDTO(id, applianceService.getStock(id)));
+    }
+
+    @PutMapping("/{id}/stock")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<ApplianceStockDTO> setStock(
+            @PathVariable Long id, @Valid @RequestBody StockUpdateDTO dto) {
+        return ResponseEntity.ok(new ApplianceStockDTO(id, applianceService.setStock(id, dto.getStock())));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('EMPLOYEE')")
     public ResponseEntity<Void> deleteAppliance(@PathVariable Long id) {
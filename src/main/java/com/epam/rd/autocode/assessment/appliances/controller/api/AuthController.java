@@ -2,9 +2,11 @@ package com.epam.rd.autocode.assessment.appliances.controller.api;
 
 import com.epam.rd.autocode.assessment.appliances.dto.*;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.model.User;
+import com.epam.rd.autocode.assessment.appliances.security.AuthRequestExecutor;
 import com.epam.rd.autocode.assessment.appliances.security.JwtTokenProvider;
 import com.epam.rd.autocode.assessment.appliances.service.ClientService;
 import com.epam.rd.autocode.assessment.appliances.service.EmployeeService;
@@ -20,11 +22,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -39,9 +41,15 @@ public class AuthController {
     private final EmployeeService employeeService;
     private final EntityMapper entityMapper;
     private final LoginAttemptService loginAttemptService;
+    private final AuthRequestExecutor authRequestExecutor;
 
+    /**
+     * Logins and registrations run on the auth worker pool and complete through Spring MVC async
+     * processing, so a burst of them never holds on to request threads. Only their password hashing
+     * goes on to the CPU-sized hashing pool.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         log.info("Login attempt for user: {}", loginRequest.getEmail());
 
         String email = loginRequest.getEmail();
@@ -53,9 +61,19 @@ public class AuthController {
             error.put("message", "Too many failed login attempts. Please try again in " +
                      loginAttemptService.getBlockDurationSeconds() + " seconds.");
             error.put("remainingAttempts", 0);
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error));
         }
 
+        return authRequestExecutor.<ResponseEntity<?>>supplyAsync(() -> authenticate(loginRequest))
+                .whenComplete((response, ex) -> {
+                    if (ex instanceof TooManyRequestsException) {
+                        log.warn("Login for user: {} rejected, logins or password checks are saturated", email);
+                    }
+                });
+    }
+
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
+        String email = loginRequest.getEmail();
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -64,7 +82,6 @@ public class AuthController {
                     )
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = tokenProvider.generateToken(authentication);
 
             User user = userService.getUserByEmail(loginRequest.getEmail());
@@ -109,33 +126,39 @@ public class AuthController {
     }
 
     @PostMapping("/register/client")
-    public ResponseEntity<ClientResponseDTO> registerClient(@Valid @RequestBody ClientRequestDTO clientDTO) {
+    public CompletableFuture<ResponseEntity<ClientResponseDTO>> registerClient(
+            @Valid @RequestBody ClientRequestDTO clientDTO) {
         log.info("Registering new client: {}", clientDTO.getEmail());
-        try {
-            Client client = entityMapper.toClientEntity(clientDTO);
-            Client created = clientService.createClient(client);
-            log.info("Successfully registered client: {} with ID: {}", created.getEmail(), created.getId());
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(entityMapper.toClientResponseDTO(created));
-        } catch (Exception e) {
-            log.error("Failed to register client: {}", clientDTO.getEmail(), e);
-            throw e;
-        }
+        return authRequestExecutor.supplyAsync(() -> {
+            try {
+                Client client = entityMapper.toClientEntity(clientDTO);
+                Client created = clientService.createClient(client);
+                log.info("Successfully registered client: {} with ID: {}", created.getEmail(), created.getId());
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(entityMapper.toClientResponseDTO(created));
+            } catch (Exception e) {
+                log.error("Failed to register client: {}", clientDTO.getEmail(), e);
+                throw e;
+            }
+        });
     }
 
     @PostMapping("/register/employee")
-    public ResponseEntity<EmployeeResponseDTO> registerEmployee(@Valid @RequestBody EmployeeRequestDTO employeeDTO) {
+    public CompletableFuture<ResponseEntity<EmployeeResponseDTO>> registerEmployee(
+            @Valid @RequestBody EmployeeRequestDTO employeeDTO) {
         log.info("Registering new employee: {}", employeeDTO.getEmail());
-        try {
-            Employee employee = entityMapper.toEmployeeEntity(employeeDTO);
-            Employee created = employeeService.createEmployee(employee);
-            log.info("Successfully registered employee: {} with ID: {}", created.getEmail(), created.getId());
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(entityMapper.toEmployeeResponseDTO(created));
-        } catch (Exception e) {
-            log.error("Failed to register employee: {}", employeeDTO.getEmail(), e);
-            throw e;
-        }
+        return authRequestExecutor.supplyAsync(() -> {
+            try {
+                Employee employee = entityMapper.toEmployeeEntity(employeeDTO);
+                Employee created = employeeService.createEmployee(employee);
+                log.info("Successfully registered employee: {} with ID: {}", created.getEmail(), created.getId());
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(entityMapper.toEmployeeResponseDTO(created));
+            } catch (Exception e) {
+                log.error("Failed to register employee: {}", employeeDTO.getEmail(), e);
+                throw e;
+            }
+        });
     }
 
     private String determineRole(User user) {
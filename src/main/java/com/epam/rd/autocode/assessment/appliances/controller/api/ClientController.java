@@ -4,15 +4,18 @@ import com.epam.rd.autocode.assessment.appliances.dto.ClientRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.ClientResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.PageResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.service.ClientService;
 import com.epam.rd.autocode.assessment.appliances.validation.OnCreate;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,10 +32,23 @@ public class ClientController {
 
     private final ClientService clientService;
     private final EntityMapper entityMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @GetMapping
     public ResponseEntity<PageResponseDTO<ClientResponseDTO>> getAllClients(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Client.class, pageable.getSort());
+            Window<Client> window = clientService.getAllClients(position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toClientResponseDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    clientService.getAllClientsSlice(pageable), entityMapper::toClientResponseDTO));
+        }
         Page<Client> page = clientService.getAllClients(pageable);
         PageResponseDTO<ClientResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toClientResponseDTO);
@@ -42,7 +58,12 @@ public class ClientController {
     @GetMapping("/search")
     public ResponseEntity<PageResponseDTO<ClientResponseDTO>> searchClients(
             @RequestParam String query,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    clientService.searchClientsSlice(query, pageable), entityMapper::toClientResponseDTO));
+        }
         Page<Client> page = clientService.searchClients(query, pageable);
         PageResponseDTO<ClientResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toClientResponseDTO);
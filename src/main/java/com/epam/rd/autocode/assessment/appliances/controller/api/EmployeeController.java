@@ -4,13 +4,16 @@ import com.epam.rd.autocode.assessment.appliances.dto.EmployeeRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.EmployeeResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.PageResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,10 +28,23 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
     private final EntityMapper entityMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @GetMapping
     public ResponseEntity<PageResponseDTO<EmployeeResponseDTO>> getAllEmployees(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Employee.class, pageable.getSort());
+            Window<Employee> window = employeeService.getAllEmployees(position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toEmployeeResponseDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    employeeService.getAllEmployeesSlice(pageable), entityMapper::toEmployeeResponseDTO));
+        }
         Page<Employee> page = employeeService.getAllEmployees(pageable);
         PageResponseDTO<EmployeeResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toEmployeeResponseDTO);
@@ -38,7 +54,12 @@ public class EmployeeController {
     @GetMapping("/search")
     public ResponseEntity<PageResponseDTO<EmployeeResponseDTO>> searchEmployees(
             @RequestParam String query,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    employeeService.searchEmployeesSlice(query, pageable), entityMapper::toEmployeeResponseDTO));
+        }
         Page<Employee> page = employeeService.searchEmployees(query, pageable);
         PageResponseDTO<EmployeeResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toEmployeeResponseDTO);
@@ -1,22 +1,28 @@
 package com.epam.rd.autocode.assessment.appliances.controller.api;
 
+import com.epam.rd.autocode.assessment.appliances.dto.CacheStatsDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.ManufacturerRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.ManufacturerResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.PageResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
 import com.epam.rd.autocode.assessment.appliances.service.ManufacturerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/manufacturers")
 @RequiredArgsConstructor
@@ -24,11 +30,19 @@ public class ManufacturerController {
 
     private final ManufacturerService manufacturerService;
     private final EntityMapper entityMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'CLIENT')")
     public ResponseEntity<PageResponseDTO<ManufacturerResponseDTO>> getAllManufacturers(
+            @RequestParam(required = false) String after,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Manufacturer.class, pageable.getSort());
+            Window<Manufacturer> window = manufacturerService.getAllManufacturers(position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toManufacturerResponseDTO));
+        }
         Page<Manufacturer> page = manufacturerService.getAllManufacturers(pageable);
         PageResponseDTO<ManufacturerResponseDTO> response = entityMapper.toPageResponseDTO(
                 page, entityMapper::toManufacturerResponseDTO);
@@ -46,6 +60,15 @@ public class ManufacturerController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> stats = manufacturerService.getCacheStats().stream()
+                .map(entityMapper::toCacheStatsDTO)
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'CLIENT')")
     public ResponseEntity<ManufacturerResponseDTO> getManufacturerById(@PathVariable Long id) {
@@ -1,28 +1,45 @@
 package com.epam.rd.autocode.assessment.appliances.controller.api;
 
+import com.epam.rd.autocode.assessment.appliances.dto.OrderApprovalRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderApprovalResponseDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderHistoryDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.OrderResponseDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowPatchDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderTicketDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.PageResponseDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
+import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.idempotency.IdempotentExecutor;
+import com.epam.rd.autocode.assessment.appliances.intake.OrderIntake;
+import com.epam.rd.autocode.assessment.appliances.intake.OrderTicket;
 import com.epam.rd.autocode.assessment.appliances.model.*;
+import com.epam.rd.autocode.assessment.appliances.security.CurrentUser;
 import com.epam.rd.autocode.assessment.appliances.service.ApplianceService;
+import com.epam.rd.autocode.assessment.appliances.service.BulkApprovalResult;
 import com.epam.rd.autocode.assessment.appliances.service.ClientService;
+import com.epam.rd.autocode.assessment.appliances.service.OrderPlacementService;
 import com.epam.rd.autocode.assessment.appliances.service.OrderService;
-import com.epam.rd.autocode.assessment.appliances.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
@@ -30,120 +47,183 @@ import org.springframework.web.server.ResponseStatusException;
 public class OrderController {
 
     private final OrderService orderService;
-    private final UserService userService;
+    private final OrderPlacementService orderPlacementService;
     private final ClientService clientService;
     private final ApplianceService applianceService;
     private final EntityMapper entityMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final IdempotentExecutor idempotentExecutor;
+    private final OrderIntake orderIntake;
 
     @GetMapping
     @PreAuthorize("hasRole('EMPLOYEE')")
     public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getAllOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Orders.class, pageable.getSort());
+            Window<Orders> window = orderService.getAllOrders(position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toOrderSummaryDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    orderService.getAllOrdersSlice(pageable), entityMapper::toOrderSummaryDTO));
+        }
         Page<Orders> page = orderService.getAllOrders(pageable);
         PageResponseDTO<OrderResponseDTO> response = entityMapper.toPageResponseDTO(
-                page, entityMapper::toOrderResponseDTO);
+                page, entityMapper::toOrderSummaryDTO);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/client/{clientId}")
     public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getOrdersByClientId(
             @PathVariable Long clientId,
-            Authentication authentication,
+            CurrentUser currentUser,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))) {
-            User currentUser = userService.getUserByEmail(authentication.getName());
-            if (!(currentUser instanceof Client) || !currentUser.getId().equals(clientId)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
-            }
+        checkCanViewClientOrders(clientId, currentUser);
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Orders.class, pageable.getSort());
+            Window<Orders> window = orderService.getOrdersByClientId(clientId, position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toOrderSummaryDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    orderService.getOrdersByClientIdSlice(clientId, pageable), entityMapper::toOrderSummaryDTO));
         }
         Page<Orders> page = orderService.getOrdersByClientId(clientId, pageable);
         PageResponseDTO<OrderResponseDTO> response = entityMapper.toPageResponseDTO(
-                page, entityMapper::toOrderResponseDTO);
+                page, entityMapper::toOrderSummaryDTO);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight order history: totals and the handling employee's name, projected straight from
+     * the orders table without loading order, row or client entities.
+     */
+    @GetMapping("/client/{clientId}/history")
+    public ResponseEntity<PageResponseDTO<OrderHistoryDTO>> getOrderHistory(
+            @PathVariable Long clientId,
+            CurrentUser currentUser,
+            @RequestParam(defaultValue = "true") boolean count,
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        checkCanViewClientOrders(clientId, currentUser);
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    orderService.getOrderHistorySlice(clientId, pageable), entityMapper::toOrderHistoryDTO));
+        }
+        return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                orderService.getOrderHistory(clientId, pageable), entityMapper::toOrderHistoryDTO));
+    }
+
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasRole('EMPLOYEE')")
     public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getOrdersByEmployeeId(
             @PathVariable Long employeeId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Orders.class, pageable.getSort());
+            Window<Orders> window = orderService.getOrdersByEmployeeId(employeeId, position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toOrderSummaryDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    orderService.getOrdersByEmployeeIdSlice(employeeId, pageable), entityMapper::toOrderSummaryDTO));
+        }
         Page<Orders> page = orderService.getOrdersByEmployeeId(employeeId, pageable);
         PageResponseDTO<OrderResponseDTO> response = entityMapper.toPageResponseDTO(
-                page, entityMapper::toOrderResponseDTO);
+                page, entityMapper::toOrderSummaryDTO);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/status/{approved}")
     public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getOrdersByApprovalStatus(
             @PathVariable Boolean approved,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            KeysetScrollPosition position = keysetCursorCodec.decode(after, Orders.class, pageable.getSort());
+            Window<Orders> window = orderService.getOrdersByApprovalStatus(approved, position, pageable);
+            return ResponseEntity.ok(entityMapper.toPageResponseDTO(
+                    window, position, pageable.getPageSize(), entityMapper::toOrderSummaryDTO));
+        }
+        if (!count) {
+            return ResponseEntity.ok(entityMapper.toSliceResponseDTO(
+                    orderService.getOrdersByApprovalStatusSlice(approved, pageable), entityMapper::toOrderSummaryDTO));
+        }
         Page<Orders> page = orderService.getOrdersByApprovalStatus(approved, pageable);
         PageResponseDTO<OrderResponseDTO> response = entityMapper.toPageResponseDTO(
-                page, entityMapper::toOrderResponseDTO);
+                page, entityMapper::toOrderSummaryDTO);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, Authentication authentication) {
-        Orders order = orderService.getOrderById(id);
-
-        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))) {
-            User currentUser = userService.getUserByEmail(authentication.getName());
-            if (!(currentUser instanceof Client) || !order.getClient().getId().equals(currentUser.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
-            }
-        }
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, CurrentUser currentUser) {
+        Orders order = currentUser.isEmployee()
+                ? orderService.getOrderById(id)
+                : orderService.findClientOrder(id, currentUser.getId()).orElseThrow(() -> notOwnOrder(id));
         return ResponseEntity.ok(entityMapper.toOrderResponseDTO(order));
     }
 
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO dto) {
-        Client client = clientService.getClientById(dto.getClientId());
+    public ResponseEntity<OrderResponseDTO> createOrder(
+            @Valid @RequestBody OrderRequestDTO dto,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            CurrentUser currentUser) {
+        return idempotentExecutor.execute("orders:" + currentUser.getEmail(), idempotencyKey, dto,
+                OrderResponseDTO.class, () -> {
+                    Orders created = orderPlacementService.placeOrder(dto);
 
-        Orders order = new Orders();
-        order.setClient(client);
-        order.setApproved(false);
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(entityMapper.toOrderResponseDTO(created));
+                });
+    }
 
-        for (var rowDto : dto.getOrderRows()) {
-            Appliance appliance = applianceService.getApplianceById(rowDto.getApplianceId());
-            OrderRow orderRow = entityMapper.toOrderRowEntity(rowDto, appliance);
-            order.addOrderRow(orderRow);  // Use helper method to set bidirectional relationship
-        }
+    @PostMapping("/intake")
+    public ResponseEntity<OrderTicketDTO> submitOrder(
+            @Valid @RequestBody OrderRequestDTO dto,
+            CurrentUser currentUser) {
+        OrderTicket ticket = orderIntake.submit(currentUser.getEmail(), dto);
 
-        Orders created = orderService.createOrder(order);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/intake/" + ticket.getId()))
+                .body(entityMapper.toOrderTicketDTO(ticket));
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(entityMapper.toOrderResponseDTO(created));
+    @GetMapping("/intake/{ticketId}")
+    public ResponseEntity<OrderTicketDTO> getOrderTicket(
+            @PathVariable UUID ticketId,
+            CurrentUser currentUser) {
+        OrderTicket ticket = orderIntake.find(ticketId)
+                .filter(found -> currentUser.isEmployee() || found.getOwner().equals(currentUser.getEmail()))
+                .orElseThrow(() -> new ResourceNotFoundException("OrderTicket", "id", ticketId));
+        return ResponseEntity.ok(entityMapper.toOrderTicketDTO(ticket));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> updateOrder(
             @PathVariable Long id,
             @Valid @RequestBody OrderRequestDTO dto,
-            Authentication authentication) {
-        Orders existing = orderService.getOrderById(id);
-
-        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))) {
-            User currentUser = userService.getUserByEmail(authentication.getName());
-            if (!(currentUser instanceof Client) || !existing.getClient().getId().equals(currentUser.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
-            }
-            if (existing.getApproved()) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot update approved order");
-            }
-        }
+            CurrentUser currentUser) {
+        checkCanModify(id, currentUser, "Cannot update approved order");
 
         Client client = clientService.getClientById(dto.getClientId());
+        Map<Long, Appliance> appliances = applianceService.getAppliancesByIds(dto.getOrderRows().stream()
+                .map(OrderRowRequestDTO::getApplianceId)
+                .toList());
         Orders orderToUpdate = new Orders();
         orderToUpdate.setClient(client);
-        // Preserve the employee if it was set
-        if (existing.getEmployee() != null) {
-            orderToUpdate.setEmployee(existing.getEmployee());
-        }
 
         for (var rowDto : dto.getOrderRows()) {
-            Appliance appliance = applianceService.getApplianceById(rowDto.getApplianceId());
-            OrderRow orderRow = entityMapper.toOrderRowEntity(rowDto, appliance);
+            OrderRow orderRow = entityMapper.toOrderRowEntity(rowDto, appliances.get(rowDto.getApplianceId()));
             orderToUpdate.addOrderRow(orderRow);
         }
 
@@ -151,33 +231,105 @@ public class OrderController {
         return ResponseEntity.ok(entityMapper.toOrderResponseDTO(updated));
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteOrder(@PathVariable Long id, Authentication authentication) {
-        Orders order = orderService.getOrderById(id);
+    @PatchMapping("/{id}/rows/{rowId}")
+    public ResponseEntity<OrderResponseDTO> updateOrderRow(
+            @PathVariable Long id,
+            @PathVariable Long rowId,
+            @Valid @RequestBody OrderRowPatchDTO dto,
+            CurrentUser currentUser) {
+        checkCanModify(id, currentUser, "Cannot update approved order");
 
-        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))) {
-            User currentUser = userService.getUserByEmail(authentication.getName());
-            if (!(currentUser instanceof Client) || !order.getClient().getId().equals(currentUser.getId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
-            }
-            if (order.getApproved()) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot delete approved order");
-            }
-        }
+        Orders updated = orderService.updateOrderRow(id, rowId, dto.getQuantity(), dto.getAmount());
+        return ResponseEntity.ok(entityMapper.toOrderResponseDTO(updated));
+    }
+
+    @DeleteMapping("/{id}/rows/{rowId}")
+    public ResponseEntity<OrderResponseDTO> deleteOrderRow(
+            @PathVariable Long id,
+            @PathVariable Long rowId,
+            CurrentUser currentUser) {
+        checkCanModify(id, currentUser, "Cannot update approved order");
+
+        Orders updated = orderService.deleteOrderRow(id, rowId);
+        return ResponseEntity.ok(entityMapper.toOrderResponseDTO(updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteOrder(@PathVariable Long id, CurrentUser currentUser) {
+        getModifiableOrder(id, currentUser, "Cannot delete approved order");
 
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/approve")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<OrderApprovalResponseDTO> approveOrders(
+            @Valid @RequestBody OrderApprovalRequestDTO dto,
+            CurrentUser currentUser) {
+        if (!currentUser.isEmployee()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only employees can approve orders");
+        }
+
+        BulkApprovalResult result = orderService.approveOrders(dto.getOrderIds(), currentUser.getId());
+        return ResponseEntity.ok(entityMapper.toOrderApprovalResponseDTO(result));
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<OrderResponseDTO> approveOrder(@PathVariable Long id, Authentication authentication) {
-        User currentUser = userService.getUserByEmail(authentication.getName());
-        if (!(currentUser instanceof Employee)) {
+    public ResponseEntity<OrderResponseDTO> approveOrder(@PathVariable Long id, CurrentUser currentUser) {
+        if (!currentUser.isEmployee()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only employees can approve orders");
         }
 
         Orders approved = orderService.approveOrder(id, currentUser.getId());
         return ResponseEntity.ok(entityMapper.toOrderResponseDTO(approved));
     }
-}
\ No newline at end of file
+
+    private void checkCanViewClientOrders(Long clientId, CurrentUser currentUser) {
+        if (!currentUser.isEmployee() && (!currentUser.isClient() || !currentUser.getId().equals(clientId))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
+        }
+    }
+
+    /**
+     * Employees may change any order; clients only their own orders that are not yet approved. For
+     * clients the order is fetched with its client id in the query.
+     */
+    private Orders getModifiableOrder(Long id, CurrentUser currentUser, String approvedMessage) {
+        if (currentUser.isEmployee()) {
+            return orderService.getOrderById(id);
+        }
+        Orders order = orderService.findClientOrder(id, currentUser.getId()).orElseThrow(() -> notOwnOrder(id));
+        if (order.getApproved()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, approvedMessage);
+        }
+        return order;
+    }
+
+    /**
+     * The same rule as {@link #getModifiableOrder} for writes that load the order themselves: only
+     * the approved flag of a client's order is read, and employees need no check.
+     */
+    private void checkCanModify(Long id, CurrentUser currentUser, String approvedMessage) {
+        if (currentUser.isEmployee()) {
+            return;
+        }
+        boolean approved = orderService.findClientOrderApproved(id, currentUser.getId())
+                .orElseThrow(() -> notOwnOrder(id));
+        if (approved) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, approvedMessage);
+        }
+    }
+
+    /**
+     * 404 for an order that does not exist at all, 403 for somebody else's; only looked up once
+     * the client-scoped query came back empty.
+     */
+    private RuntimeException notOwnOrder(Long id) {
+        if (!orderService.orderExists(id)) {
+            return new ResourceNotFoundException("Order", "id", id);
+        }
+        return new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
+    }
+}
@@ -5,34 +5,29 @@ import com.epam.rd.autocode.assessment.appliances.dto.ProfileUpdateDTO;
 import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
-import com.epam.rd.autocode.assessment.appliances.model.User;
+import com.epam.rd.autocode.assessment.appliances.security.CurrentUser;
 import com.epam.rd.autocode.assessment.appliances.service.ClientService;
 import com.epam.rd.autocode.assessment.appliances.service.EmployeeService;
-import com.epam.rd.autocode.assessment.appliances.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/profile")
 @RequiredArgsConstructor
 public class ProfileController {
-    private final UserService userService;
     private final ClientService clientService;
     private final EmployeeService employeeService;
     private final EntityMapper entityMapper;
     private final PasswordEncoder passwordEncoder;
     @GetMapping
-    public ResponseEntity<?> getProfile(Authentication authentication) {
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        if (user instanceof Client) {
-            Client client = (Client) user;
+    public ResponseEntity<?> getProfile(CurrentUser currentUser) {
+        if (currentUser.isClient()) {
+            Client client = clientService.getClientById(currentUser.getId());
             return ResponseEntity.ok(entityMapper.toClientResponseDTO(client));
-        } else if (user instanceof Employee) {
-            Employee employee = (Employee) user;
+        } else if (currentUser.isEmployee()) {
+            Employee employee = employeeService.getEmployeeById(currentUser.getId());
             return ResponseEntity.ok(entityMapper.toEmployeeResponseDTO(employee));
         }
         return ResponseEntity.badRequest().body("Unknown user type");
@@ -40,11 +35,9 @@ public class ProfileController {
     @PutMapping
     public ResponseEntity<?> updateProfile(
             @Valid @RequestBody ProfileUpdateDTO dto,
-            Authentication authentication) {
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        if (user instanceof Client) {
-            Client client = (Client) user;
+            CurrentUser currentUser) {
+        if (currentUser.isClient()) {
+            Client client = clientService.getClientById(currentUser.getId());
             client.setFirstName(dto.getFirstName());
             client.setLastName(dto.getLastName());
             client.setEmail(dto.getEmail());
@@ -64,8 +57,8 @@ public class ProfileController {
             
             Client updated = clientService.updateClient(client.getId(), client, newPassword);
             return ResponseEntity.ok(entityMapper.toClientResponseDTO(updated));
-        } else if (user instanceof Employee) {
-            Employee employee = (Employee) user;
+        } else if (currentUser.isEmployee()) {
+            Employee employee = employeeService.getEmployeeById(currentUser.getId());
             employee.setFirstName(dto.getFirstName());
             employee.setLastName(dto.getLastName());
             employee.setEmail(dto.getEmail());
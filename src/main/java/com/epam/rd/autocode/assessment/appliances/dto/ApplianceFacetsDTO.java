@@ -0,0 +1,19 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplianceFacetsDTO {
+    // Each count applies every filter except the one on its own facet
+    private Map<Category, Long> category;
+    private Map<PowerType, Long> powerType;
+    private Map<Long, Long> manufacturer;
+}
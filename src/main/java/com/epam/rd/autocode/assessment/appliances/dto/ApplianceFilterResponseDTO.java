@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplianceFilterResponseDTO {
+    private PageResponseDTO<ApplianceResponseDTO> page;
+    private ApplianceFacetsDTO facets;
+}
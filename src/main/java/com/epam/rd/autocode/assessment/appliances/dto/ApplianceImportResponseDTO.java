@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplianceImportResponseDTO {
+    private long imported;
+    private long failed;
+    private List<ImportErrorDTO> errors;
+}
@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplianceSalesDTO {
+    private Long applianceId;
+    private String name;
+    private String model;
+    private Long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplianceStockDTO {
+    private Long applianceId;
+    // null when the appliance's stock is not tracked
+    private Long stock;
+}
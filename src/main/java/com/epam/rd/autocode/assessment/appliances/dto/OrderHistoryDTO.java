@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryDTO {
+    private Long id;
+    private Boolean approved;
+    private BigDecimal totalAmount;
+    private Integer itemCount;
+    private String employeeName;
+}
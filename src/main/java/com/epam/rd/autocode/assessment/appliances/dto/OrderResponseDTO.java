@@ -1,5 +1,6 @@
 package com.epam.rd.autocode.assessment.appliances.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,10 @@ public class OrderResponseDTO {
     private Long id;
     private EmployeeResponseDTO employee;
     private ClientResponseDTO client;
+    // Left out of order lists, which only show the persisted totals
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<OrderRowResponseDTO> orderRows;
     private Boolean approved;
     private BigDecimal totalAmount;
+    private Integer itemCount;
 }
\ No newline at end of file
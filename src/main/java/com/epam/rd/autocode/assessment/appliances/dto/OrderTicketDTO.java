@@ -0,0 +1,21 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderTicketDTO {
+    private UUID id;
+    private String status;
+    private Long orderId;
+    private String error;
+    private Instant submittedAt;
+}
@@ -1,5 +1,6 @@
 package com.epam.rd.autocode.assessment.appliances.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,12 +10,17 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponseDTO<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    // Not computed in cursor and count=false modes, where the COUNT query is skipped
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
-}
\ No newline at end of file
+    // Opaque keyset cursors, only present in cursor mode
+    private String nextCursor;
+    private String prevCursor;
+}
@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueGroupDTO {
+    private Long id;
+    private String name;
+    private BigDecimal revenue;
+    private Long units;
+}
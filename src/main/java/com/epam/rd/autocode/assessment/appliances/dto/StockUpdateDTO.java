@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateDTO {
+
+    // null stops tracking stock for the appliance
+    @Min(value = 0, message = "Stock must be positive or zero")
+    @Max(value = Integer.MAX_VALUE, message = "Stock is too large")
+    private Long stock;
+}
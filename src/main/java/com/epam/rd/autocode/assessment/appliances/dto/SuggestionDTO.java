@@ -0,0 +1,15 @@
+package com.epam.rd.autocode.assessment.appliances.dto;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    private SuggestionType type;
+    private long score;
+}
@@ -1,8 +1,22 @@
 package com.epam.rd.autocode.assessment.appliances.dto.mapper;
 
+import com.epam.rd.autocode.assessment.appliances.analytics.ApplianceSales;
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGroup;
+import com.epam.rd.autocode.assessment.appliances.cache.CacheStats;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilterResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.FacetCounts;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ApplianceImportResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.Suggestion;
 import com.epam.rd.autocode.assessment.appliances.dto.*;
+import com.epam.rd.autocode.assessment.appliances.intake.OrderTicket;
 import com.epam.rd.autocode.assessment.appliances.model.*;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderHistoryView;
+import com.epam.rd.autocode.assessment.appliances.service.BulkApprovalResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -10,8 +24,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class EntityMapper {
 
+    private final KeysetCursorCodec keysetCursorCodec;
+
     public UserResponseDTO toUserResponseDTO(User user) {
         if (user == null) return null;
 
@@ -202,26 +219,47 @@ public class EntityMapper {
     public OrderResponseDTO toOrderResponseDTO(Orders order) {
         if (order == null) return null;
 
-        OrderResponseDTO dto = new OrderResponseDTO();
-        dto.setId(order.getId());
-        dto.setEmployee(order.getEmployee() != null ? toEmployeeResponseDTO(order.getEmployee()) : null);
-        dto.setClient(toClientResponseDTO(order.getClient()));
-
+        OrderResponseDTO dto = toOrderSummaryDTO(order);
         List<OrderRowResponseDTO> orderRowDTOs = order.getOrderRowSet().stream()
             .map(this::toOrderRowResponseDTO)
             .collect(Collectors.toList());
         dto.setOrderRows(orderRowDTOs);
 
-        dto.setApproved(order.getApproved());
+        return dto;
+    }
 
-        BigDecimal totalAmount = order.getOrderRowSet().stream()
-            .map(OrderRow::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dto.setTotalAmount(totalAmount);
+    /** Order without its rows, for lists: only reads the order, its client and its employee. */
+    public OrderResponseDTO toOrderSummaryDTO(Orders order) {
+        if (order == null) return null;
+
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(order.getId());
+        dto.setEmployee(order.getEmployee() != null ? toEmployeeResponseDTO(order.getEmployee()) : null);
+        dto.setClient(toClientResponseDTO(order.getClient()));
+        dto.setApproved(order.getApproved());
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setItemCount(order.getItemCount());
 
         return dto;
     }
 
+    public OrderHistoryDTO toOrderHistoryDTO(OrderHistoryView view) {
+        if (view == null) return null;
+        return new OrderHistoryDTO(view.id(), view.approved(), view.totalAmount(), view.itemCount(),
+                view.employeeName());
+    }
+
+    public OrderApprovalResponseDTO toOrderApprovalResponseDTO(BulkApprovalResult result) {
+        if (result == null) return null;
+        return new OrderApprovalResponseDTO(result.getApproved(), result.getSkipped());
+    }
+
+    public OrderTicketDTO toOrderTicketDTO(OrderTicket ticket) {
+        if (ticket == null) return null;
+        return new OrderTicketDTO(ticket.getId(), ticket.getStatus().name(), ticket.getOrderId(),
+                ticket.getError(), ticket.getSubmittedAt());
+    }
+
     public Orders toOrderEntity(OrderRequestDTO dto, Client client, List<OrderRow> orderRows) {
         if (dto == null) return null;
 
@@ -233,6 +271,45 @@ public class EntityMapper {
         return order;
     }
 
+    public ApplianceFilterResponseDTO toApplianceFilterResponseDTO(ApplianceFilterResult result) {
+        if (result == null) return null;
+        FacetCounts counts = result.getFacets();
+        return new ApplianceFilterResponseDTO(
+            toPageResponseDTO(result.getPage(), this::toApplianceResponseDTO),
+            new ApplianceFacetsDTO(counts.getCategories(), counts.getPowerTypes(), counts.getManufacturers())
+        );
+    }
+
+    public SuggestionDTO toSuggestionDTO(Suggestion suggestion) {
+        if (suggestion == null) return null;
+        return new SuggestionDTO(suggestion.getText(), suggestion.getType(), suggestion.getScore());
+    }
+
+    public ApplianceImportResponseDTO toApplianceImportResponseDTO(ApplianceImportResult result) {
+        if (result == null) return null;
+        List<ImportErrorDTO> errors = result.getErrors().stream()
+            .map(error -> new ImportErrorDTO(error.line(), error.message()))
+            .toList();
+        return new ApplianceImportResponseDTO(result.getImported(), result.getFailed(), errors);
+    }
+
+    public RevenueGroupDTO toRevenueGroupDTO(RevenueGroup group) {
+        if (group == null) return null;
+        return new RevenueGroupDTO(group.getId(), group.getName(), group.getRevenue(), group.getUnits());
+    }
+
+    public ApplianceSalesDTO toApplianceSalesDTO(ApplianceSales sales) {
+        if (sales == null) return null;
+        return new ApplianceSalesDTO(sales.getApplianceId(), sales.getName(), sales.getModel(), sales.getUnits(),
+                sales.getRevenue());
+    }
+
+    public CacheStatsDTO toCacheStatsDTO(CacheStats stats) {
+        if (stats == null) return null;
+        return new CacheStatsDTO(stats.name(), stats.size(), stats.maxSize(), stats.hits(), stats.misses(),
+            stats.evictions(), stats.hitRate());
+    }
+
     public <E, D> PageResponseDTO<D> toPageResponseDTO(Page<E> page, List<D> dtoContent) {
         PageResponseDTO<D> dto = new PageResponseDTO<>();
         dto.setContent(dtoContent);
@@ -251,4 +328,33 @@ public class EntityMapper {
             .collect(Collectors.toList());
         return toPageResponseDTO(page, dtoContent);
     }
-}
\ No newline at end of file
+
+    /**
+     * Count-free variant: totals stay {@code null}, {@code last} comes from {@link Slice#hasNext()}.
+     */
+    public <E, D> PageResponseDTO<D> toSliceResponseDTO(Slice<E> slice, java.util.function.Function<E, D> mapper) {
+        PageResponseDTO<D> dto = new PageResponseDTO<>();
+        dto.setContent(slice.getContent().stream()
+            .map(mapper)
+            .collect(Collectors.toList()));
+        dto.setPageNumber(slice.getNumber());
+        dto.setPageSize(slice.getSize());
+        dto.setFirst(slice.isFirst());
+        dto.setLast(!slice.hasNext());
+        return dto;
+    }
+
+    public <E, D> PageResponseDTO<D> toPageResponseDTO(Window<E> window, KeysetScrollPosition position,
+                                                       int pageSize, java.util.function.Function<E, D> mapper) {
+        PageResponseDTO<D> dto = new PageResponseDTO<>();
+        dto.setContent(window.getContent().stream()
+            .map(mapper)
+            .collect(Collectors.toList()));
+        dto.setPageSize(pageSize);
+        dto.setNextCursor(keysetCursorCodec.next(window, position));
+        dto.setPrevCursor(keysetCursorCodec.previous(window, position));
+        dto.setFirst(dto.getPrevCursor() == null);
+        dto.setLast(dto.getNextCursor() == null);
+        return dto;
+    }
+}
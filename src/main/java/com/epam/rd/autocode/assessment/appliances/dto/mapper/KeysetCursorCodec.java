@@ -0,0 +1,128 @@
+package com.epam.rd.autocode.assessment.appliances.dto.mapper;
+
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Turns keyset scroll positions into opaque, URL-safe cursors and back.
+ * <p>
+ * A cursor is base64url-encoded JSON holding the scroll direction and the sort-key values of the
+ * boundary row. Values are stored as strings and converted back using the entity's property
+ * types, so the cursor never carries class names.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetCursorCodec {
+
+    private static final String ID_PROPERTY = "id";
+
+    private final ObjectMapper objectMapper;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    /**
+     * Decodes {@code cursor} for scrolling {@code entityType} in {@code sort} order. A blank cursor
+     * starts from the beginning.
+     */
+    public KeysetScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            JsonNode root = objectMapper.readTree(Base64.getUrlDecoder().decode(cursor));
+            JsonNode keysNode = root.path("k");
+            Set<String> expected = expectedKeys(sort);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonNode> entry : keysNode.properties()) {
+                if (!expected.contains(entry.getKey())) {
+                    throw new BadRequestException("Page cursor does not match the requested sort");
+                }
+                keys.put(entry.getKey(), toValue(entry.getValue(), entityType, entry.getKey()));
+            }
+            if (!keys.keySet().equals(expected)) {
+                throw new BadRequestException("Page cursor does not match the requested sort");
+            }
+            return "b".equals(root.path("d").asText())
+                    ? ScrollPosition.backward(keys)
+                    : ScrollPosition.forward(keys);
+        } catch (IOException | IllegalArgumentException | ConversionException ex) {
+            throw new BadRequestException("Invalid page cursor", ex);
+        }
+    }
+
+    /**
+     * Cursor for the rows after {@code window}, or {@code null} when there are none.
+     */
+    public String next(Window<?> window, KeysetScrollPosition requested) {
+        if (window.isEmpty()) {
+            return null;
+        }
+        boolean more = requested.scrollsBackward() || window.hasNext();
+        return more ? encode(keysAt(window, window.size() - 1), false) : null;
+    }
+
+    /**
+     * Cursor for the rows before {@code window}, or {@code null} when it is the first page.
+     */
+    public String previous(Window<?> window, KeysetScrollPosition requested) {
+        if (window.isEmpty()) {
+            return null;
+        }
+        boolean more = requested.scrollsBackward() ? window.hasNext() : !requested.isInitial();
+        return more ? encode(keysAt(window, 0), true) : null;
+    }
+
+    private String encode(Map<String, ?> keys, boolean backward) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("d", backward ? "b" : "f");
+        ObjectNode keysNode = root.putObject("k");
+        keys.forEach((name, value) -> {
+            if (value == null) {
+                keysNode.putNull(name);
+            } else {
+                keysNode.put(name, conversionService.convert(value, String.class));
+            }
+        });
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsString(root).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not encode page cursor", ex);
+        }
+    }
+
+    private static Map<String, ?> keysAt(Window<?> window, int index) {
+        return ((KeysetScrollPosition) window.positionAt(index)).getKeys();
+    }
+
+    private Object toValue(JsonNode node, Class<?> entityType, String property) {
+        if (node.isNull()) {
+            return null;
+        }
+        Class<?> type = TypeInformation.of(entityType).getRequiredProperty(property).getType();
+        return conversionService.convert(node.asText(), type);
+    }
+
+    private static Set<String> expectedKeys(Sort sort) {
+        Set<String> keys = new HashSet<>();
+        sort.forEach(order -> keys.add(order.getProperty()));
+        keys.add(ID_PROPERTY);
+        return keys;
+    }
+}
@@ -0,0 +1,25 @@
+package com.epam.rd.autocode.assessment.appliances.idempotency;
+
+import java.time.Instant;
+
+/**
+ * One row of the {@code idempotency_key} table. {@code responseStatus} and {@code responseBody}
+ * stay {@code null} while the first request is still running; {@code claimedAt} is when that
+ * request took the key, {@code null} for keys claimed before claims carried a lease.
+ */
+public record IdempotencyRecord(String requestHash, Integer responseStatus, String responseBody, Instant expiresAt,
+                                Instant claimedAt) {
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /** Whether the request holding this claim has run longer than its lease and is presumed dead. */
+    public boolean isClaimLapsed(Instant leaseCutoff) {
+        return !isCompleted() && (claimedAt == null || claimedAt.isBefore(leaseCutoff));
+    }
+}
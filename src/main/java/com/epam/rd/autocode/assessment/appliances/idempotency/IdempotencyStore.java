@@ -0,0 +1,79 @@
+package com.epam.rd.autocode.assessment.appliances.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to {@code idempotency_key}. A claim is a bare INSERT that either wins the
+ * primary key or reports that another request already holds it; going through JDBC keeps that
+ * expected duplicate-key failure out of the request's JPA persistence context. Every claim carries
+ * the token of the request holding it, so a request whose claim was taken over can neither
+ * complete nor release it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean claim(String id, String requestHash, String token, Instant claimedAt, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_key (id, request_hash, claim_token, claimed_at, expires_at) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    id, requestHash, token, Timestamp.from(claimedAt), Timestamp.from(expiresAt));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes over a claim for the same {@code requestHash} that is still in progress but was taken
+     * before {@code leaseCutoff}. The condition makes this atomic: of several requests finding the
+     * same lapsed claim, one wins. The stored request hash is kept, so a different request with the
+     * key is still told it was reused.
+     */
+    public boolean takeOver(String id, String requestHash, String token, Instant claimedAt, Instant expiresAt,
+                            Instant leaseCutoff) {
+        return jdbcTemplate.update("UPDATE idempotency_key SET claim_token = ?, claimed_at = ?, expires_at = ? " +
+                        "WHERE id = ? AND request_hash = ? AND response_status IS NULL " +
+                        "AND (claimed_at IS NULL OR claimed_at < ?)",
+                token, Timestamp.from(claimedAt), Timestamp.from(expiresAt), id, requestHash,
+                Timestamp.from(leaseCutoff)) == 1;
+    }
+
+    public Optional<IdempotencyRecord> find(String id) {
+        return jdbcTemplate.query(
+                "SELECT request_hash, response_status, response_body, expires_at, claimed_at " +
+                        "FROM idempotency_key WHERE id = ?",
+                (rs, rowNum) -> {
+                    Timestamp claimedAt = rs.getTimestamp("claimed_at");
+                    return new IdempotencyRecord(rs.getString("request_hash"),
+                            rs.getObject("response_status", Integer.class), rs.getString("response_body"),
+                            rs.getTimestamp("expires_at").toInstant(),
+                            claimedAt == null ? null : claimedAt.toInstant());
+                },
+                id).stream().findFirst();
+    }
+
+    /** Stores the response, unless the claim is no longer held with {@code token}. */
+    public boolean complete(String id, String token, int responseStatus, String responseBody) {
+        return jdbcTemplate.update("UPDATE idempotency_key SET response_status = ?, response_body = ? " +
+                        "WHERE id = ? AND claim_token = ?",
+                responseStatus, responseBody, id, token) == 1;
+    }
+
+    public void release(String id, String token) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE id = ? AND claim_token = ?", id, token);
+    }
+
+    public int purgeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= ?", Timestamp.from(now));
+    }
+}
@@ -0,0 +1,262 @@
+package com.epam.rd.autocode.assessment.appliances.idempotency;
+
+import com.epam.rd.autocode.assessment.appliances.cache.ReferenceCache;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. The first request claims the key in
+ * {@link IdempotencyStore}, runs, and stores its response in the same transaction as its own
+ * writes; every later request with that key gets the stored response back (with an
+ * {@value #REPLAYED_HEADER} header) instead of running again.
+ * <p>
+ * Completed responses are also kept in a bounded in-memory cache, so replays on this node skip the
+ * database. A duplicate that arrives while the first request is still running waits for it: on
+ * this node on the first request's future, for a request running on another node by polling the
+ * table, in both cases for at most {@code app.idempotency.wait-timeout}, then it gets 409. Reusing
+ * a key with a different request body is rejected with 422. A request that fails releases its key,
+ * so the client can retry it. A request that dies without either, with its node, holds the key
+ * for at most {@code app.idempotency.claim-lease}: a retry of the same request after that takes the
+ * claim over, and the original request can then no longer store a response, so its transaction
+ * rolls back.
+ */
+@Slf4j
+@Component
+public class IdempotentExecutor {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ReferenceCache<String, IdempotencyRecord> completed;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration purgeInterval;
+    private final Duration claimLease;
+    private volatile Instant nextPurge = Instant.MIN;
+
+    public IdempotentExecutor(IdempotencyStore store,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              @Value("${app.idempotency.purge-interval:10m}") Duration purgeInterval,
+                              @Value("${app.idempotency.claim-lease:2m}") Duration claimLease) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completed = new ReferenceCache<>("idempotency.completed", cacheSize, ttl);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.purgeInterval = purgeInterval;
+        this.claimLease = claimLease;
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same {@code scope} and {@code key} already did,
+     * in which case its response is returned. Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            IdempotencyRecord done = completed.get(id, () -> store.find(id)
+                    .filter(record -> record.isCompleted() && !record.isExpired(Instant.now()))
+                    .orElse(null));
+            if (done != null && !done.isExpired(Instant.now())) {
+                return replay(done, requestHash, bodyType);
+            }
+            if (done != null) {
+                completed.invalidate(id);
+            }
+
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(id, mine);
+            if (running != null) {
+                await(running, deadline);
+                continue;
+            }
+            try {
+                purgeExpiredIfDue();
+                Instant now = Instant.now();
+                String token = UUID.randomUUID().toString();
+                if (store.claim(id, requestHash, token, now, now.plus(ttl))) {
+                    return run(id, token, requestHash, action);
+                }
+                IdempotencyRecord existing = store.find(id).orElse(null);
+                if (existing == null) {
+                    // released by a failed request in the meantime
+                    continue;
+                }
+                if (existing.isExpired(Instant.now())) {
+                    store.purgeExpired(Instant.now());
+                    continue;
+                }
+                if (existing.isCompleted()) {
+                    return replay(existing, requestHash, bodyType);
+                }
+                // Only a retry of the same request may take over, however long the claim has lapsed
+                if (!existing.requestHash().equals(requestHash)) {
+                    throw keyReused();
+                }
+                Instant leaseCutoff = now.minus(claimLease);
+                if (existing.isClaimLapsed(leaseCutoff)
+                        && store.takeOver(id, requestHash, token, now, now.plus(ttl), leaseCutoff)) {
+                    log.warn("Took over idempotency key {} from a request that outlived its claim lease", id);
+                    return run(id, token, requestHash, action);
+                }
+            } finally {
+                inFlight.remove(id, mine);
+                mine.complete(null);
+            }
+            // Claimed by a request on another node that has not finished yet
+            pause(deadline);
+        }
+    }
+
+    private <T> ResponseEntity<T> run(String id, String token, String requestHash,
+                                      Supplier<ResponseEntity<T>> action) {
+        Completion<T> completion;
+        try {
+            completion = transactionTemplate.execute(status -> {
+                ResponseEntity<T> response = action.get();
+                int responseStatus = response.getStatusCode().value();
+                String body = toJson(response.getBody());
+                if (!store.complete(id, token, responseStatus, body)) {
+                    throw claimLost();
+                }
+                return new Completion<>(response,
+                        new IdempotencyRecord(requestHash, responseStatus, body, Instant.now().plus(ttl), null));
+            });
+        } catch (RuntimeException ex) {
+            store.release(id, token);
+            throw ex;
+        }
+        // Only cached once the response (and the writes it reports) are committed
+        completed.get(id, completion::record);
+        return completion.response();
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String requestHash, Class<T> bodyType) {
+        if (!record.requestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        try {
+            T body = record.responseBody() == null ? null : objectMapper.readValue(record.responseBody(), bodyType);
+            return ResponseEntity.status(record.responseStatus())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", ex);
+        }
+    }
+
+    private void await(CompletableFuture<Void> running, long deadline) {
+        try {
+            running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw stillRunning();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        } catch (ExecutionException ex) {
+            // never completed exceptionally, see execute()
+        }
+    }
+
+    private void pause(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            throw stillRunning();
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        }
+    }
+
+    private void purgeExpiredIfDue() {
+        Instant now = Instant.now();
+        if (now.isAfter(nextPurge)) {
+            nextPurge = now.plus(purgeInterval);
+            int purged = store.purgeExpired(now);
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Request cannot be fingerprinted", ex);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response cannot be stored", ex);
+        }
+    }
+
+    private record Completion<T>(ResponseEntity<T> response, IdempotencyRecord record) {
+    }
+
+    private static ResponseStatusException keyReused() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used with a different request");
+    }
+
+    private static ResponseStatusException claimLost() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "The request outlived its Idempotency-Key claim and was rolled back");
+    }
+
+    private static ResponseStatusException stillRunning() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+}
@@ -0,0 +1,202 @@
+package com.epam.rd.autocode.assessment.appliances.intake;
+
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.service.OrderPlacementService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional asynchronous intake for new orders. When {@code app.orders.intake.enabled} is set,
+ * {@code POST /api/orders/intake} only validates an order and queues a ticket for it; worker
+ * threads drain the queue in micro-batches of up to {@code app.orders.intake.batch-size} orders
+ * and place each batch in one transaction through {@link OrderPlacementService#placeOrders}. When a
+ * batch fails, its orders are placed one by one, so a bad order only fails its own ticket.
+ * <p>
+ * The queue is bounded: once it is full new orders are rejected with 429 instead of piling up.
+ * Tickets live in memory on the node that accepted them. The workers drop finished tickets
+ * {@code app.orders.intake.retention} after they finish, or oldest first as soon as more than
+ * {@code app.orders.intake.max-tickets} are kept; queued and running tickets are never dropped. On
+ * shutdown the workers stop taking new orders and drain what is already queued.
+ */
+@Slf4j
+@Component
+public class OrderIntake {
+
+    static final long RETRY_AFTER_SECONDS = 1;
+
+    private static final long POLL_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final OrderPlacementService orderPlacementService;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final Duration retention;
+    private final int maxTickets;
+    private final BlockingQueue<OrderTicket> queue;
+    private final ConcurrentMap<UUID, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<OrderTicket> finished = new ConcurrentLinkedQueue<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean stopping;
+    private volatile Instant nextPurge = Instant.MIN;
+
+    public OrderIntake(OrderPlacementService orderPlacementService,
+                       @Value("${app.orders.intake.enabled:false}") boolean enabled,
+                       @Value("${app.orders.intake.queue-capacity:10000}") int queueCapacity,
+                       @Value("${app.orders.intake.workers:2}") int workers,
+                       @Value("${app.orders.intake.batch-size:50}") int batchSize,
+                       @Value("${app.orders.intake.retention:1h}") Duration retention,
+                       @Value("${app.orders.intake.max-tickets:100000}") int maxTickets) {
+        this.orderPlacementService = orderPlacementService;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.maxTickets = maxTickets;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::drain, "order-intake-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Order intake started with {} workers, batches of {} and a queue of {}",
+                workers, batchSize, queue.remainingCapacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        for (Thread thread : threads) {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        threads.clear();
+    }
+
+    /**
+     * Queues {@code request} and returns its ticket, or rejects it when intake is off (503) or the
+     * queue is full (429).
+     */
+    public OrderTicket submit(String owner, OrderRequestDTO request) {
+        if (!enabled || stopping) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Asynchronous order intake is not available");
+        }
+        OrderTicket ticket = new OrderTicket(UUID.randomUUID(), owner, request, Instant.now());
+        tickets.put(ticket.getId(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            throw new TooManyRequestsException("Order intake queue is full, retry later", RETRY_AFTER_SECONDS);
+        }
+        return ticket;
+    }
+
+    public Optional<OrderTicket> find(UUID ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    private void drain() {
+        List<OrderTicket> batch = new ArrayList<>(batchSize);
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                purgeFinishedIfDue();
+                OrderTicket first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void processBatch(List<OrderTicket> batch) {
+        batch.forEach(OrderTicket::markProcessing);
+        try {
+            List<Orders> placed = orderPlacementService.placeOrders(
+                    batch.stream().map(OrderTicket::getRequest).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).markCompleted(placed.get(i).getId());
+            }
+            finished.addAll(batch);
+            return;
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return;
+            }
+            log.warn("Order intake batch of {} failed, placing its orders one by one: {}",
+                    batch.size(), ex.getMessage());
+        }
+        for (OrderTicket ticket : batch) {
+            try {
+                ticket.markCompleted(orderPlacementService.placeOrder(ticket.getRequest()).getId());
+                finished.add(ticket);
+            } catch (RuntimeException ex) {
+                fail(ticket, ex);
+            }
+        }
+    }
+
+    private void fail(OrderTicket ticket, RuntimeException ex) {
+        log.warn("Queued order {} failed: {}", ticket.getId(), ex.getMessage());
+        ticket.markFailed(ex.getMessage());
+        finished.add(ticket);
+    }
+
+    private void purgeFinishedIfDue() {
+        Instant now = Instant.now();
+        if (now.isAfter(nextPurge) || tickets.size() > maxTickets) {
+            nextPurge = now.plus(PURGE_INTERVAL);
+            purgeFinished(now);
+        }
+    }
+
+    /**
+     * Drops finished tickets in the order they finished, until the oldest one left is within the
+     * retention and no more than {@code max-tickets} are kept.
+     */
+    synchronized void purgeFinished(Instant now) {
+        Instant cutoff = now.minus(retention);
+        OrderTicket oldest;
+        while ((oldest = finished.peek()) != null
+                && (oldest.getFinishedAt().isBefore(cutoff) || tickets.size() > maxTickets)) {
+            finished.poll();
+            tickets.remove(oldest.getId());
+        }
+    }
+}
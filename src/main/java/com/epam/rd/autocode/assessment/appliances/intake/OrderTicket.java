@@ -0,0 +1,63 @@
+package com.epam.rd.autocode.assessment.appliances.intake;
+
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An order accepted by {@link OrderIntake} but placed later by one of its workers. The status
+ * fields are written by the worker and read by request threads polling the ticket. The request
+ * is let go once the ticket finishes, so finished tickets kept for polling stay small.
+ */
+@Getter
+@ToString(exclude = "request")
+public class OrderTicket {
+
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    private final UUID id;
+    private final String owner;
+    private final Instant submittedAt;
+
+    /** The queued order, {@code null} once the ticket is finished. */
+    private volatile OrderRequestDTO request;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Long orderId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public OrderTicket(UUID id, String owner, OrderRequestDTO request, Instant submittedAt) {
+        this.id = id;
+        this.owner = owner;
+        this.request = request;
+        this.submittedAt = submittedAt;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    void markProcessing() {
+        status = Status.PROCESSING;
+    }
+
+    void markCompleted(Long orderId) {
+        this.orderId = orderId;
+        this.status = Status.COMPLETED;
+        this.request = null;
+        this.finishedAt = Instant.now();
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.status = Status.FAILED;
+        this.request = null;
+        this.finishedAt = Instant.now();
+    }
+}
@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.assessment.appliances.inventory;
+
+/**
+ * Journaled change to {@code appliance.stock}, applied only while the appliance is still at
+ * {@code generation}.
+ */
+public record StockDelta(long applianceId, long generation, long delta) {
+}
@@ -0,0 +1,244 @@
+package com.epam.rd.autocode.assessment.appliances.inventory;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stock for appliances whose {@code stock} is tracked (not {@code null}). Orders reserve
+ * and release units against one atomic counter per appliance, so concurrent orders for the same
+ * appliance never queue on a row lock: a reservation is a compare-and-set that fails fast with 409
+ * when too few units are left. Reservations made inside a transaction are given back if it rolls
+ * back; releases only take effect once it commits.
+ * <p>
+ * Every change is also journaled in {@code stock_delta} in the order's own transaction, so it
+ * commits, rolls back and survives a crash with the order. The journal is folded into
+ * {@code appliance.stock} every {@code app.inventory.flush-interval} and on shutdown, and counters
+ * are reconciled at startup from the table plus the journal, so no committed change is lost. Both
+ * happen in a lifecycle phase that starts before the web server accepts requests and stops after it
+ * stopped, so no order reserves against counters that were not loaded yet.
+ * <p>
+ * Each counter carries the generation of the appliance's last absolute stock update. A change
+ * reserved against an older generation, by an order still in flight during a stock-take, is
+ * dropped both here and by the fold. Counters are per node: the ledger assumes a single
+ * application instance owns the stock.
+ */
+@Slf4j
+@Component
+public class StockLedger implements SmartLifecycle {
+
+    static final int FOLD_BATCH_SIZE = 1000;
+    // The web server starts one step (1024) below graceful shutdown; this runs one step before it
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final StockStore store;
+    private final Duration flushInterval;
+    private final ConcurrentMap<Long, Counter> available = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService flusher;
+
+    public StockLedger(StockStore store,
+                       @Value("${app.inventory.flush-interval:1s}") Duration flushInterval) {
+        this.store = store;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void start() {
+        reconcile();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        flusher = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = flusher;
+        flusher = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Replaces every counter with the stored stock plus the journal rows not yet folded into it.
+     */
+    public void reconcile() {
+        Map<Long, StockLevel> tracked = store.findTracked();
+        available.keySet().retainAll(tracked.keySet());
+        tracked.forEach((id, level) ->
+                available.put(id, new Counter(level.generation(), new AtomicLong(level.units()))));
+        log.info("Stock ledger reconciled with {} tracked appliances", tracked.size());
+    }
+
+    /**
+     * Units of the appliance left in stock, or {@code null} when its stock is not tracked.
+     */
+    public Long available(Long applianceId) {
+        Counter counter = available.get(applianceId);
+        return counter == null || counter.units() == null ? null : counter.units().get();
+    }
+
+    /**
+     * Applies a change in ordered quantities, keyed by appliance id: positive values take units
+     * from stock, negative values put them back. Either every positive change is reserved or none
+     * is and 409 is thrown. Untracked appliances are ignored.
+     */
+    public void adjust(Map<Long, Long> orderedDeltas) {
+        Map<Long, Counter> tracked = new HashMap<>();
+        orderedDeltas.forEach((id, delta) -> {
+            Counter counter = available.get(id);
+            if (delta != 0 && counter != null && counter.units() != null) {
+                tracked.put(id, counter);
+            }
+        });
+        if (tracked.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Counter> reserved = new HashMap<>();
+        for (Map.Entry<Long, Counter> counter : tracked.entrySet()) {
+            long delta = orderedDeltas.get(counter.getKey());
+            if (delta <= 0) {
+                continue;
+            }
+            if (!tryTake(counter.getValue().units(), delta)) {
+                giveBack(reserved, orderedDeltas);
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Insufficient stock for appliance with id: '" + counter.getKey() + "'");
+            }
+            reserved.put(counter.getKey(), counter.getValue());
+        }
+
+        List<StockDelta> journal = new ArrayList<>();
+        tracked.forEach((id, counter) -> journal.add(new StockDelta(id, counter.generation(), -orderedDeltas.get(id))));
+        try {
+            store.appendDeltas(journal);
+        } catch (RuntimeException ex) {
+            giveBack(reserved, orderedDeltas);
+            throw ex;
+        }
+        afterCompletion(committed -> {
+            if (!committed) {
+                giveBack(reserved, orderedDeltas);
+                return;
+            }
+            tracked.forEach((id, counter) -> {
+                long delta = orderedDeltas.get(id);
+                // A stock-take since the reservation replaced the counter; the fold drops this change too
+                if (delta < 0 && available.get(id) == counter) {
+                    counter.units().addAndGet(-delta);
+                }
+            });
+        });
+    }
+
+    /**
+     * Sets the stock of an appliance outright ({@code null} stops tracking it), for stock-takes and
+     * deliveries. Orders still in flight at that moment are not counted against the new level.
+     */
+    public void set(Long applianceId, Long stock) {
+        long generation = store.set(applianceId, stock);
+        afterCompletion(committed -> {
+            if (committed) {
+                available.compute(applianceId, (id, current) -> current != null && current.generation() > generation
+                        ? current
+                        : new Counter(generation, stock == null ? null : new AtomicLong(stock)));
+            }
+        });
+    }
+
+    public void flush() {
+        try {
+            int folded;
+            do {
+                folded = store.foldDeltas(FOLD_BATCH_SIZE);
+            } while (folded == FOLD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            log.warn("Stock flush failed, the journal is folded on the next run: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplianceChanged(ApplianceChangedEvent event) {
+        if (event.isDeleted()) {
+            available.remove(event.getApplianceId());
+        }
+    }
+
+    private static boolean tryTake(AtomicLong counter, long quantity) {
+        long current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private static void giveBack(Map<Long, Counter> reserved, Map<Long, Long> orderedDeltas) {
+        reserved.forEach((id, counter) -> counter.units().addAndGet(orderedDeltas.get(id)));
+    }
+
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Units left at one generation; {@code units} is {@code null} once a stock-take stopped tracking
+     * the appliance, so older stock-takes completing late cannot bring the counter back.
+     */
+    private record Counter(long generation, AtomicLong units) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.rd.autocode.assessment.appliances.inventory;
+
+/**
+ * Units of a tracked appliance in stock, and the generation of its last absolute stock update.
+ */
+public record StockLevel(long generation, long units) {
+}
@@ -0,0 +1,99 @@
+package com.epam.rd.autocode.assessment.appliances.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to {@code appliance.stock} and its journal {@code stock_delta}. The column is
+ * not mapped on {@code Appliance}, so saving an appliance through JPA can never overwrite a count
+ * the ledger has folded. Folds, on any node, take the row in {@code stock_lock} first, so no
+ * journal row is ever applied twice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stock of every tracked appliance with its journal rows of the current generation added, so
+     * changes committed but not yet folded are counted.
+     */
+    public Map<Long, StockLevel> findTracked() {
+        Map<Long, StockLevel> stock = new HashMap<>();
+        jdbcTemplate.query("SELECT a.id, a.stock_generation, a.stock + COALESCE(SUM(d.delta), 0) AS units "
+                        + "FROM appliance a LEFT JOIN stock_delta d "
+                        + "ON d.appliance_id = a.id AND d.generation = a.stock_generation "
+                        + "WHERE a.stock IS NOT NULL GROUP BY a.id, a.stock_generation, a.stock",
+                (RowCallbackHandler) rs -> stock.put(rs.getLong("id"),
+                        new StockLevel(rs.getLong("stock_generation"), rs.getLong("units"))));
+        return stock;
+    }
+
+    /**
+     * Sets the stock in the caller's transaction and returns the appliance's new generation.
+     * Journal rows of earlier generations are dropped by the next fold.
+     */
+    public long set(Long applianceId, Long stock) {
+        jdbcTemplate.update("UPDATE appliance SET stock = ?, stock_generation = stock_generation + 1 WHERE id = ?",
+                stock, applianceId);
+        return jdbcTemplate.queryForList("SELECT stock_generation FROM appliance WHERE id = ?", Long.class,
+                        applianceId).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Journals {@code deltas} in the caller's transaction.
+     */
+    public void appendDeltas(List<StockDelta> deltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO stock_delta (appliance_id, generation, delta) VALUES (?, ?, ?)",
+                deltas.stream()
+                        .map(delta -> new Object[]{delta.applianceId(), delta.generation(), delta.delta()})
+                        .toList());
+    }
+
+    /**
+     * Moves up to {@code limit} journal rows into {@code appliance.stock}, returning how many were
+     * moved. Rows of an outdated generation, or of an appliance no longer tracked, are deleted
+     * without being applied.
+     */
+    @Transactional
+    public int foldDeltas(int limit) {
+        jdbcTemplate.queryForObject("SELECT id FROM stock_lock WHERE id = 1 FOR UPDATE", Integer.class);
+        List<Object[]> ids = new ArrayList<>();
+        Map<GenerationKey, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT id, appliance_id, generation, delta FROM stock_delta ORDER BY id LIMIT ?",
+                (RowCallbackHandler) rs -> {
+                    ids.add(new Object[]{rs.getLong("id")});
+                    totals.merge(new GenerationKey(rs.getLong("appliance_id"), rs.getLong("generation")),
+                            rs.getLong("delta"), Long::sum);
+                },
+                limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        totals.values().removeIf(total -> total == 0);
+        if (!totals.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE appliance SET stock = stock + ? "
+                            + "WHERE id = ? AND stock_generation = ? AND stock IS NOT NULL",
+                    totals.entrySet().stream()
+                            .map(total -> new Object[]{total.getValue(), total.getKey().applianceId(),
+                                    total.getKey().generation()})
+                            .toList());
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM stock_delta WHERE id = ?", ids);
+        return ids.size();
+    }
+
+    private record GenerationKey(long applianceId, long generation) {
+    }
+}
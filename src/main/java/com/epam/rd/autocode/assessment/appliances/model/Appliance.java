@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 
 @Entity
@@ -12,9 +15,14 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@BatchSize(size = 50)
 public class Appliance {
+    // Pooled ids (blocks of 50 per round trip, see V5 migration) keep inserts batchable; IDENTITY would
+    // force Hibernate to execute every INSERT on its own to read the generated key back.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "appliance_id")
+    @TableGenerator(name = "appliance_id", table = "id_sequence", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "appliance", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Appliance name is required")
@@ -33,8 +41,10 @@ public class Appliance {
     private String model;
 
     @NotNull(message = "Manufacturer is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manufacturer_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Manufacturer manufacturer;
 
     @NotNull(message = "Power type is required")
@@ -61,4 +71,11 @@ public class Appliance {
     @Digits(integer = 7, fraction = 2, message = "Price must have at most 7 integer digits and 2 decimal places")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
+
+    // Compared and printed by id: reading the id off a lazy proxy does not initialize it
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long manufacturerId() {
+        return manufacturer == null ? null : manufacturer.getId();
+    }
 }
\ No newline at end of file
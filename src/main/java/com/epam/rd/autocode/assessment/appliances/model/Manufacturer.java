@@ -7,12 +7,14 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "manufacturer")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@BatchSize(size = 50)
 public class Manufacturer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
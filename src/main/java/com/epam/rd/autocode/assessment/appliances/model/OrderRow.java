@@ -18,21 +18,27 @@ import java.math.BigDecimal;
 @Getter
 @Setter
 @NoArgsConstructor
-@ToString(exclude = {"order"})
-@EqualsAndHashCode(exclude = {"order"})
+@ToString
+@EqualsAndHashCode
 public class OrderRow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_row_id")
+    @TableGenerator(name = "order_row_id", table = "id_sequence", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "order_row", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     @JsonBackReference
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Orders order;
 
     @NotNull(message = "Appliance is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "appliance_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Appliance appliance;
 
     @NotNull(message = "Quantity is required")
@@ -45,4 +51,11 @@ public class OrderRow {
     @Digits(integer = 10, fraction = 2, message = "Amount must have at most 10 integer digits and 2 decimal places")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
+
+    // Compared and printed by id, so adding loaded rows to a set never initializes the appliance proxy
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long applianceId() {
+        return appliance == null ? null : appliance.getId();
+    }
 }
\ No newline at end of file
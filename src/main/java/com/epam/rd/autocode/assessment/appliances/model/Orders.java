@@ -10,42 +10,95 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Entity
 @Table(name = "orders")
+// Fetch plans per use case (all associations are lazy):
+// list - order pages; client and employee joined in, rows are not read (totals are persisted)
+// detail - one order with everything its response shows, in a single query
+// approval - the order being approved; its employee is about to be replaced, so it is not loaded
+@NamedEntityGraph(name = "Orders.list", attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("employee")
+})
+@NamedEntityGraph(name = "Orders.detail", attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("employee"),
+        @NamedAttributeNode(value = "orderRowSet", subgraph = "rows")
+}, subgraphs = {
+        @NamedSubgraph(name = "rows", attributeNodes = @NamedAttributeNode(value = "appliance", subgraph = "appliance")),
+        @NamedSubgraph(name = "appliance", attributeNodes = @NamedAttributeNode("manufacturer"))
+})
+@NamedEntityGraph(name = "Orders.approval", attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode(value = "orderRowSet", subgraph = "rows")
+}, subgraphs = {
+        @NamedSubgraph(name = "rows", attributeNodes = @NamedAttributeNode(value = "appliance", subgraph = "appliance")),
+        @NamedSubgraph(name = "appliance", attributeNodes = @NamedAttributeNode("manufacturer"))
+})
 @Getter
 @Setter
 @NoArgsConstructor
-@ToString(exclude = {"orderRowSet"})
-@EqualsAndHashCode(exclude = {"orderRowSet"})
+@ToString
+@EqualsAndHashCode
 public class Orders {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Employee employee;
 
     @NotNull(message = "Client is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Client client;
 
     @Valid
     @NotNull(message = "Order items are required")
     @Size(min = 1, message = "Order must contain at least one item")
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonManagedReference
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<OrderRow> orderRowSet = new HashSet<>();
 
     @NotNull(message = "Approved status is required")
     @Column(nullable = false)
     private Boolean approved = false;
 
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount = 0;
+
+    // Users are compared and printed by id so their lazy proxies stay uninitialized
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long employeeId() {
+        return employee == null ? null : employee.getId();
+    }
+
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long clientId() {
+        return client == null ? null : client.getId();
+    }
+
     public void addOrderRow(OrderRow orderRow) {
         orderRowSet.add(orderRow);
         orderRow.setOrder(this);
@@ -55,4 +108,27 @@ public class Orders {
         orderRowSet.remove(orderRow);
         orderRow.setOrder(null);
     }
-}
\ No newline at end of file
+
+    /**
+     * Recomputes {@code totalAmount} and {@code itemCount} from the rows. Runs on insert; row
+     * changes do not make the order itself dirty, so services call it after changing rows.
+     */
+    @PrePersist
+    public void refreshTotals() {
+        totalAmount = orderRowSet.stream()
+                .map(OrderRow::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        itemCount = orderRowSet.size();
+    }
+
+    /**
+     * Ordered units per appliance id, the figure stock is reserved against.
+     */
+    public Map<Long, Long> quantitiesByAppliance() {
+        Map<Long, Long> quantities = new HashMap<>();
+        for (OrderRow row : orderRowSet) {
+            quantities.merge(row.getAppliance().getId(), row.getQuantity(), Long::sum);
+        }
+        return quantities;
+    }
+}
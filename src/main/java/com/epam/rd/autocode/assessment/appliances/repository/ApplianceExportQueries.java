@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import java.util.stream.Stream;
+
+/** Catalog export query, kept apart because its fetch size depends on the driver in use. */
+public interface ApplianceExportQueries {
+
+    /**
+     * Rows for the catalog export in id order, pulled from the driver as they are consumed
+     * instead of buffered; the stream must be consumed inside a transaction and closed.
+     */
+    Stream<ApplianceExportView> streamExportRows();
+}
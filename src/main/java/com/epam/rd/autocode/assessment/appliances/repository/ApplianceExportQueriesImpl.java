@@ -0,0 +1,99 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+/**
+ * Sets {@code app.export.fetch-size} on the export query alone. MySQL Connector/J streams rows
+ * one by one only for a fetch size of {@link Integer#MIN_VALUE}; any other value is buffered in
+ * full unless {@code useCursorFetch} is switched on for the whole connection.
+ */
+class ApplianceExportQueriesImpl implements ApplianceExportQueries {
+
+    private static final String EXPORT_ROWS =
+            "SELECT a.id, a.name, a.model, a.category, a.powerType, a.power, a.price, m.id, m.name, " +
+            "a.characteristic, a.description FROM Appliance a JOIN a.manufacturer m ORDER BY a.id";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    ApplianceExportQueriesImpl(EntityManager entityManager,
+                               @Value("${app.export.fetch-size:-2147483648}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<ApplianceExportView> streamExportRows() {
+        return entityManager.createQuery(EXPORT_ROWS, Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(ExportRow::new);
+    }
+
+    private record ExportRow(Tuple row) implements ApplianceExportView {
+
+        @Override
+        public Long getId() {
+            return row.get(0, Long.class);
+        }
+
+        @Override
+        public String getName() {
+            return row.get(1, String.class);
+        }
+
+        @Override
+        public String getModel() {
+            return row.get(2, String.class);
+        }
+
+        @Override
+        public Category getCategory() {
+            return row.get(3, Category.class);
+        }
+
+        @Override
+        public PowerType getPowerType() {
+            return row.get(4, PowerType.class);
+        }
+
+        @Override
+        public Integer getPower() {
+            return row.get(5, Integer.class);
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return row.get(6, BigDecimal.class);
+        }
+
+        @Override
+        public Long getManufacturerId() {
+            return row.get(7, Long.class);
+        }
+
+        @Override
+        public String getManufacturerName() {
+            return row.get(8, String.class);
+        }
+
+        @Override
+        public String getCharacteristic() {
+            return row.get(9, String.class);
+        }
+
+        @Override
+        public String getDescription() {
+            return row.get(10, String.class);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat projection of one catalog export row. Scalar rows are not attached to the persistence
+ * context, so streaming them keeps memory flat however many appliances there are.
+ */
+public interface ApplianceExportView {
+    Long getId();
+    String getName();
+    String getModel();
+    Category getCategory();
+    PowerType getPowerType();
+    Integer getPower();
+    BigDecimal getPrice();
+    Long getManufacturerId();
+    String getManufacturerName();
+    String getCharacteristic();
+    String getDescription();
+}
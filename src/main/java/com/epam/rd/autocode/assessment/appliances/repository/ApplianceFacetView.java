@@ -0,0 +1,19 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the filterable columns of {@code appliance}, used to build the facet index
+ * in a single query without loading manufacturers.
+ */
+public interface ApplianceFacetView {
+    Long getId();
+    Category getCategory();
+    PowerType getPowerType();
+    Long getManufacturerId();
+    BigDecimal getPrice();
+    Integer getPower();
+}
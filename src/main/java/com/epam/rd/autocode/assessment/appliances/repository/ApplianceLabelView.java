@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+/**
+ * Projection of the labels users type when looking for an appliance: its name, model and
+ * manufacturer name.
+ */
+public interface ApplianceLabelView {
+    Long getId();
+    String getName();
+    String getModel();
+    Long getManufacturerId();
+    String getManufacturerName();
+}
@@ -0,0 +1,9 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+/**
+ * Total quantity ordered per appliance.
+ */
+public interface AppliancePopularityView {
+    Long getApplianceId();
+    Long getUnits();
+}
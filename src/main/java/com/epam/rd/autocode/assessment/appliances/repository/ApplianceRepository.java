@@ -3,21 +3,72 @@ package com.epam.rd.autocode.assessment.appliances.repository;
 import com.epam.rd.autocode.assessment.appliances.model.Appliance;
 import com.epam.rd.autocode.assessment.appliances.model.Category;
 import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ApplianceRepository extends JpaRepository<Appliance, Long> {
+public interface ApplianceRepository extends JpaRepository<Appliance, Long>, JpaSpecificationExecutor<Appliance>,
+        ApplianceExportQueries {
+    /** The whole catalog, manufacturers joined in: the in-memory views load it outside any session. */
+    @Override
+    @EntityGraph(attributePaths = "manufacturer")
+    List<Appliance> findAll();
+
     Page<Appliance> findByCategory(Category category, Pageable pageable);
     
     Page<Appliance> findByPowerType(PowerType powerType, Pageable pageable);
+
+    Slice<Appliance> findSliceBy(Pageable pageable);
+
+    Slice<Appliance> findSliceByCategory(Category category, Pageable pageable);
+
+    Slice<Appliance> findSliceByPowerType(PowerType powerType, Pageable pageable);
+
+    Window<Appliance> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Appliance> findByCategory(Category category, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Appliance> findByPowerType(PowerType powerType, ScrollPosition position, Limit limit, Sort sort);
     
-    @Query("SELECT a FROM Appliance a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(a.model) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(a.description) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Appliance> searchAppliances(@Param("search") String search, Pageable pageable);
+    /** Every term of {@code search} in name, model or description, see {@link ApplianceSpecifications#matchingSearch}. */
+    default Page<Appliance> searchAppliances(String search, Pageable pageable) {
+        return findAll(ApplianceSpecifications.matchingSearch(search), pageable);
+    }
+
+    default Slice<Appliance> searchAppliancesSlice(String search, Pageable pageable) {
+        return findBy(ApplianceSpecifications.matchingSearch(search),
+                query -> query.project("manufacturer").slice(pageable));
+    }
+
+    List<ApplianceTextView> findTextBy();
+
+    @Query("SELECT a.id AS id, a.category AS category, a.powerType AS powerType, " +
+           "a.manufacturer.id AS manufacturerId, a.price AS price, a.power AS power FROM Appliance a")
+    List<ApplianceFacetView> findFacetRows();
+
+    @Query("SELECT a.id AS id, a.name AS name, a.model AS model, " +
+           "a.manufacturer.id AS manufacturerId, a.manufacturer.name AS manufacturerName FROM Appliance a")
+    List<ApplianceLabelView> findLabelRows();
+
+    /** Facet matches in an order the catalog cannot serve; the page is mapped after the session closes. */
+    @Override
+    @EntityGraph(attributePaths = "manufacturer")
+    Page<Appliance> findAll(Specification<Appliance> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "manufacturer")
+    List<Appliance> findWithManufacturerByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
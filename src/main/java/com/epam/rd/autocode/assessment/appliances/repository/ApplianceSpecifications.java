@@ -0,0 +1,75 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilter;
+import com.epam.rd.autocode.assessment.appliances.catalog.search.SearchTokenizer;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ApplianceFilter} and search queries as query predicates, so the database can filter, sort
+ * and page the matches itself instead of being handed the matching ids.
+ */
+public final class ApplianceSpecifications {
+
+    private ApplianceSpecifications() {
+    }
+
+    public static Specification<Appliance> matching(ApplianceFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.getCategories().isEmpty()) {
+                predicates.add(root.get("category").in(filter.getCategories()));
+            }
+            if (!filter.getPowerTypes().isEmpty()) {
+                predicates.add(root.get("powerType").in(filter.getPowerTypes()));
+            }
+            if (!filter.getManufacturerIds().isEmpty()) {
+                predicates.add(root.get("manufacturer").get("id").in(filter.getManufacturerIds()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinPower() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("power"), filter.getMinPower()));
+            }
+            if (filter.getMaxPower() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("power"), filter.getMaxPower()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Appliances whose name, model or description contains every term of {@code search}, split into
+     * terms by the {@link SearchTokenizer} the search index uses, so both return the same rows
+     * whichever of them serves the request. Text without any term matches nothing, like in the
+     * index; a blank query matches everything.
+     */
+    public static Specification<Appliance> matchingSearch(String search) {
+        List<String> terms = SearchTokenizer.tokenize(search).stream().distinct().toList();
+        boolean blank = !StringUtils.hasText(search);
+        return (root, query, cb) -> {
+            if (terms.isEmpty()) {
+                return blank ? cb.conjunction() : cb.disjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            for (String term : terms) {
+                // Terms are alphanumeric, so they carry no LIKE wildcards to escape
+                String pattern = "%" + term + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern),
+                        cb.like(cb.lower(root.get("model")), pattern),
+                        cb.like(cb.lower(root.get("description")), pattern)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
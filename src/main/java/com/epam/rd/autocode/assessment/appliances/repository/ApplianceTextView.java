@@ -0,0 +1,12 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+/**
+ * Projection of the free-text columns of {@code appliance}, used to build the search index
+ * without loading manufacturers.
+ */
+public interface ApplianceTextView {
+    Long getId();
+    String getName();
+    String getModel();
+    String getDescription();
+}
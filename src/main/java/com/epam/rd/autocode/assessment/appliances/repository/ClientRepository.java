@@ -1,8 +1,13 @@
 package com.epam.rd.autocode.assessment.appliances.repository;
 
 import com.epam.rd.autocode.assessment.appliances.model.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,12 +18,21 @@ import java.util.Optional;
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByEmail(String email);
+
+    Slice<Client> findSliceBy(Pageable pageable);
+
+    Window<Client> findAllBy(ScrollPosition position, Limit limit, Sort sort);
     
-    @Query("SELECT c FROM Client c WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+    String SEARCH_QUERY = "SELECT c FROM Client c WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(c.address) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(c.card) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "OR LOWER(c.card) LIKE LOWER(CONCAT('%', :search, '%'))";
+
+    @Query(SEARCH_QUERY)
     Page<Client> searchClients(@Param("search") String search, Pageable pageable);
+
+    @Query(SEARCH_QUERY)
+    Slice<Client> searchClientsSlice(@Param("search") String search, Pageable pageable);
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.epam.rd.autocode.assessment.appliances.repository;
 
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,10 +18,19 @@ import java.util.Optional;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
+
+    Slice<Employee> findSliceBy(Pageable pageable);
+
+    Window<Employee> findAllBy(ScrollPosition position, Limit limit, Sort sort);
     
-    @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+    String SEARCH_QUERY = "SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(e.position) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "OR LOWER(e.position) LIKE LOWER(CONCAT('%', :search, '%'))";
+
+    @Query(SEARCH_QUERY)
     Page<Employee> searchEmployees(@Param("search") String search, Pageable pageable);
+
+    @Query(SEARCH_QUERY)
+    Slice<Employee> searchEmployeesSlice(@Param("search") String search, Pageable pageable);
 }
\ No newline at end of file
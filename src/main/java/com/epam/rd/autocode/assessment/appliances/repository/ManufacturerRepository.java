@@ -1,8 +1,12 @@
 package com.epam.rd.autocode.assessment.appliances.repository;
 
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +14,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ManufacturerRepository extends JpaRepository<Manufacturer, Long> {
+    Window<Manufacturer> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     @Query("SELECT m FROM Manufacturer m WHERE LOWER(m.name) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Manufacturer> searchManufacturers(@Param("search") String search, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a client's order history, built by the query itself: no {@code Orders}, rows or
+ * client entities are loaded or attached to the persistence context. {@code employeeName} is
+ * {@code null} while no employee has handled the order.
+ */
+public record OrderHistoryView(Long id, Boolean approved, BigDecimal totalAmount, Integer itemCount,
+                               String employeeName) {
+
+    public OrderHistoryView(Long id, Boolean approved, BigDecimal totalAmount, Integer itemCount,
+                            String employeeFirstName, String employeeLastName) {
+        this(id, approved, totalAmount, itemCount,
+                employeeFirstName == null ? null : employeeFirstName + " " + employeeLastName);
+    }
+}
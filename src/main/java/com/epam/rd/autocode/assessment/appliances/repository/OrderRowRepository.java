@@ -2,8 +2,23 @@ package com.epam.rd.autocode.assessment.appliances.repository;
 
 import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderRowRepository extends JpaRepository<OrderRow, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT r.appliance.id AS applianceId, SUM(r.quantity) AS units FROM OrderRow r GROUP BY r.appliance.id")
+    List<AppliancePopularityView> sumQuantityByAppliance();
+
+    @Query("SELECT r.appliance.id AS applianceId, e.id AS employeeId, o.approved AS approved, "
+            + "SUM(r.amount) AS revenue, SUM(r.quantity) AS units "
+            + "FROM OrderRow r JOIN r.order o LEFT JOIN o.employee e "
+            + "WHERE o.id IN :orderIds "
+            + "GROUP BY r.appliance.id, e.id, o.approved")
+    List<SalesTotalsView> sumSalesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
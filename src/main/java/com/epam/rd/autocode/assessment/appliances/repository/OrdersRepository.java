@@ -3,16 +3,94 @@ package com.epam.rd.autocode.assessment.appliances.repository;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrdersRepository extends JpaRepository<Orders, Long> {
+    String HISTORY_QUERY = "SELECT new com.epam.rd.autocode.assessment.appliances.repository.OrderHistoryView(" +
+            "o.id, o.approved, o.totalAmount, o.itemCount, e.firstName, e.lastName) " +
+            "FROM Orders o LEFT JOIN o.employee e WHERE o.client.id = :clientId";
+
+    @Override
+    @EntityGraph("Orders.list")
+    Page<Orders> findAll(Pageable pageable);
+
+    @EntityGraph("Orders.detail")
+    Optional<Orders> findDetailById(Long id);
+
+    @EntityGraph("Orders.detail")
+    @Query("SELECT o FROM Orders o WHERE o.id = :id AND o.client.id = :clientId")
+    Optional<Orders> findDetailByIdAndClientId(@Param("id") Long id, @Param("clientId") Long clientId);
+
+    @Query("SELECT o.approved FROM Orders o WHERE o.id = :id AND o.client.id = :clientId")
+    Optional<Boolean> findApprovedByIdAndClientId(@Param("id") Long id, @Param("clientId") Long clientId);
+
+    @EntityGraph("Orders.approval")
+    Optional<Orders> findForApprovalById(Long id);
+
+    @EntityGraph("Orders.list")
     Page<Orders> findByClient(Client client, Pageable pageable);
-    
+
+    @EntityGraph("Orders.list")
     Page<Orders> findByEmployee(Employee employee, Pageable pageable);
-    
+
+    @EntityGraph("Orders.list")
     Page<Orders> findByApproved(Boolean approved, Pageable pageable);
-}
\ No newline at end of file
+
+    @EntityGraph("Orders.list")
+    Slice<Orders> findSliceBy(Pageable pageable);
+
+    @EntityGraph("Orders.list")
+    Slice<Orders> findSliceByClient(Client client, Pageable pageable);
+
+    @EntityGraph("Orders.list")
+    Slice<Orders> findSliceByEmployee(Employee employee, Pageable pageable);
+
+    @EntityGraph("Orders.list")
+    Slice<Orders> findSliceByApproved(Boolean approved, Pageable pageable);
+
+    @EntityGraph("Orders.list")
+    Window<Orders> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph("Orders.list")
+    Window<Orders> findByClient(Client client, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph("Orders.list")
+    Window<Orders> findByEmployee(Employee employee, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph("Orders.list")
+    Window<Orders> findByApproved(Boolean approved, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query(value = HISTORY_QUERY, countQuery = "SELECT COUNT(o) FROM Orders o WHERE o.client.id = :clientId")
+    Page<OrderHistoryView> findHistoryByClientId(@Param("clientId") Long clientId, Pageable pageable);
+
+    @Query(HISTORY_QUERY)
+    Slice<OrderHistoryView> findHistorySliceByClientId(@Param("clientId") Long clientId, Pageable pageable);
+
+    /** Locks the still unapproved orders among {@code ids} until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Orders o WHERE o.id IN :ids AND o.approved = false")
+    List<Long> lockPendingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Orders o SET o.approved = true, o.employee = :employee WHERE o.id IN :ids AND o.approved = false")
+    int approvePending(@Param("ids") Collection<Long> ids, @Param("employee") Employee employee);
+}
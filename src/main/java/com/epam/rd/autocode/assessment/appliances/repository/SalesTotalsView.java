@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.assessment.appliances.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Ordered amount and quantity per appliance, employee and approval state of a set of orders.
+ */
+public interface SalesTotalsView {
+    Long getApplianceId();
+    Long getEmployeeId();
+    Boolean getApproved();
+    BigDecimal getRevenue();
+    Long getUnits();
+}
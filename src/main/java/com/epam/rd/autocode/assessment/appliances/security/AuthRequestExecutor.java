@@ -0,0 +1,92 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs logins and registrations on a bounded pool of {@code auth-worker} threads, so they complete
+ * through Spring MVC async processing instead of holding request threads. Most of that work is
+ * I/O: user lookups, login-attempt bookkeeping, token generation and inserts. Only the hashing is
+ * handed on to the CPU-sized {@link OffloadingPasswordEncoder} pool, so a login waiting on the
+ * database never holds a hashing thread. The workers spend their time waiting, which is why there
+ * are more of them than hashing threads.
+ * <p>
+ * Work queues behind the workers up to {@code queueCapacity}; past that, or when it has not started
+ * within {@code waitTimeout}, it fails with 429 and a {@code Retry-After}. Work that has started
+ * always runs to its own outcome: it may already have committed, so reporting it as rejected would
+ * make the client retry it.
+ */
+@Component
+public class AuthRequestExecutor implements AutoCloseable {
+
+    static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+
+    public AuthRequestExecutor(@Value("${app.security.auth.workers.threads:32}") int threads,
+                               @Value("${app.security.auth.workers.queue-capacity:200}") int queueCapacity,
+                               @Value("${app.security.auth.workers.wait-timeout:5s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Runs {@code work} on a worker and returns at once. The future fails with 429 when the queue is
+     * full or {@code work} has not started within {@code waitTimeout}.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Claimed by whichever comes first, the worker starting the task or the queue timeout
+        AtomicBoolean claimed = new AtomicBoolean();
+        Runnable task = () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(work.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(busy());
+        }
+        CompletableFuture.delayedExecutor(waitTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                // Free the queue slot before the caller hears about it and retries
+                executor.remove(task);
+                result.completeExceptionally(busy());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static TooManyRequestsException busy() {
+        return new TooManyRequestsException("Too many logins in progress, retry later", RETRY_AFTER_SECONDS);
+    }
+}
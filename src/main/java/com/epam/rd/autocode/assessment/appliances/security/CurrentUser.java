@@ -0,0 +1,55 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+/**
+ * The user behind the current request: id, role ({@code CLIENT}, {@code EMPLOYEE} or
+ * {@code USER}) and email. Declared as a controller method parameter it is resolved once per
+ * request; for JWT principals everything comes from the token claims. Other authentications only
+ * carry the email and authorities, so their id is looked up by email the first time it is needed.
+ */
+public final class CurrentUser {
+
+    public static final String CLIENT = "CLIENT";
+    public static final String EMPLOYEE = "EMPLOYEE";
+
+    @Getter
+    private final String email;
+    @Getter
+    private final String role;
+    private Supplier<Long> idLoader;
+    private Long id;
+
+    private CurrentUser(String email, String role, Long id, Supplier<Long> idLoader) {
+        this.email = email;
+        this.role = role;
+        this.id = id;
+        this.idLoader = idLoader;
+    }
+
+    public static CurrentUser of(UserPrincipal principal) {
+        return new CurrentUser(principal.getUsername(), principal.getRole(), principal.getId(), null);
+    }
+
+    public static CurrentUser of(String email, String role, Supplier<Long> idLoader) {
+        return new CurrentUser(email, role, null, idLoader);
+    }
+
+    public Long getId() {
+        if (idLoader != null) {
+            id = idLoader.get();
+            idLoader = null;
+        }
+        return id;
+    }
+
+    public boolean isClient() {
+        return CLIENT.equals(role);
+    }
+
+    public boolean isEmployee() {
+        return EMPLOYEE.equals(role);
+    }
+}
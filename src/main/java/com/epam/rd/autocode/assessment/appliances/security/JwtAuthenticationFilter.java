@@ -27,22 +27,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalRevalidator principalRevalidator;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            VerifiedToken token = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt).orElse(null) : null;
+            if (token != null) {
+                String username = token.subject();
+                UserDetails userDetails = resolveUser(token);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Successfully authenticated user: {} for request: {}", username, request.getRequestURI());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Successfully authenticated user: {} for request: {}", username, request.getRequestURI());
+                } else {
+                    log.debug("Token for user: {} no longer matches the stored user", username);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context for request: {} from IP: {}",
@@ -52,6 +59,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * The principal the token claims, without a lookup; tokens issued before id and role were
+     * embedded still load the user.
+     */
+    private UserDetails resolveUser(VerifiedToken token) {
+        if (!token.hasUserClaims()) {
+            return userDetailsService.loadUserByUsername(token.subject());
+        }
+        UserPrincipal principal = token.toPrincipal();
+        return principalRevalidator.isCurrent(principal) ? principal : null;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
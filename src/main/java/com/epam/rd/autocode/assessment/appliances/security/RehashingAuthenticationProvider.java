@@ -0,0 +1,48 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Password login that moves stored hashes to the configured algorithm and cost as users log in.
+ * When the hash that just matched is outdated, the presented password is hashed again in the
+ * background and stored only if the hash has not changed in the meantime. The login never waits
+ * for it, and when the hashing queue is full the upgrade is simply left for a later login.
+ */
+@Slf4j
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final UserService userService;
+
+    public RehashingAuthenticationProvider(OffloadingPasswordEncoder passwordEncoder, UserService userService) {
+        super(userService);
+        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+        setPasswordEncoder(passwordEncoder);
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (user instanceof UserPrincipal userPrincipal && userPrincipal.getPassword() != null
+                && authentication.getCredentials() != null
+                && passwordEncoder.upgradeEncoding(userPrincipal.getPassword())) {
+            Long userId = userPrincipal.getId();
+            String currentHash = userPrincipal.getPassword();
+            boolean queued = passwordEncoder.encodeLater(authentication.getCredentials().toString(),
+                    newHash -> {
+                        if (userService.replacePasswordHash(userId, currentHash, newHash)) {
+                            log.info("Upgraded the password hash of user {}", userId);
+                        }
+                    });
+            if (!queued) {
+                log.debug("Password hashing is busy, the hash of user {} is upgraded on a later login", userId);
+            }
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -0,0 +1,48 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated user: id, email and role ({@code CLIENT}, {@code EMPLOYEE} or {@code USER}).
+ * Loaded with its password hash at login, and rebuilt from the token claims, without a password,
+ * on every later request.
+ */
+@Getter
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+    private String password;
+
+    public UserPrincipal(Long id, String username, String password, String role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    /**
+     * Whether {@code other} is the same user in the same role.
+     */
+    public boolean sameUserAs(UserPrincipal other) {
+        return other != null && id.equals(other.id) && username.equals(other.username) && role.equals(other.role);
+    }
+}
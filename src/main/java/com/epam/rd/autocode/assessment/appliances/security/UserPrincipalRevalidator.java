@@ -0,0 +1,66 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.cache.ReferenceCache;
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Checks that the user a token names still exists with the id and role the token claims. Stored
+ * users are cached for {@code app.jwt.revalidate-interval}, so a deleted user or a changed role
+ * stops being honoured within that interval while other requests need no lookup; committed user
+ * writes on this node clear it at once. Users that do not exist are cached too, as empty entries,
+ * so the still valid tokens of a deleted user cost no lookup either. {@code 0} turns the check off
+ * and trusts the claims until the token expires.
+ */
+@Slf4j
+@Component
+public class UserPrincipalRevalidator {
+
+    private final UserDetailsService userDetailsService;
+    private final ReferenceCache<String, Optional<UserPrincipal>> stored;
+
+    public UserPrincipalRevalidator(UserDetailsService userDetailsService,
+                                    @Value("${app.jwt.revalidate-interval:5m}") Duration interval,
+                                    @Value("${app.jwt.revalidate-cache-size:10000}") int cacheSize) {
+        this.userDetailsService = userDetailsService;
+        this.stored = interval.isZero() ? null : new ReferenceCache<>("jwt.principals", cacheSize, interval);
+    }
+
+    public boolean isCurrent(UserPrincipal claimed) {
+        if (stored == null) {
+            return true;
+        }
+        return stored.get(claimed.getUsername(), () -> load(claimed.getUsername()))
+                .filter(claimed::sameUserAs)
+                .isPresent();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (stored != null) {
+            stored.invalidateAll();
+        }
+    }
+
+    private Optional<UserPrincipal> load(String username) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (userDetails instanceof UserPrincipal principal) {
+                return Optional.of(new UserPrincipal(principal.getId(), principal.getUsername(), null,
+                        principal.getRole()));
+            }
+        } catch (UsernameNotFoundException ex) {
+            log.debug("Token names a user that no longer exists: {}", username);
+        }
+        return Optional.empty();
+    }
+}
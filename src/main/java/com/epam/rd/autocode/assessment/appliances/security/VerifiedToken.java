@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import java.time.Instant;
+
+/**
+ * What a JWT proved once its signature and expiry were checked. {@code userId} and {@code role}
+ * are {@code null} for tokens issued before they were embedded.
+ */
+public record VerifiedToken(String subject, Long userId, String role, Instant expiresAt) {
+
+    public boolean hasUserClaims() {
+        return userId != null && role != null;
+    }
+
+    public UserPrincipal toPrincipal() {
+        return new UserPrincipal(userId, subject, null, role);
+    }
+}
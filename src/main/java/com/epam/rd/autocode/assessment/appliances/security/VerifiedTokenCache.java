@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recently verified tokens, keyed by a hash of the token so the bearer tokens themselves are not
+ * kept. A hit means the exact same token was verified before, so it needs no second signature
+ * check. Entries go when their token expires; a full cache first purges expired entries, then the
+ * tenth of entries closest to expiry. Reads never lock.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Clock clock;
+    private final ConcurrentMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    VerifiedToken get(String tokenHash) {
+        VerifiedToken token = entries.get(tokenHash);
+        if (token == null) {
+            return null;
+        }
+        if (isExpired(token, clock.instant())) {
+            entries.remove(tokenHash, token);
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Caches {@code token} unless caching is off ({@code maxSize < 1}), the token never expires, or
+     * another thread is already making room.
+     */
+    void put(String tokenHash, VerifiedToken token) {
+        if (maxSize < 1 || token.expiresAt() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !trim()) {
+            return;
+        }
+        entries.put(tokenHash, token);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean trim() {
+        if (!trimLock.tryLock()) {
+            return false;
+        }
+        try {
+            Instant now = clock.instant();
+            entries.values().removeIf(token -> isExpired(token, now));
+            int excess = entries.size() - maxSize * 9 / 10;
+            if (excess > 0) {
+                entries.entrySet().stream()
+                        .sorted(Comparator.comparing(entry -> entry.getValue().expiresAt()))
+                        .limit(excess)
+                        .map(Map.Entry::getKey)
+                        .toList()
+                        .forEach(entries::remove);
+            }
+            return entries.size() < maxSize;
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    private static boolean isExpired(VerifiedToken token, Instant now) {
+        return !now.isBefore(token.expiresAt());
+    }
+}
@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.assessment.appliances.service;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.ApplianceSales;
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGroup;
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGrouping;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRanking;
+
+import java.util.List;
+
+public interface AnalyticsService {
+    List<RevenueGroup> getRevenue(RevenueGrouping grouping, boolean approvedOnly);
+    List<ApplianceSales> getTopAppliances(SalesRanking ranking, boolean approvedOnly, int limit);
+    int rebuildSalesRollup();
+}
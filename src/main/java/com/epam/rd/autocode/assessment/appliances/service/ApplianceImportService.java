@@ -0,0 +1,11 @@
+package com.epam.rd.autocode.assessment.appliances.service;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ApplianceImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ApplianceImportService {
+    ApplianceImportResult importAppliances(CatalogFormat format, InputStream in) throws IOException;
+}
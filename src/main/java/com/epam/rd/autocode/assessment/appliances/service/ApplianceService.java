@@ -1,21 +1,45 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilter;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilterResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.Suggestion;
 import com.epam.rd.autocode.assessment.appliances.model.Appliance;
 import com.epam.rd.autocode.assessment.appliances.model.Category;
 import com.epam.rd.autocode.assessment.appliances.model.PowerType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ApplianceService {
     Appliance createAppliance(Appliance appliance);
     Appliance updateAppliance(Long id, Appliance appliance);
     void deleteAppliance(Long id);
+    Long getStock(Long id);
+    Long setStock(Long id, Long stock);
     Appliance getApplianceById(Long id);
+    Map<Long, Appliance> getAppliancesByIds(Collection<Long> ids);
     List<Appliance> getAllAppliances();
     Page<Appliance> getAllAppliances(Pageable pageable);
     Page<Appliance> searchAppliances(String search, Pageable pageable);
     Page<Appliance> getAppliancesByCategory(Category category, Pageable pageable);
     Page<Appliance> getAppliancesByPowerType(PowerType powerType, Pageable pageable);
+    Slice<Appliance> getAllAppliancesSlice(Pageable pageable);
+    Slice<Appliance> searchAppliancesSlice(String search, Pageable pageable);
+    Slice<Appliance> getAppliancesByCategorySlice(Category category, Pageable pageable);
+    Slice<Appliance> getAppliancesByPowerTypeSlice(PowerType powerType, Pageable pageable);
+    ApplianceFilterResult filterAppliances(ApplianceFilter filter, Pageable pageable);
+    List<Suggestion> suggestAppliances(String prefix, int limit);
+    long exportAppliances(CatalogFormat format, OutputStream out) throws IOException;
+    Window<Appliance> getAllAppliances(ScrollPosition position, Pageable pageable);
+    Window<Appliance> getAppliancesByCategory(Category category, ScrollPosition position, Pageable pageable);
+    Window<Appliance> getAppliancesByPowerType(PowerType powerType, ScrollPosition position, Pageable pageable);
 }
\ No newline at end of file
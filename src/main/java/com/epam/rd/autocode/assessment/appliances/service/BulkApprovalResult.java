@@ -0,0 +1,20 @@
+package com.epam.rd.autocode.assessment.appliances.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk approval, both lists in request order. Skipped ids were already approved or
+ * do not exist.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BulkApprovalResult {
+
+    private final List<Long> approved;
+    private final List<Long> skipped;
+}
@@ -3,6 +3,9 @@ package com.epam.rd.autocode.assessment.appliances.service;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -13,5 +16,8 @@ public interface ClientService {
     Client getClientById(Long id);
     List<Client> getAllClients();
     Page<Client> getAllClients(Pageable pageable);
+    Window<Client> getAllClients(ScrollPosition position, Pageable pageable);
     Page<Client> searchClients(String search, Pageable pageable);
+    Slice<Client> getAllClientsSlice(Pageable pageable);
+    Slice<Client> searchClientsSlice(String search, Pageable pageable);
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.epam.rd.autocode.assessment.appliances.service;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -13,5 +16,8 @@ public interface EmployeeService {
     Employee getEmployeeById(Long id);
     List<Employee> getAllEmployees();
     Page<Employee> getAllEmployees(Pageable pageable);
+    Window<Employee> getAllEmployees(ScrollPosition position, Pageable pageable);
     Page<Employee> searchEmployees(String search, Pageable pageable);
+    Slice<Employee> getAllEmployeesSlice(Pageable pageable);
+    Slice<Employee> searchEmployeesSlice(String search, Pageable pageable);
 }
\ No newline at end of file
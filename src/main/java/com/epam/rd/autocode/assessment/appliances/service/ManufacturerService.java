@@ -1,8 +1,11 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.cache.CacheStats;
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -13,5 +16,7 @@ public interface ManufacturerService {
     Manufacturer getManufacturerById(Long id);
     List<Manufacturer> getAllManufacturers();
     Page<Manufacturer> getAllManufacturers(Pageable pageable);
+    Window<Manufacturer> getAllManufacturers(ScrollPosition position, Pageable pageable);
     Page<Manufacturer> searchManufacturers(String search, Pageable pageable);
+    List<CacheStats> getCacheStats();
 }
\ No newline at end of file
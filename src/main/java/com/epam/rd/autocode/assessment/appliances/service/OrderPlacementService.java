@@ -0,0 +1,11 @@
+package com.epam.rd.autocode.assessment.appliances.service;
+
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+
+import java.util.List;
+
+public interface OrderPlacementService {
+    Orders placeOrder(OrderRequestDTO request);
+    List<Orders> placeOrders(List<OrderRequestDTO> requests);
+}
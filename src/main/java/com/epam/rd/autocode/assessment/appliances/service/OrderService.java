@@ -1,20 +1,44 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
 import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderHistoryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderService {
-    Orders createOrder(Orders order);
     Orders updateOrder(Long id, Orders order);
+    Orders updateOrderRow(Long orderId, Long rowId, Long quantity, BigDecimal amount);
+    Orders deleteOrderRow(Long orderId, Long rowId);
     void deleteOrder(Long id);
     Orders getOrderById(Long id);
+    boolean orderExists(Long id);
+    /** The order if it belongs to the client, found with one query filtered on both ids. */
+    Optional<Orders> findClientOrder(Long id, Long clientId);
+    /** Whether the client's order is approved; empty when the client has no order with this id. */
+    Optional<Boolean> findClientOrderApproved(Long id, Long clientId);
     List<Orders> getAllOrders();
     Page<Orders> getAllOrders(Pageable pageable);
     Orders approveOrder(Long id, Long employeeId);
+    BulkApprovalResult approveOrders(Collection<Long> ids, Long employeeId);
     Page<Orders> getOrdersByClientId(Long clientId, Pageable pageable);
     Page<Orders> getOrdersByEmployeeId(Long employeeId, Pageable pageable);
+    Page<OrderHistoryView> getOrderHistory(Long clientId, Pageable pageable);
+    Slice<OrderHistoryView> getOrderHistorySlice(Long clientId, Pageable pageable);
     Page<Orders> getOrdersByApprovalStatus(Boolean approved, Pageable pageable);
+    Slice<Orders> getAllOrdersSlice(Pageable pageable);
+    Slice<Orders> getOrdersByClientIdSlice(Long clientId, Pageable pageable);
+    Slice<Orders> getOrdersByEmployeeIdSlice(Long employeeId, Pageable pageable);
+    Slice<Orders> getOrdersByApprovalStatusSlice(Boolean approved, Pageable pageable);
+    Window<Orders> getAllOrders(ScrollPosition position, Pageable pageable);
+    Window<Orders> getOrdersByClientId(Long clientId, ScrollPosition position, Pageable pageable);
+    Window<Orders> getOrdersByEmployeeId(Long employeeId, ScrollPosition position, Pageable pageable);
+    Window<Orders> getOrdersByApprovalStatus(Boolean approved, ScrollPosition position, Pageable pageable);
 }
\ No newline at end of file
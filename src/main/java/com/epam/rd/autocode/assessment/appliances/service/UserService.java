@@ -13,6 +13,8 @@ public interface UserService extends UserDetailsService {
     void deleteUser(Long id);
     User getUserById(Long id);
     User getUserByEmail(String email);
+    /** Stores {@code newHash} unless the password changed since {@code currentHash} was read. */
+    boolean replacePasswordHash(Long id, String currentHash, String newHash);
     List<User> getAllUsers();
     Page<User> getAllUsers(Pageable pageable);
     Page<User> searchUsers(String search, Pageable pageable);
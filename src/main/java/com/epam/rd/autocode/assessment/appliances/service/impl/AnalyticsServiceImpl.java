@@ -0,0 +1,45 @@
+package com.epam.rd.autocode.assessment.appliances.service.impl;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.ApplianceSales;
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGroup;
+import com.epam.rd.autocode.assessment.appliances.analytics.RevenueGrouping;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRanking;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollupStore;
+import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_TOP_APPLIANCES = 100;
+
+    private final SalesRollupStore salesRollupStore;
+    private final SalesRollup salesRollup;
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RevenueGroup> getRevenue(RevenueGrouping grouping, boolean approvedOnly) {
+        return salesRollupStore.revenueBy(grouping, approvedOnly);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ApplianceSales> getTopAppliances(SalesRanking ranking, boolean approvedOnly, int limit) {
+        return salesRollupStore.topAppliances(ranking, approvedOnly, Math.max(1, Math.min(limit, MAX_TOP_APPLIANCES)));
+    }
+
+    @Override
+    @Loggable
+    public int rebuildSalesRollup() {
+        return salesRollup.rebuild();
+    }
+}
@@ -0,0 +1,239 @@
+package com.epam.rd.autocode.assessment.appliances.service.impl;
+
+import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.catalog.AppliancesImportedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ApplianceImportReader;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ApplianceImportResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ImportError;
+import com.epam.rd.autocode.assessment.appliances.catalog.imports.ImportRow;
+import com.epam.rd.autocode.assessment.appliances.dto.ApplianceRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
+import com.epam.rd.autocode.assessment.appliances.service.ApplianceImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Bulk appliance import. Rows are read and validated one at a time against the same rules as
+ * {@code POST /api/appliances}; valid ones are persisted in batches of {@code app.import.batch-size},
+ * each batch in its own transaction and sent as one JDBC batch (appliance ids come from a pooled
+ * generator, so nothing forces a round trip per row). Manufacturers are loaded once up front and
+ * matched by id or name. A failed batch fails only its own rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplianceImportServiceImpl implements ApplianceImportService {
+
+    private final ManufacturerRepository manufacturerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Override
+    @Loggable
+    public ApplianceImportResult importAppliances(CatalogFormat format, InputStream in) throws IOException {
+        Manufacturers manufacturers = new Manufacturers(manufacturerRepository.findAll());
+        ApplianceImportReader reader = ApplianceImportReader.open(format, in, objectMapper);
+        Tally tally = new Tally(maxReportedErrors);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            if (row.isFailed()) {
+                tally.fail(row.line(), row.error());
+                continue;
+            }
+            List<String> problems = new ArrayList<>();
+            Appliance appliance = toAppliance(row, manufacturers, problems);
+            if (!problems.isEmpty()) {
+                tally.fail(row.line(), String.join("; ", problems));
+                continue;
+            }
+            batch.add(new PendingRow(row.line(), appliance));
+            if (batch.size() >= batchSize) {
+                persist(batch, tally);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            persist(batch, tally);
+        }
+
+        if (!tally.importedIds.isEmpty()) {
+            eventPublisher.publishEvent(new AppliancesImportedEvent(tally.importedIds));
+        }
+        log.info("Appliance import finished: {} imported, {} failed", tally.importedIds.size(), tally.failed);
+        return new ApplianceImportResult(tally.importedIds.size(), tally.failed, tally.errors);
+    }
+
+    private void persist(List<PendingRow> batch, Tally tally) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (PendingRow pending : batch) {
+                    entityManager.persist(pending.appliance());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (PendingRow pending : batch) {
+                tally.importedIds.add(pending.appliance().getId());
+            }
+        } catch (RuntimeException ex) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            log.warn("Appliance import batch of {} rows starting at line {} failed: {}",
+                    batch.size(), batch.get(0).line(), cause);
+            for (PendingRow pending : batch) {
+                tally.fail(pending.line(), "Batch insert failed: " + cause);
+            }
+        }
+    }
+
+    private Appliance toAppliance(ImportRow row, Manufacturers manufacturers, List<String> problems) {
+        ApplianceRequestDTO dto = new ApplianceRequestDTO();
+        dto.setName(row.get("name"));
+        dto.setModel(row.get("model"));
+        dto.setCharacteristic(row.get("characteristic"));
+        dto.setDescription(row.get("description"));
+        dto.setCategory(parse(row, "category", value -> Category.valueOf(value.toUpperCase(Locale.ROOT)), problems));
+        dto.setPowerType(parse(row, "powertype", value -> PowerType.valueOf(value.toUpperCase(Locale.ROOT)), problems));
+        dto.setPower(parse(row, "power", Integer::valueOf, problems));
+        dto.setPrice(parse(row, "price", BigDecimal::new, problems));
+
+        Manufacturer manufacturer = manufacturers.resolve(row, problems);
+        dto.setManufacturerId(manufacturer != null ? manufacturer.getId() : null);
+        if (!problems.isEmpty()) {
+            return null;
+        }
+
+        Appliance appliance = new Appliance();
+        appliance.setName(dto.getName());
+        appliance.setCategory(dto.getCategory());
+        appliance.setModel(dto.getModel());
+        appliance.setManufacturer(manufacturer);
+        appliance.setPowerType(dto.getPowerType());
+        appliance.setCharacteristic(dto.getCharacteristic());
+        appliance.setDescription(dto.getDescription());
+        appliance.setPower(dto.getPower());
+        appliance.setPrice(dto.getPrice());
+
+        // Request rules (allowed characters) first, then the entity's upper bounds, as create + persist would
+        Set<String> violations = new TreeSet<>();
+        for (ConstraintViolation<ApplianceRequestDTO> violation : validator.validate(dto)) {
+            violations.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (violations.isEmpty()) {
+            for (ConstraintViolation<Appliance> violation : validator.validate(appliance)) {
+                violations.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        problems.addAll(violations);
+        return appliance;
+    }
+
+    private static <T> T parse(ImportRow row, String column, Function<String, T> parser, List<String> problems) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException ex) {
+            problems.add(column + ": invalid value '" + value + "'");
+            return null;
+        }
+    }
+
+    private record PendingRow(long line, Appliance appliance) {
+    }
+
+    private static final class Manufacturers {
+
+        private final Map<Long, Manufacturer> byId = new HashMap<>();
+        private final Map<String, Manufacturer> byName = new HashMap<>();
+
+        private Manufacturers(List<Manufacturer> manufacturers) {
+            for (Manufacturer manufacturer : manufacturers) {
+                byId.put(manufacturer.getId(), manufacturer);
+                byName.put(manufacturer.getName().toLowerCase(Locale.ROOT), manufacturer);
+            }
+        }
+
+        /**
+         * Looks up {@code manufacturerId}, else {@code manufacturer} (an id or a name), else
+         * {@code manufacturerName}.
+         */
+        private Manufacturer resolve(ImportRow row, List<String> problems) {
+            String id = row.get("manufacturerid");
+            String reference = id != null ? id : row.get("manufacturer", "manufacturername");
+            if (reference == null) {
+                return null;
+            }
+            Manufacturer manufacturer = null;
+            if (reference.chars().allMatch(Character::isDigit)) {
+                manufacturer = byId.get(Long.valueOf(reference));
+            }
+            if (manufacturer == null && id == null) {
+                manufacturer = byName.get(reference.toLowerCase(Locale.ROOT));
+            }
+            if (manufacturer == null) {
+                problems.add("manufacturer: unknown manufacturer '" + reference + "'");
+            }
+            return manufacturer;
+        }
+    }
+
+    private static final class Tally {
+
+        private final int maxReportedErrors;
+        private final List<Long> importedIds = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+        private long failed;
+
+        private Tally(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+    }
+}
@@ -1,19 +1,60 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceCatalog;
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogSnapshot;
+import com.epam.rd.autocode.assessment.appliances.catalog.export.ApplianceExportWriter;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFacetIndex;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilter;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilterResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.FacetMatch;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.FacetSnapshot;
+import com.epam.rd.autocode.assessment.appliances.catalog.search.ApplianceSearchIndex;
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.ApplianceSuggestIndex;
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.Suggestion;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
 import com.epam.rd.autocode.assessment.appliances.model.Appliance;
 import com.epam.rd.autocode.assessment.appliances.model.Category;
 import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceExportView;
 import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceSpecifications;
 import com.epam.rd.autocode.assessment.appliances.service.ApplianceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,17 +62,28 @@ import java.util.List;
 public class ApplianceServiceImpl implements ApplianceService {
 
     private final ApplianceRepository applianceRepository;
+    private final ApplianceCatalog applianceCatalog;
+    private final ApplianceSearchIndex applianceSearchIndex;
+    private final ApplianceFacetIndex applianceFacetIndex;
+    private final ApplianceSuggestIndex applianceSuggestIndex;
+    private final ApplianceExportWriter applianceExportWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
 
     @Override
     @Loggable
     public Appliance createAppliance(Appliance appliance) {
-        return applianceRepository.save(appliance);
+        // Flushed before the event is created, so its sequence is taken under the row lock
+        Appliance saved = applianceRepository.saveAndFlush(appliance);
+        eventPublisher.publishEvent(ApplianceChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     @Loggable
     public Appliance updateAppliance(Long id, Appliance appliance) {
-        Appliance existing = getApplianceById(id);
+        Appliance existing = applianceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Appliance", "id", id));
         existing.setName(appliance.getName());
         existing.setCategory(appliance.getCategory());
         existing.setModel(appliance.getModel());
@@ -41,43 +93,274 @@ public class ApplianceServiceImpl implements ApplianceService {
         existing.setDescription(appliance.getDescription());
         existing.setPower(appliance.getPower());
         existing.setPrice(appliance.getPrice());
-        return applianceRepository.save(existing);
+        Appliance saved = applianceRepository.saveAndFlush(existing);
+        eventPublisher.publishEvent(ApplianceChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     @Loggable
     public void deleteAppliance(Long id) {
         applianceRepository.deleteById(id);
+        applianceRepository.flush();
+        eventPublisher.publishEvent(ApplianceChangedEvent.deleted(id));
+    }
+
+    /**
+     * Units left in stock as the ledger sees them (ahead of the table by at most one flush), or
+     * {@code null} when the appliance's stock is not tracked.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Long getStock(Long id) {
+        requireAppliance(id);
+        return stockLedger.available(id);
+    }
+
+    @Override
+    @Loggable
+    public Long setStock(Long id, Long stock) {
+        requireAppliance(id);
+        stockLedger.set(id, stock);
+        return stock;
+    }
+
+    private void requireAppliance(Long id) {
+        if (!applianceRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Appliance", "id", id);
+        }
     }
 
+    // Reads join a caller's transaction but never start one, so catalog hits don't borrow a connection.
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Appliance getApplianceById(Long id) {
+        if (applianceCatalog.isReady()) {
+            return applianceCatalog.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Appliance", "id", id));
+        }
         return applianceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appliance", "id", id));
     }
 
+    /**
+     * Managed appliances with their manufacturers for the given ids, loaded by one query whatever
+     * their number. Unknown ids are reported together.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Appliance> getAppliancesByIds(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        Map<Long, Appliance> found = applianceRepository.findWithManufacturerByIdIn(distinct).stream()
+                .collect(Collectors.toMap(Appliance::getId, Function.identity()));
+        List<Long> missing = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        if (missing.size() == 1) {
+            throw new ResourceNotFoundException("Appliance", "id", missing.get(0));
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Appliances not found with ids: " + missing);
+        }
+        return found;
+    }
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Appliance> getAllAppliances() {
+        if (applianceCatalog.isReady()) {
+            return applianceCatalog.findAll();
+        }
         return applianceRepository.findAll();
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Appliance> getAllAppliances(Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> true, pageable);
+        }
         return applianceRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Appliance> searchAppliances(String search, Pageable pageable) {
-        return applianceRepository.searchAppliances(search, pageable);
+        if (applianceSearchIndex.isReady() && StringUtils.hasText(search)) {
+            if (ApplianceSearchIndex.isSortable(pageable.getSort())) {
+                Page<Long> ids = applianceSearchIndex.search(search, pageable);
+                return new PageImpl<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements());
+            }
+            if (servedFromCatalog(pageable)) {
+                Set<Long> ids = new HashSet<>(applianceSearchIndex.search(search, Pageable.unpaged()).getContent());
+                return applianceCatalog.findAll(appliance -> ids.contains(appliance.getId()), pageable);
+            }
+        }
+        return applianceRepository.searchAppliances(search, byIdWhenUnsorted(pageable));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Appliance> getAppliancesByCategory(Category category, Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> appliance.getCategory() == category, pageable);
+        }
         return applianceRepository.findByCategory(category, pageable);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Appliance> getAppliancesByPowerType(PowerType powerType, Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> appliance.getPowerType() == powerType, pageable);
+        }
         return applianceRepository.findByPowerType(powerType, pageable);
     }
-}
\ No newline at end of file
+
+    // Slice variants skip the COUNT query; in-memory paths already have the total for free.
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Appliance> getAllAppliancesSlice(Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> true, pageable);
+        }
+        return applianceRepository.findSliceBy(pageable);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Appliance> searchAppliancesSlice(String search, Pageable pageable) {
+        // Only the index and catalog paths; other sorts would reach the Page query and its COUNT
+        if (applianceSearchIndex.isReady() && StringUtils.hasText(search)
+                && (ApplianceSearchIndex.isSortable(pageable.getSort()) || servedFromCatalog(pageable))) {
+            return searchAppliances(search, pageable);
+        }
+        return applianceRepository.searchAppliancesSlice(search, byIdWhenUnsorted(pageable));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Appliance> getAppliancesByCategorySlice(Category category, Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> appliance.getCategory() == category, pageable);
+        }
+        return applianceRepository.findSliceByCategory(category, pageable);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Appliance> getAppliancesByPowerTypeSlice(PowerType powerType, Pageable pageable) {
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> appliance.getPowerType() == powerType, pageable);
+        }
+        return applianceRepository.findSliceByPowerType(powerType, pageable);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ApplianceFilterResult filterAppliances(ApplianceFilter filter, Pageable pageable) {
+        if (isInverted(filter.getMinPrice(), filter.getMaxPrice())
+                || isInverted(filter.getMinPower(), filter.getMaxPower())) {
+            throw new BadRequestException("Range minimum must not exceed its maximum");
+        }
+        // Without a live index, one projection query feeds a throwaway snapshot
+        FacetSnapshot index = applianceFacetIndex.isReady()
+                ? applianceFacetIndex.snapshot()
+                : FacetSnapshot.of(applianceRepository.findFacetRows());
+        FacetMatch match = index.match(filter);
+        return new ApplianceFilterResult(pageOfMatches(match.getIds(), filter, pageable), match.getCounts());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Suggestion> suggestAppliances(String prefix, int limit) {
+        return applianceSuggestIndex.suggest(prefix, limit);
+    }
+
+    // Unlike the other reads this needs a real transaction: the connection must stay open while
+    // the row stream is consumed, which happens on the async thread writing the response.
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAppliances(CatalogFormat format, OutputStream out) throws IOException {
+        try (Stream<ApplianceExportView> rows = applianceRepository.streamExportRows()) {
+            return applianceExportWriter.write(format, rows, out);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<Appliance> getAllAppliances(ScrollPosition position, Pageable pageable) {
+        return applianceRepository.findAllBy(position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<Appliance> getAppliancesByCategory(Category category, ScrollPosition position, Pageable pageable) {
+        return applianceRepository.findByCategory(category, position, Limit.of(pageable.getPageSize()),
+                pageable.getSort());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Window<Appliance> getAppliancesByPowerType(PowerType powerType, ScrollPosition position,
+                                                      Pageable pageable) {
+        return applianceRepository.findByPowerType(powerType, position, Limit.of(pageable.getPageSize()),
+                pageable.getSort());
+    }
+
+    private List<Appliance> findAllInOrder(List<Long> ids) {
+        if (applianceCatalog.isReady()) {
+            return ids.stream().map(applianceCatalog::findById).flatMap(Optional::stream).toList();
+        }
+        // Not findAllById: as a CRUD method it would open its own transaction (and session) inside this
+        // SUPPORTS read, leaving the lazy manufacturers unloadable once it commits
+        Map<Long, Appliance> byId = applianceRepository.findWithManufacturerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Appliance::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Pages the ascending id list of a facet match. Id order is paged in memory; any other sort is
+     * delegated to the catalog or, failing that, to the database, which applies the filter itself:
+     * a match can hold most of the catalog, far too many ids to bind into one statement.
+     */
+    private Page<Appliance> pageOfMatches(long[] ids, ApplianceFilter filter, Pageable pageable) {
+        if (ids.length == 0) {
+            return Page.empty(pageable);
+        }
+        Sort sort = pageable.getSort();
+        if (sort.stream().allMatch(order -> "id".equals(order.getProperty()))) {
+            boolean descending = sort.stream().findFirst().map(Sort.Order::isDescending).orElse(false);
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ids.length) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), ids.length) : ids.length;
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(descending ? ids[ids.length - 1 - i] : ids[i]);
+            }
+            return new PageImpl<>(findAllInOrder(pageIds), pageable, ids.length);
+        }
+        if (servedFromCatalog(pageable)) {
+            return applianceCatalog.findAll(appliance -> Arrays.binarySearch(ids, appliance.getId()) >= 0, pageable);
+        }
+        return applianceRepository.findAll(ApplianceSpecifications.matching(filter), pageable);
+    }
+
+    /**
+     * Relevance needs the search index; without it unsorted search results are paged in id order.
+     */
+    private static Pageable byIdWhenUnsorted(Pageable pageable) {
+        if (pageable.getSort().isSorted() || pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+    }
+
+    private static <T extends Comparable<T>> boolean isInverted(T min, T max) {
+        return min != null && max != null && min.compareTo(max) > 0;
+    }
+
+    private boolean servedFromCatalog(Pageable pageable) {
+        return applianceCatalog.isReady() && CatalogSnapshot.isSortable(pageable.getSort());
+    }
+}
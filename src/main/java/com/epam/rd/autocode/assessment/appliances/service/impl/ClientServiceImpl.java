@@ -1,14 +1,20 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
 import com.epam.rd.autocode.assessment.appliances.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +29,7 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Loggable
@@ -56,13 +63,16 @@ public class ClientServiceImpl implements ClientService {
             log.info("No new password provided, keeping existing password for client {}", id);
         }
         
-        return clientRepository.save(existing);
+        Client saved = clientRepository.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 
     @Override
     @Loggable
     public void deleteClient(Long id) {
         clientRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
@@ -81,8 +91,23 @@ public class ClientServiceImpl implements ClientService {
         return clientRepository.findAll(pageable);
     }
 
+    @Override
+    public Window<Client> getAllClients(ScrollPosition position, Pageable pageable) {
+        return clientRepository.findAllBy(position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
     @Override
     public Page<Client> searchClients(String search, Pageable pageable) {
         return clientRepository.searchClients(search, pageable);
     }
+
+    @Override
+    public Slice<Client> getAllClientsSlice(Pageable pageable) {
+        return clientRepository.findSliceBy(pageable);
+    }
+
+    @Override
+    public Slice<Client> searchClientsSlice(String search, Pageable pageable) {
+        return clientRepository.searchClientsSlice(search, pageable);
+    }
 }
\ No newline at end of file
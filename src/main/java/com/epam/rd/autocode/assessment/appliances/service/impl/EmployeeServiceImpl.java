@@ -1,13 +1,19 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
 import com.epam.rd.autocode.assessment.appliances.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +27,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Loggable
@@ -40,13 +47,16 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (newPassword != null && !newPassword.trim().isEmpty()) {
             existing.setPassword(passwordEncoder.encode(newPassword));
         }
-        return employeeRepository.save(existing);
+        Employee saved = employeeRepository.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 
     @Override
     @Loggable
     public void deleteEmployee(Long id) {
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
@@ -65,8 +75,23 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll(pageable);
     }
 
+    @Override
+    public Window<Employee> getAllEmployees(ScrollPosition position, Pageable pageable) {
+        return employeeRepository.findAllBy(position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
     @Override
     public Page<Employee> searchEmployees(String search, Pageable pageable) {
         return employeeRepository.searchEmployees(search, pageable);
     }
+
+    @Override
+    public Slice<Employee> getAllEmployeesSlice(Pageable pageable) {
+        return employeeRepository.findSliceBy(pageable);
+    }
+
+    @Override
+    public Slice<Employee> searchEmployeesSlice(String search, Pageable pageable) {
+        return employeeRepository.searchEmployeesSlice(search, pageable);
+    }
 }
\ No newline at end of file
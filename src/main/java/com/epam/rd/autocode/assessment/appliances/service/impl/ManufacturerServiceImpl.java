@@ -1,14 +1,22 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.cache.CacheStats;
+import com.epam.rd.autocode.assessment.appliances.cache.ManufacturerCache;
+import com.epam.rd.autocode.assessment.appliances.catalog.ManufacturerChangedEvent;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
 import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
 import com.epam.rd.autocode.assessment.appliances.service.ManufacturerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -19,36 +27,57 @@ import java.util.List;
 public class ManufacturerServiceImpl implements ManufacturerService {
 
     private final ManufacturerRepository manufacturerRepository;
+    private final ManufacturerCache manufacturerCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Loggable
     public Manufacturer createManufacturer(Manufacturer manufacturer) {
-        return manufacturerRepository.save(manufacturer);
+        Manufacturer saved = manufacturerRepository.save(manufacturer);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     @Loggable
     public Manufacturer updateManufacturer(Long id, Manufacturer manufacturer) {
-        Manufacturer existing = getManufacturerById(id);
+        // Load the managed row, not the cached copy. The caller edits a detached copy, so copy every
+        // field PUT already persisted when it edited the managed instance under open-in-view.
+        Manufacturer existing = manufacturerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Manufacturer", "id", id));
         existing.setName(manufacturer.getName());
-        return manufacturerRepository.save(existing);
+        existing.setAddress(manufacturer.getAddress());
+        existing.setCountry(manufacturer.getCountry());
+        Manufacturer saved = manufacturerRepository.save(existing);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     @Loggable
     public void deleteManufacturer(Long id) {
         manufacturerRepository.deleteById(id);
+        eventPublisher.publishEvent(ManufacturerChangedEvent.deleted(id));
     }
 
+    // Cached reads join a caller's transaction but never start one, so hits don't borrow a connection.
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Manufacturer getManufacturerById(Long id) {
-        return manufacturerRepository.findById(id)
+        return manufacturerCache.getById(id, () -> manufacturerRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Manufacturer", "id", id));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Manufacturer> getAllManufacturers() {
-        return manufacturerRepository.findAll();
+        return manufacturerCache.getAll(manufacturerRepository::findAll);
+    }
+
+    @Override
+    public List<CacheStats> getCacheStats() {
+        return manufacturerCache.stats();
     }
 
     @Override
@@ -56,6 +85,11 @@ public class ManufacturerServiceImpl implements ManufacturerService {
         return manufacturerRepository.findAll(pageable);
     }
 
+    @Override
+    public Window<Manufacturer> getAllManufacturers(ScrollPosition position, Pageable pageable) {
+        return manufacturerRepository.findAllBy(position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
     @Override
     public Page<Manufacturer> searchManufacturers(String search, Pageable pageable) {
         return manufacturerRepository.searchManufacturers(search, pageable);
@@ -0,0 +1,118 @@
+package com.epam.rd.autocode.assessment.appliances.service.impl;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupKey;
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupTotals;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
+import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.epam.rd.autocode.assessment.appliances.service.OrderPlacementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Places an order in one transaction: the client and every ordered appliance (with its
+ * manufacturer) are loaded by two queries whatever the number of rows, unknown appliance ids are
+ * reported together, and the rows are inserted as one JDBC batch on commit.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderPlacementServiceImpl implements OrderPlacementService {
+
+    private final ClientRepository clientRepository;
+    private final ApplianceRepository applianceRepository;
+    private final OrdersRepository ordersRepository;
+    private final EntityMapper entityMapper;
+    private final StockLedger stockLedger;
+    private final SalesRollup salesRollup;
+
+    @Override
+    @Loggable
+    public Orders placeOrder(OrderRequestDTO request) {
+        Client client = clientRepository.findById(request.getClientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", request.getClientId()));
+        Map<Long, Appliance> appliances = resolveAppliances(request.getOrderRows());
+        Orders order = buildOrder(request, client, appliances);
+        stockLedger.adjust(order.quantitiesByAppliance());
+        salesRollup.record(Map.of(), SalesRollup.contributionsOf(order));
+        return ordersRepository.save(order);
+    }
+
+    /**
+     * Places several orders in one transaction, resolving the clients and appliances of all of them
+     * with one query each. Any unknown client or appliance fails the whole batch.
+     */
+    @Override
+    @Loggable
+    public List<Orders> placeOrders(List<OrderRequestDTO> requests) {
+        Set<Long> clientIds = requests.stream()
+                .map(OrderRequestDTO::getClientId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Client> clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        clientIds.stream().filter(id -> !clients.containsKey(id)).findFirst().ifPresent(id -> {
+            throw new ResourceNotFoundException("Client", "id", id);
+        });
+        Map<Long, Appliance> appliances = resolveAppliances(requests.stream()
+                .flatMap(request -> request.getOrderRows().stream())
+                .toList());
+
+        List<Orders> orders = requests.stream()
+                .map(request -> buildOrder(request, clients.get(request.getClientId()), appliances))
+                .toList();
+        Map<Long, Long> quantities = new HashMap<>();
+        Map<RollupKey, RollupTotals> sales = new HashMap<>();
+        for (Orders order : orders) {
+            order.quantitiesByAppliance().forEach((id, quantity) -> quantities.merge(id, quantity, Long::sum));
+            SalesRollup.contributionsOf(order).forEach((key, totals) -> sales.merge(key, totals, RollupTotals::plus));
+        }
+        stockLedger.adjust(quantities);
+        salesRollup.record(Map.of(), sales);
+        return ordersRepository.saveAll(orders);
+    }
+
+    private Orders buildOrder(OrderRequestDTO request, Client client, Map<Long, Appliance> appliances) {
+        Orders order = new Orders();
+        order.setClient(client);
+        order.setApproved(false);
+        for (OrderRowRequestDTO rowDto : request.getOrderRows()) {
+            order.addOrderRow(entityMapper.toOrderRowEntity(rowDto, appliances.get(rowDto.getApplianceId())));
+        }
+        return order;
+    }
+
+    private Map<Long, Appliance> resolveAppliances(List<OrderRowRequestDTO> rows) {
+        Set<Long> ids = rows.stream()
+                .map(OrderRowRequestDTO::getApplianceId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Appliance> found = applianceRepository.findWithManufacturerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Appliance::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (missing.size() == 1) {
+            throw new ResourceNotFoundException("Appliance", "id", missing.get(0));
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Appliances not found with ids: " + missing);
+        }
+        return found;
+    }
+}
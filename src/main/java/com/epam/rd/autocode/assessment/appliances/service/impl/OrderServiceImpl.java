@@ -1,22 +1,48 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupKey;
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupTotals;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
 import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.model.Orders;
 import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
 import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderHistoryView;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.epam.rd.autocode.assessment.appliances.service.BulkApprovalResult;
 import com.epam.rd.autocode.assessment.appliances.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,60 +52,161 @@ public class OrderServiceImpl implements OrderService {
     private final OrdersRepository ordersRepository;
     private final EmployeeRepository employeeRepository;
     private final ClientRepository clientRepository;
+    private final OrderRowRepository orderRowRepository;
+    private final StockLedger stockLedger;
+    private final SalesRollup salesRollup;
 
+    /**
+     * Replaces the rows of an order by diffing them against the existing rows by appliance id:
+     * a matched row is updated in place only when its quantity or amount changed, unmatched
+     * incoming rows are inserted and leftover existing rows are removed. Several rows for the same
+     * appliance are paired in id order. Flush then writes one batch per statement kind instead of
+     * deleting and re-inserting every row, plus the order's refreshed totals.
+     */
     @Override
     @Loggable
-    public Orders createOrder(Orders order) {
-        order.setApproved(false);
+    public Orders updateOrder(Long id, Orders order) {
+        Orders existing = getOrderById(id);
+        Map<Long, Long> before = existing.quantitiesByAppliance();
+        Map<RollupKey, RollupTotals> salesBefore = SalesRollup.contributionsOf(existing);
+        existing.setClient(order.getClient());
+
+        Map<Long, Deque<OrderRow>> unmatched = new HashMap<>();
+        existing.getOrderRowSet().stream()
+                .sorted(Comparator.comparing(OrderRow::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(row -> unmatched.computeIfAbsent(row.getAppliance().getId(), key -> new ArrayDeque<>())
+                        .add(row));
+
+        List<OrderRow> added = new ArrayList<>();
         if (order.getOrderRowSet() != null) {
-            for (OrderRow orderRow : order.getOrderRowSet()) {
-                if (orderRow.getOrder() == null) {
-                    orderRow.setOrder(order);
+            for (OrderRow incoming : order.getOrderRowSet()) {
+                Deque<OrderRow> candidates = unmatched.get(incoming.getAppliance().getId());
+                OrderRow match = candidates == null ? null : candidates.poll();
+                if (match == null) {
+                    added.add(incoming);
+                } else {
+                    changeRow(existing, match, incoming.getQuantity(), incoming.getAmount());
                 }
             }
         }
+        unmatched.values().forEach(rows -> rows.forEach(existing::removeOrderRow));
+        for (OrderRow orderRow : added) {
+            OrderRow newRow = new OrderRow();
+            newRow.setAppliance(orderRow.getAppliance());
+            newRow.setQuantity(orderRow.getQuantity());
+            newRow.setAmount(orderRow.getAmount());
+            existing.addOrderRow(newRow);
+        }
+        existing.refreshTotals();
+        reserveChange(before, existing);
+        salesRollup.record(salesBefore, SalesRollup.contributionsOf(existing));
+        return ordersRepository.save(existing);
+    }
+
+    @Override
+    @Loggable
+    public Orders updateOrderRow(Long orderId, Long rowId, Long quantity, BigDecimal amount) {
+        Orders order = getOrderById(orderId);
+        OrderRow row = findRow(order, rowId);
+        Map<Long, Long> before = order.quantitiesByAppliance();
+        Map<RollupKey, RollupTotals> salesBefore = SalesRollup.contributionsOf(order);
+        if (amount == null) {
+            amount = row.getAppliance().getPrice()
+                    .multiply(BigDecimal.valueOf(quantity))
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+        changeRow(order, row, quantity, amount);
+        order.refreshTotals();
+        reserveChange(before, order);
+        salesRollup.record(salesBefore, SalesRollup.contributionsOf(order));
         return ordersRepository.save(order);
     }
 
     @Override
     @Loggable
-    public Orders updateOrder(Long id, Orders order) {
-        Orders existing = getOrderById(id);
-        existing.setClient(order.getClient());
-        List<OrderRow> rowsToRemove = new ArrayList<>(existing.getOrderRowSet());
-        for (OrderRow row : rowsToRemove) {
-            existing.removeOrderRow(row);
+    public Orders deleteOrderRow(Long orderId, Long rowId) {
+        Orders order = getOrderById(orderId);
+        OrderRow row = findRow(order, rowId);
+        if (order.getOrderRowSet().size() == 1) {
+            throw new BadRequestException("Order must contain at least one item");
         }
-        if (order.getOrderRowSet() != null && !order.getOrderRowSet().isEmpty()) {
-            for (OrderRow orderRow : order.getOrderRowSet()) {
-                OrderRow newRow = new OrderRow();
-                newRow.setAppliance(orderRow.getAppliance());
-                newRow.setQuantity(orderRow.getQuantity());
-                newRow.setAmount(orderRow.getAmount());
-                existing.addOrderRow(newRow);
-            }
+        Map<Long, Long> before = order.quantitiesByAppliance();
+        Map<RollupKey, RollupTotals> salesBefore = SalesRollup.contributionsOf(order);
+        order.removeOrderRow(row);
+        order.refreshTotals();
+        reserveChange(before, order);
+        salesRollup.record(salesBefore, SalesRollup.contributionsOf(order));
+        return ordersRepository.save(order);
+    }
+
+    private void reserveChange(Map<Long, Long> before, Orders after) {
+        Map<Long, Long> deltas = new HashMap<>(after.quantitiesByAppliance());
+        before.forEach((applianceId, quantity) -> deltas.merge(applianceId, -quantity, Long::sum));
+        stockLedger.adjust(deltas);
+    }
+
+    private static OrderRow findRow(Orders order, Long rowId) {
+        return order.getOrderRowSet().stream()
+                .filter(row -> row.getId().equals(rowId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("OrderRow", "id", rowId));
+    }
+
+    private static void changeRow(Orders order, OrderRow row, Long quantity, BigDecimal amount) {
+        if (row.getQuantity().equals(quantity) && row.getAmount().compareTo(amount) == 0) {
+            return;
         }
-        return ordersRepository.save(existing);
+        // Quantity and amount take part in OrderRow's hashCode, so the row leaves the set while it changes
+        order.getOrderRowSet().remove(row);
+        row.setQuantity(quantity);
+        row.setAmount(amount);
+        order.getOrderRowSet().add(row);
     }
 
     @Override
     @Loggable
     public void deleteOrder(Long id) {
-        ordersRepository.deleteById(id);
+        ordersRepository.findById(id).ifPresent(order -> {
+            Map<Long, Long> released = new HashMap<>();
+            order.quantitiesByAppliance().forEach((applianceId, quantity) -> released.put(applianceId, -quantity));
+            stockLedger.adjust(released);
+            salesRollup.record(SalesRollup.contributionsOf(order), Map.of());
+            ordersRepository.delete(order);
+        });
     }
 
     @Override
     public Orders getOrderById(Long id) {
-        return ordersRepository.findById(id)
+        return ordersRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public boolean orderExists(Long id) {
+        return ordersRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Orders> findClientOrder(Long id, Long clientId) {
+        return ordersRepository.findDetailByIdAndClientId(id, clientId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Boolean> findClientOrderApproved(Long id, Long clientId) {
+        return ordersRepository.findApprovedByIdAndClientId(id, clientId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Orders> getAllOrders() {
         return ordersRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Orders> getAllOrders(Pageable pageable) {
         return ordersRepository.findAll(pageable);
     }
@@ -87,22 +214,74 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Loggable
     public Orders approveOrder(Long id, Long employeeId) {
-        Orders order = getOrderById(id);
+        Orders order = ordersRepository.findForApprovalById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
+        Map<RollupKey, RollupTotals> salesBefore = SalesRollup.contributionsOf(order);
         order.setEmployee(employee);
         order.setApproved(true);
+        salesRollup.record(salesBefore, SalesRollup.contributionsOf(order));
         return ordersRepository.save(order);
     }
 
+    /**
+     * Approves every still unapproved order among {@code ids} with one conditional UPDATE. The
+     * pending ids are locked first, so the report stays exact when approvals race.
+     */
+    @Override
+    @Loggable
+    public BulkApprovalResult approveOrders(Collection<Long> ids, Long employeeId) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> pending = new HashSet<>(ordersRepository.lockPendingIds(requested));
+        if (!pending.isEmpty()) {
+            Map<RollupKey, RollupTotals> salesBefore =
+                    SalesRollup.contributionsOf(orderRowRepository.sumSalesByOrderIds(pending));
+            ordersRepository.approvePending(pending, employee);
+            salesRollup.record(salesBefore, SalesRollup.approvedBy(salesBefore, employeeId));
+        }
+        Map<Boolean, List<Long>> outcome = requested.stream()
+                .collect(Collectors.partitioningBy(pending::contains));
+        return new BulkApprovalResult(outcome.get(true), outcome.get(false));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Page<Orders> getOrdersByClientId(Long clientId, Pageable pageable) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
         return ordersRepository.findByClient(client, pageable);
     }
 
+    /**
+     * Projects the history straight from {@code orders} by {@code client_id}. The client is only
+     * looked up when the page comes back empty, to tell an unknown client (404) from one with no
+     * orders on that page.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public Page<OrderHistoryView> getOrderHistory(Long clientId, Pageable pageable) {
+        Page<OrderHistoryView> page = ordersRepository.findHistoryByClientId(clientId, pageable);
+        if (page.isEmpty()) {
+            checkClientExists(clientId);
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderHistoryView> getOrderHistorySlice(Long clientId, Pageable pageable) {
+        Slice<OrderHistoryView> slice = ordersRepository.findHistorySliceByClientId(clientId, pageable);
+        if (slice.isEmpty()) {
+            checkClientExists(clientId);
+        }
+        return slice;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<Orders> getOrdersByEmployeeId(Long employeeId, Pageable pageable) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
@@ -110,7 +289,72 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Orders> getOrdersByApprovalStatus(Boolean approved, Pageable pageable) {
         return ordersRepository.findByApproved(approved, pageable);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Orders> getAllOrdersSlice(Pageable pageable) {
+        return ordersRepository.findSliceBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Orders> getOrdersByClientIdSlice(Long clientId, Pageable pageable) {
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
+        return ordersRepository.findSliceByClient(client, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Orders> getOrdersByEmployeeIdSlice(Long employeeId, Pageable pageable) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
+        return ordersRepository.findSliceByEmployee(employee, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Orders> getOrdersByApprovalStatusSlice(Boolean approved, Pageable pageable) {
+        return ordersRepository.findSliceByApproved(approved, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Orders> getAllOrders(ScrollPosition position, Pageable pageable) {
+        return ordersRepository.findAllBy(position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Orders> getOrdersByClientId(Long clientId, ScrollPosition position, Pageable pageable) {
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
+        return ordersRepository.findByClient(client, position, Limit.of(pageable.getPageSize()), pageable.getSort());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Orders> getOrdersByEmployeeId(Long employeeId, ScrollPosition position, Pageable pageable) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
+        return ordersRepository.findByEmployee(employee, position, Limit.of(pageable.getPageSize()),
+                pageable.getSort());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Orders> getOrdersByApprovalStatus(Boolean approved, ScrollPosition position, Pageable pageable) {
+        return ordersRepository.findByApproved(approved, position, Limit.of(pageable.getPageSize()),
+                pageable.getSort());
+    }
+
+    private void checkClientExists(Long clientId) {
+        if (!clientRepository.existsById(clientId)) {
+            throw new ResourceNotFoundException("Client", "id", clientId);
+        }
+    }
+}
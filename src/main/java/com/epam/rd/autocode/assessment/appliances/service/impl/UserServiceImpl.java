@@ -1,25 +1,30 @@
 package com.epam.rd.autocode.assessment.appliances.service.impl;
 
 import com.epam.rd.autocode.assessment.appliances.aspect.Loggable;
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.cache.UserLookupCache;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceAlreadyExistsException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.model.Employee;
 import com.epam.rd.autocode.assessment.appliances.model.User;
 import com.epam.rd.autocode.assessment.appliances.repository.UserRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
+import com.epam.rd.autocode.assessment.appliances.security.UserPrincipal;
 import com.epam.rd.autocode.assessment.appliances.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -30,6 +35,8 @@ public class UserServiceImpl implements UserService {
     private final ClientRepository clientRepository;
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Loggable
@@ -39,27 +46,27 @@ public class UserServiceImpl implements UserService {
             throw new UsernameNotFoundException("User not found with email: " + username);
         }
 
-        String role = determineRole(user);
-        
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
-                .build();
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), determineRole(user));
     }
     
     private User getUserByEmailWithCorrectType(String email) {
-        return clientRepository.findByEmail(email)
-                .map(client -> (User) client)
-                .or(() -> employeeRepository.findByEmail(email).map(employee -> (User) employee))
-                .or(() -> userRepository.findByEmail(email))
-                .orElse(null);
+        return userLookupCache.getByEmail(email, userRepository::findByEmail, this::findByIdAndType).orElse(null);
+    }
+
+    private Optional<? extends User> findByIdAndType(Class<? extends User> type, Long id) {
+        if (Client.class.equals(type)) {
+            return clientRepository.findById(id);
+        }
+        if (Employee.class.equals(type)) {
+            return employeeRepository.findById(id);
+        }
+        return userRepository.findById(id);
     }
 
     private String determineRole(User user) {
-        if (user instanceof com.epam.rd.autocode.assessment.appliances.model.Employee) {
+        if (user instanceof Employee) {
             return "EMPLOYEE";
-        } else if (user instanceof com.epam.rd.autocode.assessment.appliances.model.Client) {
+        } else if (user instanceof Client) {
             return "CLIENT";
         }
         return "USER";
@@ -90,12 +97,20 @@ public class UserServiceImpl implements UserService {
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
+    }
+
+    @Override
+    public boolean replacePasswordHash(Long id, String currentHash, String newHash) {
+        return userRepository.replacePasswordHash(id, currentHash, newHash) > 0;
     }
 
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
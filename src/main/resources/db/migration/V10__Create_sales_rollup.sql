@@ -0,0 +1,17 @@
+-- Sales totals per appliance, employee and approval state, maintained incrementally by the order
+-- services so analytics read O(groups) rows instead of every order row. employee_id is 0 while no
+-- employee is assigned. No foreign keys: rows outlive their orders and must not block deletes.
+CREATE TABLE sales_rollup (
+    appliance_id BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    approved BOOLEAN NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    units BIGINT NOT NULL,
+    PRIMARY KEY (appliance_id, employee_id, approved)
+);
+
+INSERT INTO sales_rollup (appliance_id, employee_id, approved, revenue, units)
+SELECT r.appliance_id, COALESCE(o.employee_id, 0), o.approved, SUM(r.amount), SUM(r.quantity)
+FROM order_row r
+JOIN orders o ON o.id = r.order_id
+GROUP BY r.appliance_id, COALESCE(o.employee_id, 0), o.approved;
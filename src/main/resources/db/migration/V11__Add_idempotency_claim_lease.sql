@@ -0,0 +1,6 @@
+-- Owner and lease of an in-progress idempotency claim. A claim whose request died with its node is
+-- taken over once claimed_at is older than the lease instead of blocking retries until expires_at,
+-- and only the request holding claim_token may complete or release it. Rows claimed before this
+-- migration have no lease and may be taken over straight away.
+ALTER TABLE idempotency_key ADD COLUMN claim_token CHAR(36) NULL;
+ALTER TABLE idempotency_key ADD COLUMN claimed_at TIMESTAMP NULL;
@@ -0,0 +1,18 @@
+-- Journal of sales_rollup changes, written in the same transaction as the order change they come
+-- from, so they commit, roll back and survive a crash with it. Order transactions only append here;
+-- a background fold moves the rows into sales_rollup, so they never lock rollup rows.
+CREATE TABLE sales_rollup_delta (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    appliance_id BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    approved BOOLEAN NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    units BIGINT NOT NULL
+);
+
+-- One row, locked by every fold and rebuild, so only one of them writes sales_rollup at a time
+CREATE TABLE sales_rollup_lock (
+    id INT NOT NULL PRIMARY KEY
+);
+
+INSERT INTO sales_rollup_lock (id) VALUES (1);
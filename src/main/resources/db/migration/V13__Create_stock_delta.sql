@@ -0,0 +1,20 @@
+-- Bumped by every absolute stock update. Stock changes journaled under an older generation were
+-- counted against a level that no longer exists, so folds drop them.
+ALTER TABLE appliance ADD COLUMN stock_generation BIGINT NOT NULL DEFAULT 0;
+
+-- Journal of appliance.stock changes, written in the same transaction as the order change they come
+-- from, so they commit, roll back and survive a crash with it. A background fold moves the rows into
+-- appliance.stock.
+CREATE TABLE stock_delta (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    appliance_id BIGINT NOT NULL,
+    generation BIGINT NOT NULL,
+    delta BIGINT NOT NULL
+);
+
+-- One row, locked by every fold, so only one of them applies journal rows at a time
+CREATE TABLE stock_lock (
+    id INT NOT NULL PRIMARY KEY
+);
+
+INSERT INTO stock_lock (id) VALUES (1);
@@ -0,0 +1,11 @@
+-- Pooled id allocation for appliances: Hibernate reserves ids in blocks of 50 from this table,
+-- so appliance INSERTs can be sent in JDBC batches (AUTO_INCREMENT ids cannot be batched).
+-- The stored value is the top of the next block; seeding it 50 above the current maximum makes
+-- the first block start right after the existing rows.
+CREATE TABLE id_sequence (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequence (name, next_val)
+SELECT 'appliance', COALESCE(MAX(id), 0) + 50 FROM appliance;
@@ -0,0 +1,4 @@
+-- Pooled id allocation for order rows, same scheme as the appliance ids (V5): every row of an
+-- order can then go out in one JDBC batch instead of one AUTO_INCREMENT round trip per row.
+INSERT INTO id_sequence (name, next_val)
+SELECT 'order_row', COALESCE(MAX(id), 0) + 50 FROM order_row;
@@ -0,0 +1,8 @@
+-- Persisted order total and row count, kept up to date by the order services on every write, so
+-- order lists render without reading order_row.
+ALTER TABLE orders ADD COLUMN total_amount DECIMAL(12, 2) NOT NULL DEFAULT 0.00;
+ALTER TABLE orders ADD COLUMN item_count INT NOT NULL DEFAULT 0;
+
+UPDATE orders
+SET total_amount = (SELECT COALESCE(SUM(r.amount), 0) FROM order_row r WHERE r.order_id = orders.id),
+    item_count = (SELECT COUNT(*) FROM order_row r WHERE r.order_id = orders.id);
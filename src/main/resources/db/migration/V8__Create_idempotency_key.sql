@@ -0,0 +1,12 @@
+-- Idempotency-Key dedupe store for POST /api/orders. A row is claimed (no response yet) before the
+-- request runs and completed with the response in the same transaction that writes the order, so
+-- a retry after a timeout or a restart, or on another node, replays it instead of ordering twice.
+CREATE TABLE idempotency_key (
+    id VARCHAR(512) NOT NULL PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    response_status INT,
+    response_body MEDIUMTEXT,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
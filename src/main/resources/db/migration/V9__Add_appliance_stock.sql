@@ -0,0 +1,3 @@
+-- Units left in stock per appliance. NULL means stock is not tracked and the appliance can always be
+-- ordered, which keeps existing appliances orderable. Written only by the stock ledger, never by JPA.
+ALTER TABLE appliance ADD COLUMN stock INT NULL;
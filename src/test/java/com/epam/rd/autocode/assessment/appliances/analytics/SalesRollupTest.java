@@ -0,0 +1,132 @@
+package com.epam.rd.autocode.assessment.appliances.analytics;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Employee;
+import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupTest {
+
+    @Mock
+    private SalesRollupStore store;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SalesRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new SalesRollup(store, eventPublisher, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void contributionsOf_ShouldSumRowsPerApplianceForTheOrdersEmployeeAndState() {
+        Orders order = order(null, false, row(10L, 2L, "20.00"), row(10L, 1L, "9.00"), row(20L, 1L, "5.00"));
+
+        assertThat(SalesRollup.contributionsOf(order)).isEqualTo(Map.of(
+                new RollupKey(10L, RollupKey.NO_EMPLOYEE, false), new RollupTotals(new BigDecimal("29.00"), 3),
+                new RollupKey(20L, RollupKey.NO_EMPLOYEE, false), new RollupTotals(new BigDecimal("5.00"), 1)));
+    }
+
+    @Test
+    void record_ShouldJournalOnlyTheNetChange() {
+        Orders order = order(null, false, row(10L, 2L, "20.00"), row(20L, 1L, "5.00"));
+        Map<RollupKey, RollupTotals> before = SalesRollup.contributionsOf(order);
+        order.getOrderRowSet().removeIf(row -> row.getAppliance().getId() == 20L);
+
+        rollup.record(before, SalesRollup.contributionsOf(order));
+
+        verify(store).appendDeltas(Map.of(
+                new RollupKey(20L, RollupKey.NO_EMPLOYEE, false), new RollupTotals(new BigDecimal("-5.00"), -1)));
+        ArgumentCaptor<UnitsOrderedEvent> event = ArgumentCaptor.forClass(UnitsOrderedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getUnitsByAppliance()).isEqualTo(Map.of(20L, -1L));
+    }
+
+    @Test
+    void record_WhenApproving_ShouldNotPublishAChangeInUnits() {
+        Map<RollupKey, RollupTotals> pending = Map.of(
+                new RollupKey(10L, RollupKey.NO_EMPLOYEE, false), new RollupTotals(new BigDecimal("10.00"), 1));
+
+        rollup.record(pending, SalesRollup.approvedBy(pending, 7L));
+
+        verify(store).appendDeltas(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void record_WithoutChange_ShouldNotWrite() {
+        Map<RollupKey, RollupTotals> sale = Map.of(
+                new RollupKey(10L, 7L, true), new RollupTotals(new BigDecimal("10.00"), 1));
+
+        rollup.record(sale, sale);
+
+        verifyNoInteractions(store, eventPublisher);
+    }
+
+    @Test
+    void approvedBy_ShouldMoveContributionsToTheEmployee() {
+        Map<RollupKey, RollupTotals> pending = Map.of(
+                new RollupKey(10L, RollupKey.NO_EMPLOYEE, false), new RollupTotals(new BigDecimal("10.00"), 1));
+
+        assertThat(SalesRollup.approvedBy(pending, 7L)).isEqualTo(Map.of(
+                new RollupKey(10L, 7L, true), new RollupTotals(new BigDecimal("10.00"), 1)));
+    }
+
+    @Test
+    void flush_ShouldFoldBatchesUntilTheJournalIsDrained() {
+        when(store.foldDeltas(SalesRollup.FOLD_BATCH_SIZE)).thenReturn(SalesRollup.FOLD_BATCH_SIZE, 3);
+
+        rollup.flush();
+
+        verify(store, times(2)).foldDeltas(SalesRollup.FOLD_BATCH_SIZE);
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldLeaveTheJournalForTheNextRun() {
+        when(store.foldDeltas(anyInt())).thenThrow(new IllegalStateException("down")).thenReturn(1);
+
+        rollup.flush();
+        rollup.flush();
+
+        verify(store, times(2)).foldDeltas(SalesRollup.FOLD_BATCH_SIZE);
+    }
+
+    private static Orders order(Employee employee, boolean approved, OrderRow... rows) {
+        Orders order = new Orders();
+        order.setEmployee(employee);
+        order.setApproved(approved);
+        for (OrderRow row : rows) {
+            order.addOrderRow(row);
+        }
+        return order;
+    }
+
+    private static OrderRow row(Long applianceId, Long quantity, String amount) {
+        Appliance appliance = new Appliance();
+        appliance.setId(applianceId);
+        OrderRow row = new OrderRow();
+        row.setAppliance(appliance);
+        row.setQuantity(quantity);
+        row.setAmount(new BigDecimal(amount));
+        return row;
+    }
+}
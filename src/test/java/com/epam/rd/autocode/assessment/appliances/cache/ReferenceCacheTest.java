@@ -0,0 +1,105 @@
+package com.epam.rd.autocode.assessment.appliances.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReferenceCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_ShouldLoadOnceAndCountHitsAndMisses() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 10, Duration.ofMinutes(1), now::get);
+
+        assertThat(cache.get(1L, () -> load("one"))).isEqualTo("one");
+        assertThat(cache.get(1L, () -> load("other"))).isEqualTo("one");
+        assertThat(cache.get(1L, () -> load("other"))).isEqualTo("one");
+
+        assertThat(loads).hasValue(1);
+        CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void get_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 2, Duration.ofMinutes(1), now::get);
+        cache.get(1L, () -> load("one"));
+        cache.get(2L, () -> load("two"));
+        cache.get(1L, () -> load("one"));
+
+        cache.get(3L, () -> load("three"));
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        cache.get(1L, () -> load("one again"));
+        assertThat(loads).hasValue(3);
+        assertThat(cache.get(2L, () -> load("two again"))).isEqualTo("two again");
+    }
+
+    @Test
+    void get_AfterTtl_ShouldReloadAndCountEviction() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 10, Duration.ofSeconds(30), now::get);
+        cache.get(1L, () -> load("old"));
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(cache.get(1L, () -> load("new"))).isEqualTo("old");
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get(1L, () -> load("new"))).isEqualTo("new");
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotStoreStaleValue() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 10, Duration.ofMinutes(1), now::get);
+
+        String loaded = cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load("stale");
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get(1L, () -> load("fresh"))).isEqualTo("fresh");
+        assertThat(cache.get(1L, () -> load("unused"))).isEqualTo("fresh");
+    }
+
+    @Test
+    void get_ShouldNotCacheNullOrFailedLoads() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 10, Duration.ofMinutes(1), now::get);
+
+        assertThat(cache.get(1L, () -> null)).isNull();
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, () -> load("one"))).isEqualTo("one");
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateAll_ShouldDropEverythingWithoutCountingEvictions() {
+        ReferenceCache<Long, String> cache = new ReferenceCache<>("test", 10, Duration.ofMinutes(1), now::get);
+        cache.get(1L, () -> load("one"));
+        cache.get(2L, () -> load("two"));
+
+        cache.invalidateAll();
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,125 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each appliance read endpoint prepares with the in-memory catalog
+ * switched off and on: the database serves every request without it and none with it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApplianceCatalogStatementCountTest {
+
+    private static final int CATALOG_SIZE = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplianceRepository applianceRepository;
+
+    @Autowired
+    private ManufacturerRepository manufacturerRepository;
+
+    @Autowired
+    private OrderRowRepository orderRowRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private ApplianceCatalog applianceCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<String> urls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        orderRowRepository.deleteAll();
+        ordersRepository.deleteAll();
+        applianceRepository.deleteAll();
+        manufacturerRepository.deleteAll();
+
+        List<Manufacturer> manufacturers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            manufacturers.add(manufacturerRepository.save(
+                    new Manufacturer(null, "Catalog Manufacturer " + i, "Catalog Street " + i, "Country")));
+        }
+        List<Appliance> appliances = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            appliances.add(new Appliance(null, "Appliance " + i, i % 2 == 0 ? Category.BIG : Category.SMALL,
+                    "Model-" + i, manufacturers.get(i % manufacturers.size()),
+                    PowerType.values()[i % PowerType.values().length], "Characteristic " + i,
+                    "Description of appliance " + i, 100 + i, new BigDecimal(10 + i % 100)));
+        }
+        List<Appliance> saved = applianceRepository.saveAll(appliances);
+
+        urls.clear();
+        urls.add("/api/appliances?page=5&size=10&sort=price,desc");
+        urls.add("/api/appliances/category/BIG?page=3&size=20");
+        urls.add("/api/appliances/power-type/AC110?page=1&size=10&sort=name");
+        urls.add("/api/appliances/" + saved.get(CATALOG_SIZE / 2).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(applianceCatalog, "enabled", false);
+        orderRowRepository.deleteAll();
+        ordersRepository.deleteAll();
+        applianceRepository.deleteAll();
+        manufacturerRepository.deleteAll();
+    }
+
+    @Test
+    void readEndpoints_ShouldOnlyQueryTheDatabaseWhileTheCatalogIsOff() throws Exception {
+        assertThat(statementsPerUrl(false)).allSatisfy((url, statements) -> assertThat(statements).isPositive());
+        assertThat(statementsPerUrl(true)).allSatisfy((url, statements) -> assertThat(statements).isZero());
+    }
+
+    private Map<String, Long> statementsPerUrl(boolean catalogEnabled) throws Exception {
+        ReflectionTestUtils.setField(applianceCatalog, "enabled", catalogEnabled);
+        if (catalogEnabled) {
+            applianceCatalog.reload();
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> statements = new LinkedHashMap<>();
+        for (String url : urls) {
+            statistics.clear();
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+            statements.put(url, statistics.getPrepareStatementCount());
+        }
+        return statements;
+    }
+}
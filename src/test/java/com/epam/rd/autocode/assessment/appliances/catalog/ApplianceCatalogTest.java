@@ -0,0 +1,151 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApplianceCatalogTest {
+
+    @Mock
+    private ApplianceRepository applianceRepository;
+
+    private ApplianceCatalog catalog;
+    private Manufacturer samsung;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ApplianceCatalog(applianceRepository);
+        ReflectionTestUtils.setField(catalog, "enabled", true);
+
+        samsung = new Manufacturer(1L, "Samsung", "129 Samsung-ro, Suwon", "South Korea");
+        when(applianceRepository.findAll()).thenReturn(List.of(
+                appliance(3L, "Washer", Category.BIG, PowerType.AC220, "700.00"),
+                appliance(1L, "Kettle", Category.SMALL, PowerType.AC220, "40.00"),
+                appliance(2L, "Fridge", Category.BIG, PowerType.AC110, "1500.00")
+        ));
+        catalog.onApplicationReady();
+    }
+
+    @Test
+    void reload_ShouldOrderSnapshotById() {
+        assertThat(catalog.isReady()).isTrue();
+        assertThat(catalog.findAll()).extracting(Appliance::getId).containsExactly(1L, 2L, 3L);
+        assertThat(catalog.snapshot().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void isReady_WhenDisabled_ShouldBeFalse() {
+        ApplianceCatalog disabled = new ApplianceCatalog(applianceRepository);
+
+        disabled.onApplicationReady();
+
+        assertThat(disabled.isReady()).isFalse();
+    }
+
+    @Test
+    void findAll_ShouldFilterSortAndPage() {
+        Page<Appliance> page = catalog.findAll(a -> a.getCategory() == Category.BIG,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "price")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Appliance::getName).containsExactly("Fridge");
+    }
+
+    @Test
+    void findById_ShouldReturnIndependentCopy() {
+        Appliance first = catalog.findById(1L).orElseThrow();
+        first.setName("Mutated");
+
+        assertThat(catalog.findById(1L).orElseThrow().getName()).isEqualTo("Kettle");
+    }
+
+    @Test
+    void onApplianceChanged_ShouldSwapSnapshotWithoutTouchingOldOne() {
+        CatalogSnapshot before = catalog.snapshot();
+
+        catalog.onApplianceChanged(ApplianceChangedEvent.saved(
+                appliance(4L, "Toaster", Category.SMALL, PowerType.AC220, "25.00")));
+        catalog.onApplianceChanged(ApplianceChangedEvent.deleted(2L));
+
+        assertThat(before.size()).isEqualTo(3);
+        assertThat(catalog.findAll()).extracting(Appliance::getId).containsExactly(1L, 3L, 4L);
+        assertThat(catalog.snapshot().getVersion()).isEqualTo(3L);
+        verify(applianceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onApplianceChanged_WhenEventsArriveOutOfOrder_ShouldKeepTheNewerChange() {
+        ApplianceChangedEvent older = ApplianceChangedEvent.saved(
+                appliance(1L, "Old Kettle", Category.SMALL, PowerType.AC220, "40.00"));
+        ApplianceChangedEvent newer = ApplianceChangedEvent.saved(
+                appliance(1L, "New Kettle", Category.SMALL, PowerType.AC220, "45.00"));
+        ApplianceChangedEvent staleSave = ApplianceChangedEvent.saved(
+                appliance(2L, "Fridge", Category.BIG, PowerType.AC110, "1500.00"));
+        ApplianceChangedEvent deleted = ApplianceChangedEvent.deleted(2L);
+
+        catalog.onApplianceChanged(newer);
+        catalog.onApplianceChanged(older);
+        catalog.onApplianceChanged(deleted);
+        catalog.onApplianceChanged(staleSave);
+
+        assertThat(catalog.findById(1L).orElseThrow().getName()).isEqualTo("New Kettle");
+        assertThat(catalog.findById(2L)).isEmpty();
+    }
+
+    @Test
+    void reload_ShouldReplayChangesAppliedWhileLoading() {
+        when(applianceRepository.findAll()).thenAnswer(invocation -> {
+            // committed and applied while the rows are being read
+            catalog.onApplianceChanged(ApplianceChangedEvent.saved(
+                    appliance(4L, "Toaster", Category.SMALL, PowerType.AC220, "25.00")));
+            catalog.onApplianceChanged(ApplianceChangedEvent.deleted(2L));
+            return List.of(
+                    appliance(1L, "Kettle", Category.SMALL, PowerType.AC220, "40.00"),
+                    appliance(2L, "Fridge", Category.BIG, PowerType.AC110, "1500.00"),
+                    appliance(3L, "Washer", Category.BIG, PowerType.AC220, "700.00"));
+        });
+
+        catalog.reload();
+
+        assertThat(catalog.findAll()).extracting(Appliance::getId).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    void onManufacturerChanged_ShouldRefreshResolvedManufacturer() {
+        catalog.onManufacturerChanged(ManufacturerChangedEvent.saved(
+                new Manufacturer(1L, "Samsung Electronics", "129 Samsung-ro, Suwon", "South Korea")));
+
+        assertThat(catalog.findAll()).extracting(a -> a.getManufacturer().getName())
+                .containsOnly("Samsung Electronics");
+    }
+
+    @Test
+    void isSortable_ShouldRejectUnknownProperties() {
+        assertThat(CatalogSnapshot.isSortable(Sort.by("manufacturer.name", "price"))).isTrue();
+        assertThat(CatalogSnapshot.isSortable(Sort.by("orderRows"))).isFalse();
+    }
+
+    private Appliance appliance(Long id, String name, Category category, PowerType powerType, String price) {
+        return new Appliance(id, name, category, name + "-M", samsung, powerType, null, null, 100,
+                new BigDecimal(price));
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.rd.autocode.assessment.appliances.catalog;
+
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+
+    private final CatalogVersions versions = new CatalogVersions();
+
+    @Test
+    void applianceWrite_ShouldChangeCollectionTagAndOnlyThatRowTag() {
+        String list = versions.appliancesTag();
+        String first = versions.applianceTag(1L);
+        String second = versions.applianceTag(2L);
+        String manufacturers = versions.manufacturersTag();
+
+        versions.onApplianceChanged(ApplianceChangedEvent.saved(appliance(1L)));
+
+        assertThat(versions.appliancesTag()).isNotEqualTo(list);
+        assertThat(versions.applianceTag(1L)).isNotEqualTo(first);
+        assertThat(versions.applianceTag(2L)).isEqualTo(second);
+        assertThat(versions.manufacturersTag()).isEqualTo(manufacturers);
+    }
+
+    @Test
+    void manufacturerWrite_ShouldInvalidateAppliancesThatEmbedIt() {
+        String list = versions.appliancesTag();
+        String appliance = versions.applianceTag(1L);
+        String otherManufacturer = versions.manufacturerTag(2L);
+
+        Manufacturer manufacturer = new Manufacturer();
+        manufacturer.setId(1L);
+        versions.onManufacturerChanged(ManufacturerChangedEvent.saved(manufacturer));
+
+        assertThat(versions.appliancesTag()).isNotEqualTo(list);
+        assertThat(versions.applianceTag(1L)).isNotEqualTo(appliance);
+        assertThat(versions.manufacturerTag(2L)).isEqualTo(otherManufacturer);
+    }
+
+    @Test
+    void deletedRow_ShouldNotReuseItsPreviousTag() {
+        versions.onApplianceChanged(ApplianceChangedEvent.saved(appliance(1L)));
+        String beforeDelete = versions.applianceTag(1L);
+
+        versions.onApplianceChanged(ApplianceChangedEvent.deleted(1L));
+
+        assertThat(versions.applianceTag(1L)).isNotEqualTo(beforeDelete);
+    }
+
+    @Test
+    void appliancesImported_ShouldBumpListAndImportedRowsOnly() {
+        String list = versions.appliancesTag();
+        String imported = versions.applianceTag(5L);
+        String untouched = versions.applianceTag(1L);
+
+        versions.onAppliancesImported(new AppliancesImportedEvent(List.of(5L, 6L)));
+
+        assertThat(versions.appliancesTag()).isNotEqualTo(list);
+        assertThat(versions.applianceTag(5L)).isNotEqualTo(imported);
+        assertThat(versions.applianceTag(1L)).isEqualTo(untouched);
+    }
+
+    private static Appliance appliance(Long id) {
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        return appliance;
+    }
+}
@@ -0,0 +1,97 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.export;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceExportView;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplianceExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApplianceExportWriter writer = new ApplianceExportWriter(objectMapper);
+
+    @Test
+    void write_Ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = writer.write(CatalogFormat.NDJSON, Stream.of(
+                row(1L, "Fridge", "F-1", 150, "499.90", "Cold\nand quiet"),
+                row(2L, "Kettle", "K-2", null, "29.00", null)), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("price").decimalValue()).isEqualByComparingTo("499.90");
+        assertThat(first.get("category").asText()).isEqualTo("BIG");
+        assertThat(first.get("manufacturerName").asText()).isEqualTo("Bosch");
+        assertThat(first.get("description").asText()).isEqualTo("Cold\nand quiet");
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("power").isNull()).isTrue();
+        assertThat(second.get("description").isNull()).isTrue();
+    }
+
+    @Test
+    void write_Csv_ShouldWriteHeaderAndQuoteSpecialFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = writer.write(CatalogFormat.CSV, Stream.of(
+                row(1L, "Fridge, \"XL\"", "F-1", 150, "499.90", "Cold\nand quiet"),
+                row(2L, "Kettle", "K-2", null, "29.00", null)), out);
+
+        assertThat(written).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,model,category,powerType,power,price,manufacturerId,manufacturerName,characteristic,description\r\n"
+                        + "1,\"Fridge, \"\"XL\"\"\",F-1,BIG,AC220,150,499.90,7,Bosch,,\"Cold\nand quiet\"\r\n"
+                        + "2,Kettle,K-2,BIG,AC220,,29.00,7,Bosch,,\r\n");
+    }
+
+    @Test
+    void write_WithNoRows_ShouldWriteOnlyCsvHeader() throws Exception {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        assertThat(writer.write(CatalogFormat.NDJSON, Stream.empty(), ndjson)).isZero();
+        assertThat(writer.write(CatalogFormat.CSV, Stream.empty(), csv)).isZero();
+
+        assertThat(ndjson.size()).isZero();
+        assertThat(csv.toString(StandardCharsets.UTF_8)).startsWith("id,name,").endsWith("description\r\n");
+    }
+
+    @Test
+    void catalogFormat_ShouldParseCaseInsensitivelyAndRejectUnknown() {
+        assertThat(CatalogFormat.of("csv")).isEqualTo(CatalogFormat.CSV);
+        assertThat(CatalogFormat.of(" NDJSON ")).isEqualTo(CatalogFormat.NDJSON);
+        assertThatThrownBy(() -> CatalogFormat.of("xml")).isInstanceOf(BadRequestException.class);
+    }
+
+    private static ApplianceExportView row(Long id, String name, String model, Integer power, String price,
+                                           String description) {
+        return new ApplianceExportView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getModel() { return model; }
+            public Category getCategory() { return Category.BIG; }
+            public PowerType getPowerType() { return PowerType.AC220; }
+            public Integer getPower() { return power; }
+            public BigDecimal getPrice() { return new BigDecimal(price); }
+            public Long getManufacturerId() { return 7L; }
+            public String getManufacturerName() { return "Bosch"; }
+            public String getCharacteristic() { return null; }
+            public String getDescription() { return description; }
+        };
+    }
+}
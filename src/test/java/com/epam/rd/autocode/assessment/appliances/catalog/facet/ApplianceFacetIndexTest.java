@@ -0,0 +1,239 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.facet;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceFacetView;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplianceFacetIndexTest {
+
+    @Mock
+    private ApplianceRepository applianceRepository;
+
+    private ApplianceFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ApplianceFacetIndex(applianceRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        when(applianceRepository.findFacetRows()).thenReturn(List.of(
+                view(4L, Category.SMALL, PowerType.AC110, 2L, "49.99", 800),
+                view(1L, Category.BIG, PowerType.AC220, 1L, "999.00", 2000),
+                view(2L, Category.BIG, PowerType.AC220, 2L, "1499.50", 2500),
+                view(3L, Category.SMALL, PowerType.ACCUMULATOR, 1L, "89.90", null),
+                view(5L, Category.SMALL, PowerType.AC220, 1L, "120.00", 1200)
+        ));
+        index.onApplicationReady();
+    }
+
+    @Test
+    void match_WithoutFilters_ShouldReturnAllIdsInOrderAndFullCounts() {
+        FacetMatch match = index.snapshot().match(ApplianceFilter.none());
+
+        assertThat(match.getIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(match.getCounts().getCategories()).containsEntry(Category.BIG, 2L).containsEntry(Category.SMALL, 3L);
+        assertThat(match.getCounts().getPowerTypes()).containsEntry(PowerType.AC220, 3L)
+                .containsEntry(PowerType.AC110, 1L).containsEntry(PowerType.ACCUMULATOR, 1L);
+        assertThat(match.getCounts().getManufacturers()).containsExactly(
+                entry(1L, 3L), entry(2L, 2L));
+    }
+
+    @Test
+    void match_ShouldCombineFacetsAndCountEachAgainstTheOthers() {
+        FacetMatch match = index.snapshot().match(ApplianceFilter.builder()
+                .categories(Set.of(Category.SMALL))
+                .powerTypes(Set.of(PowerType.AC220, PowerType.AC110))
+                .build());
+
+        assertThat(match.getIds()).containsExactly(4L, 5L);
+        // category counts ignore the category filter but keep the power type one
+        assertThat(match.getCounts().getCategories()).containsEntry(Category.BIG, 2L).containsEntry(Category.SMALL, 2L);
+        // power type counts ignore the power type filter but keep the category one
+        assertThat(match.getCounts().getPowerTypes()).containsEntry(PowerType.AC220, 1L)
+                .containsEntry(PowerType.AC110, 1L).containsEntry(PowerType.ACCUMULATOR, 1L);
+        assertThat(match.getCounts().getManufacturers()).containsEntry(1L, 1L).containsEntry(2L, 1L);
+    }
+
+    @Test
+    void match_WithRanges_ShouldUseInclusiveBoundsAndSkipMissingPower() {
+        FacetMatch byPrice = index.snapshot().match(ApplianceFilter.builder()
+                .minPrice(new BigDecimal("89.90"))
+                .maxPrice(new BigDecimal("999"))
+                .build());
+        FacetMatch byPower = index.snapshot().match(ApplianceFilter.builder()
+                .minPower(0)
+                .build());
+        FacetMatch both = index.snapshot().match(ApplianceFilter.builder()
+                .manufacturerIds(Set.of(1L))
+                .maxPrice(new BigDecimal("100"))
+                .maxPower(5000)
+                .build());
+
+        assertThat(byPrice.getIds()).containsExactly(1L, 3L, 5L);
+        assertThat(byPower.getIds()).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(both.getIds()).isEmpty();
+        assertThat(both.getCounts().getManufacturers()).containsEntry(1L, 0L).containsEntry(2L, 1L);
+    }
+
+    @Test
+    void match_WithUnknownManufacturer_ShouldMatchNothing() {
+        FacetMatch match = index.snapshot().match(ApplianceFilter.builder().manufacturerIds(Set.of(99L)).build());
+
+        assertThat(match.getIds()).isEmpty();
+        assertThat(match.getCounts().getCategories()).containsEntry(Category.BIG, 0L);
+    }
+
+    @Test
+    void onApplianceChanged_ShouldSwapInUpdatedSnapshot() {
+        FacetSnapshot before = index.snapshot();
+
+        index.onApplianceChanged(ApplianceChangedEvent.saved(
+                appliance(6L, Category.BIG, PowerType.AC110, 2L, "300.00", 900)));
+        index.onApplianceChanged(ApplianceChangedEvent.saved(
+                appliance(1L, Category.SMALL, PowerType.AC220, 1L, "999.00", 2000)));
+        index.onApplianceChanged(ApplianceChangedEvent.deleted(2L));
+
+        FacetMatch big = index.snapshot().match(ApplianceFilter.builder().categories(Set.of(Category.BIG)).build());
+        assertThat(big.getIds()).containsExactly(6L);
+        assertThat(index.snapshot().size()).isEqualTo(5);
+        assertThat(before.match(ApplianceFilter.builder().categories(Set.of(Category.BIG)).build()).getIds())
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void onApplianceChanged_ShouldPatchTheRangesAndFacetsOfTheChangedAppliance() {
+        index.onApplianceChanged(ApplianceChangedEvent.saved(
+                appliance(4L, Category.SMALL, PowerType.AC110, 3L, "1500.00", 3000)));
+
+        FacetMatch expensive = index.snapshot().match(ApplianceFilter.builder()
+                .minPrice(new BigDecimal("1000"))
+                .build());
+        assertThat(expensive.getIds()).containsExactly(2L, 4L);
+        assertThat(expensive.getCounts().getManufacturers()).containsExactly(
+                entry(1L, 0L), entry(2L, 1L), entry(3L, 1L));
+        assertThat(index.snapshot().match(ApplianceFilter.builder().minPower(2600).build()).getIds())
+                .containsExactly(4L);
+        assertThat(index.snapshot().match(ApplianceFilter.builder().maxPrice(new BigDecimal("50")).build()).getIds())
+                .isEmpty();
+    }
+
+    @Test
+    void onApplianceChanged_ShouldMatchLikeASnapshotBuiltFromScratch() {
+        Random random = new Random(42);
+        Map<Long, Appliance> expected = new TreeMap<>();
+        for (ApplianceFacetView view : applianceRepository.findFacetRows()) {
+            expected.put(view.getId(), appliance(view.getId(), view.getCategory(), view.getPowerType(),
+                    view.getManufacturerId(), view.getPrice().toPlainString(), view.getPower()));
+        }
+        for (int i = 0; i < 300; i++) {
+            long id = 1 + random.nextInt(i < 150 ? 40 : 10);
+            if (random.nextInt(3) == 0) {
+                index.onApplianceChanged(ApplianceChangedEvent.deleted(id));
+                expected.remove(id);
+            } else {
+                Appliance appliance = appliance(id, Category.values()[random.nextInt(Category.values().length)],
+                        PowerType.values()[random.nextInt(PowerType.values().length)], 1L + random.nextInt(4),
+                        random.nextInt(2000) + ".00", random.nextInt(5) == 0 ? null : random.nextInt(3000));
+                index.onApplianceChanged(ApplianceChangedEvent.saved(appliance));
+                expected.put(id, appliance);
+            }
+        }
+
+        FacetSnapshot fromScratch = FacetSnapshot.of(expected.values().stream()
+                .map(a -> view(a.getId(), a.getCategory(), a.getPowerType(), a.getManufacturer().getId(),
+                        a.getPrice().toPlainString(), a.getPower()))
+                .toList());
+        assertThat(index.snapshot().size()).isEqualTo(expected.size());
+        for (ApplianceFilter filter : List.of(ApplianceFilter.none(),
+                ApplianceFilter.builder().categories(Set.of(Category.BIG)).powerTypes(Set.of(PowerType.AC220)).build(),
+                ApplianceFilter.builder().manufacturerIds(Set.of(2L, 3L)).minPower(1000).build(),
+                ApplianceFilter.builder().minPrice(new BigDecimal("500")).maxPrice(new BigDecimal("1500")).build())) {
+            FacetMatch patched = index.snapshot().match(filter);
+            FacetMatch rebuilt = fromScratch.match(filter);
+            assertThat(patched.getIds()).containsExactly(rebuilt.getIds());
+            assertThat(patched.getCounts()).usingRecursiveComparison().isEqualTo(rebuilt.getCounts());
+        }
+    }
+
+    @Test
+    void onApplianceChanged_WhenEventsArriveOutOfOrder_ShouldKeepTheNewerChange() {
+        ApplianceChangedEvent older = ApplianceChangedEvent.saved(
+                appliance(1L, Category.SMALL, PowerType.AC220, 1L, "999.00", 2000));
+        ApplianceChangedEvent newer = ApplianceChangedEvent.saved(
+                appliance(1L, Category.BIG, PowerType.AC110, 1L, "899.00", 2000));
+
+        index.onApplianceChanged(newer);
+        index.onApplianceChanged(older);
+
+        FacetMatch big = index.snapshot().match(ApplianceFilter.builder().categories(Set.of(Category.BIG)).build());
+        assertThat(big.getIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesAppliedWhileLoading() {
+        when(applianceRepository.findFacetRows()).thenAnswer(invocation -> {
+            index.onApplianceChanged(ApplianceChangedEvent.deleted(5L));
+            return List.of(
+                    view(1L, Category.BIG, PowerType.AC220, 1L, "999.00", 2000),
+                    view(5L, Category.SMALL, PowerType.AC220, 1L, "120.00", 1200));
+        });
+
+        index.rebuild();
+
+        assertThat(index.snapshot().match(ApplianceFilter.none()).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void isReady_WhenDisabled_ShouldBeFalse() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    private static Appliance appliance(Long id, Category category, PowerType powerType, Long manufacturerId,
+                                       String price, Integer power) {
+        Manufacturer manufacturer = new Manufacturer();
+        manufacturer.setId(manufacturerId);
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        appliance.setCategory(category);
+        appliance.setPowerType(powerType);
+        appliance.setManufacturer(manufacturer);
+        appliance.setPrice(new BigDecimal(price));
+        appliance.setPower(power);
+        return appliance;
+    }
+
+    private static ApplianceFacetView view(Long id, Category category, PowerType powerType, Long manufacturerId,
+                                           String price, Integer power) {
+        return new ApplianceFacetView() {
+            public Long getId() { return id; }
+            public Category getCategory() { return category; }
+            public PowerType getPowerType() { return powerType; }
+            public Long getManufacturerId() { return manufacturerId; }
+            public BigDecimal getPrice() { return new BigDecimal(price); }
+            public Integer getPower() { return power; }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.imports;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplianceImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_Csv_ShouldMapHeaderCaseInsensitivelyAndHandleQuotes() throws Exception {
+        List<ImportRow> rows = readAll(CatalogFormat.CSV,
+                "\uFEFFName,Model,powerType,Description\r\n"
+                        + "Fridge,F-1,AC220,\"Cold, \"\"quiet\"\"\nand big\"\r\n"
+                        + "\r\n"
+                        + "Kettle,K-2,AC110,\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).get("name")).isEqualTo("Fridge");
+        assertThat(rows.get(0).get("powertype")).isEqualTo("AC220");
+        assertThat(rows.get(0).get("description")).isEqualTo("Cold, \"quiet\"\nand big");
+        assertThat(rows.get(1).line()).isEqualTo(5);
+        assertThat(rows.get(1).get("description")).isNull();
+    }
+
+    @Test
+    void next_Csv_ShouldReportMalformedRecordsAndContinue() throws Exception {
+        List<ImportRow> rows = readAll(CatalogFormat.CSV,
+                "name,model\n"
+                        + "Fridge\n"
+                        + "\"Kettle\"x,K-2\n"
+                        + "Mixer,M-1\n"
+                        + "\"Toaster,T-1\n");
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(rows.get(0).error()).contains("Expected 2 columns");
+        assertThat(rows.get(1).error()).contains("after closing quote");
+        assertThat(rows.get(2).isFailed()).isFalse();
+        assertThat(rows.get(2).get("name")).isEqualTo("Mixer");
+        assertThat(rows.get(3).error()).isEqualTo("Unterminated quoted field");
+    }
+
+    @Test
+    void next_Csv_WithMalformedHeader_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> readAll(CatalogFormat.CSV, "\"name,model\n"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void next_Ndjson_ShouldReadObjectsAndReportBadLines() throws Exception {
+        List<ImportRow> rows = readAll(CatalogFormat.NDJSON,
+                "{\"name\":\"Fridge\",\"price\":499.10,\"power\":null,\"manufacturerId\":3}\n"
+                        + "\n"
+                        + "[1,2]\n"
+                        + "{\"name\":\n");
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).get("price")).isEqualTo("499.10");
+        assertThat(rows.get(0).get("power")).isNull();
+        assertThat(rows.get(0).get("manufacturerid")).isEqualTo("3");
+        assertThat(rows.get(1).error()).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(2).error()).startsWith("Malformed JSON");
+    }
+
+    private List<ImportRow> readAll(CatalogFormat format, String input) throws IOException {
+        ApplianceImportReader reader = ApplianceImportReader.open(format,
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), objectMapper);
+        List<ImportRow> rows = new ArrayList<>();
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
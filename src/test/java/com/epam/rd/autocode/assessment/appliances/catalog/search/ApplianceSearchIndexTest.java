@@ -0,0 +1,189 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.search;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceTextView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplianceSearchIndexTest {
+
+    @Mock
+    private ApplianceRepository applianceRepository;
+
+    private ApplianceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ApplianceSearchIndex(applianceRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        when(applianceRepository.findTextBy()).thenReturn(List.of(
+                view(1L, "Refrigerator", "RF28R7351SR", "French door fridge with ice maker"),
+                view(2L, "Washing Machine", "WW90T", "Front load washer, quiet refrigerator-grade compressor"),
+                view(3L, "Mini Fridge", "MF-100", "Compact refrigerator for offices"),
+                view(4L, "Kettle", "K2", "Stainless steel electric kettle")
+        ));
+        index.onApplicationReady();
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsLikeTheOldQuery() {
+        assertThat(ids(index.search("frig", PageRequest.of(0, 10)))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("7351", PageRequest.of(0, 10)))).containsExactly(1L);
+        assertThat(ids(index.search("K2", PageRequest.of(0, 10)))).containsExactly(4L);
+    }
+
+    @Test
+    void search_ShouldRankNameAndModelAboveDescription() {
+        List<Long> ranked = ids(index.search("refrigerator", PageRequest.of(0, 10)));
+
+        assertThat(ranked).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void search_WithSeveralTerms_ShouldRequireAllOfThem() {
+        assertThat(ids(index.search("fridge compact", PageRequest.of(0, 10)))).containsExactly(3L);
+        assertThat(ids(index.search("fridge kettle", PageRequest.of(0, 10)))).isEmpty();
+    }
+
+    @Test
+    void search_ShouldReportTotalAndPage() {
+        Page<Long> page = index.search("e", PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    @Test
+    void search_WithUnknownTerm_ShouldReturnEmptyPage() {
+        assertThat(index.search("dishwasher", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void onApplianceChanged_ShouldUpdateIndexIncrementally() {
+        index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(4L, "Toaster", "T1", "Two slot toaster")));
+        index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(5L, "Dishwasher", "DW5", null)));
+        index.onApplianceChanged(ApplianceChangedEvent.deleted(3L));
+
+        assertThat(ids(index.search("kettle", PageRequest.of(0, 10)))).isEmpty();
+        assertThat(ids(index.search("toast", PageRequest.of(0, 10)))).containsExactly(4L);
+        assertThat(ids(index.search("dish", PageRequest.of(0, 10)))).containsExactly(5L);
+        assertThat(ids(index.search("compact", PageRequest.of(0, 10)))).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void onApplianceChanged_AfterManyUpdates_ShouldCompactAndKeepResults() {
+        for (int i = 0; i < 3000; i++) {
+            index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(4L, "Kettle " + i, "K2", null)));
+        }
+
+        assertThat(ids(index.search("kettle 2999", PageRequest.of(0, 10)))).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void onApplianceChanged_WhenEventsArriveOutOfOrder_ShouldKeepTheNewerChange() {
+        ApplianceChangedEvent older = ApplianceChangedEvent.saved(appliance(4L, "Kettle", "K2", null));
+        ApplianceChangedEvent newer = ApplianceChangedEvent.saved(appliance(4L, "Toaster", "T1", null));
+
+        index.onApplianceChanged(newer);
+        index.onApplianceChanged(older);
+
+        assertThat(ids(index.search("kettle", PageRequest.of(0, 10)))).isEmpty();
+        assertThat(ids(index.search("toaster", PageRequest.of(0, 10)))).containsExactly(4L);
+    }
+
+    @Test
+    void onApplianceChanged_BeforeTheFirstBuild_ShouldBeReplayedOntoIt() {
+        ApplianceSearchIndex starting = new ApplianceSearchIndex(applianceRepository);
+        ReflectionTestUtils.setField(starting, "enabled", true);
+
+        starting.onApplianceChanged(ApplianceChangedEvent.saved(appliance(5L, "Toaster", "T1", null)));
+        starting.onApplianceChanged(ApplianceChangedEvent.deleted(4L));
+        starting.onApplicationReady();
+
+        assertThat(ids(starting.search("toaster", PageRequest.of(0, 10)))).containsExactly(5L);
+        assertThat(ids(starting.search("kettle", PageRequest.of(0, 10)))).isEmpty();
+    }
+
+    @Test
+    void search_SortedById_ShouldOrderByIdInsteadOfRelevance() {
+        assertThat(ids(index.search("refrigerator", PageRequest.of(0, 10, Sort.by("id").descending()))))
+                .containsExactly(3L, 2L, 1L);
+        assertThat(ids(index.search("fridge", PageRequest.of(0, 10, Sort.by("id"))))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_SortedByAnythingElse_ShouldBeRejected() {
+        assertThat(ApplianceSearchIndex.isSortable(Sort.by("name"))).isFalse();
+        assertThatThrownBy(() -> index.search("fridge", PageRequest.of(0, 10, Sort.by("name"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesAppliedWhileLoading() {
+        when(applianceRepository.findTextBy()).thenAnswer(invocation -> {
+            index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(5L, "Toaster", "T1", null)));
+            index.onApplianceChanged(ApplianceChangedEvent.deleted(4L));
+            return List.of(view(4L, "Kettle", "K2", null));
+        });
+
+        index.rebuild();
+
+        assertThat(ids(index.search("kettle", PageRequest.of(0, 10)))).isEmpty();
+        assertThat(ids(index.search("toaster", PageRequest.of(0, 10)))).containsExactly(5L);
+    }
+
+    @Test
+    void search_OnLargeCatalog_ShouldResolveSelectiveTerms() {
+        List<ApplianceTextView> rows = new ArrayList<>();
+        for (long i = 0; i < 200_000; i++) {
+            rows.add(view(i, "Appliance " + i, "MDL-" + i, "Generic household appliance number " + i));
+        }
+        rows.add(view(-1L, "Espresso Machine", "ESP-1", "Barista grade"));
+        when(applianceRepository.findTextBy()).thenReturn(rows);
+        index.rebuild();
+
+        assertThat(ids(index.search("espresso", PageRequest.of(0, 10)))).containsExactly(-1L);
+        assertThat(index.search("appliance 199999", PageRequest.of(0, 1)).getContent()).containsExactly(199_999L);
+    }
+
+    private static List<Long> ids(Page<Long> page) {
+        return page.getContent();
+    }
+
+    private static Appliance appliance(Long id, String name, String model, String description) {
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        appliance.setName(name);
+        appliance.setModel(model);
+        appliance.setDescription(description);
+        return appliance;
+    }
+
+    private static ApplianceTextView view(Long id, String name, String model, String description) {
+        return new ApplianceTextView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getModel() { return model; }
+            public String getDescription() { return description; }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.epam.rd.autocode.assessment.appliances.catalog.suggest;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.UnitsOrderedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.ManufacturerChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceLabelView;
+import com.epam.rd.autocode.assessment.appliances.repository.AppliancePopularityView;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplianceSuggestIndexTest {
+
+    @Mock
+    private ApplianceRepository applianceRepository;
+
+    @Mock
+    private OrderRowRepository orderRowRepository;
+
+    private ApplianceSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ApplianceSuggestIndex(applianceRepository, orderRowRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        when(applianceRepository.findLabelRows()).thenReturn(List.of(
+                label(1L, "Mini Fridge", "MF-100", 1L, "Bosch"),
+                label(2L, "Microwave Oven", "MW-200", 2L, "Samsung"),
+                label(3L, "Mixer", "MX-1", 1L, "Bosch"),
+                label(4L, "Smart Fridge", "SF-9", 2L, "Samsung")
+        ));
+        when(orderRowRepository.sumQuantityByAppliance()).thenReturn(List.of(
+                units(3L, 7L),
+                units(4L, 2L)
+        ));
+        index.onApplicationReady();
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixCaseInsensitivelyAndRankByPopularity() {
+        List<Suggestion> suggestions = index.suggest("MI", 10);
+
+        // Mixer was ordered 7 times, the other two never
+        assertThat(suggestions).extracting(Suggestion::getText, Suggestion::getType, Suggestion::getScore)
+                .containsExactly(
+                        tuple("Mixer", SuggestionType.APPLIANCE, 8L),
+                        tuple("Microwave Oven", SuggestionType.APPLIANCE, 1L),
+                        tuple("Mini Fridge", SuggestionType.APPLIANCE, 1L));
+    }
+
+    @Test
+    void suggest_ShouldMatchFromAnyWordStartAndAggregateSharedLabels() {
+        assertThat(index.suggest("fri", 10)).extracting(Suggestion::getText)
+                .containsExactly("Smart Fridge", "Mini Fridge");
+        // both Bosch appliances contribute: (1 + 0) + (1 + 7)
+        assertThat(index.suggest("bo", 10)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Bosch", 9L));
+        assertThat(index.suggest("mini  fr", 10)).extracting(Suggestion::getText).containsExactly("Mini Fridge");
+        assertThat(index.suggest("ridge", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_ShouldHonourLimitAndIgnoreBlankPrefix() {
+        assertThat(index.suggest("m", 2)).hasSize(2);
+        assertThat(index.suggest("   ", 10)).isEmpty();
+        assertThat(index.suggest("m", 0)).isEmpty();
+        assertThat(index.suggest("m", 1000)).hasSizeLessThanOrEqualTo(ApplianceSuggestIndex.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    void onApplianceChanged_ShouldApplyUpdatesAndDeletesIncrementally() {
+        index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(5L, "Mixer", "MX-2", 2L, "Samsung")));
+        index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(1L, "Compact Fridge", "MF-100", 1L, "Bosch")));
+        index.onApplianceChanged(ApplianceChangedEvent.deleted(2L));
+
+        assertThat(index.suggest("mi", 10)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Mixer", 9L));
+        assertThat(index.suggest("fri", 10)).extracting(Suggestion::getText)
+                .containsExactly("Smart Fridge", "Compact Fridge");
+        assertThat(index.suggest("mw", 10)).isEmpty();
+        verify(applianceRepository, times(1)).findLabelRows();
+    }
+
+    @Test
+    void onManufacturerChanged_ShouldRenameManufacturerSuggestion() {
+        Manufacturer renamed = new Manufacturer();
+        renamed.setId(1L);
+        renamed.setName("Bosch Home");
+
+        index.onManufacturerChanged(ManufacturerChangedEvent.saved(renamed));
+
+        assertThat(index.suggest("bosch", 10)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Bosch Home", 9L));
+        assertThat(index.suggest("home", 10)).extracting(Suggestion::getText).containsExactly("Bosch Home");
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesAppliedWhileLoading() {
+        Manufacturer renamed = new Manufacturer();
+        renamed.setId(1L);
+        renamed.setName("Bosch Home");
+        ApplianceChangedEvent older = ApplianceChangedEvent.saved(appliance(3L, "Mixer", "MX-1", 1L, "Bosch"));
+        ApplianceChangedEvent newer = ApplianceChangedEvent.saved(appliance(3L, "Hand Mixer", "MX-1", 1L, "Bosch"));
+        when(applianceRepository.findLabelRows()).thenAnswer(invocation -> {
+            index.onApplianceChanged(newer);
+            index.onApplianceChanged(older);
+            index.onManufacturerChanged(ManufacturerChangedEvent.saved(renamed));
+            return List.of(label(3L, "Mixer", "MX-1", 1L, "Bosch"));
+        });
+
+        index.rebuild();
+
+        assertThat(index.suggest("mix", 10)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Hand Mixer", 8L));
+        assertThat(index.suggest("bosch", 10)).extracting(Suggestion::getText).containsExactly("Bosch Home");
+    }
+
+    @Test
+    void onUnitsOrdered_ShouldRerankWithoutQueryingTheOrders() {
+        index.onUnitsOrdered(new UnitsOrderedEvent(Map.of(1L, 10L, 3L, -7L)));
+
+        assertThat(index.suggest("mi", 10)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Mini Fridge", 11L), tuple("Microwave Oven", 1L), tuple("Mixer", 1L));
+        assertThat(index.suggest("bosch", 10)).extracting(Suggestion::getScore).containsExactly(12L);
+        verify(orderRowRepository, times(1)).sumQuantityByAppliance();
+    }
+
+    @Test
+    void onUnitsOrdered_ShouldKeepTheUnitsForAnApplianceSavedLater() {
+        index.onUnitsOrdered(new UnitsOrderedEvent(Map.of(5L, 4L)));
+        index.onApplianceChanged(ApplianceChangedEvent.saved(appliance(5L, "Kettle", "KT-1", 2L, "Samsung")));
+
+        assertThat(index.suggest("kettle", 10)).extracting(Suggestion::getScore).containsExactly(5L);
+    }
+
+    @Test
+    void suggest_WhenDisabled_ShouldAnswerNothingWithoutQuerying() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+
+        assertThat(index.suggest("sam", 10)).isEmpty();
+        assertThat(index.isReady()).isFalse();
+        verify(applianceRepository, times(1)).findLabelRows();
+    }
+
+    @Test
+    void keysOf_ShouldReturnEveryWordStartSuffix() {
+        assertThat(ApplianceSuggestIndex.keysOf("  Mini   Smart Fridge "))
+                .containsExactly("mini smart fridge", "smart fridge", "fridge");
+    }
+
+    private static Appliance appliance(Long id, String name, String model, Long manufacturerId,
+                                       String manufacturerName) {
+        Manufacturer manufacturer = new Manufacturer();
+        manufacturer.setId(manufacturerId);
+        manufacturer.setName(manufacturerName);
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        appliance.setName(name);
+        appliance.setModel(model);
+        appliance.setManufacturer(manufacturer);
+        return appliance;
+    }
+
+    private static ApplianceLabelView label(Long id, String name, String model, Long manufacturerId,
+                                            String manufacturerName) {
+        return new ApplianceLabelView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getModel() { return model; }
+            public Long getManufacturerId() { return manufacturerId; }
+            public String getManufacturerName() { return manufacturerName; }
+        };
+    }
+
+    private static AppliancePopularityView units(Long applianceId, Long units) {
+        return new AppliancePopularityView() {
+            public Long getApplianceId() { return applianceId; }
+            public Long getUnits() { return units; }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.rd.autocode.assessment.appliances.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderConfigTest {
+
+    // BCrypt hash of "password123" at cost 10, stored before hashes carried an {id} prefix
+    private static final String LEGACY_HASH = "$2a$10$zgE9xUQ1dsqCYIW9BvdcFuhIZvEMAiCMPhQojJB/K9EFsEjXcKWxO";
+
+    @Test
+    void legacyHash_ShouldStillMatchButBeUpgraded() {
+        PasswordEncoder encoder = PasswordEncoderConfig.delegatingEncoder("bcrypt", 10);
+
+        assertThat(encoder.matches("password123", LEGACY_HASH)).isTrue();
+        assertThat(encoder.matches("wrong", LEGACY_HASH)).isFalse();
+        assertThat(encoder.upgradeEncoding(LEGACY_HASH)).isTrue();
+    }
+
+    @Test
+    void newHash_ShouldBePrefixedAndCurrent() {
+        PasswordEncoder encoder = PasswordEncoderConfig.delegatingEncoder("bcrypt", 4);
+
+        String hash = encoder.encode("password123");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void bcryptHashAtAnotherCost_ShouldBeUpgradedEitherWay() {
+        String cost5 = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("password123");
+
+        assertThat(PasswordEncoderConfig.delegatingEncoder("bcrypt", 4).upgradeEncoding(cost5)).isTrue();
+        assertThat(PasswordEncoderConfig.delegatingEncoder("bcrypt", 6).upgradeEncoding(cost5)).isTrue();
+        assertThat(PasswordEncoderConfig.delegatingEncoder("bcrypt", 5).upgradeEncoding(cost5)).isFalse();
+    }
+
+    @Test
+    void switchingAlgorithm_ShouldKeepOldHashesWorkingAndUpgradeThem() {
+        String bcrypt = PasswordEncoderConfig.delegatingEncoder("bcrypt", 4).encode("password123");
+        PasswordEncoder pbkdf2 = PasswordEncoderConfig.delegatingEncoder("pbkdf2", 4);
+
+        assertThat(pbkdf2.matches("password123", bcrypt)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcrypt)).isTrue();
+        String upgraded = pbkdf2.encode("password123");
+        assertThat(upgraded).startsWith("{pbkdf2}").hasSizeLessThanOrEqualTo(128);
+        assertThat(pbkdf2.upgradeEncoding(upgraded)).isFalse();
+    }
+
+    @Test
+    void unknownAlgorithm_ShouldFailAtStartup() {
+        assertThatThrownBy(() -> PasswordEncoderConfig.delegatingEncoder("md5", 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("md5");
+    }
+}
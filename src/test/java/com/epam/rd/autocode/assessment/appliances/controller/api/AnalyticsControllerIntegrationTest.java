@@ -0,0 +1,258 @@
+package com.epam.rd.autocode.assessment.appliances.controller.api;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderApprovalRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.model.Employee;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnalyticsControllerIntegrationTest {
+
+    private static final String CLIENT_EMAIL = "analytics.client@example.com";
+    private static final String EMPLOYEE_EMAIL = "analytics.employee@example.com";
+    private static final String PASSWORD_HASH = "$2a$10$zgE9xUQ1dsqCYIW9BvdcFuhIZvEMAiCMPhQojJB/K9EFsEjXcKWxO";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ManufacturerRepository manufacturerRepository;
+
+    @Autowired
+    private ApplianceRepository applianceRepository;
+
+    @Autowired
+    private OrderRowRepository orderRowRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private SalesRollup salesRollup;
+
+    private Client testClient;
+    private Employee testEmployee;
+    private Appliance fridge;
+    private Appliance kettle;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        testClient = clientRepository.save(new Client(null, "Analytics", "Client", CLIENT_EMAIL,
+                PASSWORD_HASH, "+1234567890", "1 Analytics Street", null));
+        testEmployee = employeeRepository.save(new Employee(null, "Analytics", "Employee", EMPLOYEE_EMAIL,
+                PASSWORD_HASH, "Sales Manager"));
+        Manufacturer coolCo = manufacturerRepository.save(new Manufacturer(null, "CoolCo", "1 Cold Street", "Norway"));
+        Manufacturer boilCo = manufacturerRepository.save(new Manufacturer(null, "BoilCo", "2 Hot Street", "Italy"));
+        fridge = applianceRepository.save(new Appliance(null, "Fridge", Category.BIG, "F-1", coolCo,
+                PowerType.AC220, "Characteristic", "Description", 100, new BigDecimal("10.00")));
+        kettle = applianceRepository.save(new Appliance(null, "Kettle", Category.SMALL, "K-1", boilCo,
+                PowerType.AC220, "Characteristic", "Description", 100, new BigDecimal("20.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        orderRowRepository.deleteAll();
+        ordersRepository.deleteAll();
+        applianceRepository.deleteAll();
+        manufacturerRepository.deleteAll();
+        clientRepository.findByEmail(CLIENT_EMAIL).ifPresent(clientRepository::delete);
+        employeeRepository.findByEmail(EMPLOYEE_EMAIL).ifPresent(employeeRepository::delete);
+        // Repositories bypass the order services, so resync the rollups with what is left
+        salesRollup.rebuild();
+    }
+
+    @Test
+    void getRevenue_ShouldGroupSalesOfApprovedOrders() throws Exception {
+        placeSales();
+
+        revenue("category", true)
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("BIG")))
+                .andExpect(jsonPath("$[0].revenue", is(30.0)))
+                .andExpect(jsonPath("$[0].units", is(3)))
+                .andExpect(jsonPath("$[1].name", is("SMALL")))
+                .andExpect(jsonPath("$[1].revenue", is(20.0)))
+                .andExpect(jsonPath("$[1].units", is(1)));
+
+        revenue("MANUFACTURER", true)
+                .andExpect(jsonPath("$[*].name", contains("CoolCo", "BoilCo")))
+                .andExpect(jsonPath("$[*].revenue", contains(30.0, 20.0)));
+
+        revenue("employee", true)
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(testEmployee.getId().intValue())))
+                .andExpect(jsonPath("$[0].name", is("Analytics Employee")))
+                .andExpect(jsonPath("$[0].revenue", is(50.0)))
+                .andExpect(jsonPath("$[0].units", is(4)));
+
+        // the pending order has no employee yet
+        revenue("employee", false)
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].revenue", is(100.0)))
+                .andExpect(jsonPath("$[1].revenue", is(50.0)));
+    }
+
+    @Test
+    void getTopAppliances_ShouldRankByUnitsOrRevenue() throws Exception {
+        placeSales();
+
+        mockMvc.perform(get("/api/analytics/top-appliances").with(employee()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].applianceId",
+                        contains(fridge.getId().intValue(), kettle.getId().intValue())))
+                .andExpect(jsonPath("$[0].model", is("F-1")))
+                .andExpect(jsonPath("$[0].units", is(3)));
+
+        mockMvc.perform(get("/api/analytics/top-appliances").with(employee())
+                        .param("rankBy", "revenue")
+                        .param("approvedOnly", "false")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].applianceId", is(kettle.getId().intValue())))
+                .andExpect(jsonPath("$[0].revenue", is(120.0)))
+                .andExpect(jsonPath("$[0].units", is(6)));
+    }
+
+    @Test
+    void rebuild_ShouldRecomputeTheSameTotals() throws Exception {
+        placeSales();
+
+        mockMvc.perform(post("/api/analytics/rebuild").with(employee()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", is(3)));
+
+        revenue("employee", false)
+                .andExpect(jsonPath("$[*].revenue", contains(100.0, 50.0)))
+                .andExpect(jsonPath("$[*].units", contains(5, 4)));
+    }
+
+    @Test
+    void rebuild_BeforeJournaledOrdersAreFolded_ShouldCountThemOnce() throws Exception {
+        placeOrder(new OrderRowRequestDTO(kettle.getId(), 2L, null));
+
+        salesRollup.rebuild();
+        salesRollup.flush();
+
+        revenue("category", false)
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].revenue", is(40.0)))
+                .andExpect(jsonPath("$[0].units", is(2)));
+    }
+
+    @Test
+    void deleteOrder_ShouldRemoveItsSales() throws Exception {
+        Long orderId = placeOrder(new OrderRowRequestDTO(kettle.getId(), 2L, null));
+        salesRollup.flush();
+        revenue("category", false).andExpect(jsonPath("$[0].revenue", is(40.0)));
+
+        mockMvc.perform(delete("/api/orders/" + orderId).with(user(CLIENT_EMAIL).roles("CLIENT")))
+                .andExpect(status().isNoContent());
+        salesRollup.flush();
+
+        revenue("category", false).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getRevenue_WithUnknownGrouping_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue").with(employee()).param("groupBy", "country"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getRevenue_AsClient_ShouldReturn403() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue"))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Approved by the test employee: fridge 3 units for 30.00, kettle 1 unit for 20.00.
+     * Pending: kettle 5 units for 100.00.
+     */
+    private void placeSales() throws Exception {
+        Long first = placeOrder(new OrderRowRequestDTO(fridge.getId(), 2L, null),
+                new OrderRowRequestDTO(kettle.getId(), 1L, null));
+        Long second = placeOrder(new OrderRowRequestDTO(fridge.getId(), 1L, null));
+        placeOrder(new OrderRowRequestDTO(kettle.getId(), 5L, null));
+
+        mockMvc.perform(post("/api/orders/" + first + "/approve").with(employee()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/orders/approve").with(employee())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderApprovalRequestDTO(List.of(second)))))
+                .andExpect(status().isOk());
+        salesRollup.flush();
+    }
+
+    private Long placeOrder(OrderRowRequestDTO... rows) throws Exception {
+        String body = mockMvc.perform(post("/api/orders").with(user(CLIENT_EMAIL).roles("CLIENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(rows)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private ResultActions revenue(String groupBy, boolean approvedOnly) throws Exception {
+        return mockMvc.perform(get("/api/analytics/revenue").with(employee())
+                        .param("groupBy", groupBy)
+                        .param("approvedOnly", String.valueOf(approvedOnly)))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor employee() {
+        return user(EMPLOYEE_EMAIL).roles("EMPLOYEE");
+    }
+}
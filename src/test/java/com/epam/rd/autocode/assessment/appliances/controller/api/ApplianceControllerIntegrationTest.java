@@ -1,5 +1,6 @@
 package com.epam.rd.autocode.assessment.appliances.controller.api;
 
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.ApplianceSuggestIndex;
 import com.epam.rd.autocode.assessment.appliances.dto.ApplianceRequestDTO;
 import com.epam.rd.autocode.assessment.appliances.model.Appliance;
 import com.epam.rd.autocode.assessment.appliances.model.Category;
@@ -9,6 +10,7 @@ import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository
 import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +22,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import java.math.BigDecimal;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +53,9 @@ class ApplianceControllerIntegrationTest {
     @Autowired
     private OrdersRepository ordersRepository;
 
+    @Autowired
+    private ApplianceSuggestIndex applianceSuggestIndex;
+
     private Manufacturer testManufacturer;
     private Appliance testAppliance;
 
@@ -303,4 +311,333 @@ class ApplianceControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].name", is("AAAAppliance")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void keysetPagination_ShouldWalkForwardAndBackWithoutTotals() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            Appliance appliance = new Appliance();
+            appliance.setName("KeysetAppliance" + i);
+            appliance.setModel("Model" + i);
+            appliance.setCategory(Category.BIG);
+            appliance.setPowerType(PowerType.AC220);
+            appliance.setPrice(new BigDecimal(100 + i * 10));
+            appliance.setManufacturer(testManufacturer);
+            applianceRepository.save(appliance);
+        }
+
+        JsonNode firstPage = readJson(mockMvc.perform(get("/api/appliances")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name", is("KeysetAppliance0")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.prevCursor").doesNotExist())
+                .andExpect(jsonPath("$.first", is(true))));
+
+        JsonNode secondPage = readJson(mockMvc.perform(get("/api/appliances")
+                        .param("after", firstPage.get("nextCursor").asText())
+                        .param("size", "2")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is("KeysetAppliance2")))
+                .andExpect(jsonPath("$.content[1].name", is("KeysetAppliance3"))));
+
+        mockMvc.perform(get("/api/appliances")
+                        .param("after", secondPage.get("nextCursor").asText())
+                        .param("size", "2")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("TestAppliance")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.last", is(true)));
+
+        mockMvc.perform(get("/api/appliances")
+                        .param("after", secondPage.get("prevCursor").asText())
+                        .param("size", "2")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is("KeysetAppliance0")))
+                .andExpect(jsonPath("$.content[1].name", is("KeysetAppliance1")))
+                .andExpect(jsonPath("$.prevCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void keysetPagination_WithCursorForDifferentSort_ShouldReturn400() throws Exception {
+        Appliance second = new Appliance();
+        second.setName("SecondAppliance");
+        second.setModel("SecondModel");
+        second.setCategory(Category.SMALL);
+        second.setPowerType(PowerType.AC110);
+        second.setPrice(new BigDecimal("10.00"));
+        second.setManufacturer(testManufacturer);
+        applianceRepository.save(second);
+
+        JsonNode page = readJson(mockMvc.perform(get("/api/appliances")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk()));
+        assertCursorRejected(page.get("nextCursor").asText());
+        assertCursorRejected("not-a-cursor");
+    }
+
+    @Test
+    void filterAppliances_ShouldCombineFiltersAndReturnFacetCounts() throws Exception {
+        Appliance kettle = new Appliance();
+        kettle.setName("Kettle");
+        kettle.setModel("K1");
+        kettle.setCategory(Category.SMALL);
+        kettle.setPowerType(PowerType.AC220);
+        kettle.setPower(2200);
+        kettle.setPrice(new BigDecimal("39.90"));
+        kettle.setManufacturer(testManufacturer);
+        applianceRepository.save(kettle);
+
+        Appliance vacuum = new Appliance();
+        vacuum.setName("Vacuum");
+        vacuum.setModel("V8");
+        vacuum.setCategory(Category.SMALL);
+        vacuum.setPowerType(PowerType.ACCUMULATOR);
+        vacuum.setPower(400);
+        vacuum.setPrice(new BigDecimal("349.00"));
+        vacuum.setManufacturer(testManufacturer);
+        applianceRepository.save(vacuum);
+
+        mockMvc.perform(get("/api/appliances/filter")
+                        .param("category", "SMALL")
+                        .param("powerType", "AC220", "AC110")
+                        .param("manufacturerId", testManufacturer.getId().toString())
+                        .param("maxPrice", "100")
+                        .param("minPower", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.content[0].name", is("Kettle")))
+                .andExpect(jsonPath("$.page.totalElements", is(1)))
+                .andExpect(jsonPath("$.facets.category.SMALL", is(1)))
+                .andExpect(jsonPath("$.facets.category.BIG", is(0)))
+                .andExpect(jsonPath("$.facets.powerType.AC220", is(1)))
+                .andExpect(jsonPath("$.facets.powerType.ACCUMULATOR", is(0)));
+
+        mockMvc.perform(get("/api/appliances/filter").param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content[*].name", contains("TestAppliance", "Vacuum", "Kettle")))
+                .andExpect(jsonPath("$.facets.category.SMALL", is(2)))
+                .andExpect(jsonPath("$.facets.powerType.AC220", is(2)));
+    }
+
+    @Test
+    void filterAppliances_WithInvertedRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/appliances/filter")
+                        .param("minPower", "500")
+                        .param("maxPower", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void suggestAppliances_ShouldReturnRankedLabelsForPrefix() throws Exception {
+        applianceSuggestIndex.rebuild();
+
+        mockMvc.perform(get("/api/appliances/suggest")
+                        .param("prefix", "TEST")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].text", is("TestAppliance")))
+                .andExpect(jsonPath("$[0].type", is("APPLIANCE")))
+                .andExpect(jsonPath("$[0].score", is(1)))
+                .andExpect(jsonPath("$[1].text", is("TestManufacturer")))
+                .andExpect(jsonPath("$[1].type", is("MANUFACTURER")));
+
+        mockMvc.perform(get("/api/appliances/suggest").param("prefix", "nothing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void exportAppliances_ShouldStreamCsvAndNdjson() throws Exception {
+        MvcResult csv = mockMvc.perform(get("/api/appliances/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("appliances.csv")))
+                .andExpect(content().string(startsWith("id,name,model,")))
+                .andExpect(content().string(containsString(testAppliance.getId()
+                        + ",TestAppliance,TestModel,BIG,AC220,,999.99," + testManufacturer.getId() + ",TestManufacturer")));
+
+        MvcResult ndjson = mockMvc.perform(get("/api/appliances/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode row = objectMapper.readTree(body.lines().findFirst().orElseThrow());
+        assertThat(row.get("name").asText()).isEqualTo("TestAppliance");
+        assertThat(row.get("manufacturerName").asText()).isEqualTo("TestManufacturer");
+    }
+
+    @Test
+    void exportAppliances_WithUnknownFormat_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/appliances/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void importAppliances_Csv_ShouldInsertValidRowsAndReportTheRest() throws Exception {
+        String csv = "name,category,model,manufacturer,powerType,power,price\n"
+                + "Kettle,small,K1,testmanufacturer,AC220,2200,39.90\n"
+                + "Toaster,SMALL,T1," + testManufacturer.getId() + ",AC220,,19.99\n"
+                + "Mixer,SMALL,M1,Nobody,AC220,300,49.00\n"
+                + "Blender,SMALL,B1,TestManufacturer,AC220,300,cheap\n"
+                + "<Iron>,SMALL,I1,TestManufacturer,AC220,1000,25.00\n"
+                + "Heater,BIG,H1,TestManufacturer,AC220,1500,1000000.00\n"
+                + "Fan,SMALL,F1,TestManufacturer,AC110,40,15.00\n";
+
+        mockMvc.perform(post("/api/appliances/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(3)))
+                .andExpect(jsonPath("$.failed", is(4)))
+                .andExpect(jsonPath("$.errors[*].line", contains(4, 5, 6, 7)))
+                .andExpect(jsonPath("$.errors[0].message", containsString("unknown manufacturer 'Nobody'")))
+                .andExpect(jsonPath("$.errors[1].message", containsString("price: invalid value 'cheap'")))
+                .andExpect(jsonPath("$.errors[2].message", containsString("Name contains invalid characters")))
+                .andExpect(jsonPath("$.errors[3].message", containsString("Price must not exceed")));
+
+        assertThat(applianceRepository.findAll())
+                .extracting(Appliance::getName)
+                .containsExactlyInAnyOrder("TestAppliance", "Kettle", "Toaster", "Fan");
+        assertThat(applianceRepository.findAll())
+                .extracting(Appliance::getId)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void importAppliances_Ndjson_ShouldAcceptExportOutput() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/appliances/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/appliances/import")
+                        .param("format", "ndjson")
+                        .contentType("application/x-ndjson")
+                        .content(exported))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(0)));
+
+        assertThat(applianceRepository.findAll())
+                .extracting(Appliance::getModel, Appliance::getPrice)
+                .containsOnly(tuple("TestModel", new BigDecimal("999.99")));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void importAppliances_AsClient_ShouldReturn403() throws Exception {
+        mockMvc.perform(post("/api/appliances/import")
+                        .contentType("text/csv")
+                        .content("name\nKettle\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void countFalse_ShouldReturnSliceWithoutTotals() throws Exception {
+        Appliance second = new Appliance();
+        second.setName("SecondAppliance");
+        second.setModel("SecondModel");
+        second.setCategory(Category.BIG);
+        second.setPowerType(PowerType.AC220);
+        second.setPrice(new BigDecimal("10.00"));
+        second.setManufacturer(testManufacturer);
+        applianceRepository.save(second);
+
+        mockMvc.perform(get("/api/appliances/category/BIG")
+                        .param("count", "false")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.first", is(true)))
+                .andExpect(jsonPath("$.last", is(false)));
+
+        mockMvc.perform(get("/api/appliances/search")
+                        .param("query", "appliance")
+                        .param("count", "false")
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void conditionalGet_ShouldReturn304UntilApplianceChanges() throws Exception {
+        String itemTag = mockMvc.perform(get("/api/appliances/{id}", testAppliance.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("stale-while-revalidate")))
+                .andReturn().getResponse().getHeader("ETag");
+        String listTag = mockMvc.perform(get("/api/appliances"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/appliances/{id}", testAppliance.getId()).header("If-None-Match", itemTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", itemTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/appliances").header("If-None-Match", "W/" + listTag))
+                .andExpect(status().isNotModified());
+
+        ApplianceRequestDTO dto = new ApplianceRequestDTO("Renamed", Category.BIG, "TestModel",
+                testManufacturer.getId(), PowerType.AC220, null, null, null, new BigDecimal("999.99"));
+        mockMvc.perform(put("/api/appliances/{id}", testAppliance.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/appliances/{id}", testAppliance.getId()).header("If-None-Match", itemTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(itemTag)))
+                .andExpect(jsonPath("$.name", is("Renamed")));
+        mockMvc.perform(get("/api/appliances").header("If-None-Match", listTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void conditionalGet_ShouldOnlyTagSuccessfulCatalogReads() throws Exception {
+        mockMvc.perform(get("/api/appliances/{id}", testAppliance.getId() + 1000))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/appliances/filter").param("minPower", "500").param("maxPower", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/appliances/suggest").param("prefix", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    private void assertCursorRejected(String cursor) throws Exception {
+        mockMvc.perform(get("/api/appliances")
+                        .param("after", cursor)
+                        .param("sort", "name,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode readJson(org.springframework.test.web.servlet.ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
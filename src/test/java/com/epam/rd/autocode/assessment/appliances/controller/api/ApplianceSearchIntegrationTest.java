@@ -0,0 +1,128 @@
+package com.epam.rd.autocode.assessment.appliances.controller.api;
+
+import com.epam.rd.autocode.assessment.appliances.catalog.search.ApplianceSearchIndex;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Search with the index on: sorts the index can order are answered from it, other sorts by the
+ * database, and both must return the same appliances.
+ */
+@SpringBootTest(properties = "app.search.index.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApplianceSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplianceRepository applianceRepository;
+
+    @Autowired
+    private ManufacturerRepository manufacturerRepository;
+
+    @Autowired
+    private OrderRowRepository orderRowRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private ApplianceSearchIndex applianceSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Manufacturer manufacturer = new Manufacturer();
+        manufacturer.setName("SearchManufacturer");
+        manufacturer.setAddress("1 Search Street");
+        manufacturer.setCountry("USA");
+        manufacturer = manufacturerRepository.save(manufacturer);
+
+        save(manufacturer, "Washing Machine", "WM-1", null, "400.00");
+        save(manufacturer, "Front Loader", "FL-2", "A quiet machine for washing wool", "300.00");
+        save(manufacturer, "Machine Dryer", "MD-3", null, "200.00");
+        save(manufacturer, "LG 123 Fridge", "FR-4", null, "500.00");
+        save(manufacturer, "Compact Fridge", "LG-123", null, "100.00");
+        // Seeded through the repository, which publishes no change events
+        applianceSearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        orderRowRepository.deleteAll();
+        ordersRepository.deleteAll();
+        applianceRepository.deleteAll();
+        manufacturerRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void search_ShouldMatchTheSameAppliancesWhicheverSortIsRequested(boolean count) throws Exception {
+        assertThat(names("washing machine", "id", count))
+                .containsExactlyInAnyOrder("Washing Machine", "Front Loader")
+                .isEqualTo(names("washing machine", "price", count));
+        assertThat(names("lg-123", "id", count))
+                .containsExactlyInAnyOrder("LG 123 Fridge", "Compact Fridge")
+                .isEqualTo(names("lg-123", "price", count));
+    }
+
+    private Set<String> names(String query, String sort, boolean count) throws Exception {
+        String body = mockMvc.perform(get("/api/appliances/search")
+                        .param("query", query)
+                        .param("sort", sort)
+                        .param("count", String.valueOf(count)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Set<String> names = new HashSet<>();
+        for (JsonNode appliance : objectMapper.readTree(body).get("content")) {
+            names.add(appliance.get("name").asText());
+        }
+        return names;
+    }
+
+    private void save(Manufacturer manufacturer, String name, String model, String description, String price) {
+        Appliance appliance = new Appliance();
+        appliance.setName(name);
+        appliance.setModel(model);
+        appliance.setDescription(description);
+        appliance.setCategory(Category.BIG);
+        appliance.setPowerType(PowerType.AC220);
+        appliance.setPrice(new BigDecimal(price));
+        appliance.setManufacturer(manufacturer);
+        applianceRepository.save(appliance);
+    }
+}
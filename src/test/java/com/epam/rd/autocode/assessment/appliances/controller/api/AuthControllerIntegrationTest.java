@@ -0,0 +1,109 @@
+package com.epam.rd.autocode.assessment.appliances.controller.api;
+
+import com.epam.rd.autocode.assessment.appliances.dto.LoginRequest;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
+import com.epam.rd.autocode.assessment.appliances.security.OffloadingPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.security.password.hashing.threads=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerIntegrationTest {
+
+    private static final String EMAIL = "auth.client@example.com";
+    private static final String PASSWORD = "Password1@";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        clientRepository.save(new Client(null, "Auth", "Client", EMAIL, passwordEncoder.encode(PASSWORD),
+                "+1234567890", "1 Auth Street", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        clientRepository.findByEmail(EMAIL).ifPresent(clientRepository::delete);
+    }
+
+    @Test
+    void login_ShouldCompleteAsynchronouslyWithAToken() throws Exception {
+        MvcResult login = mockMvc.perform(login())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.role", is("CLIENT")));
+    }
+
+    @Test
+    void login_DuringABurst_ShouldLeaveRequestThreadsFreeForOtherEndpoints() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupy the only hashing thread, as a run of slow hashes would
+        passwordEncoder.encodeLater("occupied", hash -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<MvcResult> logins = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            logins.add(mockMvc.perform(login()).andExpect(request().asyncStarted()).andReturn());
+        }
+        mockMvc.perform(get("/api/appliances")).andExpect(status().isOk());
+        assertThatThrownBy(() -> logins.get(0).getAsyncResult(0)).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        for (MvcResult login : logins) {
+            mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+        }
+    }
+
+    private RequestBuilder login() throws Exception {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(EMAIL, PASSWORD)));
+    }
+}
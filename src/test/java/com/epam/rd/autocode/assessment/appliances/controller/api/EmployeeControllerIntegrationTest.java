@@ -102,6 +102,18 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].firstName", is("Test")));
     }
 
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void searchEmployees_WithCountFalse_ShouldOmitTotals() throws Exception {
+        mockMvc.perform(get("/api/employees/search")
+                        .param("query", "Test")
+                        .param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void getEmployeeById_WhenExists_ShouldReturn() throws Exception {
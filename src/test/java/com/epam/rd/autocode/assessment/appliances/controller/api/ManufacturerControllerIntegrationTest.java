@@ -156,6 +156,28 @@ class ManufacturerControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is("UpdatedManufacturer")));
+
+        mockMvc.perform(get("/api/manufacturers/{id}", testManufacturer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address", is("456 Factory Ave")))
+                .andExpect(jsonPath("$.country", is("Canada")));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getCacheStats_AsEmployee_ShouldReturnManufacturerCaches() throws Exception {
+        mockMvc.perform(get("/api/manufacturers/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("manufacturers.byId")))
+                .andExpect(jsonPath("$[1].name", is("manufacturers.all")));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getCacheStats_WithClientRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(get("/api/manufacturers/cache/stats"))
+                .andExpect(status().isForbidden());
     }
 
     @Test
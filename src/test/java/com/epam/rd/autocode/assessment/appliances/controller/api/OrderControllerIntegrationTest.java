@@ -0,0 +1,934 @@
+package com.epam.rd.autocode.assessment.appliances.controller.api;
+
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderApprovalRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowPatchDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.StockUpdateDTO;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockStore;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Category;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.model.Employee;
+import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
+import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.model.PowerType;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.epam.rd.autocode.assessment.appliances.security.JwtTokenProvider;
+import com.epam.rd.autocode.assessment.appliances.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.epam.rd.autocode.assessment.appliances.controller.api.OrderControllerIntegrationTest$SqlRecorder")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderControllerIntegrationTest {
+
+    private static final int APPLIANCE_COUNT = 30;
+    private static final String CLIENT_EMAIL = "order.client@example.com";
+    private static final String EMPLOYEE_EMAIL = "order.employee@example.com";
+    private static final String OTHER_CLIENT_EMAIL = "order.other.client@example.com";
+    private static final String PASSWORD_HASH = "$2a$10$zgE9xUQ1dsqCYIW9BvdcFuhIZvEMAiCMPhQojJB/K9EFsEjXcKWxO";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ManufacturerRepository manufacturerRepository;
+
+    @Autowired
+    private ApplianceRepository applianceRepository;
+
+    @Autowired
+    private OrderRowRepository orderRowRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockStore stockStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Client testClient;
+    private Employee testEmployee;
+    private final List<Appliance> appliances = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        testClient = clientRepository.save(new Client(null, "Order", "Client", CLIENT_EMAIL,
+                PASSWORD_HASH, "+1234567890", "1 Order Street", null));
+        testEmployee = employeeRepository.save(new Employee(null, "Order", "Employee", EMPLOYEE_EMAIL,
+                PASSWORD_HASH, "Sales Manager"));
+        // the users were recreated behind the services' back, so drop what was cached about them
+        eventPublisher.publishEvent(new UserChangedEvent(testClient.getId()));
+
+        appliances.clear();
+        for (int i = 0; i < APPLIANCE_COUNT; i++) {
+            // A manufacturer per appliance, so lazily resolved manufacturers would show up as extra queries
+            Manufacturer manufacturer = manufacturerRepository.save(
+                    new Manufacturer(null, "Order Manufacturer " + i, "Street " + i, "Country"));
+            appliances.add(applianceRepository.save(new Appliance(null, "Appliance " + i, Category.BIG,
+                    "Model-" + i, manufacturer, PowerType.AC220, "Characteristic", "Description", 100,
+                    new BigDecimal("10.00").add(BigDecimal.valueOf(i)))));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        orderRowRepository.deleteAll();
+        ordersRepository.deleteAll();
+        applianceRepository.deleteAll();
+        manufacturerRepository.deleteAll();
+        clientRepository.findByEmail(CLIENT_EMAIL).ifPresent(clientRepository::delete);
+        clientRepository.findByEmail(OTHER_CLIENT_EMAIL).ifPresent(clientRepository::delete);
+        employeeRepository.findByEmail(EMPLOYEE_EMAIL).ifPresent(employeeRepository::delete);
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_ShouldPersistOrderWithComputedAmounts() throws Exception {
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 2L, null),
+                new OrderRowRequestDTO(appliances.get(1).getId(), 1L, null)));
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.approved", is(false)))
+                .andExpect(jsonPath("$.orderRows", hasSize(2)));
+
+        assertThat(orderRowRepository.findAll())
+                .extracting(row -> row.getAmount().toPlainString())
+                .containsExactlyInAnyOrder("20.00", "11.00");
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_WithSameIdempotencyKey_ShouldCreateOneOrderAndReplayIt() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 2L, null))));
+
+        String first = mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+        String replayed = mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(replayed)).isEqualTo(objectMapper.readTree(first));
+        assertThat(ordersRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_ReusingIdempotencyKeyForAnotherRequest_ShouldReturn422() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                                new OrderRowRequestDTO(appliances.get(0).getId(), 2L, null))))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                                new OrderRowRequestDTO(appliances.get(1).getId(), 2L, null))))))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(ordersRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_WhenFirstAttemptFails_ShouldLetTheRetryRun() throws Exception {
+        String key = UUID.randomUUID().toString();
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null)));
+        Long applianceId = appliances.get(0).getId();
+        applianceRepository.deleteById(applianceId);
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
+
+        dto.getOrderRows().get(0).setApplianceId(appliances.get(1).getId());
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void createOrder_WhenKeyIsHeldByAnOrphanedClaim_ShouldTakeItOverOnceTheLeaseLapses() throws Exception {
+        String key = UUID.randomUUID().toString();
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null)));
+        // left behind by a request whose node died before it completed or released the key
+        insertOrphanedClaim(key, requestHash(dto));
+
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        assertThat(ordersRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void createOrder_WhenOrphanedClaimWasForAnotherBody_ShouldReturn422AndKeepItsHash() throws Exception {
+        String key = UUID.randomUUID().toString();
+        insertOrphanedClaim(key, "0".repeat(64));
+
+        mockMvc.perform(post("/api/orders").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null))))))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(ordersRepository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT request_hash FROM idempotency_key WHERE id = ?",
+                String.class, "orders:" + CLIENT_EMAIL + ":" + key)).isEqualTo("0".repeat(64));
+    }
+
+    private void insertOrphanedClaim(String key, String requestHash) {
+        jdbcTemplate.update("INSERT INTO idempotency_key (id, request_hash, claim_token, claimed_at, expires_at) " +
+                        "VALUES (?, ?, ?, ?, ?)", "orders:" + CLIENT_EMAIL + ":" + key, requestHash,
+                UUID.randomUUID().toString(), Timestamp.from(Instant.now().minus(Duration.ofMinutes(10))),
+                Timestamp.from(Instant.now().plus(Duration.ofHours(23))));
+    }
+
+    private String requestHash(Object request) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void submitOrder_ShouldAcceptTicketAndPlaceOrderInBackground() throws Exception {
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 2L, null),
+                new OrderRowRequestDTO(appliances.get(1).getId(), 1L, null)));
+
+        String location = mockMvc.perform(post("/api/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/orders/intake/")))
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andReturn().getResponse().getHeader("Location");
+
+        String ticket = awaitTicket(location);
+        assertThat(objectMapper.readTree(ticket).get("status").asText()).isEqualTo("COMPLETED");
+        long orderId = objectMapper.readTree(ticket).get("orderId").asLong();
+        Orders placed = ordersRepository.findById(orderId).orElseThrow();
+        assertThat(placed.getTotalAmount()).isEqualByComparingTo("31.00");
+        assertThat(placed.getItemCount()).isEqualTo(2);
+
+        mockMvc.perform(get(location).with(user("someone.else@example.com").roles("CLIENT")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(location).with(user(EMPLOYEE_EMAIL).roles("EMPLOYEE")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId", is((int) orderId)));
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void submitOrder_WithUnknownAppliance_ShouldFailTheTicket() throws Exception {
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(999_999L, 1L, null)));
+
+        String location = mockMvc.perform(post("/api/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        String ticket = awaitTicket(location);
+        assertThat(objectMapper.readTree(ticket).get("status").asText()).isEqualTo("FAILED");
+        assertThat(objectMapper.readTree(ticket).get("error").asText()).contains("999999");
+        assertThat(ordersRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void submitOrder_WithInvalidRequest_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getOrderTicket_WhenUnknown_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/orders/intake/{ticketId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private String awaitTicket(String location) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (true) {
+            String ticket = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String status = objectMapper.readTree(ticket).get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.nanoTime() > deadline) {
+                return ticket;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_WithUnknownAppliances_ShouldReturn404ListingAllOfThem() throws Exception {
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null),
+                new OrderRowRequestDTO(999_998L, 1L, null),
+                new OrderRowRequestDTO(999_999L, 1L, null)));
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Appliances not found with ids: [999998, 999999]")));
+
+        assertThat(ordersRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_StatementCountShouldNotGrowWithRowCount() throws Exception {
+        int oneRow = statementsToPlace(1);
+        int allRows = statementsToPlace(APPLIANCE_COUNT);
+
+        assertThat(allRows).isEqualTo(oneRow).isEqualTo(4);
+        assertThat(orderRowRepository.count()).isEqualTo(1 + APPLIANCE_COUNT);
+    }
+
+    private int statementsToPlace(int rows) throws Exception {
+        List<OrderRowRequestDTO> orderRows = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            orderRows.add(new OrderRowRequestDTO(appliances.get(i).getId(), 1L, null));
+        }
+        String body = objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), orderRows));
+
+        return statements(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated());
+    }
+
+    // Statement budgets per endpoint, with three orders of three rows each and a distinct appliance and
+    // manufacturer per row: lazy loading one association at a time would blow well past them.
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getAllOrders_ShouldLoadPageInConstantStatements() throws Exception {
+        seedOrders();
+
+        // page + count; lists show the persisted totals, so order_row is never read
+        assertThat(statements(get("/api/orders").param("size", "2"), jsonPath("$.content", hasSize(2))))
+                .isEqualTo(2);
+        assertThat(SqlRecorder.STATEMENTS).noneMatch(sql -> sql.contains("order_row"));
+        assertThat(statements(get("/api/orders").param("count", "false"), jsonPath("$.content", hasSize(3))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getAllOrders_ShouldRenderPersistedTotalsWithoutRows() throws Exception {
+        seedOrders();
+
+        mockMvc.perform(get("/api/orders").param("sort", "id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].totalAmount", is(33.0)))
+                .andExpect(jsonPath("$.content[0].itemCount", is(3)))
+                .andExpect(jsonPath("$.content[0].orderRows").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void listEndpoints_ShouldReturnSummariesWithoutRows() throws Exception {
+        seedOrders();
+
+        // The frontend renders list items from totalAmount and itemCount and loads an order's
+        // rows from GET /api/orders/{id} before it shows or edits them
+        List<RequestBuilder> lists = List.of(
+                get("/api/orders"),
+                get("/api/orders").param("count", "false"),
+                get("/api/orders").param("after", ""),
+                get("/api/orders/client/{clientId}", testClient.getId()),
+                get("/api/orders/employee/{employeeId}", testEmployee.getId()),
+                get("/api/orders/status/{approved}", true));
+        for (RequestBuilder list : lists) {
+            mockMvc.perform(list)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", not(empty())))
+                    .andExpect(jsonPath("$.content[*].orderRows").value(empty()))
+                    .andExpect(jsonPath("$.content[*].totalAmount", everyItem(notNullValue())))
+                    .andExpect(jsonPath("$.content[*].itemCount", everyItem(is(3))));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void getOrdersByClientId_ShouldLoadPageInConstantStatements() throws Exception {
+        seedOrders();
+
+        // current user, then the page; the user lookup already put the client in the persistence
+        // context, and the count is skipped because the first page is not full
+        assertThat(statements(get("/api/orders/client/{clientId}", testClient.getId()),
+                jsonPath("$.content", hasSize(3)))).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getOrderHistory_ShouldProjectFromOrdersOnly() throws Exception {
+        seedOrders();
+
+        // one projection query; the count is skipped because the first page is not full
+        assertThat(statements(get("/api/orders/client/{clientId}/history", testClient.getId())
+                        .param("sort", "id,asc"),
+                jsonPath("$.content", hasSize(3)))).isEqualTo(1);
+        assertThat(SqlRecorder.STATEMENTS.get(0)).doesNotContain("order_row").contains("client_id");
+
+        mockMvc.perform(get("/api/orders/client/{clientId}/history", testClient.getId())
+                        .param("sort", "id,asc"))
+                .andExpect(jsonPath("$.content[0].totalAmount", is(33.0)))
+                .andExpect(jsonPath("$.content[0].itemCount", is(3)))
+                .andExpect(jsonPath("$.content[0].employeeName").value(nullValue()))
+                .andExpect(jsonPath("$.content[1].employeeName", is("Order Employee")))
+                .andExpect(jsonPath("$.totalElements", is(3)));
+
+        mockMvc.perform(get("/api/orders/client/{clientId}/history", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void getOrderHistory_OfAnotherClient_ShouldReturn403() throws Exception {
+        mockMvc.perform(get("/api/orders/client/{clientId}/history", testClient.getId() + 1))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getOrdersByEmployeeId_ShouldLoadPageInConstantStatements() throws Exception {
+        seedOrders();
+
+        assertThat(statements(get("/api/orders/employee/{employeeId}", testEmployee.getId()),
+                jsonPath("$.content", hasSize(1)))).isEqualTo(2);
+    }
+
+    @Test
+    void getOrdersByApprovalStatus_WithBearerToken_ShouldNotLookTheUserUp() throws Exception {
+        seedOrders();
+        String bearer = bearer(new UserPrincipal(testEmployee.getId(), EMPLOYEE_EMAIL, null, "EMPLOYEE"));
+        // the first request may confirm the claims against the database, later ones trust them
+        mockMvc.perform(get("/api/orders/status/{approved}", false).header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        assertThat(statements(get("/api/orders/status/{approved}", false).header("Authorization", bearer),
+                jsonPath("$.content", hasSize(2)))).isEqualTo(1);
+        assertThat(SqlRecorder.STATEMENTS).noneMatch(sql -> sql.contains("email=?"));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getOrdersByApprovalStatus_ShouldLoadPageInConstantStatements() throws Exception {
+        seedOrders();
+
+        assertThat(statements(get("/api/orders/status/{approved}", false),
+                jsonPath("$.content", hasSize(2)))).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void getOrderById_ShouldLoadOrderInOneStatement() throws Exception {
+        List<Orders> orders = seedOrders();
+
+        assertThat(statements(get("/api/orders/{id}", orders.get(0).getId()),
+                jsonPath("$.orderRows[*].appliance.manufacturer.name", hasSize(3)))).isEqualTo(1);
+    }
+
+    @Test
+    void loadingOrderRows_ShouldNotInitializeTheirAppliancesOrManufacturers() {
+        Long orderId = seedOrders().get(0).getId();
+        SqlRecorder.STATEMENTS.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Orders order = ordersRepository.findById(orderId).orElseThrow();
+            // loading the rows hashes each one into the set; that must not touch the lazy appliance
+            assertThat(order.getOrderRowSet()).hasSize(3)
+                    .allSatisfy(row -> assertThat(Hibernate.isInitialized(row.getAppliance())).isFalse());
+        });
+
+        // the order, then its rows
+        assertThat(SqlRecorder.STATEMENTS).hasSize(2)
+                .noneMatch(sql -> sql.contains(" from appliance") || sql.contains(" from manufacturer"));
+    }
+
+    @Test
+    void getOrderById_AsClientWithBearerToken_ShouldCheckOwnershipInTheQuery() throws Exception {
+        List<Orders> orders = seedOrders();
+        String bearer = bearer(new UserPrincipal(testClient.getId(), CLIENT_EMAIL, null, "CLIENT"));
+        mockMvc.perform(get("/api/orders/{id}", orders.get(0).getId()).header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        // the order is fetched with its client id in the WHERE clause; no user is loaded
+        assertThat(statements(get("/api/orders/{id}", orders.get(0).getId()).header("Authorization", bearer),
+                jsonPath("$.orderRows", hasSize(3)))).isEqualTo(1);
+        assertThat(SqlRecorder.STATEMENTS.get(0)).contains("client_id=?");
+        assertThat(SqlRecorder.STATEMENTS).noneMatch(sql -> sql.contains("email=?"));
+    }
+
+    @Test
+    void getOrderById_AsAnotherClient_ShouldReturn403AndForMissingOrder404() throws Exception {
+        List<Orders> orders = seedOrders();
+        Client other = clientRepository.save(new Client(null, "Other", "Client", OTHER_CLIENT_EMAIL,
+                PASSWORD_HASH, "+1234567891", "2 Order Street", null));
+        String bearer = bearer(new UserPrincipal(other.getId(), OTHER_CLIENT_EMAIL, null, "CLIENT"));
+
+        mockMvc.perform(get("/api/orders/{id}", orders.get(0).getId()).header("Authorization", bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/orders/{id}", 999_999L).header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/orders/{id}", orders.get(0).getId()).header("Authorization", bearer))
+                .andExpect(status().isForbidden());
+        assertThat(ordersRepository.existsById(orders.get(0).getId())).isTrue();
+    }
+
+    @Test
+    void deleteOrder_AsOwningClientWithBearerToken_ShouldOnlyDeleteOwnPendingOrders() throws Exception {
+        List<Orders> orders = seedOrders();
+        String bearer = bearer(new UserPrincipal(testClient.getId(), CLIENT_EMAIL, null, "CLIENT"));
+        mockMvc.perform(get("/api/orders/{id}", orders.get(2).getId()).header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/orders/{id}", orders.get(0).getId()).header("Authorization", bearer))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/orders/{id}", orders.get(1).getId()).header("Authorization", bearer))
+                .andExpect(status().isForbidden());
+        assertThat(ordersRepository.existsById(orders.get(0).getId())).isFalse();
+        assertThat(ordersRepository.existsById(orders.get(1).getId())).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE_EMAIL, roles = "EMPLOYEE")
+    void approveOrder_ShouldStayWithinStatementBudget() throws Exception {
+        List<Orders> orders = seedOrders();
+
+        // current user, order with rows, update; the employee is already loaded
+        assertThat(statements(post("/api/orders/{id}/approve", orders.get(0).getId()),
+                jsonPath("$.approved", is(true)))).isEqualTo(3);
+        assertThat(ordersRepository.findById(orders.get(0).getId()).orElseThrow().getApproved()).isTrue();
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE_EMAIL, roles = "EMPLOYEE")
+    void approveOrders_ShouldApprovePendingOrdersWithOneUpdate() throws Exception {
+        List<Orders> orders = seedOrders();
+        List<Long> ids = List.of(orders.get(0).getId(), orders.get(1).getId(), orders.get(2).getId(), 999_999L);
+
+        // current user, pending ids locked, their sales summed for the rollups, one conditional update
+        assertThat(statements(post("/api/orders/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderApprovalRequestDTO(ids))),
+                jsonPath("$.approved", contains(orders.get(0).getId().intValue(), orders.get(2).getId().intValue()))))
+                .isEqualTo(4);
+        assertThat(SqlRecorder.STATEMENTS).filteredOn(sql -> sql.contains("update orders")).hasSize(1);
+        assertThat(SqlRecorder.STATEMENTS).anyMatch(sql -> sql.contains("for update"));
+
+        mockMvc.perform(post("/api/orders/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderApprovalRequestDTO(ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.approved", hasSize(0)))
+                .andExpect(jsonPath("$.skipped", hasSize(4)));
+        assertThat(ordersRepository.findAll())
+                .allSatisfy(order -> assertThat(order.getApproved()).isTrue())
+                .extracting(order -> order.getEmployee().getId())
+                .containsOnly(testEmployee.getId());
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE_EMAIL, roles = "EMPLOYEE")
+    void approveOrders_WithoutIds_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/orders/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderApprovalRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void approveOrders_WithClientRole_ShouldReturn403() throws Exception {
+        List<Orders> orders = seedOrders();
+
+        mockMvc.perform(post("/api/orders/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new OrderApprovalRequestDTO(List.of(orders.get(0).getId())))))
+                .andExpect(status().isForbidden());
+        assertThat(ordersRepository.findById(orders.get(0).getId()).orElseThrow().getApproved()).isFalse();
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrder_ShouldStayWithinStatementBudget() throws Exception {
+        List<Orders> orders = seedOrders();
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 5L, null),
+                new OrderRowRequestDTO(appliances.get(20).getId(), 1L, null)));
+
+        // client, all appliances with their manufacturers, order, one insert, one update and
+        // one delete batch for the rows, and the order totals
+        assertThat(statements(put("/api/orders/{id}", orders.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)),
+                jsonPath("$.orderRows", hasSize(2)))).isEqualTo(7);
+        assertThat(SqlRecorder.STATEMENTS).filteredOn(sql -> sql.contains(" from appliance")).hasSize(1);
+
+        Orders updated = ordersRepository.findById(orders.get(0).getId()).orElseThrow();
+        assertThat(updated.getTotalAmount()).isEqualByComparingTo("80.00");
+        assertThat(updated.getItemCount()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrder_WithUnknownAppliances_ShouldReturn404ListingAllOfThem() throws Exception {
+        Orders order = seedOrders().get(0);
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null),
+                new OrderRowRequestDTO(999_998L, 1L, null),
+                new OrderRowRequestDTO(999_999L, 1L, null)));
+
+        mockMvc.perform(put("/api/orders/{id}", order.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Appliances not found with ids: [999998, 999999]")));
+
+        assertThat(rowIds(order.getId())).hasSize(3);
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrder_ChangingOneQuantity_ShouldUpdateOnlyThatRow() throws Exception {
+        Orders order = seedOrders().get(0);
+        List<Long> rowIds = rowIds(order.getId());
+        OrderRequestDTO dto = new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(appliances.get(0).getId(), 1L, null),
+                new OrderRowRequestDTO(appliances.get(1).getId(), 4L, null),
+                new OrderRowRequestDTO(appliances.get(2).getId(), 1L, null)));
+
+        assertThat(statements(put("/api/orders/{id}", order.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)),
+                jsonPath("$.orderRows", hasSize(3)))).isEqualTo(5);
+        assertThat(SqlRecorder.STATEMENTS).filteredOn(sql -> sql.contains("update order_row")).hasSize(1);
+        assertThat(rowIds(order.getId())).isEqualTo(rowIds);
+        assertThat(orderRowRepository.findAll())
+                .filteredOn(row -> row.getQuantity() == 4L)
+                .extracting(row -> row.getAmount().toPlainString())
+                .containsExactly("44.00");
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrderRow_ShouldUpdateSingleRowAndRecomputeAmount() throws Exception {
+        Orders order = seedOrders().get(0);
+        Long rowId = rowIds(order.getId()).get(0);
+
+        // order, the row update and the order totals; employees need no ownership check
+        assertThat(statements(patch("/api/orders/{id}/rows/{rowId}", order.getId(), rowId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRowPatchDTO(3L, null))),
+                jsonPath("$.orderRows", hasSize(3)))).isEqualTo(3);
+
+        OrderRow row = orderRowRepository.findById(rowId).orElseThrow();
+        assertThat(row.getQuantity()).isEqualTo(3L);
+        BigDecimal price = appliances.stream()
+                .filter(appliance -> appliance.getId().equals(row.getAppliance().getId()))
+                .findFirst().orElseThrow().getPrice();
+        assertThat(row.getAmount()).isEqualByComparingTo(price.multiply(BigDecimal.valueOf(3)));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrderRow_WithRowOfAnotherOrder_ShouldReturn404() throws Exception {
+        List<Orders> orders = seedOrders();
+        Long foreignRowId = rowIds(orders.get(2).getId()).get(0);
+
+        mockMvc.perform(patch("/api/orders/{id}/rows/{rowId}", orders.get(0).getId(), foreignRowId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRowPatchDTO(3L, null))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = CLIENT_EMAIL, roles = "CLIENT")
+    void updateOrderRow_OnApprovedOrderAsClient_ShouldReturn403() throws Exception {
+        Orders approved = seedOrders().get(1);
+
+        mockMvc.perform(patch("/api/orders/{id}/rows/{rowId}", approved.getId(), rowIds(approved.getId()).get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRowPatchDTO(3L, null))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateOrderRow_WithInvalidQuantity_ShouldReturn400() throws Exception {
+        Orders order = seedOrders().get(0);
+
+        mockMvc.perform(patch("/api/orders/{id}/rows/{rowId}", order.getId(), rowIds(order.getId()).get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRowPatchDTO(0L, null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void deleteOrderRow_ShouldDeleteOnlyThatRow() throws Exception {
+        Orders order = seedOrders().get(0);
+        List<Long> rowIds = rowIds(order.getId());
+
+        assertThat(statements(delete("/api/orders/{id}/rows/{rowId}", order.getId(), rowIds.get(0)),
+                jsonPath("$.orderRows", hasSize(2)))).isEqualTo(3);
+        assertThat(ordersRepository.findById(order.getId()).orElseThrow().getItemCount()).isEqualTo(2);
+        assertThat(rowIds(order.getId())).isEqualTo(rowIds.subList(1, 3));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void deleteOrderRow_WhenLastRow_ShouldReturn400() throws Exception {
+        Orders order = seedOrders().get(0);
+        List<Long> rowIds = rowIds(order.getId());
+        mockMvc.perform(delete("/api/orders/{id}/rows/{rowId}", order.getId(), rowIds.get(0)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/{id}/rows/{rowId}", order.getId(), rowIds.get(1)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/orders/{id}/rows/{rowId}", order.getId(), rowIds.get(2)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void deleteOrder_ShouldStayWithinStatementBudget() throws Exception {
+        List<Orders> orders = seedOrders();
+
+        assertThat(statements(delete("/api/orders/{id}", orders.get(0).getId()), status().isNoContent()))
+                .isEqualTo(3);
+        assertThat(ordersRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_ShouldReserveTrackedStockAndDeleteShouldReleaseIt() throws Exception {
+        Long applianceId = appliances.get(0).getId();
+        mockMvc.perform(put("/api/appliances/{id}/stock", applianceId)
+                        .with(user(EMPLOYEE_EMAIL).roles("EMPLOYEE"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockUpdateDTO(3L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock", is(3)));
+        String body = objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                new OrderRowRequestDTO(applianceId, 2L, null),
+                new OrderRowRequestDTO(appliances.get(1).getId(), 50L, null))));
+
+        String created = mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString(String.valueOf(applianceId))));
+        mockMvc.perform(get("/api/appliances/{id}/stock", applianceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock", is(1)));
+        mockMvc.perform(get("/api/appliances/{id}/stock", appliances.get(1).getId()))
+                .andExpect(jsonPath("$.stock", nullValue()));
+
+        stockLedger.flush();
+        assertThat(storedStock(applianceId)).isEqualTo(1);
+
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(delete("/api/orders/{id}", orderId).with(user(EMPLOYEE_EMAIL).roles("EMPLOYEE")))
+                .andExpect(status().isNoContent());
+        stockLedger.flush();
+        assertThat(stockLedger.available(applianceId)).isEqualTo(3);
+        assertThat(storedStock(applianceId)).isEqualTo(3);
+        assertThat(ordersRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void createOrder_WhenTheNodeStopsBeforeTheFlush_ShouldStillCountTheOrderAfterRestart() throws Exception {
+        Long applianceId = appliances.get(0).getId();
+        stockLedger.set(applianceId, 3L);
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(testClient.getId(), List.of(
+                                new OrderRowRequestDTO(applianceId, 2L, null))))))
+                .andExpect(status().isCreated());
+
+        // A fresh ledger over the same tables, as after a crash that lost the in-memory counters
+        StockLedger restarted = new StockLedger(stockStore, Duration.ofHours(1));
+        restarted.reconcile();
+        assertThat(restarted.available(applianceId)).isEqualTo(1);
+
+        restarted.flush();
+        assertThat(storedStock(applianceId)).isEqualTo(1);
+    }
+
+    @Test
+    void getStock_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/appliances/{id}/stock", appliances.get(0).getId()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void setStock_WithClientRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(put("/api/appliances/{id}/stock", appliances.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockUpdateDTO(3L))))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(UserPrincipal principal) {
+        return "Bearer " + tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Integer storedStock(Long applianceId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM appliance WHERE id = ?", Integer.class, applianceId);
+    }
+
+    /** Three orders of three rows each; only the second one is approved. */
+    private List<Orders> seedOrders() {
+        List<Orders> orders = new ArrayList<>();
+        for (int o = 0; o < 3; o++) {
+            Orders order = new Orders();
+            order.setClient(testClient);
+            order.setApproved(o == 1);
+            order.setEmployee(o == 1 ? testEmployee : null);
+            for (int r = 0; r < 3; r++) {
+                OrderRow row = new OrderRow();
+                row.setAppliance(appliances.get(o * 3 + r));
+                row.setQuantity(1L);
+                row.setAmount(appliances.get(o * 3 + r).getPrice());
+                order.addOrderRow(row);
+            }
+            orders.add(ordersRepository.save(order));
+        }
+        return orders;
+    }
+
+    private List<Long> rowIds(Long orderId) {
+        return orderRowRepository.findAll().stream()
+                .filter(row -> row.getOrder().getId().equals(orderId))
+                .map(OrderRow::getId)
+                .sorted()
+                .toList();
+    }
+
+    /** Runs the request and returns the SQL statements it issued, leaving out pooled id allocation. */
+    private int statements(RequestBuilder request, ResultMatcher expectation) throws Exception {
+        SqlRecorder.STATEMENTS.clear();
+        mockMvc.perform(request).andExpect(expectation);
+        // Id block allocation happens once per 50 rows, not per request, so it is left out
+        return (int) SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> !sql.toLowerCase().contains("id_sequence"))
+                .count();
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
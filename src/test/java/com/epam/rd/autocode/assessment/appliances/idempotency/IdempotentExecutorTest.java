@@ -0,0 +1,245 @@
+package com.epam.rd.autocode.assessment.appliances.idempotency;
+
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentExecutorTest {
+
+    @Mock
+    private IdempotencyStore store;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger runs = new AtomicInteger();
+    private IdempotentExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        executor = new IdempotentExecutor(store, objectMapper, transactionManager,
+                Duration.ofHours(1), 100, Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofMinutes(2));
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldJustRun() {
+        ResponseEntity<Created> response = executor.execute("orders:a", null, "request", Created.class, this::create);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(runs).hasValue(1);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void execute_WithSameKeyTwice_ShouldRunOnceAndReplayFromMemory() {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(true);
+        completesStored();
+
+        ResponseEntity<Created> first = executor.execute("orders:a", "k1", "request", Created.class, this::create);
+        ResponseEntity<Created> second = executor.execute("orders:a", "k1", "request", Created.class, this::create);
+
+        assertThat(runs).hasValue(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotentExecutor.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().containsKey(IdempotentExecutor.REPLAYED_HEADER)).isFalse();
+        verify(store).complete(eq("orders:a:k1"), anyString(), eq(201), eq("{\"run\":1}"));
+        // looked up once before the claim; the replay is served from memory
+        verify(store, times(1)).find("orders:a:k1");
+    }
+
+    @Test
+    void execute_WhenCompletedElsewhere_ShouldReplayWithoutClaiming() throws Exception {
+        when(store.find("orders:a:k2")).thenReturn(Optional.of(
+                new IdempotencyRecord(hash("request"), 201, "{\"run\":7}", Instant.now().plusSeconds(60),
+                        Instant.now())));
+
+        ResponseEntity<Created> response = executor.execute("orders:a", "k2", "request", Created.class, this::create);
+
+        assertThat(response.getBody()).isEqualTo(new Created(7));
+        assertThat(runs).hasValue(0);
+        verify(store, never()).claim(eq("orders:a:k2"), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void execute_WithSameKeyAndDifferentRequest_ShouldReturn422() {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(true);
+        completesStored();
+        executor.execute("orders:a", "k1", "request", Created.class, this::create);
+
+        assertThatThrownBy(() -> executor.execute("orders:a", "k1", "other request", Created.class, this::create))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_WhenActionFails_ShouldReleaseKeySoRetryRuns() {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(true);
+        completesStored();
+
+        assertThatThrownBy(() -> executor.execute("orders:a", "k1", "request", Created.class, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(store).release(eq("orders:a:k1"), anyString());
+        verify(store, never()).complete(anyString(), anyString(), anyInt(), any());
+
+        executor.execute("orders:a", "k1", "request", Created.class, this::create);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_WhenClaimOutlivedItsLease_ShouldTakeItOverAndRun() throws Exception {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(false);
+        // claimed ten minutes ago by a request that never completed or released the key
+        IdempotencyRecord orphaned = new IdempotencyRecord(
+                hash("request"), null, null, Instant.now().plusSeconds(3600), Instant.now().minusSeconds(600));
+        when(store.find("orders:a:k1")).thenReturn(Optional.empty()).thenReturn(Optional.of(orphaned));
+        when(store.takeOver(eq("orders:a:k1"), eq(hash("request")), anyString(), any(), any(), any())).thenReturn(true);
+        completesStored();
+
+        ResponseEntity<Created> response = executor.execute("orders:a", "k1", "request", Created.class, this::create);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_WhenLapsedClaimWasForADifferentRequest_ShouldReturn422WithoutTakingItOver() {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(false);
+        IdempotencyRecord orphaned = new IdempotencyRecord(
+                "another request", null, null, Instant.now().plusSeconds(3600), Instant.now().minusSeconds(600));
+        when(store.find("orders:a:k1")).thenReturn(Optional.empty()).thenReturn(Optional.of(orphaned));
+
+        assertThatThrownBy(() -> executor.execute("orders:a", "k1", "request", Created.class, this::create))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        verify(store, never()).takeOver(anyString(), anyString(), anyString(), any(), any(), any());
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void execute_WhenClaimIsWithinItsLease_ShouldWaitInsteadOfTakingItOver() throws Exception {
+        executor = new IdempotentExecutor(store, objectMapper, transactionManager,
+                Duration.ofHours(1), 100, Duration.ofMillis(200), Duration.ofMinutes(10), Duration.ofMinutes(2));
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(false);
+        IdempotencyRecord running = new IdempotencyRecord(
+                hash("request"), null, null, Instant.now().plusSeconds(3600), Instant.now());
+        when(store.find("orders:a:k1")).thenReturn(Optional.empty()).thenReturn(Optional.of(running));
+
+        assertThatThrownBy(() -> executor.execute("orders:a", "k1", "request", Created.class, this::create))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.CONFLICT));
+        verify(store, never()).takeOver(anyString(), anyString(), anyString(), any(), any(), any());
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void execute_WhenClaimWasTakenOverMidway_ShouldRollBackInsteadOfStoringTheResponse() {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(true);
+        when(store.complete(eq("orders:a:k1"), anyString(), anyInt(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> executor.execute("orders:a", "k1", "request", Created.class, this::create))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.CONFLICT));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void execute_WithOverlongKey_ShouldReturn400() {
+        assertThatThrownBy(() -> executor.execute("orders:a", "k".repeat(256), "request", Created.class, this::create))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void execute_WithConcurrentDuplicate_ShouldWaitForTheFirstRequest() throws Exception {
+        when(store.claim(eq("orders:a:k1"), anyString(), anyString(), any(), any())).thenReturn(true);
+        completesStored();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<Created>> first = pool.submit(() ->
+                    executor.execute("orders:a", "k1", "request", Created.class, () -> {
+                        started.countDown();
+                        await(release);
+                        return create();
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<Created>> duplicate = pool.submit(() ->
+                    executor.execute("orders:a", "k1", "request", Created.class, this::create));
+
+            Thread.sleep(100);
+            assertThat(duplicate.isDone()).isFalse();
+            release.countDown();
+
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(first.get(5, TimeUnit.SECONDS).getBody());
+            assertThat(runs).hasValue(1);
+            verify(store, times(1)).claim(eq("orders:a:k1"), anyString(), anyString(), any(), any());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<Created> create() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(new Created(runs.incrementAndGet()));
+    }
+
+    private void completesStored() {
+        when(store.complete(eq("orders:a:k1"), anyString(), anyInt(), any())).thenReturn(true);
+    }
+
+    private String hash(Object request) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+
+    record Created(int run) {
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.epam.rd.autocode.assessment.appliances.intake;
+
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.service.OrderPlacementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeTest {
+
+    @Mock
+    private OrderPlacementService orderPlacementService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectWithoutKeepingTheTicket() {
+        OrderIntake intake = intake(true, 2);
+        OrderTicket first = intake.submit("john@example.com", request(1L));
+        intake.submit("john@example.com", request(2L));
+
+        assertThatThrownBy(() -> intake.submit("john@example.com", request(3L)))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isPositive());
+        assertThat(first.getStatus()).isEqualTo(OrderTicket.Status.QUEUED);
+        assertThat(intake.find(first.getId())).containsSame(first);
+    }
+
+    @Test
+    void submit_WhenDisabled_ShouldReturn503() {
+        OrderIntake intake = intake(false, 10);
+
+        assertThatThrownBy(() -> intake.submit("john@example.com", request(1L)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void processBatch_ShouldPlaceAllOrdersInOneCall() {
+        when(orderPlacementService.placeOrders(anyList())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).stream().map(request -> order()).toList());
+        OrderIntake intake = intake(true, 10);
+        List<OrderTicket> batch = List.of(
+                intake.submit("a", request(1L)), intake.submit("b", request(2L)), intake.submit("c", request(3L)));
+
+        intake.processBatch(batch);
+
+        assertThat(batch).extracting(OrderTicket::getStatus).containsOnly(OrderTicket.Status.COMPLETED);
+        assertThat(batch).extracting(OrderTicket::getOrderId).containsExactly(1L, 2L, 3L);
+        assertThat(batch).extracting(OrderTicket::getRequest).containsOnlyNulls();
+        verify(orderPlacementService, times(1)).placeOrders(anyList());
+        verify(orderPlacementService, never()).placeOrder(any());
+    }
+
+    @Test
+    void processBatch_WhenBatchFails_ShouldOnlyFailTheBadOrder() {
+        when(orderPlacementService.placeOrders(anyList()))
+                .thenThrow(new ResourceNotFoundException("Appliance", "id", 99L));
+        when(orderPlacementService.placeOrder(any())).thenAnswer(invocation -> {
+            OrderRequestDTO request = invocation.getArgument(0);
+            if (request.getOrderRows().get(0).getApplianceId() == 99L) {
+                throw new ResourceNotFoundException("Appliance", "id", 99L);
+            }
+            return order();
+        });
+        OrderIntake intake = intake(true, 10);
+        OrderTicket good = intake.submit("a", request(1L));
+        OrderTicket bad = intake.submit("a", request(99L));
+
+        intake.processBatch(List.of(good, bad));
+
+        assertThat(good.getStatus()).isEqualTo(OrderTicket.Status.COMPLETED);
+        assertThat(good.getOrderId()).isEqualTo(1L);
+        assertThat(bad.getStatus()).isEqualTo(OrderTicket.Status.FAILED);
+        assertThat(bad.getError()).isEqualTo("Appliance not found with id: '99'");
+        assertThat(bad.isFinished()).isTrue();
+    }
+
+    @Test
+    void purgeFinished_ShouldDropFinishedTicketsPastTheRetention() {
+        when(orderPlacementService.placeOrders(anyList())).thenAnswer(invocation -> List.of(order()));
+        OrderIntake intake = intake(true, 10);
+        OrderTicket done = intake.submit("a", request(1L));
+        OrderTicket queued = intake.submit("a", request(2L));
+        intake.processBatch(List.of(done));
+
+        intake.purgeFinished(Instant.now().plus(Duration.ofMinutes(30)));
+        assertThat(intake.find(done.getId())).containsSame(done);
+
+        intake.purgeFinished(Instant.now().plus(Duration.ofHours(2)));
+        assertThat(intake.find(done.getId())).isEmpty();
+        assertThat(intake.find(queued.getId())).containsSame(queued);
+    }
+
+    @Test
+    void purgeFinished_OverTheTicketCap_ShouldDropTheOldestFinishedTicketsFirst() {
+        when(orderPlacementService.placeOrders(anyList())).thenAnswer(invocation -> List.of(order()));
+        OrderIntake intake = intake(true, 10, 2);
+        OrderTicket oldest = intake.submit("a", request(1L));
+        OrderTicket newer = intake.submit("a", request(2L));
+        OrderTicket queued = intake.submit("a", request(3L));
+        intake.processBatch(List.of(oldest));
+        intake.processBatch(List.of(newer));
+
+        intake.purgeFinished(Instant.now());
+
+        assertThat(intake.find(oldest.getId())).isEmpty();
+        assertThat(intake.find(newer.getId())).containsSame(newer);
+        assertThat(intake.find(queued.getId())).containsSame(queued);
+    }
+
+    @Test
+    void start_ShouldDrainQueuedOrdersInTheBackground() throws Exception {
+        when(orderPlacementService.placeOrders(anyList())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).stream().map(request -> order()).toList());
+        OrderIntake intake = intake(true, 10);
+        OrderTicket ticket = intake.submit("a", request(1L));
+
+        intake.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!ticket.isFinished() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            intake.stop();
+        }
+
+        assertThat(ticket.getStatus()).isEqualTo(OrderTicket.Status.COMPLETED);
+    }
+
+    private OrderIntake intake(boolean enabled, int queueCapacity) {
+        return intake(enabled, queueCapacity, 100);
+    }
+
+    private OrderIntake intake(boolean enabled, int queueCapacity, int maxTickets) {
+        return new OrderIntake(orderPlacementService, enabled, queueCapacity, 1, 50, Duration.ofHours(1), maxTickets);
+    }
+
+    private Orders order() {
+        Orders order = new Orders();
+        order.setId(ids.incrementAndGet());
+        return order;
+    }
+
+    private static OrderRequestDTO request(Long applianceId) {
+        return new OrderRequestDTO(1L, List.of(new OrderRowRequestDTO(applianceId, 1L, null)));
+    }
+}
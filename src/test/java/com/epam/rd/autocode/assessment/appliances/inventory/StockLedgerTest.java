@@ -0,0 +1,229 @@
+package com.epam.rd.autocode.assessment.appliances.inventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private StockStore store;
+
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        when(store.findTracked()).thenReturn(Map.of(1L, new StockLevel(0, 5), 2L, new StockLevel(0, 1)));
+        ledger = new StockLedger(store, Duration.ofSeconds(1));
+        ledger.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adjust_ShouldReserveTrackedStockAndIgnoreUntrackedAppliances() {
+        ledger.adjust(Map.of(1L, 3L, 99L, 1000L));
+
+        assertThat(ledger.available(1L)).isEqualTo(2L);
+        assertThat(ledger.available(99L)).isNull();
+        verify(store).appendDeltas(List.of(new StockDelta(1L, 0L, -3L)));
+    }
+
+    @Test
+    void adjust_WhenOneApplianceIsShort_ShouldReserveNothing() {
+        assertThatThrownBy(() -> ledger.adjust(Map.of(1L, 3L, 2L, 2L)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.CONFLICT));
+
+        assertThat(ledger.available(1L)).isEqualTo(5L);
+        assertThat(ledger.available(2L)).isEqualTo(1L);
+        verify(store, never()).appendDeltas(any());
+    }
+
+    @Test
+    void adjust_WhenJournalWriteFails_ShouldGiveReservationsBack() {
+        doThrow(new IllegalStateException("down")).when(store).appendDeltas(any());
+
+        assertThatThrownBy(() -> ledger.adjust(Map.of(1L, 3L))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(ledger.available(1L)).isEqualTo(5L);
+    }
+
+    @Test
+    void adjust_WhenTransactionRollsBack_ShouldGiveReservationsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.adjust(Map.of(1L, 4L));
+        assertThat(ledger.available(1L)).isEqualTo(1L);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.available(1L)).isEqualTo(5L);
+    }
+
+    @Test
+    void adjust_ShouldReleaseStockOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.adjust(Map.of(1L, -2L));
+        assertThat(ledger.available(1L)).isEqualTo(5L);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(ledger.available(1L)).isEqualTo(7L);
+    }
+
+    @Test
+    void flush_ShouldFoldTheJournalInBatchesUntilItIsDrained() {
+        when(store.foldDeltas(StockLedger.FOLD_BATCH_SIZE)).thenReturn(StockLedger.FOLD_BATCH_SIZE).thenReturn(3);
+
+        ledger.flush();
+
+        verify(store, times(2)).foldDeltas(StockLedger.FOLD_BATCH_SIZE);
+    }
+
+    @Test
+    void flush_WhenFoldFails_ShouldLeaveTheJournalForTheNextRun() {
+        when(store.foldDeltas(anyInt())).thenThrow(new IllegalStateException("down")).thenReturn(0);
+
+        ledger.flush();
+        ledger.flush();
+
+        verify(store, times(2)).foldDeltas(anyInt());
+    }
+
+    @Test
+    void set_ShouldReplaceCountAndStopTracking() {
+        ledger.adjust(Map.of(1L, 2L));
+
+        ledger.set(1L, 10L);
+        ledger.set(2L, null);
+        ledger.adjust(Map.of(2L, 5L));
+
+        assertThat(ledger.available(1L)).isEqualTo(10L);
+        assertThat(ledger.available(2L)).isNull();
+        verify(store).set(1L, 10L);
+        verify(store).set(2L, null);
+    }
+
+    @Test
+    void set_WhenAnOrderFromBeforeItCommitsLater_ShouldNotCountItAgainstTheNewLevel() {
+        when(store.set(1L, 10L)).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.adjust(Map.of(1L, 2L));
+        ledger.adjust(Map.of(1L, -1L));
+        List<TransactionSynchronization> inFlight = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        ledger.set(1L, 10L);
+        inFlight.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(ledger.available(1L)).isEqualTo(10L);
+        verify(store).appendDeltas(List.of(new StockDelta(1L, 0L, -2L)));
+        verify(store).appendDeltas(List.of(new StockDelta(1L, 0L, 1L)));
+    }
+
+    @Test
+    void set_WhenAnOlderStockTakeCompletesLast_ShouldKeepTheNewerCount() {
+        when(store.set(1L, 10L)).thenReturn(1L);
+        when(store.set(1L, 20L)).thenReturn(2L);
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.set(1L, 10L);
+        List<TransactionSynchronization> older = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        ledger.set(1L, 20L);
+        older.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(ledger.available(1L)).isEqualTo(20L);
+    }
+
+    @Test
+    void lifecycle_ShouldReconcileBeforeTheWebServerStartsAndFlushAfterItStops() {
+        when(store.findTracked()).thenReturn(Map.of(1L, new StockLevel(0, 9)));
+        // The web server's start/stop lifecycle runs one step below graceful shutdown
+        assertThat(ledger.getPhase())
+                .isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+
+        ledger.start();
+
+        assertThat(ledger.isRunning()).isTrue();
+        assertThat(ledger.available(1L)).isEqualTo(9L);
+
+        ledger.stop();
+
+        assertThat(ledger.isRunning()).isFalse();
+        verify(store).foldDeltas(StockLedger.FOLD_BATCH_SIZE);
+    }
+
+    @Test
+    void adjust_UnderContention_ShouldNeverOversell() throws Exception {
+        ledger.set(1L, 500L);
+        int attempts = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        ledger.adjust(Map.of(1L, 1L));
+                        return true;
+                    } catch (ResponseStatusException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            long reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    reserved++;
+                }
+            }
+
+            assertThat(reserved).isEqualTo(500);
+            assertThat(ledger.available(1L)).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -65,7 +65,9 @@ class OrdersTest {
             "client",
             "employee",
             "orderRowSet",
-            "approved"
+            "approved",
+            "totalAmount",
+            "itemCount"
     })
     void checkFieldsNames(String name){
         final long count = allFields.stream()
@@ -88,7 +88,7 @@ public class TestConstants {
 
     static class Orders {
         public static final String CLASS_NAME = "Orders";
-        public static final int CLASS_COUNT_FIELDS = 5;
+        public static final int CLASS_COUNT_FIELDS = 7;
         public static final int CLASS_COUNT_CONSTRUCTORS = 1;
         public static final int PARAMETERS_IN_CONSTRUCTOR_WITH_PARAMETERS = 4;
     }
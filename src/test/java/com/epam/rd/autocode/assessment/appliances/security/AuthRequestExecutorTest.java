@@ -0,0 +1,123 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRequestExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private AuthRequestExecutor executor;
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.close();
+        }
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void supplyAsync_ShouldReturnAtOnceAndHashOnTheHashingPool() throws Exception {
+        executor = new AuthRequestExecutor(1, 1, Duration.ofSeconds(5));
+        AtomicReference<String> hashingThread = new AtomicReference<>();
+        encoder = new OffloadingPasswordEncoder(new ThreadRecordingEncoder(hashingThread), 1, 1, Duration.ofSeconds(5));
+        AtomicReference<String> workerThread = new AtomicReference<>();
+
+        CompletableFuture<Boolean> login = executor.supplyAsync(() -> {
+            workerThread.set(Thread.currentThread().getName());
+            block();
+            return encoder.matches("secret", "hashed:secret");
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(login).isNotDone();
+
+        release.countDown();
+        assertThat(login.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(workerThread.get()).startsWith("auth-worker-");
+        assertThat(hashingThread.get()).startsWith("password-hash-");
+    }
+
+    @Test
+    void supplyAsync_WhenWorkersAndQueueAreBusy_ShouldFailWith429() throws Exception {
+        executor = new AuthRequestExecutor(1, 1, Duration.ofSeconds(5));
+        executor.supplyAsync(this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.supplyAsync(() -> "queued");
+
+        assertThat(executor.supplyAsync(() -> "rejected"))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void supplyAsync_WhenWorkWaitsLongerThanTimeout_ShouldFailWith429AndNeverRun() throws Exception {
+        executor = new AuthRequestExecutor(1, 1, Duration.ofMillis(100));
+        executor.supplyAsync(this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThat(executor.supplyAsync(() -> ran.getAndSet(true)))
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        executor.supplyAsync(() -> "after").get(5, TimeUnit.SECONDS);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void supplyAsync_WhenStartedWorkRunsPastTimeout_ShouldCompleteWithItsResult() throws Exception {
+        executor = new AuthRequestExecutor(1, 1, Duration.ofMillis(100));
+
+        CompletableFuture<String> registration = executor.supplyAsync(this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(300);
+        assertThat(registration).isNotDone();
+
+        release.countDown();
+        assertThat(registration.get(5, TimeUnit.SECONDS)).isEqualTo("released");
+    }
+
+    private String block() {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+
+    private record ThreadRecordingEncoder(AtomicReference<String> hashingThread) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} with the user lookup stubbed out, so only
+ * token handling is measured: the former validate-then-extract pair (two freshly built parsers,
+ * two signature checks), a single verification, and a single verification answered from the
+ * verified-token cache. Run through {@link JwtAuthenticationFilterBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final UserPrincipal USER = new UserPrincipal(1L, "bench@example.com", null, "CLIENT");
+
+    private SecretKey key;
+    private String jwt;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider uncached = JwtTokenProviderTest.provider(JwtTokenProviderTest.SECRET, 3_600_000, 0);
+        JwtTokenProvider cached = JwtTokenProviderTest.provider(JwtTokenProviderTest.SECRET, 3_600_000, 10_000);
+        key = Keys.hmacShaKeyFor(JwtTokenProviderTest.SECRET.getBytes(StandardCharsets.UTF_8));
+        jwt = cached.generateToken(new UsernamePasswordAuthenticationToken(USER, null, USER.getAuthorities()));
+        uncachedFilter = filter(uncached);
+        cachedFilter = filter(cached);
+    }
+
+    /**
+     * What the filter did before: validateToken, then getUsernameFromToken.
+     */
+    @Benchmark
+    public Authentication validateThenExtract() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt);
+        String username = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody().getSubject();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, USER.getAuthorities()));
+        return authenticated();
+    }
+
+    @Benchmark
+    public Authentication singleVerify() throws Exception {
+        return filterRequest(uncachedFilter);
+    }
+
+    @Benchmark
+    public Authentication singleVerifyCached() throws Exception {
+        return filterRequest(cachedFilter);
+    }
+
+    private Authentication filterRequest(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return authenticated();
+    }
+
+    private static Authentication authenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        return authentication;
+    }
+
+    private static JwtAuthenticationFilter filter(JwtTokenProvider tokenProvider) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        UserDetailsService userDetailsService = username -> USER;
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalRevalidator",
+                new UserPrincipalRevalidator(userDetailsService, Duration.ofMinutes(5), 100));
+        return filter;
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link JwtAuthenticationFilterBenchmark} under JMH, which prints the mean time per request
+ * of each variant. Skipped by default; run with
+ * {@code mvn test -Dtest=JwtAuthenticationFilterBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationFilterBenchmarkTest {
+
+    @Test
+    void compareTokenHandlingPerRequest() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getName())
+                .build()).run();
+
+        Map<String, Double> nanosPerRequest = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceFirst(".*\\.", ""),
+                result -> result.getPrimaryResult().getScore()));
+        assertThat(nanosPerRequest.get("singleVerifyCached")).isLessThan(nanosPerRequest.get("validateThenExtract"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final UserPrincipal CLIENT = new UserPrincipal(7L, "john@example.com", "hash", "CLIENT");
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final JwtTokenProvider tokenProvider =
+            JwtTokenProviderTest.provider(JwtTokenProviderTest.SECRET, 60_000, 100);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithClaimsAndRevalidationOff_ShouldAuthenticateWithoutLookup() throws Exception {
+        Authentication authentication = filter(Duration.ZERO).apply(tokenFor(CLIENT));
+
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(UserPrincipal.class,
+                principal -> assertThat(principal.sameUserAs(CLIENT)).isTrue());
+        assertThat(authentication.getName()).isEqualTo("john@example.com");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_CLIENT");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_WithRevalidation_ShouldLookTheUserUpOncePerInterval() throws Exception {
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(CLIENT);
+        FilterUnderTest filter = filter(Duration.ofMinutes(5));
+        String jwt = tokenFor(CLIENT);
+
+        assertThat(filter.apply(jwt)).isNotNull();
+        assertThat(filter.apply(jwt)).isNotNull();
+
+        verify(userDetailsService, times(1)).loadUserByUsername("john@example.com");
+    }
+
+    @Test
+    void doFilter_WhenRoleChangedOrUserDeleted_ShouldNotAuthenticate() throws Exception {
+        when(userDetailsService.loadUserByUsername("john@example.com"))
+                .thenReturn(new UserPrincipal(7L, "john@example.com", "hash", "USER"));
+        when(userDetailsService.loadUserByUsername("gone@example.com"))
+                .thenThrow(new UsernameNotFoundException("gone"));
+        FilterUnderTest filter = filter(Duration.ofMinutes(5));
+
+        assertThat(filter.apply(tokenFor(CLIENT))).isNull();
+        assertThat(filter.apply(tokenFor(new UserPrincipal(8L, "gone@example.com", null, "CLIENT")))).isNull();
+    }
+
+    @Test
+    void doFilter_WithTokenOfDeletedUser_ShouldLookTheUserUpOncePerInterval() throws Exception {
+        when(userDetailsService.loadUserByUsername("gone@example.com"))
+                .thenThrow(new UsernameNotFoundException("gone"));
+        FilterUnderTest filter = filter(Duration.ofMinutes(5));
+        String jwt = tokenFor(new UserPrincipal(8L, "gone@example.com", null, "CLIENT"));
+
+        assertThat(filter.apply(jwt)).isNull();
+        assertThat(filter.apply(jwt)).isNull();
+
+        verify(userDetailsService, times(1)).loadUserByUsername("gone@example.com");
+    }
+
+    @Test
+    void doFilter_WithTokenWithoutClaims_ShouldLoadTheUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(CLIENT);
+
+        Authentication authentication = filter(Duration.ZERO)
+                .apply(tokenProvider.generateTokenFromUsername("john@example.com"));
+
+        assertThat(authentication.getPrincipal()).isSameAs(CLIENT);
+        verify(userDetailsService).loadUserByUsername(anyString());
+    }
+
+    private String tokenFor(UserPrincipal principal) {
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private FilterUnderTest filter(Duration revalidateInterval) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalRevalidator",
+                new UserPrincipalRevalidator(userDetailsService, revalidateInterval, 100));
+        return jwt -> {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+            request.addHeader("Authorization", "Bearer " + jwt);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        };
+    }
+
+    @FunctionalInterface
+    private interface FilterUnderTest {
+        Authentication apply(String jwt) throws Exception;
+    }
+}
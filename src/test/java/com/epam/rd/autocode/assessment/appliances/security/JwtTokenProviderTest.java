@@ -0,0 +1,93 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class JwtTokenProviderTest {
+
+    static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256AlgorithmSecureKey";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = provider(SECRET, 60_000, 100);
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnSubjectAndExpiry() {
+        VerifiedToken token = tokenProvider.verify(tokenProvider.generateTokenFromUsername("john@example.com"))
+                .orElseThrow();
+
+        assertThat(token.subject()).isEqualTo("john@example.com");
+        assertThat(token.hasUserClaims()).isFalse();
+        assertThat(token.expiresAt()).isCloseTo(Instant.now().plusSeconds(60), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void generateToken_ForUserPrincipal_ShouldEmbedIdAndRole() {
+        UserPrincipal principal = new UserPrincipal(42L, "jane@example.com", "hash", "EMPLOYEE");
+
+        VerifiedToken token = tokenProvider.verify(tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()))).orElseThrow();
+
+        assertThat(token.hasUserClaims()).isTrue();
+        assertThat(token.toPrincipal().sameUserAs(principal)).isTrue();
+        assertThat(token.toPrincipal().getPassword()).isNull();
+    }
+
+    @Test
+    void verify_SameTokenTwice_ShouldAnswerTheSecondFromTheCache() {
+        String jwt = tokenProvider.generateTokenFromUsername("john@example.com");
+
+        VerifiedToken first = tokenProvider.verify(jwt).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(jwt).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_WithCacheOff_ShouldVerifyEveryTime() {
+        JwtTokenProvider uncached = provider(SECRET, 60_000, 0);
+        String jwt = uncached.generateTokenFromUsername("john@example.com");
+
+        assertThat(uncached.verify(jwt).orElseThrow()).isNotSameAs(uncached.verify(jwt).orElseThrow());
+    }
+
+    @Test
+    void verify_WithTamperedOrForeignToken_ShouldReturnEmpty() {
+        String jwt = tokenProvider.generateTokenFromUsername("john@example.com");
+        tokenProvider.verify(jwt);
+        String tampered = jwt.substring(0, jwt.length() - 2) + (jwt.endsWith("AA") ? "BB" : "AA");
+        String foreign = provider(SECRET.replace('t', 'x'), 60_000, 100).generateTokenFromUsername("john@example.com");
+
+        assertThat(tokenProvider.verify(tampered)).isEmpty();
+        assertThat(tokenProvider.verify(foreign)).isEmpty();
+        assertThat(tokenProvider.verify("not-a-token")).isEmpty();
+        assertThat(tokenProvider.verify(" ")).isEmpty();
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldReturnEmpty() {
+        JwtTokenProvider expiring = provider(SECRET, -1_000, 100);
+
+        assertThat(expiring.verify(expiring.generateTokenFromUsername("john@example.com"))).isEmpty();
+    }
+
+    static JwtTokenProvider provider(String secret, long expiration, int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,112 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnTheHashingPool() {
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(false), 1, 1, Duration.ofSeconds(5));
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(hashingThread.get()).startsWith("password-hash-");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.matches("other", "hashed:secret")).isFalse();
+    }
+
+    @Test
+    void encode_WhenThreadsAndQueueAreBusy_ShouldReturn429() throws Exception {
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(true), 1, 1, Duration.ofSeconds(5));
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("queued"));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> encoder.encode("rejected"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds())
+                        .isEqualTo(OffloadingPasswordEncoder.RETRY_AFTER_SECONDS));
+        assertThat(encoder.encodeLater("rejected", hash -> { })).isFalse();
+    }
+
+    @Test
+    void matches_WhenHashWaitsLongerThanTimeout_ShouldReturn429() throws Exception {
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(true), 1, 1, Duration.ofMillis(100));
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("waiting", "hashed:waiting"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void encodeLater_ShouldHandTheHashToTheCallback() throws Exception {
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(false), 1, 1, Duration.ofSeconds(5));
+        AtomicReference<String> hash = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        assertThat(encoder.encodeLater("secret", value -> {
+            hash.set(value);
+            done.countDown();
+        })).isTrue();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hash.get()).isEqualTo("hashed:secret");
+    }
+
+    private final class RecordingEncoder implements PasswordEncoder {
+
+        private final boolean blockFirst;
+
+        private RecordingEncoder(boolean blockFirst) {
+            this.blockFirst = blockFirst;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            if (blockFirst && started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import com.epam.rd.autocode.assessment.appliances.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RehashingAuthenticationProviderTest {
+
+    private static final String EMAIL = "client@example.com";
+
+    @Mock
+    private UserService userService;
+
+    private OffloadingPasswordEncoder encoder;
+    private RehashingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = new OffloadingPasswordEncoder(delegating, 1, 10, Duration.ofSeconds(5));
+        provider = new RehashingAuthenticationProvider(encoder, userService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void authenticate_WithOutdatedHash_ShouldStoreANewHashInTheBackground() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+        when(userService.loadUserByUsername(EMAIL)).thenReturn(new UserPrincipal(7L, EMAIL, legacyHash, "CLIENT"));
+
+        Authentication result = provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "secret"));
+
+        assertThat(result.isAuthenticated()).isTrue();
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userService, timeout(5000)).replacePasswordHash(eq(7L), eq(legacyHash), newHash.capture());
+        assertThat(newHash.getValue()).startsWith("{bcrypt}");
+        assertThat(encoder.matches("secret", newHash.getValue())).isTrue();
+    }
+
+    @Test
+    void authenticate_WithCurrentHash_ShouldNotRehash() {
+        String currentHash = encoder.encode("secret");
+        when(userService.loadUserByUsername(EMAIL)).thenReturn(new UserPrincipal(7L, EMAIL, currentHash, "CLIENT"));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "secret"));
+
+        verify(userService, after(200).never()).replacePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_WithWrongPassword_ShouldNotRehash() {
+        PasswordEncoder legacy = new BCryptPasswordEncoder(4);
+        when(userService.loadUserByUsername(EMAIL))
+                .thenReturn(new UserPrincipal(7L, EMAIL, legacy.encode("secret"), "CLIENT"));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(userService, after(200).never()).replacePasswordHash(anyLong(), anyString(), anyString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.rd.autocode.assessment.appliances.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void get_AfterTheTokenExpired_ShouldMissAndDropIt() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.put("live", token(NOW.plusSeconds(1)));
+        cache.put("expired", token(NOW));
+
+        assertThat(cache.get("live")).isNotNull();
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WhenFull_ShouldPurgeExpiredEntriesFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock);
+        cache.put("a", token(NOW.minusSeconds(1)));
+        cache.put("b", token(NOW.plusSeconds(60)));
+
+        cache.put("c", token(NOW.plusSeconds(60)));
+
+        assertThat(cache.get("b")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void put_WhenFullOfLiveTokens_ShouldEvictThoseClosestToExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        for (int i = 0; i < 10; i++) {
+            cache.put("t" + i, token(NOW.plusSeconds(100 + i)));
+        }
+
+        cache.put("new", token(NOW.plusSeconds(50)));
+
+        assertThat(cache.get("t0")).isNull();
+        assertThat(cache.get("t1")).isNotNull();
+        assertThat(cache.get("new")).isNotNull();
+        assertThat(cache.size()).isEqualTo(10);
+    }
+
+    @Test
+    void put_WithoutExpiryOrWithCachingOff_ShouldNotCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        VerifiedTokenCache off = new VerifiedTokenCache(0, clock);
+
+        cache.put("forever", token(null));
+        off.put("live", token(NOW.plusSeconds(60)));
+
+        assertThat(cache.size()).isZero();
+        assertThat(off.size()).isZero();
+    }
+
+    private static VerifiedToken token(Instant expiresAt) {
+        return new VerifiedToken("john@example.com", 7L, "CLIENT", expiresAt);
+    }
+}
@@ -1,29 +1,53 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceCatalog;
+import com.epam.rd.autocode.assessment.appliances.catalog.ApplianceChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.catalog.CatalogFormat;
+import com.epam.rd.autocode.assessment.appliances.catalog.export.ApplianceExportWriter;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFacetIndex;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilter;
+import com.epam.rd.autocode.assessment.appliances.catalog.facet.ApplianceFilterResult;
+import com.epam.rd.autocode.assessment.appliances.catalog.search.ApplianceSearchIndex;
+import com.epam.rd.autocode.assessment.appliances.catalog.suggest.ApplianceSuggestIndex;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.*;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceExportView;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceFacetView;
 import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
 import com.epam.rd.autocode.assessment.appliances.service.impl.ApplianceServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +56,24 @@ class ApplianceServiceImplTest {
     @Mock
     private ApplianceRepository applianceRepository;
 
+    @Mock
+    private ApplianceCatalog applianceCatalog;
+
+    @Mock
+    private ApplianceSearchIndex applianceSearchIndex;
+
+    @Mock
+    private ApplianceFacetIndex applianceFacetIndex;
+
+    @Mock
+    private ApplianceSuggestIndex applianceSuggestIndex;
+
+    @Mock
+    private ApplianceExportWriter applianceExportWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ApplianceServiceImpl applianceService;
 
@@ -59,7 +101,7 @@ class ApplianceServiceImplTest {
 
     @Test
     void createAppliance_ShouldReturnSavedAppliance() {
-        when(applianceRepository.save(any(Appliance.class))).thenReturn(testAppliance);
+        when(applianceRepository.saveAndFlush(any(Appliance.class))).thenReturn(testAppliance);
 
         Appliance result = applianceService.createAppliance(testAppliance);
 
@@ -67,7 +109,7 @@ class ApplianceServiceImplTest {
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Refrigerator");
         assertThat(result.getPrice()).isEqualTo(new BigDecimal("1500.00"));
-        verify(applianceRepository, times(1)).save(testAppliance);
+        verify(applianceRepository, times(1)).saveAndFlush(testAppliance);
     }
 
     @Test
@@ -84,13 +126,13 @@ class ApplianceServiceImplTest {
         updatedAppliance.setPrice(new BigDecimal("1800.00"));
 
         when(applianceRepository.findById(1L)).thenReturn(Optional.of(testAppliance));
-        when(applianceRepository.save(any(Appliance.class))).thenReturn(testAppliance);
+        when(applianceRepository.saveAndFlush(any(Appliance.class))).thenReturn(testAppliance);
 
         Appliance result = applianceService.updateAppliance(1L, updatedAppliance);
 
         assertThat(result).isNotNull();
         verify(applianceRepository, times(1)).findById(1L);
-        verify(applianceRepository, times(1)).save(testAppliance);
+        verify(applianceRepository, times(1)).saveAndFlush(testAppliance);
     }
 
     @Test
@@ -141,6 +183,24 @@ class ApplianceServiceImplTest {
         verify(applianceRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void getAppliancesByIds_ShouldLoadAllIdsWithOneQuery() {
+        when(applianceRepository.findWithManufacturerByIdIn(Set.of(1L))).thenReturn(List.of(testAppliance));
+
+        assertThat(applianceService.getAppliancesByIds(List.of(1L, 1L))).containsOnlyKeys(1L)
+                .containsEntry(1L, testAppliance);
+        verify(applianceRepository, times(1)).findWithManufacturerByIdIn(any());
+    }
+
+    @Test
+    void getAppliancesByIds_WithUnknownIds_ShouldReportThemTogether() {
+        when(applianceRepository.findWithManufacturerByIdIn(any())).thenReturn(List.of(testAppliance));
+
+        assertThatThrownBy(() -> applianceService.getAppliancesByIds(List.of(1L, 998L, 999L)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Appliances not found with ids: [998, 999]");
+    }
+
     @Test
     void getAllAppliances_ShouldReturnListOfAppliances() {
         Appliance appliance2 = new Appliance();
@@ -179,7 +239,7 @@ class ApplianceServiceImplTest {
         String searchTerm = "Refrig";
         List<Appliance> appliances = Arrays.asList(testAppliance);
         Page<Appliance> page = new PageImpl<>(appliances);
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
 
         when(applianceRepository.searchAppliances(searchTerm, pageable)).thenReturn(page);
 
@@ -235,4 +295,204 @@ class ApplianceServiceImplTest {
         assertThat(result.getContent()).isEmpty();
         verify(applianceRepository, times(1)).findByCategory(Category.SMALL, pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAppliance_ShouldPublishChangeEvent() {
+        when(applianceRepository.saveAndFlush(any(Appliance.class))).thenReturn(testAppliance);
+
+        applianceService.createAppliance(testAppliance);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ApplianceChangedEvent changed
+                && !changed.isDeleted() && changed.getApplianceId().equals(1L)));
+    }
+
+    @Test
+    void deleteAppliance_ShouldPublishDeleteEvent() {
+        applianceService.deleteAppliance(1L);
+
+        InOrder inOrder = inOrder(applianceRepository, eventPublisher);
+        inOrder.verify(applianceRepository).flush();
+        inOrder.verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ApplianceChangedEvent changed
+                && changed.isDeleted() && changed.getApplianceId().equals(1L)));
+    }
+
+    @Test
+    void getApplianceById_WhenCatalogReady_ShouldNotHitRepository() {
+        when(applianceCatalog.isReady()).thenReturn(true);
+        when(applianceCatalog.findById(1L)).thenReturn(Optional.of(testAppliance));
+
+        Appliance result = applianceService.getApplianceById(1L);
+
+        assertThat(result.getName()).isEqualTo("Refrigerator");
+        verifyNoInteractions(applianceRepository);
+    }
+
+    @Test
+    void getAllAppliances_WhenCatalogReady_ShouldServePageFromCatalog() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("price"));
+        Page<Appliance> page = new PageImpl<>(List.of(testAppliance), pageable, 1);
+        when(applianceCatalog.isReady()).thenReturn(true);
+        when(applianceCatalog.findAll(any(), eq(pageable))).thenReturn(page);
+
+        Page<Appliance> result = applianceService.getAllAppliances(pageable);
+
+        assertThat(result.getContent()).containsExactly(testAppliance);
+        verifyNoInteractions(applianceRepository);
+    }
+
+    @Test
+    void getAllAppliances_WhenSortNotSupportedByCatalog_ShouldFallBackToRepository() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("unknownProperty"));
+        when(applianceCatalog.isReady()).thenReturn(true);
+        when(applianceRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testAppliance)));
+
+        applianceService.getAllAppliances(pageable);
+
+        verify(applianceRepository).findAll(pageable);
+        verify(applianceCatalog, never()).findAll(any(), any());
+    }
+
+    @Test
+    void searchAppliances_WhenIndexReadyAndSortedByName_ShouldSortTheMatchesInTheCatalog() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+        Page<Appliance> page = new PageImpl<>(List.of(testAppliance), pageable, 1);
+        when(applianceSearchIndex.isReady()).thenReturn(true);
+        when(applianceCatalog.isReady()).thenReturn(true);
+        when(applianceSearchIndex.search("refrig", Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(1L)));
+        when(applianceCatalog.findAll(any(), eq(pageable))).thenReturn(page);
+
+        Page<Appliance> result = applianceService.searchAppliances("refrig", pageable);
+
+        assertThat(result).isSameAs(page);
+        verify(applianceSearchIndex, never()).search("refrig", pageable);
+        verify(applianceRepository, never()).searchAppliances(any(), any());
+    }
+
+    @Test
+    void searchAppliances_WhenIndexReady_ShouldLoadRankedIdsInOrder() {
+        Appliance second = new Appliance();
+        second.setId(2L);
+        second.setName("Refrigerator Mini");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(applianceSearchIndex.isReady()).thenReturn(true);
+        when(applianceSearchIndex.search("refrig", pageable)).thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(applianceRepository.findWithManufacturerByIdIn(List.of(2L, 1L))).thenReturn(List.of(testAppliance, second));
+
+        Page<Appliance> result = applianceService.searchAppliances("refrig", pageable);
+
+        assertThat(result.getContent()).extracting(Appliance::getId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(applianceRepository, never()).searchAppliances(any(), any());
+    }
+
+    @Test
+    void filterAppliances_WhenIndexNotReady_ShouldUseOneProjectionQueryAndPageById() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").descending());
+        Appliance second = new Appliance();
+        second.setId(2L);
+        when(applianceRepository.findFacetRows()).thenReturn(List.of(
+                facetRow(1L, Category.BIG, "1299.99"),
+                facetRow(2L, Category.BIG, "899.00"),
+                facetRow(3L, Category.SMALL, "49.00")));
+        when(applianceRepository.findWithManufacturerByIdIn(List.of(2L, 1L))).thenReturn(List.of(testAppliance, second));
+
+        ApplianceFilterResult result = applianceService.filterAppliances(
+                ApplianceFilter.builder().categories(Set.of(Category.BIG)).build(), pageable);
+
+        assertThat(result.getPage().getContent()).extracting(Appliance::getId).containsExactly(2L, 1L);
+        assertThat(result.getPage().getTotalElements()).isEqualTo(2);
+        assertThat(result.getFacets().getCategories()).containsEntry(Category.SMALL, 1L);
+        verify(applianceRepository, never()).findAll(ArgumentMatchers.<Specification<Appliance>>any(), any(Pageable.class));
+    }
+
+    @Test
+    void filterAppliances_SortedByPriceWithoutCatalog_ShouldFilterAndSortInTheDatabase() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("price"));
+        when(applianceFacetIndex.isReady()).thenReturn(false);
+        when(applianceRepository.findFacetRows()).thenReturn(List.of(
+                facetRow(1L, Category.BIG, "1299.99"),
+                facetRow(3L, Category.SMALL, "49.00")));
+        when(applianceRepository.findAll(ArgumentMatchers.<Specification<Appliance>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(testAppliance), pageable, 2));
+
+        ApplianceFilterResult result = applianceService.filterAppliances(ApplianceFilter.none(), pageable);
+
+        assertThat(result.getPage().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void filterAppliances_WithInvertedRange_ShouldThrowBadRequestException() {
+        ApplianceFilter filter = ApplianceFilter.builder()
+                .minPrice(new BigDecimal("100"))
+                .maxPrice(new BigDecimal("10"))
+                .build();
+
+        assertThatThrownBy(() -> applianceService.filterAppliances(filter, PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(applianceRepository);
+    }
+
+    private ApplianceFacetView facetRow(Long id, Category category, String price) {
+        return new ApplianceFacetView() {
+            public Long getId() { return id; }
+            public Category getCategory() { return category; }
+            public PowerType getPowerType() { return PowerType.AC220; }
+            public Long getManufacturerId() { return 1L; }
+            public BigDecimal getPrice() { return new BigDecimal(price); }
+            public Integer getPower() { return 100; }
+        };
+    }
+
+    @Test
+    void getAllAppliancesSlice_WhenCatalogNotReady_ShouldQueryWithoutCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(applianceRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(testAppliance), pageable, false));
+
+        Slice<Appliance> result = applianceService.getAllAppliancesSlice(pageable);
+
+        assertThat(result.getContent()).containsExactly(testAppliance);
+        verify(applianceRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void searchAppliancesSlice_WhenIndexNotReady_ShouldUseSliceQueryInIdOrder() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(applianceRepository.searchAppliancesSlice("fridge", PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(new SliceImpl<>(List.of(testAppliance), pageable, false));
+
+        Slice<Appliance> result = applianceService.searchAppliancesSlice("fridge", pageable);
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(applianceRepository, never()).searchAppliances(any(), any());
+    }
+
+    @Test
+    void searchAppliancesSlice_WhenIndexReadyButSortedByPriceWithoutCatalog_ShouldUseSliceQuery() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+        when(applianceSearchIndex.isReady()).thenReturn(true);
+        when(applianceCatalog.isReady()).thenReturn(false);
+        when(applianceRepository.searchAppliancesSlice("fridge", pageable))
+                .thenReturn(new SliceImpl<>(List.of(testAppliance), pageable, false));
+
+        Slice<Appliance> result = applianceService.searchAppliancesSlice("fridge", pageable);
+
+        assertThat(result.getContent()).containsExactly(testAppliance);
+        verify(applianceRepository, never()).searchAppliances(any(), any());
+        verify(applianceSearchIndex, never()).search(any(), any());
+    }
+
+    @Test
+    void exportAppliances_ShouldWriteRowStreamAndCloseIt() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<ApplianceExportView> rows = Stream.<ApplianceExportView>empty().onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(applianceRepository.streamExportRows()).thenReturn(rows);
+        when(applianceExportWriter.write(CatalogFormat.CSV, rows, out)).thenReturn(0L);
+
+        long written = applianceService.exportAppliances(CatalogFormat.CSV, out);
+
+        assertThat(written).isZero();
+        assertThat(closed).isTrue();
+        verify(applianceRepository, never()).findAll();
+    }
+}
@@ -1,5 +1,7 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.cache.ManufacturerCache;
+import com.epam.rd.autocode.assessment.appliances.catalog.ManufacturerChangedEvent;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.Manufacturer;
 import com.epam.rd.autocode.assessment.appliances.repository.ManufacturerRepository;
@@ -9,12 +11,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +37,12 @@ class ManufacturerServiceImplTest {
     @Mock
     private ManufacturerRepository manufacturerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ManufacturerCache manufacturerCache = new ManufacturerCache(true, 10, Duration.ofMinutes(5));
+
     @InjectMocks
     private ManufacturerServiceImpl manufacturerService;
 
@@ -72,6 +83,22 @@ class ManufacturerServiceImplTest {
         verify(manufacturerRepository, times(1)).save(testManufacturer);
     }
 
+    @Test
+    void updateManufacturer_ShouldCopyAllEditableFieldsOntoManagedEntity() {
+        Manufacturer edited = new Manufacturer(null, "LG", "128 Yeoui-daero", "South Korea");
+
+        when(manufacturerRepository.findById(1L)).thenReturn(Optional.of(testManufacturer));
+        when(manufacturerRepository.save(any(Manufacturer.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Manufacturer result = manufacturerService.updateManufacturer(1L, edited);
+
+        assertThat(result).isSameAs(testManufacturer);
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getName()).isEqualTo("LG");
+        assertThat(result.getAddress()).isEqualTo("128 Yeoui-daero");
+        assertThat(result.getCountry()).isEqualTo("South Korea");
+    }
+
     @Test
     void updateManufacturer_WithInvalidId_ShouldThrowResourceNotFoundException() {
         when(manufacturerRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -189,4 +216,33 @@ class ManufacturerServiceImplTest {
         assertThat(result.getTotalElements()).isEqualTo(0);
         verify(manufacturerRepository, times(1)).searchManufacturers(searchTerm, pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getManufacturerById_ShouldServeRepeatedLookupsFromCacheAsCopies() {
+        when(manufacturerRepository.findById(1L)).thenReturn(Optional.of(testManufacturer));
+
+        Manufacturer first = manufacturerService.getManufacturerById(1L);
+        first.setName("Changed by caller");
+        Manufacturer second = manufacturerService.getManufacturerById(1L);
+
+        assertThat(second.getName()).isEqualTo("Samsung");
+        assertThat(second).isNotSameAs(testManufacturer);
+        verify(manufacturerRepository, times(1)).findById(1L);
+        assertThat(manufacturerService.getCacheStats().get(0).hits()).isEqualTo(1);
+    }
+
+    @Test
+    void manufacturerChanged_ShouldInvalidateIdAndList() {
+        when(manufacturerRepository.findById(1L)).thenReturn(Optional.of(testManufacturer));
+        when(manufacturerRepository.findAll()).thenReturn(List.of(testManufacturer));
+        manufacturerService.getManufacturerById(1L);
+        manufacturerService.getAllManufacturers();
+
+        manufacturerCache.onManufacturerChanged(ManufacturerChangedEvent.saved(testManufacturer));
+        manufacturerService.getManufacturerById(1L);
+        manufacturerService.getAllManufacturers();
+
+        verify(manufacturerRepository, times(2)).findById(1L);
+        verify(manufacturerRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,181 @@
+package com.epam.rd.autocode.assessment.appliances.service;
+
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.OrderRowRequestDTO;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.EntityMapper;
+import com.epam.rd.autocode.assessment.appliances.dto.mapper.KeysetCursorCodec;
+import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
+import com.epam.rd.autocode.assessment.appliances.model.Appliance;
+import com.epam.rd.autocode.assessment.appliances.model.Client;
+import com.epam.rd.autocode.assessment.appliances.model.OrderRow;
+import com.epam.rd.autocode.assessment.appliances.model.Orders;
+import com.epam.rd.autocode.assessment.appliances.repository.ApplianceRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
+import com.epam.rd.autocode.assessment.appliances.service.impl.OrderPlacementServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacementServiceImplTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ApplianceRepository applianceRepository;
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private SalesRollup salesRollup;
+
+    @Spy
+    private EntityMapper entityMapper = new EntityMapper(new KeysetCursorCodec(new ObjectMapper()));
+
+    @InjectMocks
+    private OrderPlacementServiceImpl orderPlacementService;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = new Client();
+        client.setId(1L);
+        client.setEmail("john@example.com");
+    }
+
+    @Test
+    void placeOrder_ShouldResolveAllAppliancesWithOneLookup() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(applianceRepository.findWithManufacturerByIdIn(Set.of(10L, 20L)))
+                .thenReturn(List.of(appliance(10L, "100.00"), appliance(20L, "25.50")));
+        when(ordersRepository.save(any(Orders.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Orders order = orderPlacementService.placeOrder(new OrderRequestDTO(1L, List.of(
+                new OrderRowRequestDTO(10L, 2L, null),
+                new OrderRowRequestDTO(20L, 1L, null),
+                new OrderRowRequestDTO(10L, 1L, new BigDecimal("90.00")))));
+
+        assertThat(order.getClient()).isSameAs(client);
+        assertThat(order.getApproved()).isFalse();
+        assertThat(order.getOrderRowSet())
+                .extracting(OrderRow::getAmount)
+                .containsExactlyInAnyOrder(new BigDecimal("200.00"), new BigDecimal("25.50"), new BigDecimal("90.00"));
+        assertThat(order.getOrderRowSet()).allSatisfy(row -> assertThat(row.getOrder()).isSameAs(order));
+        verify(applianceRepository, times(1)).findWithManufacturerByIdIn(any());
+        verify(applianceRepository, never()).findById(any());
+        verify(stockLedger).adjust(Map.of(10L, 3L, 20L, 1L));
+    }
+
+    @Test
+    void placeOrder_WithMissingAppliances_ShouldReportAllOfThemAndSaveNothing() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(applianceRepository.findWithManufacturerByIdIn(any())).thenReturn(List.of(appliance(10L, "100.00")));
+
+        OrderRequestDTO request = new OrderRequestDTO(1L, List.of(
+                new OrderRowRequestDTO(10L, 1L, null),
+                new OrderRowRequestDTO(30L, 1L, null),
+                new OrderRowRequestDTO(40L, 1L, null)));
+
+        assertThatThrownBy(() -> orderPlacementService.placeOrder(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Appliances not found with ids: [30, 40]");
+        verify(ordersRepository, never()).save(any());
+        verifyNoInteractions(stockLedger);
+    }
+
+    @Test
+    void placeOrder_WithOneMissingAppliance_ShouldUseSingleResourceMessage() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(applianceRepository.findWithManufacturerByIdIn(any())).thenReturn(List.of());
+
+        OrderRequestDTO request = new OrderRequestDTO(1L, List.of(new OrderRowRequestDTO(30L, 1L, null)));
+
+        assertThatThrownBy(() -> orderPlacementService.placeOrder(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Appliance not found with id: '30'");
+    }
+
+    @Test
+    void placeOrder_WhenClientNotFound_ShouldThrowBeforeLoadingAppliances() {
+        when(clientRepository.findById(99L)).thenReturn(Optional.empty());
+
+        OrderRequestDTO request = new OrderRequestDTO(99L, List.of(new OrderRowRequestDTO(10L, 1L, null)));
+
+        assertThatThrownBy(() -> orderPlacementService.placeOrder(request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(applianceRepository, ordersRepository);
+    }
+
+    @Test
+    void placeOrders_ShouldResolveClientsAndAppliancesOnceForTheWholeBatch() {
+        Client other = new Client();
+        other.setId(2L);
+        when(clientRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(client, other));
+        when(applianceRepository.findWithManufacturerByIdIn(Set.of(10L, 20L)))
+                .thenReturn(List.of(appliance(10L, "100.00"), appliance(20L, "25.50")));
+        when(ordersRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Orders> orders = orderPlacementService.placeOrders(List.of(
+                new OrderRequestDTO(1L, List.of(new OrderRowRequestDTO(10L, 1L, null))),
+                new OrderRequestDTO(2L, List.of(new OrderRowRequestDTO(20L, 2L, null))),
+                new OrderRequestDTO(1L, List.of(new OrderRowRequestDTO(10L, 1L, null),
+                        new OrderRowRequestDTO(20L, 1L, null)))));
+
+        assertThat(orders).extracting(Orders::getClient).containsExactly(client, other, client);
+        assertThat(orders.get(1).getOrderRowSet())
+                .extracting(OrderRow::getAmount)
+                .containsExactly(new BigDecimal("51.00"));
+        assertThat(orders.get(2).getOrderRowSet()).hasSize(2);
+        verify(clientRepository, never()).findById(any());
+        verify(applianceRepository, times(1)).findWithManufacturerByIdIn(any());
+        verify(ordersRepository, never()).save(any());
+        verify(stockLedger).adjust(Map.of(10L, 2L, 20L, 3L));
+    }
+
+    @Test
+    void placeOrders_WithUnknownClient_ShouldFailTheWholeBatch() {
+        when(clientRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(client));
+
+        List<OrderRequestDTO> requests = List.of(
+                new OrderRequestDTO(1L, List.of(new OrderRowRequestDTO(10L, 1L, null))),
+                new OrderRequestDTO(99L, List.of(new OrderRowRequestDTO(10L, 1L, null))));
+
+        assertThatThrownBy(() -> orderPlacementService.placeOrders(requests))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Client not found with id: '99'");
+        verifyNoInteractions(applianceRepository, ordersRepository);
+    }
+
+    private static Appliance appliance(Long id, String price) {
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        appliance.setName("Appliance " + id);
+        appliance.setPrice(new BigDecimal(price));
+        return appliance;
+    }
+}
@@ -1,9 +1,16 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupKey;
+import com.epam.rd.autocode.assessment.appliances.analytics.RollupTotals;
+import com.epam.rd.autocode.assessment.appliances.analytics.SalesRollup;
+import com.epam.rd.autocode.assessment.appliances.exception.BadRequestException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
+import com.epam.rd.autocode.assessment.appliances.inventory.StockLedger;
 import com.epam.rd.autocode.assessment.appliances.model.*;
 import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderHistoryView;
+import com.epam.rd.autocode.assessment.appliances.repository.OrderRowRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.OrdersRepository;
 import com.epam.rd.autocode.assessment.appliances.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +23,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,6 +52,15 @@ class OrderServiceImplTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private OrderRowRepository orderRowRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private SalesRollup salesRollup;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -72,36 +93,135 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void createOrder_ShouldReturnSavedOrderWithApprovedFalse() {
+    void updateOrder_WithValidId_ShouldReturnUpdatedOrder() {
+        Orders updatedOrder = new Orders();
+        updatedOrder.setClient(testClient);
+        updatedOrder.setOrderRowSet(new HashSet<>());
+
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
         when(ordersRepository.save(any(Orders.class))).thenReturn(testOrder);
 
-        Orders result = orderService.createOrder(testOrder);
+        Orders result = orderService.updateOrder(1L, updatedOrder);
 
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(1L);
-        assertThat(result.getApproved()).isFalse();
+        verify(ordersRepository, times(1)).findDetailById(1L);
         verify(ordersRepository, times(1)).save(testOrder);
     }
 
     @Test
-    void updateOrder_WithValidId_ShouldReturnUpdatedOrder() {
+    void updateOrder_ShouldDiffRowsByApplianceId() {
+        Appliance kept = appliance(1L, "10.00");
+        Appliance changed = appliance(2L, "20.00");
+        Appliance dropped = appliance(3L, "30.00");
+        Appliance addedAppliance = appliance(4L, "40.00");
+        OrderRow keptRow = row(11L, kept, 1L, "10.00");
+        OrderRow changedRow = row(12L, changed, 1L, "20.00");
+        OrderRow droppedRow = row(13L, dropped, 1L, "30.00");
+        List.of(keptRow, changedRow, droppedRow).forEach(testOrder::addOrderRow);
+
         Orders updatedOrder = new Orders();
         updatedOrder.setClient(testClient);
         updatedOrder.setOrderRowSet(new HashSet<>());
+        updatedOrder.addOrderRow(row(null, kept, 1L, "10.00"));
+        updatedOrder.addOrderRow(row(null, changed, 3L, "60.00"));
+        updatedOrder.addOrderRow(row(null, addedAppliance, 2L, "80.00"));
+
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
+        when(ordersRepository.save(testOrder)).thenReturn(testOrder);
+
+        orderService.updateOrder(1L, updatedOrder);
+
+        assertThat(testOrder.getOrderRowSet()).hasSize(3).contains(keptRow, changedRow)
+                .doesNotContain(droppedRow);
+        assertThat(changedRow.getQuantity()).isEqualTo(3L);
+        assertThat(changedRow.getAmount()).isEqualByComparingTo("60.00");
+        assertThat(droppedRow.getOrder()).isNull();
+        assertThat(testOrder.getTotalAmount()).isEqualByComparingTo("150.00");
+        assertThat(testOrder.getItemCount()).isEqualTo(3);
+        assertThat(testOrder.getOrderRowSet())
+                .filteredOn(row -> row.getId() == null)
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getAppliance()).isSameAs(addedAppliance);
+                    assertThat(row.getOrder()).isSameAs(testOrder);
+                });
+    }
 
-        when(ordersRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(ordersRepository.save(any(Orders.class))).thenReturn(testOrder);
+    @Test
+    void updateOrderRow_WithoutAmount_ShouldRecomputeFromPrice() {
+        OrderRow orderRow = row(11L, appliance(1L, "12.50"), 1L, "12.50");
+        testOrder.addOrderRow(orderRow);
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
+        when(ordersRepository.save(testOrder)).thenReturn(testOrder);
+
+        orderService.updateOrderRow(1L, 11L, 3L, null);
+
+        assertThat(orderRow.getQuantity()).isEqualTo(3L);
+        assertThat(orderRow.getAmount()).isEqualByComparingTo("37.50");
+        assertThat(testOrder.getTotalAmount()).isEqualByComparingTo("37.50");
+        assertThat(testOrder.getOrderRowSet()).containsExactly(orderRow);
+        verify(stockLedger).adjust(Map.of(1L, 2L));
+    }
 
-        Orders result = orderService.updateOrder(1L, updatedOrder);
+    @Test
+    void updateOrderRow_WithUnknownRow_ShouldThrowResourceNotFoundException() {
+        testOrder.addOrderRow(row(11L, appliance(1L, "12.50"), 1L, "12.50"));
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
 
-        assertThat(result).isNotNull();
-        verify(ordersRepository, times(1)).findById(1L);
-        verify(ordersRepository, times(1)).save(testOrder);
+        assertThatThrownBy(() -> orderService.updateOrderRow(1L, 99L, 3L, null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("99");
+        verify(ordersRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteOrderRow_WhenLastRow_ShouldThrowBadRequestException() {
+        testOrder.addOrderRow(row(11L, appliance(1L, "12.50"), 1L, "12.50"));
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThatThrownBy(() -> orderService.deleteOrderRow(1L, 11L))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(testOrder.getOrderRowSet()).hasSize(1);
+        verify(ordersRepository, never()).save(any());
+    }
+
+    @Test
+    void approveOrders_ShouldApproveOnlyPendingIdsAndReportTheRest() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(ordersRepository.lockPendingIds(Set.of(3L, 1L, 2L))).thenReturn(List.of(1L, 3L));
+
+        BulkApprovalResult result = orderService.approveOrders(List.of(3L, 1L, 2L, 3L), 1L);
+
+        assertThat(result.getApproved()).containsExactly(3L, 1L);
+        assertThat(result.getSkipped()).containsExactly(2L);
+        verify(ordersRepository).approvePending(Set.of(1L, 3L), testEmployee);
+        verify(orderRowRepository).sumSalesByOrderIds(Set.of(1L, 3L));
+    }
+
+    @Test
+    void approveOrders_WhenNothingPending_ShouldNotUpdate() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(ordersRepository.lockPendingIds(Set.of(5L))).thenReturn(List.of());
+
+        BulkApprovalResult result = orderService.approveOrders(List.of(5L), 1L);
+
+        assertThat(result.getApproved()).isEmpty();
+        assertThat(result.getSkipped()).containsExactly(5L);
+        verify(ordersRepository, never()).approvePending(any(), any());
+    }
+
+    @Test
+    void approveOrders_WithUnknownEmployee_ShouldThrowResourceNotFoundException() {
+        when(employeeRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.approveOrders(List.of(1L), 9L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(ordersRepository, never()).lockPendingIds(any());
     }
 
     @Test
     void updateOrder_WithInvalidId_ShouldThrowResourceNotFoundException() {
-        when(ordersRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(ordersRepository.findDetailById(anyLong())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.updateOrder(999L, testOrder))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -109,33 +229,46 @@ class OrderServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("999");
 
-        verify(ordersRepository, times(1)).findById(999L);
+        verify(ordersRepository, times(1)).findDetailById(999L);
         verify(ordersRepository, never()).save(any());
     }
 
     @Test
-    void deleteOrder_ShouldCallRepositoryDelete() {
-        doNothing().when(ordersRepository).deleteById(1L);
+    void deleteOrder_ShouldDeleteOrderAndReleaseItsStock() {
+        testOrder.addOrderRow(row(11L, appliance(1L, "12.50"), 2L, "25.00"));
+        testOrder.addOrderRow(row(12L, appliance(2L, "5.00"), 1L, "5.00"));
+        when(ordersRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.deleteOrder(1L);
+
+        verify(stockLedger).adjust(Map.of(1L, -2L, 2L, -1L));
+        verify(ordersRepository, times(1)).delete(testOrder);
+    }
+
+    @Test
+    void deleteOrder_WhenMissing_ShouldDoNothing() {
+        when(ordersRepository.findById(1L)).thenReturn(Optional.empty());
 
         orderService.deleteOrder(1L);
 
-        verify(ordersRepository, times(1)).deleteById(1L);
+        verify(ordersRepository, never()).delete(any());
+        verifyNoInteractions(stockLedger);
     }
 
     @Test
     void getOrderById_WithValidId_ShouldReturnOrder() {
-        when(ordersRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(ordersRepository.findDetailById(1L)).thenReturn(Optional.of(testOrder));
 
         Orders result = orderService.getOrderById(1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
-        verify(ordersRepository, times(1)).findById(1L);
+        verify(ordersRepository, times(1)).findDetailById(1L);
     }
 
     @Test
     void getOrderById_WithInvalidId_ShouldThrowResourceNotFoundException() {
-        when(ordersRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(ordersRepository.findDetailById(anyLong())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -143,7 +276,7 @@ class OrderServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("999");
 
-        verify(ordersRepository, times(1)).findById(999L);
+        verify(ordersRepository, times(1)).findDetailById(999L);
     }
 
     @Test
@@ -180,7 +313,7 @@ class OrderServiceImplTest {
 
     @Test
     void approveOrder_WithValidIds_ShouldReturnApprovedOrder() {
-        when(ordersRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(ordersRepository.findForApprovalById(1L)).thenReturn(Optional.of(testOrder));
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
         when(ordersRepository.save(any(Orders.class))).thenReturn(testOrder);
 
@@ -189,14 +322,29 @@ class OrderServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getApproved()).isTrue();
         assertThat(result.getEmployee()).isEqualTo(testEmployee);
-        verify(ordersRepository, times(1)).findById(1L);
+        verify(ordersRepository, times(1)).findForApprovalById(1L);
         verify(employeeRepository, times(1)).findById(1L);
         verify(ordersRepository, times(1)).save(testOrder);
     }
 
+    @Test
+    void approveOrder_ShouldMoveSalesToTheApprovingEmployee() {
+        testOrder.setEmployee(null);
+        testOrder.setApproved(false);
+        testOrder.addOrderRow(row(11L, appliance(10L, "12.50"), 2L, "25.00"));
+        when(ordersRepository.findForApprovalById(1L)).thenReturn(Optional.of(testOrder));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        orderService.approveOrder(1L, 1L);
+
+        RollupTotals totals = new RollupTotals(new BigDecimal("25.00"), 2L);
+        verify(salesRollup).record(Map.of(new RollupKey(10L, RollupKey.NO_EMPLOYEE, false), totals),
+                Map.of(new RollupKey(10L, testEmployee.getId(), true), totals));
+    }
+
     @Test
     void approveOrder_WithInvalidOrderId_ShouldThrowResourceNotFoundException() {
-        when(ordersRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(ordersRepository.findForApprovalById(anyLong())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.approveOrder(999L, 1L))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -204,13 +352,13 @@ class OrderServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("999");
 
-        verify(ordersRepository, times(1)).findById(999L);
+        verify(ordersRepository, times(1)).findForApprovalById(999L);
         verify(employeeRepository, never()).findById(any());
     }
 
     @Test
     void approveOrder_WithInvalidEmployeeId_ShouldThrowResourceNotFoundException() {
-        when(ordersRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(ordersRepository.findForApprovalById(1L)).thenReturn(Optional.of(testOrder));
         when(employeeRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.approveOrder(1L, 999L))
@@ -219,7 +367,7 @@ class OrderServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("999");
 
-        verify(ordersRepository, times(1)).findById(1L);
+        verify(ordersRepository, times(1)).findForApprovalById(1L);
         verify(employeeRepository, times(1)).findById(999L);
         verify(ordersRepository, never()).save(any());
     }
@@ -242,6 +390,30 @@ class OrderServiceImplTest {
         verify(ordersRepository, times(1)).findByClient(testClient, pageable);
     }
 
+    @Test
+    void getOrderHistory_ShouldProjectByClientIdWithoutLoadingTheClient() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<OrderHistoryView> page = new PageImpl<>(List.of(
+                new OrderHistoryView(1L, true, new BigDecimal("20.00"), 2, "John", "Smith")));
+        when(ordersRepository.findHistoryByClientId(1L, pageable)).thenReturn(page);
+
+        Page<OrderHistoryView> result = orderService.getOrderHistory(1L, pageable);
+
+        assertThat(result.getContent()).extracting(OrderHistoryView::employeeName).containsExactly("John Smith");
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void getOrderHistory_WithUnknownClient_ShouldThrowResourceNotFoundException() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(ordersRepository.findHistoryByClientId(999L, pageable)).thenReturn(Page.empty(pageable));
+        when(clientRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.getOrderHistory(999L, pageable))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("999");
+    }
+
     @Test
     void getOrdersByClientId_WithInvalidClientId_ShouldThrowResourceNotFoundException() {
         when(clientRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -323,4 +495,45 @@ class OrderServiceImplTest {
         assertThat(result.getContent().get(0).getApproved()).isFalse();
         verify(ordersRepository, times(1)).findByApproved(false, pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrdersByClientIdSlice_ShouldQueryWithoutCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Orders> slice = new SliceImpl<>(List.of(testOrder), pageable, true);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+        when(ordersRepository.findSliceByClient(testClient, pageable)).thenReturn(slice);
+
+        Slice<Orders> result = orderService.getOrdersByClientIdSlice(1L, pageable);
+
+        assertThat(result.getContent()).containsExactly(testOrder);
+        assertThat(result.hasNext()).isTrue();
+        verify(ordersRepository, never()).findByClient(any(Client.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllOrdersSlice_ShouldQueryWithoutCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(ordersRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(testOrder), pageable, false));
+
+        Slice<Orders> result = orderService.getAllOrdersSlice(pageable);
+
+        assertThat(result.hasNext()).isFalse();
+        verify(ordersRepository, never()).findAll(any(Pageable.class));
+    }
+
+    private static Appliance appliance(Long id, String price) {
+        Appliance appliance = new Appliance();
+        appliance.setId(id);
+        appliance.setPrice(new BigDecimal(price));
+        return appliance;
+    }
+
+    private static OrderRow row(Long id, Appliance appliance, Long quantity, String amount) {
+        OrderRow row = new OrderRow();
+        row.setId(id);
+        row.setAppliance(appliance);
+        row.setQuantity(quantity);
+        row.setAmount(new BigDecimal(amount));
+        return row;
+    }
+}
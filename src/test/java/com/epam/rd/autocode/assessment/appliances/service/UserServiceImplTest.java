@@ -1,5 +1,7 @@
 package com.epam.rd.autocode.assessment.appliances.service;
 
+import com.epam.rd.autocode.assessment.appliances.cache.UserChangedEvent;
+import com.epam.rd.autocode.assessment.appliances.cache.UserLookupCache;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceAlreadyExistsException;
 import com.epam.rd.autocode.assessment.appliances.exception.ResourceNotFoundException;
 import com.epam.rd.autocode.assessment.appliances.model.Client;
@@ -9,12 +11,15 @@ import com.epam.rd.autocode.assessment.appliances.repository.UserRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.ClientRepository;
 import com.epam.rd.autocode.assessment.appliances.repository.EmployeeRepository;
 import com.epam.rd.autocode.assessment.appliances.service.impl.UserServiceImpl;
+import com.epam.rd.autocode.assessment.appliances.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +28,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -49,6 +55,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(true, 100, Duration.ofMinutes(10));
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -86,8 +98,6 @@ class UserServiceImplTest {
 
     @Test
     void loadUserByUsername_WithValidEmail_ShouldReturnUserDetails() {
-        when(clientRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
-        when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         UserDetails result = userService.loadUserByUsername("test@example.com");
@@ -96,44 +106,94 @@ class UserServiceImplTest {
         assertThat(result.getUsername()).isEqualTo("test@example.com");
         assertThat(result.getPassword()).isEqualTo("encodedPassword");
         assertThat(result.getAuthorities()).hasSize(1);
-        verify(clientRepository, times(1)).findByEmail("test@example.com");
+        verify(userRepository, times(1)).findByEmail("test@example.com");
     }
 
     @Test
     void loadUserByUsername_WithEmployee_ShouldReturnUserDetailsWithEmployeeRole() {
-        when(clientRepository.findByEmail("jane@example.com")).thenReturn(Optional.empty());
-        when(employeeRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(testEmployee));
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(testEmployee));
 
         UserDetails result = userService.loadUserByUsername("jane@example.com");
 
         assertThat(result).isNotNull();
         assertThat(result.getAuthorities()).anyMatch(auth -> auth.getAuthority().equals("ROLE_EMPLOYEE"));
-        verify(clientRepository, times(1)).findByEmail("jane@example.com");
-        verify(employeeRepository, times(1)).findByEmail("jane@example.com");
+        verify(userRepository, times(1)).findByEmail("jane@example.com");
+        verifyNoInteractions(clientRepository, employeeRepository);
     }
 
     @Test
     void loadUserByUsername_WithClient_ShouldReturnUserDetailsWithClientRole() {
-        when(clientRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testClient));
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testClient));
 
         UserDetails result = userService.loadUserByUsername("john@example.com");
 
         assertThat(result).isNotNull();
         assertThat(result.getAuthorities()).anyMatch(auth -> auth.getAuthority().equals("ROLE_CLIENT"));
-        verify(clientRepository, times(1)).findByEmail("john@example.com");
+        assertThat(result).isInstanceOfSatisfying(UserPrincipal.class, principal -> {
+            assertThat(principal.getId()).isEqualTo(testClient.getId());
+            assertThat(principal.getRole()).isEqualTo("CLIENT");
+        });
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+    }
+
+    @Test
+    void loadUserByUsername_WhenCalledAgain_ShouldLoadTheSubtypeById() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testClient));
+        when(clientRepository.findById(3L)).thenReturn(Optional.of(testClient));
+
+        userService.loadUserByUsername("john@example.com");
+        UserDetails result = userService.loadUserByUsername("john@example.com");
+
+        assertThat(result.getAuthorities()).anyMatch(auth -> auth.getAuthority().equals("ROLE_CLIENT"));
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+        verify(clientRepository, times(1)).findById(3L);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void loadUserByUsername_WhenCachedUserChangedEmail_ShouldLookTheEmailUpAgain() {
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(testEmployee));
+        userService.loadUserByUsername("jane@example.com");
+
+        Employee renamed = new Employee();
+        renamed.setId(2L);
+        renamed.setEmail("jane.smith@example.com");
+        when(employeeRepository.findById(2L)).thenReturn(Optional.of(renamed));
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.loadUserByUsername("jane@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByEmail("jane@example.com");
+    }
+
+    @Test
+    void updateUser_ShouldPublishUserChangedEvent() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.updateUser(1L, testUser);
+
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
     void loadUserByUsername_WithInvalidEmail_ShouldThrowUsernameNotFoundException() {
-        when(clientRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(employeeRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.loadUserByUsername("invalid@example.com"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User not found with email");
 
-        verify(clientRepository, times(1)).findByEmail("invalid@example.com");
+        verify(userRepository, times(1)).findByEmail("invalid@example.com");
+    }
+
+    @Test
+    void replacePasswordHash_ShouldReportWhetherTheHashWasStillCurrent() {
+        when(userRepository.replacePasswordHash(1L, "old", "new")).thenReturn(1);
+        when(userRepository.replacePasswordHash(1L, "stale", "new")).thenReturn(0);
+
+        assertThat(userService.replacePasswordHash(1L, "old", "new")).isTrue();
+        assertThat(userService.replacePasswordHash(1L, "stale", "new")).isFalse();
     }
 
     @Test
@@ -299,21 +359,17 @@ class UserServiceImplTest {
 
     @Test
     void getUserByEmail_WithValidEmail_ShouldReturnUser() {
-        when(clientRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
-        when(employeeRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         User result = userService.getUserByEmail("test@example.com");
 
         assertThat(result).isNotNull();
         assertThat(result.getEmail()).isEqualTo("test@example.com");
-        verify(clientRepository, times(1)).findByEmail("test@example.com");
+        verify(userRepository, times(1)).findByEmail("test@example.com");
     }
 
     @Test
     void getUserByEmail_WithInvalidEmail_ShouldThrowResourceNotFoundException() {
-        when(clientRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(employeeRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.getUserByEmail("invalid@example.com"))
@@ -322,7 +378,7 @@ class UserServiceImplTest {
                 .hasMessageContaining("email")
                 .hasMessageContaining("invalid@example.com");
 
-        verify(clientRepository, times(1)).findByEmail("invalid@example.com");
+        verify(userRepository, times(1)).findByEmail("invalid@example.com");
     }
 
     @Test